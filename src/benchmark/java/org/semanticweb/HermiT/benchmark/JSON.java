@@ -0,0 +1,241 @@
+package org.semanticweb.HermiT.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes and reads the JSON files of the benchmark runner. Objects are represented as maps with string keys, arrays as
+ * lists, numbers as doubles, and true, false and null as Boolean.TRUE, Boolean.FALSE and null.
+ */
+public final class JSON {
+    protected final String m_text;
+    protected int m_position;
+
+    private JSON(String text) {
+        m_text = text;
+    }
+
+    /**
+     * @param value a map, list, string, number, Boolean, or null
+     * @return the value in JSON syntax, indented by two spaces per level
+     */
+    public static String toString(Object value) {
+        StringBuilder buffer = new StringBuilder();
+        write(buffer, value, 0);
+        buffer.append('\n');
+        return buffer.toString();
+    }
+    /**
+     * @param text a JSON text
+     * @return the value represented by the text
+     */
+    public static Object parse(String text) {
+        JSON parser = new JSON(text);
+        Object value = parser.parseValue();
+        parser.skipWhitespace();
+        if (parser.m_position != text.length())
+            throw parser.error("Unexpected characters after the value");
+        return value;
+    }
+    protected static void write(StringBuilder buffer, Object value, int indentation) {
+        if (value instanceof Map) {
+            Map<?,?> map = (Map<?,?>) value;
+            if (map.isEmpty()) {
+                buffer.append("{}");
+                return;
+            }
+            buffer.append('{');
+            boolean first = true;
+            for (Map.Entry<?,?> entry : map.entrySet()) {
+                buffer.append(first ? "\n" : ",\n");
+                first = false;
+                indent(buffer, indentation + 1);
+                writeString(buffer, entry.getKey().toString());
+                buffer.append(": ");
+                write(buffer, entry.getValue(), indentation + 1);
+            }
+            buffer.append('\n');
+            indent(buffer, indentation);
+            buffer.append('}');
+        }
+        else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            if (list.isEmpty()) {
+                buffer.append("[]");
+                return;
+            }
+            buffer.append('[');
+            boolean first = true;
+            for (Object element : list) {
+                buffer.append(first ? "\n" : ",\n");
+                first = false;
+                indent(buffer, indentation + 1);
+                write(buffer, element, indentation + 1);
+            }
+            buffer.append('\n');
+            indent(buffer, indentation);
+            buffer.append(']');
+        }
+        else if (value instanceof Double || value instanceof Float)
+            buffer.append(String.format(Locale.ROOT, "%.3f", value));
+        else if (value instanceof Number || value instanceof Boolean || value == null)
+            buffer.append(String.valueOf(value));
+        else
+            writeString(buffer, value.toString());
+    }
+    protected static void indent(StringBuilder buffer, int indentation) {
+        for (int index = 0; index < indentation; index++)
+            buffer.append("  ");
+    }
+    protected static void writeString(StringBuilder buffer, String string) {
+        buffer.append('"');
+        for (int index = 0; index < string.length(); index++) {
+            char c = string.charAt(index);
+            switch (c) {
+            case '"':
+                buffer.append("\\\"");
+                break;
+            case '\\':
+                buffer.append("\\\\");
+                break;
+            case '\n':
+                buffer.append("\\n");
+                break;
+            case '\r':
+                buffer.append("\\r");
+                break;
+            case '\t':
+                buffer.append("\\t");
+                break;
+            default:
+                if (c < 0x20)
+                    buffer.append(String.format(Locale.ROOT, "\\u%04x", Integer.valueOf(c)));
+                else
+                    buffer.append(c);
+            }
+        }
+        buffer.append('"');
+    }
+    protected Object parseValue() {
+        skipWhitespace();
+        if (m_position == m_text.length())
+            throw error("Unexpected end of the text");
+        char c = m_text.charAt(m_position);
+        if (c == '{') {
+            m_position++;
+            Map<String,Object> map = new LinkedHashMap<>();
+            skipWhitespace();
+            if (consume('}'))
+                return map;
+            do {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                map.put(key, parseValue());
+                skipWhitespace();
+            } while (consume(','));
+            expect('}');
+            return map;
+        }
+        else if (c == '[') {
+            m_position++;
+            List<Object> list = new ArrayList<>();
+            skipWhitespace();
+            if (consume(']'))
+                return list;
+            do {
+                list.add(parseValue());
+                skipWhitespace();
+            } while (consume(','));
+            expect(']');
+            return list;
+        }
+        else if (c == '"')
+            return parseString();
+        else if (m_text.startsWith("true", m_position)) {
+            m_position += 4;
+            return Boolean.TRUE;
+        }
+        else if (m_text.startsWith("false", m_position)) {
+            m_position += 5;
+            return Boolean.FALSE;
+        }
+        else if (m_text.startsWith("null", m_position)) {
+            m_position += 4;
+            return null;
+        }
+        else {
+            int start = m_position;
+            while (m_position < m_text.length() && "+-0123456789.eE".indexOf(m_text.charAt(m_position)) >= 0)
+                m_position++;
+            if (start == m_position)
+                throw error("Unexpected character '" + c + "'");
+            return Double.valueOf(m_text.substring(start, m_position));
+        }
+    }
+    protected String parseString() {
+        expect('"');
+        StringBuilder buffer = new StringBuilder();
+        while (true) {
+            if (m_position == m_text.length())
+                throw error("Unterminated string");
+            char c = m_text.charAt(m_position++);
+            if (c == '"')
+                return buffer.toString();
+            else if (c == '\\') {
+                if (m_position == m_text.length())
+                    throw error("Unterminated string");
+                char escaped = m_text.charAt(m_position++);
+                switch (escaped) {
+                case 'n':
+                    buffer.append('\n');
+                    break;
+                case 'r':
+                    buffer.append('\r');
+                    break;
+                case 't':
+                    buffer.append('\t');
+                    break;
+                case 'b':
+                    buffer.append('\b');
+                    break;
+                case 'f':
+                    buffer.append('\f');
+                    break;
+                case 'u':
+                    if (m_position + 4 > m_text.length())
+                        throw error("Invalid escape sequence");
+                    buffer.append((char) Integer.parseInt(m_text.substring(m_position, m_position + 4), 16));
+                    m_position += 4;
+                    break;
+                default:
+                    buffer.append(escaped);
+                }
+            }
+            else
+                buffer.append(c);
+        }
+    }
+    protected void skipWhitespace() {
+        while (m_position < m_text.length() && Character.isWhitespace(m_text.charAt(m_position)))
+            m_position++;
+    }
+    protected boolean consume(char c) {
+        if (m_position < m_text.length() && m_text.charAt(m_position) == c) {
+            m_position++;
+            return true;
+        }
+        return false;
+    }
+    protected void expect(char c) {
+        if (!consume(c))
+            throw error("Expected '" + c + "'");
+    }
+    protected IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + m_position + " of the JSON text.");
+    }
+}
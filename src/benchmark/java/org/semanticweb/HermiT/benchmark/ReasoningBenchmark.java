@@ -0,0 +1,292 @@
+package org.semanticweb.HermiT.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.Supplier;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.util.Version;
+
+/**
+ * Runs the reasoner end to end on a corpus of ontologies and reports the time of each reasoning phase. Each ontology is
+ * loaded once; then the reasoner is created, the consistency is checked, and the class and object property hierarchies
+ * and the class instances are computed several times after a number of warm-up runs, each time with a new reasoner.
+ * The median, minimum and mean times of each phase are written to a JSON file, together with a fingerprint of the
+ * computed hierarchies. If a baseline written by an earlier run is given, each phase whose median exceeds the median of
+ * the baseline by more than the threshold and by more than the minimal difference is reported as a regression, as is
+ * each ontology whose consistency or hierarchies differ from the baseline; the runner then exits with status 1.
+ * <p>
+ * Usage: ReasoningBenchmark [--warmup N] [--runs N] [--output FILE] [--baseline FILE] [--threshold FRACTION]
+ * [--min-difference MILLIS] [--no-default-corpus] [ONTOLOGY_FILE ...]
+ */
+public class ReasoningBenchmark {
+    public static final String[] PHASES = { "preprocessing", "consistency", "classification", "objectPropertyClassification", "realisation" };
+    public static final String[] DEFAULT_ONTOLOGY_FILES = { "examples/ontologies/pizza.owl", "src/test/resources/org/semanticweb/HermiT/reasoner/res/families.owl", "src/test/resources/org/semanticweb/HermiT/reasoner/res/classification-blocking-error.owl" };
+
+    protected final int m_warmupRuns;
+    protected final int m_runs;
+    protected final Map<String,Supplier<OWLOntology>> m_corpus;
+    protected String m_reasonerVersion;
+
+    /**
+     * @param warmupRuns the number of runs per ontology whose times are discarded
+     * @param runs the number of runs per ontology whose times are reported
+     */
+    public ReasoningBenchmark(int warmupRuns, int runs) {
+        m_warmupRuns = warmupRuns;
+        m_runs = runs;
+        m_corpus = new LinkedHashMap<>();
+    }
+    /**
+     * Adds the generated ontologies of increasing size to the corpus.
+     */
+    public void addGeneratedOntologies() {
+        for (int size : new int[] { 500, 2000 })
+            m_corpus.put("synthetic-terminology-" + size, () -> SyntheticOntologies.createTerminology(size, 16, size, 1L));
+        m_corpus.put("synthetic-fan-out-2000", () -> SyntheticOntologies.createFanOut(2000, 64, 1L));
+    }
+    /**
+     * @param file the file of an ontology to add to the corpus
+     */
+    public void addOntologyFile(File file) {
+        m_corpus.put(file.getName(), () -> {
+            try {
+                return OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(file);
+            }
+            catch (OWLOntologyCreationException e) {
+                throw new IllegalArgumentException("Cannot load the ontology from '" + file + "'.", e);
+            }
+        });
+    }
+    /**
+     * @return the results for all ontologies of the corpus, keyed by the name of the ontology
+     */
+    public Map<String,Object> run() {
+        Map<String,Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String,Supplier<OWLOntology>> entry : m_corpus.entrySet()) {
+            System.out.println("Benchmarking " + entry.getKey() + "...");
+            results.put(entry.getKey(), runOntology(entry.getValue().get()));
+        }
+        return results;
+    }
+    /**
+     * @return the version of the benchmarked reasoner, or null if no reasoner has been created yet
+     */
+    public String getReasonerVersion() {
+        return m_reasonerVersion;
+    }
+    protected Map<String,Object> runOntology(OWLOntology ontology) {
+        double[][] times = new double[PHASES.length][m_runs];
+        boolean consistent = true;
+        String hierarchyFingerprint = null;
+        for (int run = -m_warmupRuns; run < m_runs; run++) {
+            long[] phaseTimes = new long[PHASES.length];
+            Reasoner reasoner = null;
+            try {
+                long start = System.nanoTime();
+                reasoner = new Reasoner(new Configuration(), ontology);
+                phaseTimes[0] = System.nanoTime() - start;
+                if (m_reasonerVersion == null) {
+                    Version version = reasoner.getReasonerVersion();
+                    m_reasonerVersion = version.getMajor() + "." + version.getMinor() + "." + version.getPatch() + "." + version.getBuild();
+                }
+                start = System.nanoTime();
+                consistent = reasoner.isConsistent();
+                phaseTimes[1] = System.nanoTime() - start;
+                if (consistent) {
+                    start = System.nanoTime();
+                    reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+                    phaseTimes[2] = System.nanoTime() - start;
+                    start = System.nanoTime();
+                    reasoner.precomputeInferences(InferenceType.OBJECT_PROPERTY_HIERARCHY);
+                    phaseTimes[3] = System.nanoTime() - start;
+                    start = System.nanoTime();
+                    reasoner.precomputeInferences(InferenceType.CLASS_ASSERTIONS);
+                    phaseTimes[4] = System.nanoTime() - start;
+                    if (hierarchyFingerprint == null)
+                        hierarchyFingerprint = getHierarchyFingerprint(reasoner);
+                }
+            }
+            finally {
+                if (reasoner != null)
+                    reasoner.dispose();
+            }
+            if (run >= 0)
+                for (int phase = 0; phase < PHASES.length; phase++)
+                    times[phase][run] = phaseTimes[phase] / 1000000.0;
+        }
+        Map<String,Object> result = new LinkedHashMap<>();
+        result.put("consistent", Boolean.valueOf(consistent));
+        if (hierarchyFingerprint != null)
+            result.put("hierarchyFingerprint", hierarchyFingerprint);
+        Map<String,Object> phases = new LinkedHashMap<>();
+        double[] totals = new double[m_runs];
+        for (int phase = 0; phase < PHASES.length; phase++) {
+            if (consistent || phase < 2)
+                phases.put(PHASES[phase], getStatistics(times[phase]));
+            for (int run = 0; run < m_runs; run++)
+                totals[run] += times[phase][run];
+        }
+        phases.put("total", getStatistics(totals));
+        result.put("phases", phases);
+        return result;
+    }
+    protected static Map<String,Object> getStatistics(double[] times) {
+        double[] sorted = times.clone();
+        Arrays.sort(sorted);
+        double sum = 0.0;
+        for (double time : sorted)
+            sum += time;
+        Map<String,Object> statistics = new LinkedHashMap<>();
+        int middle = sorted.length / 2;
+        statistics.put("medianMs", Double.valueOf(sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0));
+        statistics.put("minMs", Double.valueOf(sorted[0]));
+        statistics.put("meanMs", Double.valueOf(sum / sorted.length));
+        return statistics;
+    }
+    protected static String getHierarchyFingerprint(Reasoner reasoner) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter output = new PrintWriter(buffer);
+        reasoner.printHierarchies(output, true, true, false);
+        output.flush();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest)
+                fingerprint.append(String.format("%02x", Integer.valueOf(b & 0xFF)));
+            return fingerprint.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    /**
+     * Compares the results of a run with the results of a baseline.
+     *
+     * @param results the results of the run
+     * @param baselineResults the results of the baseline
+     * @param threshold the fraction by which the median of a phase may exceed the median of the baseline
+     * @param minimalDifference the difference in milliseconds below which a slower phase is not reported
+     * @return the descriptions of the regressions
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> findRegressions(Map<String,Object> results, Map<String,Object> baselineResults, double threshold, double minimalDifference) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String,Object> entry : results.entrySet()) {
+            Map<String,Object> baselineResult = (Map<String,Object>) baselineResults.get(entry.getKey());
+            if (baselineResult == null)
+                continue;
+            Map<String,Object> result = (Map<String,Object>) entry.getValue();
+            if (!result.get("consistent").equals(baselineResult.get("consistent")))
+                regressions.add(entry.getKey() + ": the consistency changed from " + baselineResult.get("consistent") + " to " + result.get("consistent") + ".");
+            Object baselineFingerprint = baselineResult.get("hierarchyFingerprint");
+            if (baselineFingerprint != null && !baselineFingerprint.equals(result.get("hierarchyFingerprint")))
+                regressions.add(entry.getKey() + ": the computed hierarchies differ from the baseline.");
+            Map<String,Object> phases = (Map<String,Object>) result.get("phases");
+            Map<String,Object> baselinePhases = (Map<String,Object>) baselineResult.get("phases");
+            for (Map.Entry<String,Object> phaseEntry : phases.entrySet()) {
+                Map<String,Object> baselineStatistics = (Map<String,Object>) baselinePhases.get(phaseEntry.getKey());
+                if (baselineStatistics == null)
+                    continue;
+                double median = ((Number) ((Map<String,Object>) phaseEntry.getValue()).get("medianMs")).doubleValue();
+                double baselineMedian = ((Number) baselineStatistics.get("medianMs")).doubleValue();
+                if (median > baselineMedian * (1.0 + threshold) && median - baselineMedian > minimalDifference)
+                    regressions.add(String.format(Locale.ROOT, "%s: %s took %.2f ms instead of %.2f ms (%+.1f%%).", entry.getKey(), phaseEntry.getKey(), Double.valueOf(median), Double.valueOf(baselineMedian), Double.valueOf((median / baselineMedian - 1.0) * 100.0)));
+            }
+        }
+        return regressions;
+    }
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws IOException {
+        int warmupRuns = 2;
+        int runs = 5;
+        File output = new File("target/reasoning-benchmark.json");
+        File baseline = null;
+        double threshold = 0.1;
+        double minimalDifference = 5.0;
+        boolean defaultCorpus = true;
+        List<File> ontologyFiles = new ArrayList<>();
+        for (int index = 0; index < args.length; index++) {
+            String arg = args[index];
+            if ("--warmup".equals(arg))
+                warmupRuns = Integer.parseInt(args[++index]);
+            else if ("--runs".equals(arg))
+                runs = Integer.parseInt(args[++index]);
+            else if ("--output".equals(arg))
+                output = new File(args[++index]);
+            else if ("--baseline".equals(arg))
+                baseline = new File(args[++index]);
+            else if ("--threshold".equals(arg))
+                threshold = Double.parseDouble(args[++index]);
+            else if ("--min-difference".equals(arg))
+                minimalDifference = Double.parseDouble(args[++index]);
+            else if ("--no-default-corpus".equals(arg))
+                defaultCorpus = false;
+            else if (arg.startsWith("--"))
+                throw new IllegalArgumentException("Unknown option '" + arg + "'.");
+            else
+                ontologyFiles.add(new File(arg));
+        }
+        if (runs < 1)
+            throw new IllegalArgumentException("At least one run is required.");
+        ReasoningBenchmark benchmark = new ReasoningBenchmark(warmupRuns, runs);
+        if (defaultCorpus) {
+            benchmark.addGeneratedOntologies();
+            for (String fileName : DEFAULT_ONTOLOGY_FILES)
+                benchmark.addOntologyFile(new File(fileName));
+        }
+        for (File file : ontologyFiles)
+            benchmark.addOntologyFile(file);
+        Map<String,Object> results = benchmark.run();
+        Map<String,Object> report = new LinkedHashMap<>();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ROOT);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        report.put("timestamp", dateFormat.format(new Date()));
+        report.put("hermitVersion", String.valueOf(benchmark.getReasonerVersion()));
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("warmupRuns", Integer.valueOf(warmupRuns));
+        report.put("runs", Integer.valueOf(runs));
+        report.put("results", results);
+        List<String> regressions = null;
+        if (baseline != null) {
+            Map<String,Object> baselineReport = (Map<String,Object>) JSON.parse(new String(Files.readAllBytes(baseline.toPath()), StandardCharsets.UTF_8));
+            regressions = findRegressions(results, (Map<String,Object>) baselineReport.get("results"), threshold, minimalDifference);
+            report.put("baseline", baseline.getPath());
+            report.put("regressions", regressions);
+        }
+        if (output.getParentFile() != null)
+            output.getParentFile().mkdirs();
+        Files.write(output.toPath(), JSON.toString(report).getBytes(StandardCharsets.UTF_8));
+        System.out.println("Results written to " + output + ".");
+        if (regressions != null) {
+            if (regressions.isEmpty())
+                System.out.println("No regressions with respect to " + baseline + ".");
+            else {
+                System.out.println("Regressions with respect to " + baseline + ":");
+                for (String regression : regressions)
+                    System.out.println("  " + regression);
+                System.exit(1);
+            }
+        }
+    }
+}
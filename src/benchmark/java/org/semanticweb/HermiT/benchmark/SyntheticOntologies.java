@@ -0,0 +1,164 @@
+package org.semanticweb.HermiT.benchmark;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.blocking.AnywhereBlocking;
+import org.semanticweb.HermiT.blocking.BlockingSignatureCache;
+import org.semanticweb.HermiT.blocking.DirectBlockingChecker;
+import org.semanticweb.HermiT.existentials.CreationOrderStrategy;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.structural.OWLClausification;
+import org.semanticweb.HermiT.tableau.InterruptFlag;
+import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
+import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Generates the synthetic ontologies on which the benchmarks are run and builds tableaux for them. The ontologies are
+ * generated from a seed, so that all runs of a benchmark see the same workload.
+ */
+public final class SyntheticOntologies {
+    public static final String NAMESPACE = "http://benchmark.hermit/synthetic#";
+
+    private SyntheticOntologies() {
+    }
+
+    /**
+     * Generates an ontology in the style of large medical terminologies: a tree of classes in which a third of the
+     * classes are defined as a parent class restricted by an existential restriction on a role from a role hierarchy,
+     * together with an ABox whose individuals are instances of random classes and are connected by random roles.
+     * Applying the DL clauses of such an ontology dominates the time of an ABox satisfiability test.
+     *
+     * @param numberOfClasses the number of classes
+     * @param numberOfRoles the number of object properties
+     * @param numberOfIndividuals the number of individuals
+     * @param seed the seed of the generator
+     * @return the ontology
+     */
+    public static OWLOntology createTerminology(int numberOfClasses, int numberOfRoles, int numberOfIndividuals, long seed) {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory factory = manager.getOWLDataFactory();
+        OWLOntology ontology = createOntology(manager);
+        Random random = new Random(seed);
+        OWLClass[] classes = new OWLClass[numberOfClasses];
+        for (int index = 0; index < numberOfClasses; index++)
+            classes[index] = factory.getOWLClass(IRI.create(NAMESPACE + "C" + index));
+        OWLObjectProperty[] roles = new OWLObjectProperty[numberOfRoles];
+        for (int index = 0; index < numberOfRoles; index++) {
+            roles[index] = factory.getOWLObjectProperty(IRI.create(NAMESPACE + "R" + index));
+            if (index > 0)
+                add(manager, ontology, factory.getOWLSubObjectPropertyOfAxiom(roles[index], roles[(index - 1) / 2]));
+        }
+        for (int index = 1; index < numberOfClasses; index++) {
+            OWLClass parent = classes[random.nextInt(index)];
+            if (index % 3 == 0) {
+                OWLClassExpression filler = classes[skewed(random, numberOfClasses)];
+                OWLClassExpression definition = factory.getOWLObjectIntersectionOf(parent, factory.getOWLObjectSomeValuesFrom(roles[random.nextInt(numberOfRoles)], filler));
+                add(manager, ontology, factory.getOWLEquivalentClassesAxiom(classes[index], definition));
+            }
+            else
+                add(manager, ontology, factory.getOWLSubClassOfAxiom(classes[index], parent));
+        }
+        OWLNamedIndividual[] individuals = new OWLNamedIndividual[numberOfIndividuals];
+        for (int index = 0; index < numberOfIndividuals; index++)
+            individuals[index] = factory.getOWLNamedIndividual(IRI.create(NAMESPACE + "i" + index));
+        for (int index = 0; index < numberOfIndividuals; index++) {
+            add(manager, ontology, factory.getOWLClassAssertionAxiom(classes[skewed(random, numberOfClasses)], individuals[index]));
+            for (int edge = 0; edge < 2; edge++)
+                add(manager, ontology, factory.getOWLObjectPropertyAssertionAxiom(roles[random.nextInt(numberOfRoles)], individuals[index], individuals[random.nextInt(numberOfIndividuals)]));
+        }
+        return ontology;
+    }
+    /**
+     * Generates an ontology in which the class Root has the given number of R-successors, each of which is labelled by
+     * a random subset of the given number of label classes. A model of Root thus contains many tree nodes, several of
+     * which have the same label.
+     *
+     * @param numberOfSuccessors the number of successors of Root
+     * @param numberOfLabelClasses the number of label classes
+     * @param seed the seed of the generator
+     * @return the ontology
+     */
+    public static OWLOntology createFanOut(int numberOfSuccessors, int numberOfLabelClasses, long seed) {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory factory = manager.getOWLDataFactory();
+        OWLOntology ontology = createOntology(manager);
+        Random random = new Random(seed);
+        OWLClass root = factory.getOWLClass(IRI.create(NAMESPACE + "Root"));
+        OWLObjectProperty r = factory.getOWLObjectProperty(IRI.create(NAMESPACE + "R"));
+        OWLClass[] labelClasses = new OWLClass[numberOfLabelClasses];
+        for (int index = 0; index < numberOfLabelClasses; index++)
+            labelClasses[index] = factory.getOWLClass(IRI.create(NAMESPACE + "L" + index));
+        for (int index = 0; index < numberOfSuccessors; index++) {
+            OWLClass successor = factory.getOWLClass(IRI.create(NAMESPACE + "S" + index));
+            add(manager, ontology, factory.getOWLSubClassOfAxiom(root, factory.getOWLObjectSomeValuesFrom(r, successor)));
+            int labelSize = 1 + random.nextInt(4);
+            for (int label = 0; label < labelSize; label++)
+                add(manager, ontology, factory.getOWLSubClassOfAxiom(successor, labelClasses[skewed(random, numberOfLabelClasses)]));
+        }
+        return ontology;
+    }
+    /**
+     * @param ontology the ontology
+     * @param configuration the configuration
+     * @return the DL-ontology of the given ontology
+     */
+    public static DLOntology clausify(OWLOntology ontology, Configuration configuration) {
+        return (DLOntology) new OWLClausification(configuration).preprocessAndClausify(ontology, Collections.emptySet())[1];
+    }
+    /**
+     * Creates a tableau with anywhere blocking and the creation order existential expansion strategy.
+     *
+     * @param dlOntology the DL-ontology
+     * @param configuration the configuration
+     * @param directBlockingChecker the direct blocking checker
+     * @return the tableau
+     */
+    public static Tableau createTableau(DLOntology dlOntology, Configuration configuration, DirectBlockingChecker directBlockingChecker) {
+        AnywhereBlocking blockingStrategy = new AnywhereBlocking(directBlockingChecker, new BlockingSignatureCache(directBlockingChecker));
+        return new Tableau(new InterruptFlag(-1), null, new CreationOrderStrategy(blockingStrategy), dlOntology, null, configuration);
+    }
+    /**
+     * @param tableau the tableau
+     * @return true if the ABox of the tableau is satisfiable
+     */
+    public static boolean isABoxSatisfiable(Tableau tableau) {
+        return tableau.isSatisfiable(true, true, null, null, null, null, new HashMap<>(), ReasoningTaskDescription.isABoxSatisfiable());
+    }
+    /**
+     * Returns a random index below the given bound, where small indexes are much more likely than large ones, which
+     * mimics the distribution of the usage of classes in real ontologies.
+     *
+     * @param random the random number generator
+     * @param bound the bound
+     * @return the index
+     */
+    public static int skewed(Random random, int bound) {
+        double value = random.nextDouble();
+        return (int) (value * value * bound);
+    }
+    private static OWLOntology createOntology(OWLOntologyManager manager) {
+        try {
+            return manager.createOntology(IRI.create(NAMESPACE.substring(0, NAMESPACE.length() - 1)));
+        }
+        catch (OWLOntologyCreationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    private static void add(OWLOntologyManager manager, OWLOntology ontology, OWLAxiom axiom) {
+        manager.addAxiom(ontology, axiom);
+    }
+}
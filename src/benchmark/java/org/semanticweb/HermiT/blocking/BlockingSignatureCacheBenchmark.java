@@ -0,0 +1,73 @@
+package org.semanticweb.HermiT.blocking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.benchmark.SyntheticOntologies;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.Individual;
+import org.semanticweb.HermiT.tableau.Node;
+import org.semanticweb.HermiT.tableau.NodeType;
+import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
+import org.semanticweb.HermiT.tableau.Tableau;
+
+/**
+ * Measures adding the tree nodes of a model to an empty blocking signature cache, as is done after each successful
+ * satisfiability test. The model is a model of the class Root of a synthetic ontology in which Root has many successors
+ * with labels drawn from a skewed distribution, so that the cache sees both new and known signatures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingSignatureCacheBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int numberOfSuccessors;
+
+    protected DirectBlockingChecker m_directBlockingChecker;
+    protected Tableau m_tableau;
+    protected Node[] m_nodes;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration();
+        DLOntology dlOntology = SyntheticOntologies.clausify(SyntheticOntologies.createFanOut(numberOfSuccessors, 64, 1L), configuration);
+        m_directBlockingChecker = new SingleDirectBlockingChecker();
+        m_tableau = SyntheticOntologies.createTableau(dlOntology, configuration, m_directBlockingChecker);
+        AtomicConcept root = AtomicConcept.create(SyntheticOntologies.NAMESPACE + "Root");
+        Individual freshIndividual = Individual.createAnonymous("fresh-individual");
+        if (!m_tableau.isSatisfiable(false, Collections.singleton(Atom.create(root, freshIndividual)), null, null, null, null, ReasoningTaskDescription.isConceptSatisfiable(root)))
+            throw new IllegalStateException("Root should be satisfiable.");
+        List<Node> nodes = new ArrayList<>();
+        for (Node node = m_tableau.getFirstTableauNode(); node != null; node = node.getNextTableauNode())
+            if (node.getNodeType() == NodeType.TREE_NODE && node.isActive())
+                nodes.add(node);
+        m_nodes = nodes.toArray(new Node[nodes.size()]);
+    }
+    @Benchmark
+    public BlockingSignatureCache addNode() {
+        BlockingSignatureCache blockingSignatureCache = new BlockingSignatureCache(m_directBlockingChecker);
+        for (Node node : m_nodes)
+            blockingSignatureCache.addNode(node);
+        return blockingSignatureCache;
+    }
+}
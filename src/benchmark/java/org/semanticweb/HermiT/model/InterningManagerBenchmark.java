@@ -0,0 +1,117 @@
+package org.semanticweb.HermiT.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.HermiT.benchmark.SyntheticOntologies;
+
+/**
+ * Measures interning through the atomic concepts, whose factory method interns each concept in an interning manager.
+ * Interning an existing concept is what clausification mostly does; interning new concepts also exercises the growth of
+ * the manager and the removal of collected entries. Each benchmark is run with 1, 4 and 8 threads that intern
+ * concurrently, so the time per operation shows how interning scales with the number of threads; each thread starts at
+ * a different position of the lookups and interns its own fresh concepts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterningManagerBenchmark {
+    protected static final int NUMBER_OF_CONCEPTS = 16384;
+    protected static final int NUMBER_OF_OPERATIONS = 65536;
+
+    protected AtomicConcept[] m_concepts;
+    protected String[] m_lookups;
+    protected final AtomicInteger m_nextThreadIndex = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        m_concepts = new AtomicConcept[NUMBER_OF_CONCEPTS];
+        for (int index = 0; index < NUMBER_OF_CONCEPTS; index++)
+            m_concepts[index] = AtomicConcept.create(SyntheticOntologies.NAMESPACE + "C" + index);
+        Random random = new Random(1L);
+        m_lookups = new String[NUMBER_OF_OPERATIONS];
+        for (int index = 0; index < NUMBER_OF_OPERATIONS; index++)
+            m_lookups[index] = new String(SyntheticOntologies.NAMESPACE + "C" + SyntheticOntologies.skewed(random, NUMBER_OF_CONCEPTS));
+    }
+
+    /**
+     * The state of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        protected int m_firstLookup;
+        protected String m_freshPrefix;
+        protected int m_nextFreshConcept;
+
+        @Setup
+        public void setUp(InterningManagerBenchmark benchmark) {
+            int threadIndex = benchmark.m_nextThreadIndex.getAndIncrement();
+            m_firstLookup = (threadIndex * 7919) % NUMBER_OF_OPERATIONS;
+            m_freshPrefix = SyntheticOntologies.NAMESPACE + "F" + threadIndex + "_";
+        }
+    }
+
+    protected void internExisting(ThreadState threadState, Blackhole blackhole) {
+        for (int index = threadState.m_firstLookup; index < NUMBER_OF_OPERATIONS; index++)
+            blackhole.consume(AtomicConcept.create(m_lookups[index]));
+        for (int index = 0; index < threadState.m_firstLookup; index++)
+            blackhole.consume(AtomicConcept.create(m_lookups[index]));
+    }
+    protected void internNew(ThreadState threadState, Blackhole blackhole) {
+        for (int index = 0; index < NUMBER_OF_OPERATIONS; index++)
+            blackhole.consume(AtomicConcept.create(threadState.m_freshPrefix + (threadState.m_nextFreshConcept++)));
+    }
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void internExisting1Thread(ThreadState threadState, Blackhole blackhole) {
+        internExisting(threadState, blackhole);
+    }
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void internExisting4Threads(ThreadState threadState, Blackhole blackhole) {
+        internExisting(threadState, blackhole);
+    }
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void internExisting8Threads(ThreadState threadState, Blackhole blackhole) {
+        internExisting(threadState, blackhole);
+    }
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void internNew1Thread(ThreadState threadState, Blackhole blackhole) {
+        internNew(threadState, blackhole);
+    }
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void internNew4Threads(ThreadState threadState, Blackhole blackhole) {
+        internNew(threadState, blackhole);
+    }
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void internNew8Threads(ThreadState threadState, Blackhole blackhole) {
+        internNew(threadState, blackhole);
+    }
+}
@@ -0,0 +1,56 @@
+package org.semanticweb.HermiT.tableau;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.benchmark.SyntheticOntologies;
+import org.semanticweb.HermiT.blocking.SingleDirectBlockingChecker;
+import org.semanticweb.HermiT.model.DLOntology;
+
+/**
+ * Measures the evaluation of DL clauses. Each invocation checks the satisfiability of the ABox of a synthetic
+ * terminology; the ontology is deterministic and contains many clauses whose bodies join several atoms, so almost all
+ * of the time is spent in DLClauseEvaluator.evaluate().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DLClauseEvaluatorBenchmark {
+
+    @Param({ "INTERPRETED", "GENERATED" })
+    public Configuration.ClauseEvaluatorType clauseEvaluatorType;
+    @Param({ "2000" })
+    public int numberOfClasses;
+    @Param({ "5000" })
+    public int numberOfIndividuals;
+
+    protected Tableau m_tableau;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration();
+        configuration.clauseEvaluatorType = clauseEvaluatorType;
+        DLOntology dlOntology = SyntheticOntologies.clausify(SyntheticOntologies.createTerminology(numberOfClasses, 32, numberOfIndividuals, 1L), configuration);
+        m_tableau = SyntheticOntologies.createTableau(dlOntology, configuration, new SingleDirectBlockingChecker());
+        if (!SyntheticOntologies.isABoxSatisfiable(m_tableau))
+            throw new IllegalStateException("The ABox should be satisfiable.");
+    }
+    @Benchmark
+    public boolean evaluate() {
+        return SyntheticOntologies.isABoxSatisfiable(m_tableau);
+    }
+}
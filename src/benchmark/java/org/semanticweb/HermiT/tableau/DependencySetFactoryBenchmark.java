@@ -0,0 +1,86 @@
+package org.semanticweb.HermiT.tableau;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the operations of the dependency set factory on a pool of dependency sets as they arise in a tableau with
+ * the given number of open branching points: most sets are small and contain recent branching points, and a few are
+ * large. After each invocation, the sets that were created by the invocation and are not in the pool are destroyed, as
+ * happens in the tableau after a round of rule applications. The factory encodes the sets below the given bitset width
+ * also as bitsets; a width of 0 uses the lists only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DependencySetFactoryBenchmark {
+    protected static final int NUMBER_OF_SETS = 1024;
+    protected static final int NUMBER_OF_OPERATIONS = 4096;
+
+    @Param({ "16", "256" })
+    public int numberOfBranchingPoints;
+
+    @Param({ "0", "256" })
+    public int bitsetWidth;
+
+    protected DependencySetFactory m_dependencySetFactory;
+    protected PermanentDependencySet[] m_dependencySets;
+    protected int[] m_firstOperands;
+    protected int[] m_secondOperands;
+    protected int[] m_branchingPoints;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1L);
+        m_dependencySetFactory = new DependencySetFactory(bitsetWidth);
+        m_dependencySets = new PermanentDependencySet[NUMBER_OF_SETS];
+        for (int index = 0; index < NUMBER_OF_SETS; index++) {
+            PermanentDependencySet dependencySet = m_dependencySetFactory.emptySet();
+            int size = 1 + (int) (Math.abs(random.nextGaussian()) * 4);
+            for (int element = 0; element < size; element++)
+                dependencySet = m_dependencySetFactory.addBranchingPoint(dependencySet, numberOfBranchingPoints - 1 - Math.min(numberOfBranchingPoints - 1, (int) Math.abs(random.nextGaussian() * numberOfBranchingPoints / 4)));
+            m_dependencySetFactory.addUsage(dependencySet);
+            m_dependencySets[index] = dependencySet;
+        }
+        m_dependencySetFactory.removeUnusedSets();
+        m_firstOperands = new int[NUMBER_OF_OPERATIONS];
+        m_secondOperands = new int[NUMBER_OF_OPERATIONS];
+        m_branchingPoints = new int[NUMBER_OF_OPERATIONS];
+        for (int index = 0; index < NUMBER_OF_OPERATIONS; index++) {
+            m_firstOperands[index] = random.nextInt(NUMBER_OF_SETS);
+            m_secondOperands[index] = random.nextInt(NUMBER_OF_SETS);
+            m_branchingPoints[index] = random.nextInt(numberOfBranchingPoints);
+        }
+    }
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void unionWith(Blackhole blackhole) {
+        for (int index = 0; index < NUMBER_OF_OPERATIONS; index++)
+            blackhole.consume(m_dependencySetFactory.unionWith(m_dependencySets[m_firstOperands[index]], m_dependencySets[m_secondOperands[index]]));
+        m_dependencySetFactory.removeUnusedSets();
+    }
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_OPERATIONS)
+    public void addBranchingPoint(Blackhole blackhole) {
+        for (int index = 0; index < NUMBER_OF_OPERATIONS; index++)
+            blackhole.consume(m_dependencySetFactory.addBranchingPoint(m_dependencySets[m_firstOperands[index]], m_branchingPoints[index]));
+        m_dependencySetFactory.removeUnusedSets();
+    }
+}
@@ -0,0 +1,97 @@
+package org.semanticweb.HermiT.tableau;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.HermiT.Configuration;
+
+/**
+ * Measures the operations of the tuple indexes of the extension tables on tuples with the shape of the tuples of the
+ * ternary extension table. The index of the full tuple table and the indexes of the first two positions are exercised
+ * by the indexing sequences { 0, 1, 2 } and { 1, 2, 0 }.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TupleIndexBenchmark {
+    protected static final int NUMBER_OF_TUPLES = 65536;
+
+    @Param({ "TRIE", "HASH" })
+    public Configuration.TupleIndexType tupleIndexType;
+    @Param({ "0,1,2", "1,2,0" })
+    public String indexingSequence;
+
+    protected Object[][] m_tuples;
+    protected TupleIndex m_filledTupleIndex;
+    protected TupleIndex m_emptyTupleIndex;
+
+    @Setup
+    public void setUp() {
+        String[] positions = indexingSequence.split(",");
+        int[] sequence = new int[positions.length];
+        for (int index = 0; index < positions.length; index++)
+            sequence[index] = Integer.parseInt(positions[index]);
+        m_tuples = TupleTableBenchmark.createTernaryTuples(NUMBER_OF_TUPLES, 64, 8192, 1L);
+        m_filledTupleIndex = createTupleIndex(sequence);
+        for (int index = 0; index < NUMBER_OF_TUPLES; index++)
+            m_filledTupleIndex.addTuple(m_tuples[index], index);
+        m_emptyTupleIndex = createTupleIndex(sequence);
+    }
+    protected TupleIndex createTupleIndex(int[] sequence) {
+        if (tupleIndexType == Configuration.TupleIndexType.HASH)
+            return new HashTupleIndex(sequence);
+        else
+            return new TrieTupleIndex(sequence);
+    }
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TUPLES)
+    public int getTupleIndex() {
+        int result = 0;
+        for (Object[] tuple : m_tuples)
+            result += m_filledTupleIndex.getTupleIndex(tuple);
+        return result;
+    }
+    /**
+     * Adds all tuples to an empty index and removes them again, so that the index is empty at the end of each invocation.
+     *
+     * @return a value depending on the computation
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TUPLES)
+    public int addTupleAndRemoveTuple() {
+        int result = 0;
+        for (int index = 0; index < NUMBER_OF_TUPLES; index++)
+            result += m_emptyTupleIndex.addTuple(m_tuples[index], index);
+        for (Object[] tuple : m_tuples)
+            result += m_emptyTupleIndex.removeTuple(tuple);
+        return result;
+    }
+    /**
+     * Adds all tuples to an index that is cleared first, as is done when a tableau is cleared.
+     *
+     * @return a value depending on the computation
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TUPLES)
+    public int addTuple() {
+        m_emptyTupleIndex.clear();
+        int result = 0;
+        for (int index = 0; index < NUMBER_OF_TUPLES; index++)
+            result += m_emptyTupleIndex.addTuple(m_tuples[index], index);
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package org.semanticweb.HermiT.tableau;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.benchmark.SyntheticOntologies;
+import org.semanticweb.HermiT.model.AtomicRole;
+import org.semanticweb.HermiT.model.Individual;
+
+/**
+ * Measures adding tuples to and retrieving tuples from a tuple table. The tuples have the shape of the tuples of the
+ * ternary extension table: a role followed by two nodes, with roles and nodes drawn from skewed distributions. Adding
+ * truncates the table first, as backtracking does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TupleTableBenchmark {
+    protected static final int NUMBER_OF_TUPLES = 65536;
+
+    @Param({ "OBJECT_PAGES", "INTEGER_PAGES", "OFF_HEAP_PAGES" })
+    public Configuration.TupleTableType tupleTableType;
+
+    protected TupleTable m_tupleTable;
+    protected Object[][] m_tuples;
+    protected int[] m_retrievalOrder;
+    protected Object[] m_tupleBuffer;
+
+    @Setup
+    public void setUp() {
+        ObjectDictionary objectDictionary = (tupleTableType == Configuration.TupleTableType.OBJECT_PAGES ? null : new ObjectDictionary());
+        m_tupleTable = new TupleTable(3, objectDictionary, tupleTableType == Configuration.TupleTableType.OFF_HEAP_PAGES);
+        m_tuples = createTernaryTuples(NUMBER_OF_TUPLES, 64, 8192, 1L);
+        for (Object[] tuple : m_tuples)
+            m_tupleTable.addTuple(tuple);
+        Random random = new Random(2L);
+        m_retrievalOrder = new int[NUMBER_OF_TUPLES];
+        for (int index = 0; index < NUMBER_OF_TUPLES; index++)
+            m_retrievalOrder[index] = random.nextInt(NUMBER_OF_TUPLES);
+        m_tupleBuffer = new Object[3];
+    }
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TUPLES)
+    public int addTuple() {
+        m_tupleTable.truncate(0);
+        int lastTupleIndex = 0;
+        for (Object[] tuple : m_tuples)
+            lastTupleIndex = m_tupleTable.addTuple(tuple);
+        return lastTupleIndex;
+    }
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_TUPLES)
+    public void retrieveTuple(Blackhole blackhole) {
+        for (int tupleIndex : m_retrievalOrder) {
+            m_tupleTable.retrieveTuple(m_tupleBuffer, tupleIndex);
+            blackhole.consume(m_tupleBuffer[2]);
+        }
+    }
+    /**
+     * @param numberOfTuples the number of tuples
+     * @param numberOfRoles the number of distinct roles in the first position
+     * @param numberOfTerms the number of distinct terms in the other positions
+     * @param seed the seed of the generator
+     * @return tuples consisting of a role and two individuals
+     */
+    protected static Object[][] createTernaryTuples(int numberOfTuples, int numberOfRoles, int numberOfTerms, long seed) {
+        Random random = new Random(seed);
+        AtomicRole[] roles = new AtomicRole[numberOfRoles];
+        for (int index = 0; index < numberOfRoles; index++)
+            roles[index] = AtomicRole.create(SyntheticOntologies.NAMESPACE + "R" + index);
+        Individual[] terms = new Individual[numberOfTerms];
+        for (int index = 0; index < numberOfTerms; index++)
+            terms[index] = Individual.create(SyntheticOntologies.NAMESPACE + "i" + index);
+        Object[][] tuples = new Object[numberOfTuples][];
+        for (int index = 0; index < numberOfTuples; index++)
+            tuples[index] = new Object[] { roles[SyntheticOntologies.skewed(random, numberOfRoles)], terms[random.nextInt(numberOfTerms)], terms[SyntheticOntologies.skewed(random, numberOfTerms)] };
+        return tuples;
+    }
+}
@@ -29,6 +29,9 @@ import java.util.Set;
 
 import org.semanticweb.HermiT.model.AtomicConcept;
 import org.semanticweb.HermiT.monitor.TableauMonitor;
+import org.semanticweb.HermiT.tableau.ActivityDisjunctionSelectionStrategy;
+import org.semanticweb.HermiT.tableau.DisjunctionSelectionStrategyFactory;
+import org.semanticweb.HermiT.tableau.SmallestDisjunctionFirstStrategy;
 import org.semanticweb.owlapi.reasoner.FreshEntityPolicy;
 import org.semanticweb.owlapi.reasoner.IndividualNodeSetPolicy;
 import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
@@ -166,6 +169,107 @@ public class Configuration implements Serializable,Cloneable,OWLReasonerConfigur
         EL
     }
 
+    /**
+     * Determines how the extension tables of the tableau store their tuples.
+     */
+    public enum TupleTableType {
+        /**
+         * The tuples are stored as arrays of object references. This is the default.
+         */
+        OBJECT_PAGES,
+        /**
+         * The predicates, nodes and dependency sets are encoded as integers using a dictionary that is shared by all
+         * extension tables of a tableau and the tuples are stored as arrays of integers. This avoids one object reference
+         * per tuple position, which reduces memory consumption for large ABoxes (in particular without compressed
+         * object pointers), at the expense of a dictionary lookup when tuples are added.
+         */
+        INTEGER_PAGES,
+        /**
+         * Like INTEGER_PAGES, but the integer pages of the tuple tables and the trie nodes of the tuple indexes are
+         * allocated in direct buffers outside of the Java heap, so they are not traversed by the garbage collector.
+         * The dictionary itself, the nodes and the dependency sets remain on the heap. The amount of direct memory is
+         * bounded by the -XX:MaxDirectMemorySize option of the JVM.
+         */
+        OFF_HEAP_PAGES
+    }
+
+    /**
+     * Determines how the binary and ternary extension tables of the tableau index their tuples.
+     */
+    public enum TupleIndexType {
+        /**
+         * The tuples are indexed in tries, with one level per position of the indexing sequence. This is the default.
+         */
+        TRIE,
+        /**
+         * The tuples are indexed in open-addressing hash tables, one per prefix length of the indexing sequence, and the
+         * tuples sharing a prefix are kept in a linked list. A prefix is then found with a single hash lookup, which pays
+         * off for roles with many successors, at the expense of more memory per tuple. These indexes are always kept on
+         * the heap.
+         */
+        HASH
+    }
+    /**
+     * Determines how the tableau evaluates the compiled DL clauses.
+     */
+    public enum ClauseEvaluatorType {
+        /**
+         * The workers of a compiled DL clause are executed by a loop that dispatches on a program counter. This is the
+         * default.
+         */
+        INTERPRETED,
+        /**
+         * A class is generated for each compiled DL clause that executes its workers in straight-line code, with the
+         * branches of the retrieval loops and equality checks resolved when the class is generated. This makes the
+         * evaluation of the clauses amenable to the JIT compiler, at the expense of a slower loading of the ontology. A
+         * clause for which no class can be generated is interpreted.
+         */
+        GENERATED
+    }
+    /**
+     * Determines how the tableau represents the sets of branching points on which its assertions depend.
+     */
+    public enum DependencySetType {
+        /**
+         * Each dependency set is a shared list of its branching points, so unions and containment checks traverse the
+         * lists. This is the default.
+         */
+        LIST,
+        /**
+         * The dependency sets whose branching points are all below 256 are additionally encoded as interned bitsets, so
+         * unions and containment checks on such sets take a few word operations; the sets that contain deeper branching
+         * points are represented as lists. This pays off for ontologies whose tests rarely open many branching points,
+         * at the expense of more memory per dependency set.
+         */
+        HYBRID
+    }
+
+    /**
+     * Determines which ground disjunction the tableau processes next and in which order it tries the disjuncts.
+     */
+    public enum DisjunctionSelectionStrategyType {
+        /**
+         * Ground disjunctions are processed in the order in which they were derived, and the disjuncts are tried in a
+         * fixed order that is adjusted by the number of backtrackings if useDisjunctionLearning is set. This is the
+         * default.
+         */
+        DERIVATION_ORDER,
+        /**
+         * Ground disjunctions are processed in the order in which they were derived, and the disjuncts that recently led
+         * to clashes are tried last (see ActivityDisjunctionSelectionStrategy).
+         */
+        ACTIVITY,
+        /**
+         * The ground disjunction with the fewest disjuncts that are not yet refuted is processed first (see
+         * SmallestDisjunctionFirstStrategy), and the disjuncts are tried as for DERIVATION_ORDER.
+         */
+        SMALLEST_FIRST,
+        /**
+         * Combines SMALLEST_FIRST for choosing the ground disjunctions with ACTIVITY for ordering the disjuncts.
+         */
+        ACTIVITY_SMALLEST_FIRST
+    }
+
     /**
      * One can implement an instance of this class and pass it to HermiT. HermiT will then print warning with the
      * warning() method of the interface, e.g., if it ignores an unsupported datatype. HermiT does not provide an
@@ -232,12 +336,121 @@ public class Configuration implements Serializable,Cloneable,OWLReasonerConfigur
     public boolean throwInconsistentOntologyException;
     /**prepare reasoner inferences*/
     public PrepareReasonerInferences prepareReasonerInferences;
+    /**tuple table type*/
+    public TupleTableType tupleTableType;
+    /**tuple index type*/
+    public TupleIndexType tupleIndexType;
+    /**clause evaluator type*/
+    public ClauseEvaluatorType clauseEvaluatorType;
+    /**dependency set type*/
+    public DependencySetType dependencySetType;
+    /**
+     * The maximal number of tableaux that the reasoner uses to answer satisfiability, subsumption, instance and entailment
+     * queries. With the default value of 1, all queries use the same tableau and the reasoner must not be used by several
+     * threads at the same time. With larger values, each such query borrows a tableau from a pool, so that the queries can
+     * be answered concurrently once the reasoner has checked consistency, the required hierarchies have been computed (see
+     * precomputeInferences()), and no changes are pending. The consistency check, the hierarchies and the realisation are
+     * computed lazily without synchronization, so queries that trigger them, such as the first getInstances() call without
+     * precomputed class assertions, must not run concurrently with other queries.
+     */
+    public int tableauPoolSize;
 
     /**
      * The default value is false and HermiT will use a specialiased classification strategy for deterministic ontologies, which often is faster, but not always.
      * If the value is set to true, then HermiT will use the Quasi Ordering Classification method even for deterministic ontologies.
      */
     public boolean forceQuasiOrderClassification;
+    /**
+     * The number of threads used for classifying classes. With the default value of 1, all subsumption tests are run
+     * one after the other. With larger values, the subsumption tests that remain after the initial satisfiability tests
+     * of the Quasi Ordering Classification method are distributed over that many threads, each with its own tableau.
+     * Deterministic ontologies are not affected unless forceQuasiOrderClassification is set.
+     */
+    public int classificationThreads;
+    /**
+     * The number of threads used for realisation, that is, for testing the possible instances of all classes. With the
+     * default value of 1, the possible instances are tested one after the other. With larger values, the possible
+     * instances of all classes whose subclasses have already been processed are tested in parallel, each thread with
+     * its own tableau.
+     */
+    public int realisationThreads;
+    /**
+     * The maximal number of independent parts into which the ABox is split for checking consistency and for reading off
+     * the known and possible class instances. With the default value of 1, the whole ABox is loaded into one tableau.
+     * With larger values, and if the ontology has neither nominals nor rules or keys that can relate unconnected
+     * individuals, the connected components of the ABox are distributed over that many parts, and the parts are checked
+     * in parallel, each in its own tableau.
+     */
+    public int aboxPartitions;
+    /**
+     * If set to true, then a tableau that loads the ABox keeps the state that it reaches after applying all deterministic
+     * rules to the ABox, and the next test that loads the same ABox starts from this state instead of from an empty
+     * tableau. This can save much time for ontologies with large ABoxes on which many class or instance tests are run.
+     * The default value is false.
+     */
+    public boolean useABoxCheckpoint;
+    /**
+     * If set to true, then each clash that depends on disjunctions is recorded as a nogood, that is, as a set of disjuncts
+     * that cannot be chosen together, and whenever a disjunct is chosen that completes a nogood, the tableau backtracks
+     * immediately instead of deriving the clash again. Nogoods are kept only for the duration of one test. The default
+     * value is false.
+     */
+    public boolean useNogoodLearning;
+    /**
+     * The maximal number of nogoods that are kept if useNogoodLearning is set; when more nogoods are learned, the least
+     * recently used ones are discarded.
+     */
+    public int nogoodStoreSize;
+    /**
+     * Determines how the tableau chooses the ground disjunctions that it processes and the order of their disjuncts.
+     * The default value is DERIVATION_ORDER.
+     */
+    public DisjunctionSelectionStrategyType disjunctionSelectionStrategyType;
+    /**
+     * If set, then each tableau obtains its disjunction selection strategy from this factory, and
+     * disjunctionSelectionStrategyType, disjunctActivityDecayFactor and disjunctionSelectionCandidates are ignored. The
+     * default value is null.
+     */
+    public DisjunctionSelectionStrategyFactory disjunctionSelectionStrategyFactory;
+    /**
+     * The factor by which the activities of the disjuncts decay after each clash if disjunctionSelectionStrategyType is
+     * ACTIVITY or ACTIVITY_SMALLEST_FIRST; must be in (0,1]. The default value is 0.95.
+     */
+    public double disjunctActivityDecayFactor;
+    /**
+     * The maximal number of unprocessed ground disjunctions that are inspected for the smallest one if
+     * disjunctionSelectionStrategyType is SMALLEST_FIRST or ACTIVITY_SMALLEST_FIRST; must be positive. The default value
+     * is 64.
+     */
+    public int disjunctionSelectionCandidates;
+    /**
+     * If set to true, then the tableau watches two disjuncts of each ground disjunction. A ground disjunction is then
+     * skipped as soon as a watched disjunct becomes true, and a ground disjunction whose disjuncts are all refuted except
+     * for one is propagated deterministically instead of being branched on. The default value is false.
+     */
+    public boolean useWatchedDisjuncts;
+    /**
+     * If set to true, then a reasoner whose class hierarchy has been computed keeps it when changes to the TBox are
+     * flushed, and only the classes whose subsumers may have changed according to bottom locality-based modules are
+     * classified again. Ontologies with nominals, description graphs or SWRL rules are always classified from scratch.
+     * The default value is false.
+     */
+    public boolean useIncrementalClassification;
+    /**
+     * If set to true, then a reasoner keeps the model that it constructed for checking the consistency of the ABox.
+     * When only class and property assertions are added, the new facts are added to this model and the calculus
+     * continues from there, and the class instances are read off again only for the individuals that are connected to
+     * the new facts. Removing assertions from a consistent ABox does not require a consistency check. The default value
+     * is false.
+     */
+    public boolean useIncrementalABoxUpdates;
+    /**
+     * If set to a directory, then the class, object property and data property hierarchies computed by a reasoner are
+     * stored in this directory under a fingerprint of the clauses and facts of the ontology, and reasoners for an ontology
+     * with the same fingerprint load the hierarchies from there instead of classifying again. The default value is null,
+     * which disables the cache.
+     */
+    public File classificationCacheDirectory;
 
     /**Create configuration.*/
     public Configuration() {
@@ -259,6 +472,25 @@ public class Configuration implements Serializable,Cloneable,OWLReasonerConfigur
         throwInconsistentOntologyException=true;
         prepareReasonerInferences=null;
         forceQuasiOrderClassification=false;
+        tupleTableType=TupleTableType.OBJECT_PAGES;
+        tupleIndexType=TupleIndexType.TRIE;
+        clauseEvaluatorType=ClauseEvaluatorType.INTERPRETED;
+        dependencySetType=DependencySetType.LIST;
+        tableauPoolSize=1;
+        classificationThreads=1;
+        realisationThreads=1;
+        aboxPartitions=1;
+        useABoxCheckpoint=false;
+        useNogoodLearning=false;
+        nogoodStoreSize=1024;
+        disjunctionSelectionStrategyType=DisjunctionSelectionStrategyType.DERIVATION_ORDER;
+        disjunctionSelectionStrategyFactory=null;
+        disjunctActivityDecayFactor=ActivityDisjunctionSelectionStrategy.DEFAULT_DECAY_FACTOR;
+        disjunctionSelectionCandidates=SmallestDisjunctionFirstStrategy.DEFAULT_MAXIMUM_NUMBER_OF_CANDIDATES;
+        useWatchedDisjuncts=false;
+        useIncrementalClassification=false;
+        useIncrementalABoxUpdates=false;
+        classificationCacheDirectory=null;
     }
     protected void setIndividualReuseStrategyReuseAlways(Set<? extends AtomicConcept> concepts) {
         parameters.put("IndividualReuseStrategy.reuseAlways",concepts);
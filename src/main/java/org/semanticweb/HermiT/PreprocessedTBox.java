@@ -0,0 +1,214 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.semanticweb.HermiT;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.HermiT.hierarchy.Hierarchy;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicRole;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.Individual;
+import org.semanticweb.HermiT.model.Role;
+import org.semanticweb.HermiT.structural.ObjectPropertyInclusionManager;
+import org.semanticweb.HermiT.structural.ReducedABoxOnlyClausification;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * A TBox that has been preprocessed once so that many reasoners can be created for ontologies that add only an ABox to
+ * it. The TBox is clausified, its DL-clauses are compiled and its hierarchies are classified only once; a reasoner created
+ * for an ontology that imports the TBox ontology clausifies only the facts of the ontology and has its own ABox and
+ * tableau, but shares the DL-clauses, the compiled rules, the object property automata and the hierarchies of the TBox.
+ * Without nominals, the ABox of a consistent ontology does not influence subsumption, so the hierarchies of the TBox are
+ * used by a reasoner only if the TBox has no nominals and the ontology of the reasoner is consistent.
+ * <p>
+ * The methods of this class are thread-safe, so reasoners for different ontologies can be created and used in different
+ * threads; each reasoner must still be used by one thread at a time. The TBox ontology must not be changed after it
+ * has been preprocessed.
+ */
+public class PreprocessedTBox {
+    protected final Configuration m_configuration;
+    protected final OWLOntology m_tboxOntology;
+    protected final Reasoner m_tboxReasoner;
+    protected final DLOntology m_dlOntology;
+    protected final ObjectPropertyInclusionManager m_objectPropertyInclusionManager;
+
+    /**
+     * @param configuration the configuration used to preprocess the TBox and, by default, for the reasoners created for it
+     * @param tboxOntology the ontology with the TBox; it may also contain facts, which are then part of every ABox
+     */
+    public PreprocessedTBox(Configuration configuration,OWLOntology tboxOntology) {
+        m_configuration=configuration;
+        m_tboxOntology=tboxOntology;
+        m_tboxReasoner=new Reasoner(configuration,tboxOntology);
+        m_dlOntology=m_tboxReasoner.getDLOntology();
+        m_objectPropertyInclusionManager=m_tboxReasoner.m_objectPropertyInclusionManager;
+    }
+    /**
+     * @return the ontology with the TBox
+     */
+    public OWLOntology getTBoxOntology() {
+        return m_tboxOntology;
+    }
+    /**
+     * @return the clausified TBox
+     */
+    public DLOntology getDLOntology() {
+        return m_dlOntology;
+    }
+    /**
+     * @return the configuration used to preprocess the TBox
+     */
+    public Configuration getConfiguration() {
+        return m_configuration;
+    }
+    /**
+     * Classifies the classes and properties of the TBox, so that the reasoners created for the TBox need not do so.
+     */
+    public synchronized void precomputeHierarchies() {
+        m_tboxReasoner.classifyClasses();
+        m_tboxReasoner.classifyObjectProperties();
+        m_tboxReasoner.classifyDataProperties();
+    }
+    /**
+     * Creates a reasoner for an ontology that imports the TBox ontology and adds an ABox to it. The reasoner uses the
+     * configuration of this TBox.
+     *
+     * @param rootOntology an ontology whose imports closure contains the TBox ontology
+     * @return a reasoner for the ontology
+     */
+    public Reasoner createReasoner(OWLOntology rootOntology) {
+        return createReasoner(m_configuration,rootOntology);
+    }
+    /**
+     * Creates a reasoner for an ontology that imports the TBox ontology and adds an ABox to it. If the ontology contains
+     * axioms other than facts over the vocabulary of the TBox, or if the TBox has nominals, the reasoner preprocesses
+     * the ontology from scratch as usual. The settings of the configuration that affect clausification should be the
+     * same as in the configuration of this TBox.
+     *
+     * @param configuration the configuration of the reasoner
+     * @param rootOntology an ontology whose imports closure contains the TBox ontology
+     * @return a reasoner for the ontology
+     */
+    public Reasoner createReasoner(Configuration configuration,OWLOntology rootOntology) {
+        DLOntology dlOntology=createDLOntology(rootOntology);
+        Reasoner reasoner=new Reasoner(configuration,rootOntology,null,dlOntology);
+        if (dlOntology!=null) {
+            reasoner.m_objectPropertyInclusionManager=m_objectPropertyInclusionManager;
+            reasoner.m_preprocessedTBox=this;
+        }
+        return reasoner;
+    }
+    /**
+     * @return the class hierarchy of the TBox
+     */
+    protected synchronized Hierarchy<AtomicConcept> getAtomicConceptHierarchy() {
+        m_tboxReasoner.classifyClasses();
+        return m_tboxReasoner.m_atomicConceptHierarchy;
+    }
+    /**
+     * @return the object property hierarchy of the TBox
+     */
+    protected synchronized Hierarchy<Role> getObjectRoleHierarchy() {
+        m_tboxReasoner.classifyObjectProperties();
+        return m_tboxReasoner.m_objectRoleHierarchy;
+    }
+    /**
+     * @return the data property hierarchy of the TBox
+     */
+    protected synchronized Hierarchy<AtomicRole> getDataRoleHierarchy() {
+        m_tboxReasoner.classifyDataProperties();
+        return m_tboxReasoner.m_dataRoleHierarchy;
+    }
+    /**
+     * Creates the DL-ontology for an ontology that adds only facts to the TBox. The DL-ontology shares the DL-clauses of
+     * the TBox and contains the facts of the TBox and of the ontology.
+     *
+     * @param rootOntology the ontology
+     * @return the DL-ontology, or null if the ontology does not import the TBox ontology, if it contains axioms other than
+     *         facts over the vocabulary of the TBox, or if the TBox has nominals or description graphs
+     */
+    protected DLOntology createDLOntology(OWLOntology rootOntology) {
+        if (m_dlOntology.hasNominals() || !m_dlOntology.getAllDescriptionGraphs().isEmpty())
+            return null;
+        Set<OWLOntology> tboxImportsClosure=asSet(m_tboxOntology.importsClosure());
+        Set<OWLOntology> rootImportsClosure=asSet(rootOntology.importsClosure());
+        if (!rootImportsClosure.containsAll(tboxImportsClosure))
+            return null;
+        List<OWLIndividualAxiom> facts=new ArrayList<>();
+        Set<Individual> allIndividuals=new HashSet<>(m_dlOntology.getAllIndividuals());
+        for (OWLOntology ontology : rootImportsClosure)
+            if (!tboxImportsClosure.contains(ontology)) {
+                for (OWLAxiom axiom : asList(ontology.axioms())) {
+                    if (axiom.isLogicalAxiom()) {
+                        if (!(axiom instanceof OWLIndividualAxiom))
+                            return null;
+                        // Negative assertions of complex properties are rewritten using the property automata.
+                        if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom) {
+                            AtomicRole atomicRole=AtomicRole.create(((OWLNegativeObjectPropertyAssertionAxiom)axiom).getProperty().getNamedProperty().getIRI().toString());
+                            if (m_dlOntology.getAllComplexObjectRoles().contains(atomicRole) || m_dlOntology.getAllComplexObjectRoles().contains(atomicRole.getInverse()))
+                                return null;
+                        }
+                        facts.add((OWLIndividualAxiom)axiom);
+                    }
+                    else if (axiom instanceof OWLDeclarationAxiom && !isInTBoxVocabulary(((OWLDeclarationAxiom)axiom).getEntity()))
+                        return null;
+                }
+                ontology.individualsInSignature().forEach(individual->allIndividuals.add(Individual.create(individual.getIRI().toString())));
+            }
+        Set<Atom> positiveFacts=new HashSet<>(m_dlOntology.getPositiveFacts());
+        Set<Atom> negativeFacts=new HashSet<>(m_dlOntology.getNegativeFacts());
+        ReducedABoxOnlyClausification aboxFactClausifier=new ReducedABoxOnlyClausification(m_configuration,m_dlOntology.getAllAtomicConcepts(),m_dlOntology.getAllAtomicObjectRoles(),m_dlOntology.getAllAtomicDataRoles());
+        try {
+            for (OWLIndividualAxiom fact : facts) {
+                aboxFactClausifier.clausify(fact);
+                positiveFacts.addAll(aboxFactClausifier.getPositiveFacts());
+                negativeFacts.addAll(aboxFactClausifier.getNegativeFacts());
+            }
+        }
+        catch (IllegalArgumentException e) {
+            // The fact uses fresh names or a class expression that cannot be clausified into facts.
+            return null;
+        }
+        allIndividuals.addAll(aboxFactClausifier.getAllIndividuals());
+        return new DLOntology(m_dlOntology.getOntologyIRI(),m_dlOntology.getDLClauses(),positiveFacts,negativeFacts,m_dlOntology.getAllAtomicConcepts(),m_dlOntology.getAllAtomicObjectRoles(),m_dlOntology.getAllComplexObjectRoles(),m_dlOntology.getAllAtomicDataRoles(),m_dlOntology.getAllUnknownDatatypeRestrictions(),m_dlOntology.getDefinedDatatypeIRIs(),allIndividuals,m_dlOntology.hasInverseRoles(),m_dlOntology.hasAtMostRestrictions(),m_dlOntology.hasNominals(),m_dlOntology.hasDatatypes(),m_dlOntology.getNumberOfAbsorbedInclusions());
+    }
+    protected boolean isInTBoxVocabulary(OWLEntity entity) {
+        String iri=entity.getIRI().toString();
+        if (entity.isOWLClass())
+            return m_dlOntology.containsAtomicConcept(AtomicConcept.create(iri)) || Prefixes.isInternalIRI(iri) || entity.isBuiltIn();
+        else if (entity.isOWLObjectProperty())
+            return m_dlOntology.containsObjectRole(AtomicRole.create(iri)) || Prefixes.isInternalIRI(iri) || entity.isBuiltIn();
+        else if (entity.isOWLDataProperty())
+            return m_dlOntology.containsDataRole(AtomicRole.create(iri)) || Prefixes.isInternalIRI(iri) || entity.isBuiltIn();
+        else
+            return true;
+    }
+}
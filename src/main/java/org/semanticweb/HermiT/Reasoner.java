@@ -30,6 +30,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.semanticweb.HermiT.Configuration.BlockingStrategyType;
 import org.semanticweb.HermiT.blocking.AncestorBlocking;
@@ -46,6 +49,7 @@ import org.semanticweb.HermiT.debugger.Debugger;
 import org.semanticweb.HermiT.existentials.CreationOrderStrategy;
 import org.semanticweb.HermiT.existentials.ExistentialExpansionStrategy;
 import org.semanticweb.HermiT.existentials.IndividualReuseStrategy;
+import org.semanticweb.HermiT.hierarchy.ClassificationCache;
 import org.semanticweb.HermiT.hierarchy.ClassificationProgressMonitor;
 import org.semanticweb.HermiT.hierarchy.DeterministicClassification;
 import org.semanticweb.HermiT.hierarchy.Hierarchy;
@@ -53,6 +57,7 @@ import org.semanticweb.HermiT.hierarchy.HierarchyDumperFSS;
 import org.semanticweb.HermiT.hierarchy.HierarchyNode;
 import org.semanticweb.HermiT.hierarchy.HierarchyPrinterFSS;
 import org.semanticweb.HermiT.hierarchy.HierarchySearch;
+import org.semanticweb.HermiT.hierarchy.IncrementalClassification;
 import org.semanticweb.HermiT.hierarchy.InstanceManager;
 import org.semanticweb.HermiT.hierarchy.QuasiOrderClassification;
 import org.semanticweb.HermiT.hierarchy.QuasiOrderClassificationForRoles;
@@ -67,10 +72,12 @@ import org.semanticweb.HermiT.model.Individual;
 import org.semanticweb.HermiT.model.Inequality;
 import org.semanticweb.HermiT.model.InverseRole;
 import org.semanticweb.HermiT.model.Role;
+import org.semanticweb.HermiT.model.Term;
 import org.semanticweb.HermiT.monitor.TableauMonitor;
 import org.semanticweb.HermiT.monitor.TableauMonitorFork;
 import org.semanticweb.HermiT.monitor.Timer;
 import org.semanticweb.HermiT.monitor.TimerWithPause;
+import org.semanticweb.HermiT.structural.ABoxPartitioner;
 import org.semanticweb.HermiT.structural.BuiltInPropertyManager;
 import org.semanticweb.HermiT.structural.OWLAxioms;
 import org.semanticweb.HermiT.structural.OWLAxiomsExpressivity;
@@ -81,6 +88,7 @@ import org.semanticweb.HermiT.structural.ReducedABoxOnlyClausification;
 import org.semanticweb.HermiT.tableau.InterruptFlag;
 import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
 import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.HermiT.tableau.TableauPool;
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
@@ -157,8 +165,19 @@ public class Reasoner implements OWLReasoner {
     protected DLOntology m_dlOntology;
     protected Prefixes m_prefixes;
     protected Tableau m_tableau;
+    protected TableauPool m_tableauPool;
+    protected volatile TableauPool m_workerTableauPool;
+    protected final Set<InterruptFlag> m_workerInterruptFlags=ConcurrentHashMap.newKeySet();
+    protected ForkJoinPool m_aboxPartitionThreads;
     protected Boolean m_isConsistent;
+    protected Tableau m_aboxModelTableau;
+    protected Map<Term,org.semanticweb.HermiT.tableau.Node> m_aboxModelTermsToNodes;
+    protected ClassificationCache m_classificationCache;
+    protected ABoxPartitioner m_aboxPartitioner;
+    protected PreprocessedTBox m_preprocessedTBox;
     protected Hierarchy<AtomicConcept> m_atomicConceptHierarchy;
+    protected Hierarchy<AtomicConcept> m_previousAtomicConceptHierarchy;
+    protected Set<AtomicConcept> m_atomicConceptsAffectedByChanges;
     protected Hierarchy<Role> m_objectRoleHierarchy;
     protected Hierarchy<AtomicRole> m_dataRoleHierarchy;
     protected Map<Role,Set<HierarchyNode<AtomicConcept>>> m_directObjectRoleDomains;
@@ -190,6 +209,22 @@ public class Reasoner implements OWLReasoner {
      *            - a set of description graphs
      */
     public Reasoner(Configuration configuration,OWLOntology rootOntology,Collection<DescriptionGraph> descriptionGraphs) {
+        this(configuration,rootOntology,descriptionGraphs,null);
+    }
+
+    /**
+     * Creates a new reasoner object that starts from the given DL-ontology instead of preprocessing and clausifying the given ontology. The DL-ontology must have been obtained from the given ontology and description graphs, for example by saving getDLOntology() in an earlier run using BinaryDLOntologyFormat. The ontology is clausified only if it is changed. Since the property inclusion automata are not part of the DL-ontology, tasks whose additional axioms use a non-simple property in a way that would have to be rewritten using the automata, such as a universal restriction over a transitive property, are not supported and throw an UnsupportedOperationException.
+     *
+     * @param configuration
+     *            - a configuration in which parameters can be defined such as the blocking strategy to be used etc
+     * @param rootOntology
+     *            - the ontology that should be loaded by the reasoner
+     * @param descriptionGraphs
+     *            - a set of description graphs
+     * @param dlOntology
+     *            - the clausified ontology, or null if the ontology should be clausified
+     */
+    public Reasoner(Configuration configuration,OWLOntology rootOntology,Collection<DescriptionGraph> descriptionGraphs,DLOntology dlOntology) {
         m_ontologyChangeListener=new OntologyChangeListener();
         m_configuration=configuration;
         m_rootOntology=rootOntology;
@@ -202,7 +237,13 @@ public class Reasoner implements OWLReasoner {
             m_descriptionGraphs=descriptionGraphs;
         m_interruptFlag=new InterruptFlag(configuration.individualTaskTimeout);
         m_directDisjointClasses=new HashMap<>();
-        loadOntology();
+        if (dlOntology==null)
+            loadOntology();
+        else {
+            clearState();
+            m_objectPropertyInclusionManager=null;
+            loadDLOntology(dlOntology);
+        }
     }
 
     // Life-cycle management methods
@@ -213,10 +254,14 @@ public class Reasoner implements OWLReasoner {
         OWLClausification clausifier=new OWLClausification(m_configuration);
         Object[] result=clausifier.preprocessAndClausify(m_rootOntology,m_descriptionGraphs);
         m_objectPropertyInclusionManager=(ObjectPropertyInclusionManager)result[0];
-        m_dlOntology=(DLOntology)result[1];
+        loadDLOntology((DLOntology)result[1]);
+    }
+    protected void loadDLOntology(DLOntology dlOntology) {
+        m_dlOntology=dlOntology;
         // Load the DLOntology
         createPrefixes();
         m_tableau=createTableau(m_interruptFlag,m_configuration,m_dlOntology,null,m_prefixes);
+        m_tableauPool=createTableauPool();
         m_instanceManager=null;
     }
     protected void createPrefixes() {
@@ -264,6 +309,10 @@ public class Reasoner implements OWLReasoner {
     public void dispose() {
         m_rootOntology.getOWLOntologyManager().removeOntologyChangeListener(m_ontologyChangeListener);
         clearState();
+        if (m_aboxPartitionThreads!=null) {
+            m_aboxPartitionThreads.shutdown();
+            m_aboxPartitionThreads=null;
+        }
         m_interruptFlag.dispose();
     }
     protected void clearState() {
@@ -271,8 +320,19 @@ public class Reasoner implements OWLReasoner {
         m_dlOntology=null;
         m_prefixes=null;
         m_tableau=null;
+        if (m_tableauPool!=null) {
+            m_tableauPool.dispose();
+            m_tableauPool=null;
+        }
         m_isConsistent=null;
+        m_aboxModelTableau=null;
+        m_aboxModelTermsToNodes=null;
+        m_classificationCache=null;
+        m_aboxPartitioner=null;
+        m_preprocessedTBox=null;
         m_atomicConceptHierarchy=null;
+        m_previousAtomicConceptHierarchy=null;
+        m_atomicConceptsAffectedByChanges=null;
         m_objectRoleHierarchy=null;
         m_dataRoleHierarchy=null;
         m_directObjectRoleDomains=new HashMap<>();
@@ -284,6 +344,14 @@ public class Reasoner implements OWLReasoner {
     @Override
     public void interrupt() {
         m_interruptFlag.interrupt();
+        TableauPool tableauPool=m_tableauPool;
+        if (tableauPool!=null)
+            tableauPool.interrupt();
+        TableauPool workerTableauPool=m_workerTableauPool;
+        if (workerTableauPool!=null)
+            workerTableauPool.interrupt();
+        for (InterruptFlag interruptFlag : m_workerInterruptFlags)
+            interruptFlag.interrupt();
     }
     /**
      * @return data factory
@@ -381,8 +449,12 @@ public class Reasoner implements OWLReasoner {
             // check if we can only reload the ABox
             if (canProcessPendingChangesIncrementally()) {
                 Set<OWLOntology> rootOntologyImportsClosure=asSet(m_rootOntology.importsClosure());
-                Set<Atom> positiveFacts=m_dlOntology.getPositiveFacts();
-                Set<Atom> negativeFacts=m_dlOntology.getNegativeFacts();
+                // The facts are copied so that tableaux and checkpoints of the old DL-ontology are not changed.
+                Set<Atom> positiveFacts=new HashSet<>(m_dlOntology.getPositiveFacts());
+                Set<Atom> negativeFacts=new HashSet<>(m_dlOntology.getNegativeFacts());
+                Set<Atom> addedPositiveFacts=new HashSet<>();
+                Set<Atom> addedNegativeFacts=new HashSet<>();
+                boolean factsRemoved=false;
                 Set<Individual> allIndividuals=new HashSet<>();
                 Set<AtomicConcept> allAtomicConcepts=m_dlOntology.getAllAtomicConcepts();
                 Set<AtomicRole> allAtomicObjectRoles=m_dlOntology.getAllAtomicObjectRoles();
@@ -394,12 +466,20 @@ public class Reasoner implements OWLReasoner {
                         if (axiom.isLogicalAxiom()) {
                             aboxFactClausifier.clausify((OWLIndividualAxiom)axiom);
                             if (change instanceof AddAxiom) {
-                                positiveFacts.addAll(aboxFactClausifier.getPositiveFacts());
-                                negativeFacts.addAll(aboxFactClausifier.getNegativeFacts());
+                                for (Atom atom : aboxFactClausifier.getPositiveFacts())
+                                    if (positiveFacts.add(atom))
+                                        addedPositiveFacts.add(atom);
+                                for (Atom atom : aboxFactClausifier.getNegativeFacts())
+                                    if (negativeFacts.add(atom))
+                                        addedNegativeFacts.add(atom);
                             }
                             else {
-                                positiveFacts.removeAll(aboxFactClausifier.getPositiveFacts());
-                                negativeFacts.removeAll(aboxFactClausifier.getNegativeFacts());
+                                for (Atom atom : aboxFactClausifier.getPositiveFacts())
+                                    if (positiveFacts.remove(atom) && !addedPositiveFacts.remove(atom))
+                                        factsRemoved=true;
+                                for (Atom atom : aboxFactClausifier.getNegativeFacts())
+                                    if (negativeFacts.remove(atom) && !addedNegativeFacts.remove(atom))
+                                        factsRemoved=true;
                             }
                         }
                     }
@@ -408,16 +488,160 @@ public class Reasoner implements OWLReasoner {
                     atom.getIndividuals(allIndividuals);
                 for (Atom atom : negativeFacts)
                     atom.getIndividuals(allIndividuals);
-                m_dlOntology=new DLOntology(m_dlOntology.getOntologyIRI(),m_dlOntology.getDLClauses(),positiveFacts,negativeFacts,allAtomicConcepts,allAtomicObjectRoles,m_dlOntology.getAllComplexObjectRoles(),allAtomicDataRoles,m_dlOntology.getAllUnknownDatatypeRestrictions(),m_dlOntology.getDefinedDatatypeIRIs(),allIndividuals,m_dlOntology.hasInverseRoles(),m_dlOntology.hasAtMostRestrictions(),m_dlOntology.hasNominals(),m_dlOntology.hasDatatypes());
-                m_tableau=new Tableau(m_interruptFlag,m_tableau.getTableauMonitor(),m_tableau.getExistentialsExpansionStrategy(),m_configuration.useDisjunctionLearning,m_dlOntology,null,m_configuration.parameters);
-                m_instanceManager=null;
-                m_isConsistent=null;
+                m_classificationCache=null;
+                m_dlOntology=new DLOntology(m_dlOntology.getOntologyIRI(),m_dlOntology.getDLClauses(),positiveFacts,negativeFacts,allAtomicConcepts,allAtomicObjectRoles,m_dlOntology.getAllComplexObjectRoles(),allAtomicDataRoles,m_dlOntology.getAllUnknownDatatypeRestrictions(),m_dlOntology.getDefinedDatatypeIRIs(),allIndividuals,m_dlOntology.hasInverseRoles(),m_dlOntology.hasAtMostRestrictions(),m_dlOntology.hasNominals(),m_dlOntology.hasDatatypes(),m_dlOntology.getNumberOfAbsorbedInclusions());
+                if (m_aboxPartitioner!=null)
+                    m_aboxPartitioner.updateABox(m_dlOntology,addedPositiveFacts,addedNegativeFacts,factsRemoved);
+                if (m_configuration.useIncrementalABoxUpdates)
+                    m_tableau.setPermanentABox(m_dlOntology);
+                else
+                    m_tableau=new Tableau(m_interruptFlag,m_tableau.getTableauMonitor(),m_tableau.getExistentialsExpansionStrategy(),m_dlOntology,null,m_configuration);
+                if (m_tableauPool!=null)
+                    m_tableauPool.dispose();
+                m_tableauPool=createTableauPool();
+                if (m_configuration.useIncrementalABoxUpdates)
+                    updateABoxModel(addedPositiveFacts,addedNegativeFacts,factsRemoved);
+                else {
+                    m_instanceManager=null;
+                    m_isConsistent=null;
+                }
+            }
+            else if (canClassifyPendingChangesIncrementally()) {
+                Hierarchy<AtomicConcept> previousAtomicConceptHierarchy=m_atomicConceptHierarchy;
+                Set<AtomicConcept> affectedAtomicConcepts=getAtomicConceptsAffectedByPendingChanges();
+                loadOntology();
+                if (!m_dlOntology.hasNominals()) {
+                    m_previousAtomicConceptHierarchy=previousAtomicConceptHierarchy;
+                    m_atomicConceptsAffectedByChanges=affectedAtomicConcepts;
+                }
             }
             else
                 loadOntology();
             m_pendingChanges.clear();
         }
     }
+    /**
+     * Brings the consistency of the ABox, the model of the ABox and the class instances up to date after facts have been
+     * added to or removed from the ABox. Added facts are added to the model of the ABox, if there is one, and the class
+     * instances are read off again for the individuals connected to the new facts. Removing facts cannot make a
+     * consistent ABox inconsistent, but the model may contain consequences of the removed facts and is discarded.
+     *
+     * @param addedPositiveFacts the positive facts added to the ABox
+     * @param addedNegativeFacts the negative facts added to the ABox
+     * @param factsRemoved true if some facts were removed from the ABox
+     */
+    protected void updateABoxModel(Set<Atom> addedPositiveFacts,Set<Atom> addedNegativeFacts,boolean factsRemoved) {
+        InstanceManager instanceManager=m_instanceManager;
+        m_instanceManager=null;
+        boolean factsAdded=(!addedPositiveFacts.isEmpty() || !addedNegativeFacts.isEmpty());
+        if (factsRemoved) {
+            m_aboxModelTableau=null;
+            m_aboxModelTermsToNodes=null;
+            if (factsAdded || !Boolean.TRUE.equals(m_isConsistent))
+                m_isConsistent=null;
+        }
+        else if (!factsAdded)
+            m_instanceManager=instanceManager;
+        else if (m_aboxModelTableau==null || !Boolean.TRUE.equals(m_isConsistent)) {
+            // Adding facts to an inconsistent ABox does not make it consistent.
+            if (!Boolean.FALSE.equals(m_isConsistent)) {
+                m_aboxModelTableau=null;
+                m_aboxModelTermsToNodes=null;
+                m_isConsistent=null;
+            }
+        }
+        else {
+            m_aboxModelTableau.setPermanentABox(m_dlOntology);
+            boolean isConsistent=m_aboxModelTableau.isSatisfiableWithAdditionalFacts(m_aboxModelTermsToNodes,addedPositiveFacts,addedNegativeFacts,ReasoningTaskDescription.isABoxSatisfiable());
+            m_isConsistent=Boolean.valueOf(isConsistent);
+            if (!isConsistent) {
+                m_aboxModelTableau=null;
+                m_aboxModelTermsToNodes=null;
+            }
+            else if (instanceManager!=null) {
+                Set<Individual> individuals=new HashSet<>();
+                for (Atom atom : addedPositiveFacts)
+                    atom.getIndividuals(individuals);
+                for (Atom atom : addedNegativeFacts)
+                    atom.getIndividuals(individuals);
+                Map<Individual,org.semanticweb.HermiT.tableau.Node> nodesForIndividuals=getABoxModelNodes(getABoxPartitioner().getConnectedIndividuals(individuals));
+                if (nodesForIndividuals!=null && instanceManager.updateClassInstances(m_aboxModelTableau,nodesForIndividuals))
+                    m_instanceManager=instanceManager;
+            }
+        }
+    }
+    /**
+     * Checks the ABox in a tableau that is not used for anything else, so that the model of the ABox is kept and can be
+     * extended when facts are added to the ABox.
+     *
+     * @return true if the ABox is satisfiable
+     */
+    protected boolean createABoxModel() {
+        Tableau tableau=createTableau(m_interruptFlag,m_configuration,m_dlOntology,null,m_prefixes);
+        Map<Term,org.semanticweb.HermiT.tableau.Node> termsToNodes=new HashMap<>();
+        Map<Individual,org.semanticweb.HermiT.tableau.Node> nodesForIndividuals=new HashMap<>();
+        for (Individual individual : m_dlOntology.getAllIndividuals())
+            nodesForIndividuals.put(individual,null);
+        boolean isConsistent=tableau.isSatisfiable(true,false,null,null,null,null,termsToNodes,nodesForIndividuals,ReasoningTaskDescription.isABoxSatisfiable());
+        if (isConsistent) {
+            m_aboxModelTableau=tableau;
+            m_aboxModelTermsToNodes=termsToNodes;
+        }
+        else {
+            m_aboxModelTableau=null;
+            m_aboxModelTermsToNodes=null;
+        }
+        return isConsistent;
+    }
+    /**
+     * @param individuals the individuals
+     * @return the nodes of the given individuals in the model of the ABox, or null if some individual has no node
+     */
+    protected Map<Individual,org.semanticweb.HermiT.tableau.Node> getABoxModelNodes(Set<Individual> individuals) {
+        Map<Individual,org.semanticweb.HermiT.tableau.Node> nodesForIndividuals=new HashMap<>();
+        for (Individual individual : individuals) {
+            org.semanticweb.HermiT.tableau.Node node=m_aboxModelTermsToNodes.get(individual);
+            if (node==null)
+                return null;
+            nodesForIndividuals.put(individual,node);
+        }
+        return nodesForIndividuals;
+    }
+    /**
+     * @return true if the class hierarchy can be kept for the classes that are not affected by the pending changes
+     */
+    protected boolean canClassifyPendingChangesIncrementally() {
+        if (!m_configuration.useIncrementalClassification || m_atomicConceptHierarchy==null || !Boolean.TRUE.equals(m_isConsistent) || m_dlOntology.hasNominals() || !m_dlOntology.getAllDescriptionGraphs().isEmpty())
+            return false;
+        for (OWLOntologyChange change : m_pendingChanges)
+            if (!change.isAxiomChange() || change.getAxiom() instanceof SWRLRule)
+                return false;
+        return m_rootOntology.importsClosure().noneMatch(ontology->ontology.getAxiomCount(AxiomType.SWRL_RULE)>0);
+    }
+    protected Set<AtomicConcept> getAtomicConceptsAffectedByPendingChanges() {
+        // Without nominals, the ABox of a consistent ontology does not influence subsumption, so only TBox and RBox axioms are considered.
+        Set<OWLOntology> rootOntologyImportsClosure=asSet(m_rootOntology.importsClosure());
+        Set<OWLAxiom> addedAxioms=new HashSet<>();
+        Set<OWLAxiom> removedAxioms=new HashSet<>();
+        for (OWLOntologyChange change : m_pendingChanges) {
+            OWLAxiom axiom=change.getAxiom();
+            if (rootOntologyImportsClosure.contains(change.getOntology()) && axiom.isOfType(AxiomType.TBoxAndRBoxAxiomTypes)) {
+                if (change instanceof AddAxiom) {
+                    if (!removedAxioms.remove(axiom))
+                        addedAxioms.add(axiom);
+                }
+                else if (!addedAxioms.remove(axiom))
+                    removedAxioms.add(axiom);
+            }
+        }
+        Set<OWLAxiom> axioms=new HashSet<>();
+        Set<OWLClass> classes=new HashSet<>();
+        for (OWLOntology ontology : rootOntologyImportsClosure) {
+            ontology.logicalAxioms().filter(axiom->axiom.isOfType(AxiomType.TBoxAndRBoxAxiomTypes)).forEach(axioms::add);
+            ontology.classesInSignature().forEach(classes::add);
+        }
+        return IncrementalClassification.getAffectedAtomicConcepts(m_rootOntology.getOWLOntologyManager(),axioms,addedAxioms,removedAxioms,classes);
+    }
     /**
      * @return true if incremental
      */
@@ -684,18 +908,47 @@ public class Reasoner implements OWLReasoner {
                 int stepsInitialiseKnownPossible=noIndividuals;
                 int steps=stepsTableauExpansion+stepsInitialiseKnownPossible;
                 int completedSteps=0;
-                Tableau tableau=getTableau();
-                isConsistent=tableau.isSatisfiable(true,true,null,null,null,null,m_instanceManager.getNodesForIndividuals(),new ReasoningTaskDescription(false,"Initial tableau for reading-off known and possible class instances."));
-                completedSteps+=stepsTableauExpansion;
-                if (m_configuration.reasonerProgressMonitor!=null)
-                    m_configuration.reasonerProgressMonitor.reasonerTaskProgressChanged(completedSteps,steps);
-                if (!isConsistent)
-                    m_instanceManager.setInconsistent();
-                else
-                    m_instanceManager.initializeKnowAndPossibleClassInstances(m_configuration.reasonerProgressMonitor,completedSteps,steps);
-                if (m_isConsistent==null)
-                    m_isConsistent=Boolean.valueOf(isConsistent);
-                tableau.clearAdditionalDLOntology();
+                List<DLOntology> aboxPartitions=(m_instanceManager.arePropertiesInitialised() ? null : getABoxPartitions());
+                if (aboxPartitions!=null) {
+                    isConsistent=isABoxSatisfiable(aboxPartitions,m_instanceManager);
+                    if (m_configuration.reasonerProgressMonitor!=null)
+                        m_configuration.reasonerProgressMonitor.reasonerTaskProgressChanged(steps,steps);
+                    if (!isConsistent)
+                        m_instanceManager.setInconsistent();
+                    else
+                        m_instanceManager.finishReadingOffClassInstances();
+                    if (m_isConsistent==null)
+                        m_isConsistent=Boolean.valueOf(isConsistent);
+                }
+                else if (m_configuration.useIncrementalABoxUpdates && !m_instanceManager.arePropertiesInitialised()) {
+                    // The class instances are read off the model of the ABox, which is kept for updating them when facts are added.
+                    if (m_aboxModelTableau==null)
+                        isConsistent=createABoxModel();
+                    if (m_configuration.reasonerProgressMonitor!=null)
+                        m_configuration.reasonerProgressMonitor.reasonerTaskProgressChanged(steps,steps);
+                    if (!isConsistent)
+                        m_instanceManager.setInconsistent();
+                    else {
+                        m_instanceManager.readOffClassInstances(m_aboxModelTableau,getABoxModelNodes(m_dlOntology.getAllIndividuals()));
+                        m_instanceManager.finishReadingOffClassInstances();
+                    }
+                    if (m_isConsistent==null)
+                        m_isConsistent=Boolean.valueOf(isConsistent);
+                }
+                else {
+                    Tableau tableau=getTableau();
+                    isConsistent=tableau.isSatisfiable(true,true,null,null,null,null,m_instanceManager.getNodesForIndividuals(),new ReasoningTaskDescription(false,"Initial tableau for reading-off known and possible class instances."));
+                    completedSteps+=stepsTableauExpansion;
+                    if (m_configuration.reasonerProgressMonitor!=null)
+                        m_configuration.reasonerProgressMonitor.reasonerTaskProgressChanged(completedSteps,steps);
+                    if (!isConsistent)
+                        m_instanceManager.setInconsistent();
+                    else
+                        m_instanceManager.initializeKnowAndPossibleClassInstances(m_configuration.reasonerProgressMonitor,completedSteps,steps);
+                    if (m_isConsistent==null)
+                        m_isConsistent=Boolean.valueOf(isConsistent);
+                    tableau.clearAdditionalDLOntology();
+                }
             }
             if (m_configuration.reasonerProgressMonitor!=null)
                 m_configuration.reasonerProgressMonitor.reasonerTaskStopped();
@@ -704,10 +957,78 @@ public class Reasoner implements OWLReasoner {
     @Override
     public boolean isConsistent() {
         flushChangesIfRequired();
-        if (m_isConsistent==null)
-            m_isConsistent=Boolean.valueOf(getTableau().isSatisfiable(true,true,null,null,null,null,null,ReasoningTaskDescription.isABoxSatisfiable()));
+        if (m_isConsistent==null) {
+            List<DLOntology> aboxPartitions=getABoxPartitions();
+            if (aboxPartitions==null && m_configuration.useIncrementalABoxUpdates)
+                m_isConsistent=Boolean.valueOf(createABoxModel());
+            else if (aboxPartitions==null)
+                m_isConsistent=Boolean.valueOf(getTableau().isSatisfiable(true,true,null,null,null,null,null,ReasoningTaskDescription.isABoxSatisfiable()));
+            else
+                m_isConsistent=Boolean.valueOf(isABoxSatisfiable(aboxPartitions,null));
+        }
         return m_isConsistent.booleanValue();
     }
+    /**
+     * @return the independent parts of the ABox if the configuration asks for splitting the ABox and the ABox can be
+     *         split, or null otherwise
+     */
+    protected List<DLOntology> getABoxPartitions() {
+        if (m_configuration.aboxPartitions<=1)
+            return null;
+        return getABoxPartitioner().partition(m_configuration.aboxPartitions);
+    }
+    /**
+     * @return the partitioner for the ABox of the current DLOntology, which is kept up to date when facts are added
+     */
+    protected ABoxPartitioner getABoxPartitioner() {
+        if (m_aboxPartitioner==null)
+            m_aboxPartitioner=new ABoxPartitioner(m_dlOntology);
+        return m_aboxPartitioner;
+    }
+    /**
+     * Checks the independent parts of the ABox in parallel, each in its own tableau. If an instance manager is given,
+     * the known and possible class instances of the individuals in each satisfiable part are read off into it.
+     *
+     * @param aboxPartitions the parts of the ABox
+     * @param instanceManager the instance manager that receives the class instances, or null
+     * @return true if all parts are satisfiable
+     */
+    protected boolean isABoxSatisfiable(List<DLOntology> aboxPartitions,final InstanceManager instanceManager) {
+        List<Callable<Boolean>> tasks=new ArrayList<>(aboxPartitions.size());
+        for (final DLOntology aboxPartition : aboxPartitions) {
+            tasks.add(()->{
+                InterruptFlag interruptFlag=new InterruptFlag(m_configuration.individualTaskTimeout);
+                m_workerInterruptFlags.add(interruptFlag);
+                try {
+                    Tableau tableau=createTableau(interruptFlag,m_configuration,aboxPartition,null,m_prefixes);
+                    Map<Individual,org.semanticweb.HermiT.tableau.Node> nodesForIndividuals=null;
+                    if (instanceManager!=null) {
+                        nodesForIndividuals=new HashMap<>();
+                        for (Individual individual : aboxPartition.getAllIndividuals())
+                            nodesForIndividuals.put(individual,null);
+                    }
+                    if (!tableau.isSatisfiable(true,true,null,null,null,null,nodesForIndividuals,ReasoningTaskDescription.isABoxSatisfiable()))
+                        return Boolean.FALSE;
+                    if (instanceManager!=null) {
+                        synchronized (instanceManager) {
+                            instanceManager.readOffClassInstances(tableau,nodesForIndividuals);
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+                finally {
+                    m_workerInterruptFlags.remove(interruptFlag);
+                    interruptFlag.dispose();
+                }
+            });
+        }
+        if (m_aboxPartitionThreads==null)
+            m_aboxPartitionThreads=new ForkJoinPool(Math.min(m_configuration.aboxPartitions,Runtime.getRuntime().availableProcessors()));
+        for (Boolean result : TableauPool.runInParallel(m_aboxPartitionThreads,tasks))
+            if (!result.booleanValue())
+                return false;
+        return true;
+    }
     @Override
     public boolean isEntailmentCheckingSupported(AxiomType<?> axiomType) {
         return true;
@@ -753,13 +1074,26 @@ public class Reasoner implements OWLReasoner {
                     ClassificationProgressMonitor progressMonitor=new ClassificationProgressMonitor() {
                         protected int m_processedConcepts=0;
                         @Override
-                        public void elementClassified(AtomicConcept element) {
+                        public synchronized void elementClassified(AtomicConcept element) {
                             m_processedConcepts++;
                             if (m_configuration.reasonerProgressMonitor!=null)
                                 m_configuration.reasonerProgressMonitor.reasonerTaskProgressChanged(m_processedConcepts,numRelevantConcepts);
                         }
                     };
-                    m_atomicConceptHierarchy=classifyAtomicConcepts(getTableau(),progressMonitor,AtomicConcept.THING,AtomicConcept.NOTHING,relevantAtomicConcepts,m_configuration.forceQuasiOrderClassification);
+                    Hierarchy<AtomicConcept> cachedHierarchy=(m_preprocessedTBox==null ? null : m_preprocessedTBox.getAtomicConceptHierarchy());
+                    ClassificationCache classificationCache=(cachedHierarchy==null ? getClassificationCache() : null);
+                    if (classificationCache!=null)
+                        cachedHierarchy=classificationCache.loadAtomicConceptHierarchy(relevantAtomicConcepts);
+                    if (cachedHierarchy!=null)
+                        m_atomicConceptHierarchy=cachedHierarchy;
+                    else if (m_previousAtomicConceptHierarchy!=null)
+                        m_atomicConceptHierarchy=new IncrementalClassification(getTableau(),progressMonitor,AtomicConcept.THING,AtomicConcept.NOTHING,relevantAtomicConcepts,m_previousAtomicConceptHierarchy,m_atomicConceptsAffectedByChanges).classify();
+                    else
+                        m_atomicConceptHierarchy=classifyAtomicConcepts(getTableau(),progressMonitor,AtomicConcept.THING,AtomicConcept.NOTHING,relevantAtomicConcepts,m_configuration.forceQuasiOrderClassification);
+                    if (classificationCache!=null && cachedHierarchy==null)
+                        classificationCache.saveAtomicConceptHierarchy(m_atomicConceptHierarchy);
+                    m_previousAtomicConceptHierarchy=null;
+                    m_atomicConceptsAffectedByChanges=null;
                     if (m_instanceManager!=null)
                         m_instanceManager.setToClassifiedConceptHierarchy(m_atomicConceptHierarchy);
                 }
@@ -794,8 +1128,13 @@ public class Reasoner implements OWLReasoner {
             OWLDataFactory factory=getDataFactory();
             OWLIndividual freshIndividual=factory.getOWLAnonymousIndividual("fresh-individual");
             OWLClassAssertionAxiom assertClassExpression=factory.getOWLClassAssertionAxiom(classExpression,freshIndividual);
-            Tableau tableau=getTableau(assertClassExpression);
-            return tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isConceptSatisfiable(classExpression));
+            Tableau tableau=borrowTableau(assertClassExpression);
+            try {
+                return tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isConceptSatisfiable(classExpression));
+            }
+            finally {
+                returnTableau(tableau);
+            }
         }
     }
     protected boolean isSubClassOf(OWLClassExpression subClassExpression,OWLClassExpression superClassExpression) {
@@ -810,11 +1149,16 @@ public class Reasoner implements OWLReasoner {
                 return subconceptNode.isEquivalentElement(superconcept) || subconceptNode.isAncestorElement(superconcept);
             }
             else {
-                Tableau tableau=getTableau();
                 Individual freshIndividual=Individual.createAnonymous("fresh-individual");
                 Atom subconceptAssertion=Atom.create(subconcept,freshIndividual);
                 Atom superconceptAssertion=Atom.create(superconcept,freshIndividual);
-                return !tableau.isSatisfiable(true,Collections.singleton(subconceptAssertion),Collections.singleton(superconceptAssertion),null,null,null,ReasoningTaskDescription.isConceptSubsumedBy(subconcept,superconcept));
+                Tableau tableau=borrowTableau();
+                try {
+                    return !tableau.isSatisfiable(true,Collections.singleton(subconceptAssertion),Collections.singleton(superconceptAssertion),null,null,null,ReasoningTaskDescription.isConceptSubsumedBy(subconcept,superconcept));
+                }
+                finally {
+                    returnTableau(tableau);
+                }
             }
         }
         else {
@@ -822,10 +1166,13 @@ public class Reasoner implements OWLReasoner {
             OWLIndividual freshIndividual=factory.getOWLAnonymousIndividual("fresh-individual");
             OWLClassAssertionAxiom assertSubClassExpression=factory.getOWLClassAssertionAxiom(subClassExpression,freshIndividual);
             OWLClassAssertionAxiom assertNotSuperClassExpression=factory.getOWLClassAssertionAxiom(superClassExpression.getObjectComplementOf(),freshIndividual);
-            Tableau tableau=getTableau(assertSubClassExpression,assertNotSuperClassExpression);
-            boolean result=tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isConceptSubsumedBy(subClassExpression,superClassExpression));
-            tableau.clearAdditionalDLOntology();
-            return !result;
+            Tableau tableau=borrowTableau(assertSubClassExpression,assertNotSuperClassExpression);
+            try {
+                return !tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isConceptSubsumedBy(subClassExpression,superClassExpression));
+            }
+            finally {
+                returnTableau(tableau);
+            }
         }
     }
     @Override
@@ -991,11 +1338,20 @@ public class Reasoner implements OWLReasoner {
                         relevantObjectRoles.add(atomicRole.getInverse());
                 }
             }
+            Hierarchy<Role> cachedHierarchy=(m_isConsistent.booleanValue() && m_preprocessedTBox!=null ? m_preprocessedTBox.getObjectRoleHierarchy() : null);
+            ClassificationCache classificationCache=(m_isConsistent.booleanValue() && cachedHierarchy==null ? getClassificationCache() : null);
+            if (classificationCache!=null)
+                cachedHierarchy=classificationCache.loadObjectRoleHierarchy(relevantObjectRoles);
             if (!m_isConsistent.booleanValue()) {
                 relevantObjectRoles.add(AtomicRole.TOP_OBJECT_ROLE);
                 relevantObjectRoles.add(AtomicRole.BOTTOM_OBJECT_ROLE);
                 m_objectRoleHierarchy=Hierarchy.emptyHierarchy(relevantObjectRoles,AtomicRole.TOP_OBJECT_ROLE,AtomicRole.BOTTOM_OBJECT_ROLE);
             }
+            else if (cachedHierarchy!=null) {
+                m_objectRoleHierarchy=cachedHierarchy;
+                if (m_instanceManager!=null)
+                    m_instanceManager.setToClassifiedRoleHierarchy(m_objectRoleHierarchy);
+            }
             else {
                 Map<Role,AtomicConcept> conceptsForRoles=new HashMap<>();
                 final Map<AtomicConcept,Role> rolesForConcepts=new HashMap<>();
@@ -1058,6 +1414,8 @@ public class Reasoner implements OWLReasoner {
                         }
                     };
                     m_objectRoleHierarchy=atomicConceptHierarchyForRoles.transform(transformer,null);
+                    if (classificationCache!=null)
+                        classificationCache.saveObjectRoleHierarchy(m_objectRoleHierarchy);
                     if (m_instanceManager!=null)
                         m_instanceManager.setToClassifiedRoleHierarchy(m_objectRoleHierarchy);
                 }
@@ -1098,10 +1456,13 @@ public class Reasoner implements OWLReasoner {
             OWLAxiom subObjectPropertyAssertion=factory.getOWLObjectPropertyAssertionAxiom(subObjectPropertyExpression,freshIndividualA,freshIndividualB);
             OWLAxiom pseudoNominalAssertion=factory.getOWLClassAssertionAxiom(pseudoNominal,freshIndividualB);
             OWLAxiom allSuperNotPseudoNominalAssertion=factory.getOWLClassAssertionAxiom(allSuperNotPseudoNominal,freshIndividualA);
-            Tableau tableau=getTableau(subObjectPropertyAssertion,pseudoNominalAssertion,allSuperNotPseudoNominalAssertion);
-            boolean result=tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isRoleSubsumedBy(subrole,superrole,true));
-            tableau.clearAdditionalDLOntology();
-            return !result;
+            Tableau tableau=borrowTableau(subObjectPropertyAssertion,pseudoNominalAssertion,allSuperNotPseudoNominalAssertion);
+            try {
+                return !tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isRoleSubsumedBy(subrole,superrole,true));
+            }
+            finally {
+                returnTableau(tableau);
+            }
         }
     }
     protected boolean isSubObjectPropertyExpressionOf(List<OWLObjectPropertyExpression> subPropertyChain,OWLObjectPropertyExpression superObjectPropertyExpression) {
@@ -1283,7 +1644,13 @@ public class Reasoner implements OWLReasoner {
         Set<Atom> perTestAtoms=new HashSet<>(2);
         perTestAtoms.add(roleAssertion1);
         perTestAtoms.add(roleAssertion2);
-        return !getTableau().isSatisfiable(false,perTestAtoms,null,null,null,null,new ReasoningTaskDescription(true,"disjointness of {0} and {1}",role1,role2));
+        Tableau tableau=borrowTableau();
+        try {
+            return !tableau.isSatisfiable(false,perTestAtoms,null,null,null,null,new ReasoningTaskDescription(true,"disjointness of {0} and {1}",role1,role2));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isFunctional(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1297,7 +1664,13 @@ public class Reasoner implements OWLReasoner {
         assertions.add(role.getRoleAssertion(freshIndividual,freshIndividualA));
         assertions.add(role.getRoleAssertion(freshIndividual,freshIndividualB));
         assertions.add(Atom.create(Inequality.INSTANCE,freshIndividualA,freshIndividualB));
-        return !getTableau().isSatisfiable(false,assertions,null,null,null,null,new ReasoningTaskDescription(true,"functionality of {0}",role));
+        Tableau tableau=borrowTableau();
+        try {
+            return !tableau.isSatisfiable(false,assertions,null,null,null,null,new ReasoningTaskDescription(true,"functionality of {0}",role));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isInverseFunctional(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1311,7 +1684,13 @@ public class Reasoner implements OWLReasoner {
         assertions.add(role.getRoleAssertion(freshIndividualA,freshIndividual));
         assertions.add(role.getRoleAssertion(freshIndividualB,freshIndividual));
         assertions.add(Atom.create(Inequality.INSTANCE,freshIndividualA,freshIndividualB));
-        return !getTableau().isSatisfiable(false,assertions,null,null,null,null,new ReasoningTaskDescription(true,"inverse-functionality of {0}",role));
+        Tableau tableau=borrowTableau();
+        try {
+            return !tableau.isSatisfiable(false,assertions,null,null,null,null,new ReasoningTaskDescription(true,"inverse-functionality of {0}",role));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isIrreflexive(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1319,7 +1698,13 @@ public class Reasoner implements OWLReasoner {
             return true;
         Role role=H(propertyExpression);
         Individual freshIndividual=Individual.createAnonymous("fresh-individual");
-        return !getTableau().isSatisfiable(false,Collections.singleton(role.getRoleAssertion(freshIndividual,freshIndividual)),null,null,null,null,new ReasoningTaskDescription(true,"irreflexivity of {0}",role));
+        Tableau tableau=borrowTableau();
+        try {
+            return !tableau.isSatisfiable(false,Collections.singleton(role.getRoleAssertion(freshIndividual,freshIndividual)),null,null,null,null,new ReasoningTaskDescription(true,"irreflexivity of {0}",role));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isReflexive(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1331,10 +1716,13 @@ public class Reasoner implements OWLReasoner {
         OWLIndividual freshIndividual=factory.getOWLAnonymousIndividual("fresh-individual");
         OWLAxiom pseudoNominalAssertion=factory.getOWLClassAssertionAxiom(pseudoNominal,freshIndividual);
         OWLAxiom allNotPseudoNominalAssertion=factory.getOWLClassAssertionAxiom(allNotPseudoNominal,freshIndividual);
-        Tableau tableau=getTableau(pseudoNominalAssertion,allNotPseudoNominalAssertion);
-        boolean result=tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"symmetry of {0}",H(propertyExpression)));
-        tableau.clearAdditionalDLOntology();
-        return !result;
+        Tableau tableau=borrowTableau(pseudoNominalAssertion,allNotPseudoNominalAssertion);
+        try {
+            return !tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"symmetry of {0}",H(propertyExpression)));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isAsymmetric(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1345,10 +1733,13 @@ public class Reasoner implements OWLReasoner {
         OWLIndividual freshIndividualB=factory.getOWLAnonymousIndividual("fresh-individual-B");
         OWLAxiom assertion1=factory.getOWLObjectPropertyAssertionAxiom(propertyExpression,freshIndividualA,freshIndividualB);
         OWLAxiom assertion2=factory.getOWLObjectPropertyAssertionAxiom(propertyExpression.getInverseProperty(),freshIndividualA,freshIndividualB);
-        Tableau tableau=getTableau(assertion1,assertion2);
-        boolean result=tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"asymmetry of {0}",H(propertyExpression)));
-        tableau.clearAdditionalDLOntology();
-        return !result;
+        Tableau tableau=borrowTableau(assertion1,assertion2);
+        try {
+            return !tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"asymmetry of {0}",H(propertyExpression)));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isSymmetric(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1362,10 +1753,13 @@ public class Reasoner implements OWLReasoner {
         OWLAxiom assertion1=factory.getOWLObjectPropertyAssertionAxiom(propertyExpression,freshIndividualA,freshIndividualB);
         OWLAxiom assertion2=factory.getOWLClassAssertionAxiom(allNotPseudoNominal,freshIndividualB);
         OWLAxiom assertion3=factory.getOWLClassAssertionAxiom(pseudoNominal,freshIndividualA);
-        Tableau tableau=getTableau(assertion1,assertion2,assertion3);
-        boolean result=tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"symmetry of {0}",propertyExpression));
-        tableau.clearAdditionalDLOntology();
-        return !result;
+        Tableau tableau=borrowTableau(assertion1,assertion2,assertion3);
+        try {
+            return !tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"symmetry of {0}",propertyExpression));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isTransitive(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1381,10 +1775,13 @@ public class Reasoner implements OWLReasoner {
         OWLAxiom assertion2=factory.getOWLObjectPropertyAssertionAxiom(propertyExpression,freshIndividualB,freshIndividualC);
         OWLAxiom assertion3=factory.getOWLClassAssertionAxiom(allNotPseudoNominal,freshIndividualA);
         OWLAxiom assertion4=factory.getOWLClassAssertionAxiom(pseudoNominal,freshIndividualC);
-        Tableau tableau=getTableau(assertion1,assertion2,assertion3,assertion4);
-        boolean result=tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"transitivity of {0}",H(propertyExpression)));
-        tableau.clearAdditionalDLOntology();
-        return !result;
+        Tableau tableau=borrowTableau(assertion1,assertion2,assertion3,assertion4);
+        try {
+            return !tableau.isSatisfiable(true,null,null,null,null,null,new ReasoningTaskDescription(true,"transitivity of {0}",H(propertyExpression)));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected HierarchyNode<Role> getHierarchyNode(OWLObjectPropertyExpression propertyExpression) {
         checkPreConditions(propertyExpression);
@@ -1412,8 +1809,14 @@ public class Reasoner implements OWLReasoner {
             relevantDataRoles.add(AtomicRole.TOP_DATA_ROLE);
             relevantDataRoles.add(AtomicRole.BOTTOM_DATA_ROLE);
             relevantDataRoles.addAll(m_dlOntology.getAllAtomicDataRoles());
+            Hierarchy<AtomicRole> cachedHierarchy=(m_isConsistent.booleanValue() && m_preprocessedTBox!=null ? m_preprocessedTBox.getDataRoleHierarchy() : null);
+            ClassificationCache classificationCache=(m_isConsistent.booleanValue() && m_dlOntology.hasDatatypes() && cachedHierarchy==null ? getClassificationCache() : null);
+            if (classificationCache!=null)
+                cachedHierarchy=classificationCache.loadDataRoleHierarchy(relevantDataRoles);
             if (!m_isConsistent.booleanValue())
                 m_dataRoleHierarchy=Hierarchy.emptyHierarchy(relevantDataRoles,AtomicRole.TOP_DATA_ROLE,AtomicRole.BOTTOM_DATA_ROLE);
+            else if (cachedHierarchy!=null)
+                m_dataRoleHierarchy=cachedHierarchy;
             else {
                 if (m_dlOntology.hasDatatypes()) {
                     Map<AtomicRole,AtomicConcept> conceptsForRoles=new HashMap<>();
@@ -1467,6 +1870,8 @@ public class Reasoner implements OWLReasoner {
                             }
                         };
                         m_dataRoleHierarchy=atomicConceptHierarchyForRoles.transform(transformer,null);
+                        if (classificationCache!=null)
+                            classificationCache.saveDataRoleHierarchy(m_dataRoleHierarchy);
                     }
                     finally {
                         tableau.clearAdditionalDLOntology();
@@ -1507,10 +1912,13 @@ public class Reasoner implements OWLReasoner {
             OWLAxiom subpropertyAssertion=factory.getOWLDataPropertyAssertionAxiom(subDataProperty,individual,freshConstant);
             OWLAxiom negatedSuperpropertyAssertion=factory.getOWLDataPropertyAssertionAxiom(negatedSuperDataProperty,individual,freshConstant);
             OWLAxiom superpropertyAxiomatization=factory.getOWLDisjointDataPropertiesAxiom(superDataProperty,negatedSuperDataProperty);
-            Tableau tableau=getTableau(subpropertyAssertion,negatedSuperpropertyAssertion,superpropertyAxiomatization);
-            boolean result=tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isRoleSubsumedBy(subrole,superrole,false));
-            tableau.clearAdditionalDLOntology();
-            return !result;
+            Tableau tableau=borrowTableau(subpropertyAssertion,negatedSuperpropertyAssertion,superpropertyAxiomatization);
+            try {
+                return !tableau.isSatisfiable(true,null,null,null,null,null,ReasoningTaskDescription.isRoleSubsumedBy(subrole,superrole,false));
+            }
+            finally {
+                returnTableau(tableau);
+            }
         }
     }
     @Override
@@ -1643,7 +2051,13 @@ public class Reasoner implements OWLReasoner {
         Set<Atom> perTestAtoms=new HashSet<>(2);
         perTestAtoms.add(roleAssertion1);
         perTestAtoms.add(roleAssertion2);
-        return !getTableau().isSatisfiable(false,perTestAtoms,null,null,null,null,new ReasoningTaskDescription(true,"disjointness of {0} and {1}",role1,role2));
+        Tableau tableau=borrowTableau();
+        try {
+            return !tableau.isSatisfiable(false,perTestAtoms,null,null,null,null,new ReasoningTaskDescription(true,"disjointness of {0} and {1}",role1,role2));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected boolean isFunctional(OWLDataProperty property) {
         checkPreConditions(property);
@@ -1657,7 +2071,13 @@ public class Reasoner implements OWLReasoner {
         assertions.add(atomicRole.getRoleAssertion(freshIndividual,freshConstantA));
         assertions.add(atomicRole.getRoleAssertion(freshIndividual,freshConstantB));
         assertions.add(Atom.create(Inequality.INSTANCE,freshConstantA,freshConstantB));
-        return !getTableau().isSatisfiable(false,assertions,null,null,null,null,new ReasoningTaskDescription(true,"functionality of {0}",atomicRole));
+        Tableau tableau=borrowTableau();
+        try {
+            return !tableau.isSatisfiable(false,assertions,null,null,null,null,new ReasoningTaskDescription(true,"functionality of {0}",atomicRole));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected HierarchyNode<AtomicRole> getHierarchyNode(OWLDataProperty property) {
         checkPreConditions(property);
@@ -1680,7 +2100,19 @@ public class Reasoner implements OWLReasoner {
         if (!m_dlOntology.getAllIndividuals().isEmpty()) {
             classifyClasses();
             initialiseClassInstanceManager();
-            m_instanceManager.realize(m_configuration.reasonerProgressMonitor);
+            if (m_configuration.realisationThreads<=1)
+                m_instanceManager.realize(m_configuration.reasonerProgressMonitor);
+            else {
+                TableauPool workerTableaux=createWorkerTableauPool(m_dlOntology,m_configuration.realisationThreads);
+                m_workerTableauPool=workerTableaux;
+                try {
+                    m_instanceManager.realize(m_configuration.reasonerProgressMonitor,workerTableaux);
+                }
+                finally {
+                    m_workerTableauPool=null;
+                    workerTableaux.dispose();
+                }
+            }
         }
     }
     /**
@@ -1747,10 +2179,13 @@ public class Reasoner implements OWLReasoner {
             else {
                 OWLDataFactory factory=getDataFactory();
                 OWLAxiom negatedAssertionAxiom=factory.getOWLClassAssertionAxiom(type.getObjectComplementOf(),namedIndividual);
-                Tableau tableau=getTableau(negatedAssertionAxiom);
-                boolean result=tableau.isSatisfiable(true,true,null,null,null,null,null,ReasoningTaskDescription.isInstanceOf(namedIndividual,type));
-                tableau.clearAdditionalDLOntology();
-                return !result;
+                Tableau tableau=borrowTableau(negatedAssertionAxiom);
+                try {
+                    return !tableau.isSatisfiable(true,true,null,null,null,null,null,ReasoningTaskDescription.isInstanceOf(namedIndividual,type));
+                }
+                finally {
+                    returnTableau(tableau);
+                }
             }
         }
     }
@@ -1968,10 +2403,13 @@ public class Reasoner implements OWLReasoner {
             return true;
         OWLDataFactory factory=getDataFactory();
         OWLAxiom notAssertion=factory.getOWLNegativeDataPropertyAssertionAxiom(property,subject,object);
-        Tableau tableau=getTableau(notAssertion);
-        boolean result=tableau.isSatisfiable(true,true,null,null,null,null,null,new ReasoningTaskDescription(true,"is {0} connected to {1} via {2}",H(subject),object,H(property)));
-        tableau.clearAdditionalDLOntology();
-        return !result;
+        Tableau tableau=borrowTableau(notAssertion);
+        try {
+            return !tableau.isSatisfiable(true,true,null,null,null,null,null,new ReasoningTaskDescription(true,"is {0} connected to {1} via {2}",H(subject),object,H(property)));
+        }
+        finally {
+            returnTableau(tableau);
+        }
     }
     protected Set<HierarchyNode<AtomicConcept>> getDirectSuperConceptNodes(final Individual individual) {
         HierarchySearch.SearchPredicate<HierarchyNode<AtomicConcept>> predicate=new HierarchySearch.SearchPredicate<HierarchyNode<AtomicConcept>>() {
@@ -2060,6 +2498,65 @@ public class Reasoner implements OWLReasoner {
                 return createTableau(m_interruptFlag,m_configuration,m_dlOntology,deltaDLOntology,m_prefixes);
         }
     }
+    protected TableauPool createTableauPool() {
+        if (m_configuration.tableauPoolSize<=1)
+            return null;
+        return createWorkerTableauPool(m_dlOntology,m_configuration.tableauPoolSize);
+    }
+    protected TableauPool createWorkerTableauPool(final DLOntology dlOntology,int maximumSize) {
+        final Configuration configuration=m_configuration;
+        final Prefixes prefixes=m_prefixes;
+        return new TableauPool(interruptFlag->createTableau(interruptFlag,configuration,dlOntology,null,prefixes),maximumSize,configuration.individualTaskTimeout);
+    }
+    /**
+     * Obtains a tableau for a single reasoning task. If the configuration allows for more than one tableau, the tableau
+     * is taken from the pool and is not used by any other thread until it is given back with returnTableau(); otherwise,
+     * this is the same as getTableau(OWLAxiom...).
+     *
+     * @param additionalAxioms
+     *            - a list of additional axioms that should be included in the tableau
+     * @return a tableau containing rules for the normalised axioms
+     * @throws IllegalArgumentException
+     *             - if the axioms lead to non-admissible clauses
+     */
+    protected Tableau borrowTableau(OWLAxiom... additionalAxioms) throws IllegalArgumentException {
+        TableauPool tableauPool=m_tableauPool;
+        if (tableauPool==null)
+            return getTableau(additionalAxioms);
+        Tableau tableau=tableauPool.borrowTableau();
+        if (additionalAxioms==null || additionalAxioms.length==0)
+            return tableau;
+        boolean supportsAdditionalDLOntology=false;
+        try {
+            DLOntology deltaDLOntology=createDeltaDLOntology(m_configuration,m_dlOntology,additionalAxioms);
+            supportsAdditionalDLOntology=tableau.supportsAdditionalDLOntology(deltaDLOntology);
+            if (supportsAdditionalDLOntology) {
+                tableau.setAdditionalDLOntology(deltaDLOntology);
+                return tableau;
+            }
+            else
+                return createTableau(new InterruptFlag(m_configuration.individualTaskTimeout),m_configuration,m_dlOntology,deltaDLOntology,m_prefixes);
+        }
+        finally {
+            if (!supportsAdditionalDLOntology)
+                tableauPool.returnTableau(tableau);
+        }
+    }
+    /**
+     * Gives back a tableau obtained from borrowTableau().
+     *
+     * @param tableau
+     *            - the tableau
+     */
+    protected void returnTableau(Tableau tableau) {
+        TableauPool tableauPool=m_tableauPool;
+        if (tableauPool==null)
+            tableau.clearAdditionalDLOntology();
+        else if (tableauPool.containsTableau(tableau))
+            tableauPool.returnTableau(tableau);
+        else
+            tableau.getInterruptFlag().dispose();
+    }
     protected static Tableau createTableau(InterruptFlag interruptFlag,Configuration configuration,DLOntology permanentDLOntology,DLOntology additionalDLOntology,Prefixes prefixes) throws IllegalArgumentException {
         boolean hasInverseRoles=(permanentDLOntology.hasInverseRoles() || (additionalDLOntology!=null && additionalDLOntology.hasInverseRoles()));
         boolean hasNominals=(permanentDLOntology.hasNominals() || (additionalDLOntology!=null && additionalDLOntology.hasNominals()));
@@ -2167,13 +2664,34 @@ public class Reasoner implements OWLReasoner {
             throw new IllegalArgumentException("Unknown expansion strategy type.");
         }
 
-        return new Tableau(interruptFlag,tableauMonitor,existentialsExpansionStrategy,configuration.useDisjunctionLearning,permanentDLOntology,additionalDLOntology,configuration.parameters);
+        return new Tableau(interruptFlag,tableauMonitor,existentialsExpansionStrategy,permanentDLOntology,additionalDLOntology,configuration);
     }
     protected Hierarchy<AtomicConcept> classifyAtomicConcepts(Tableau tableau,ClassificationProgressMonitor progressMonitor,AtomicConcept topElement,AtomicConcept bottomElement,Set<AtomicConcept> elements,boolean forceQuasiOrder) {
         if (tableau.isDeterministic() && !forceQuasiOrder)
             return new DeterministicClassification(tableau,progressMonitor,topElement,bottomElement,elements).classify();
-        else
+        else if (m_configuration.classificationThreads<=1 || tableau.getAdditionalDLOntology()!=null)
             return new QuasiOrderClassification(tableau,progressMonitor,topElement,bottomElement,elements).classify();
+        else {
+            TableauPool workerTableaux=createWorkerTableauPool(tableau.getPermanentDLOntology(),m_configuration.classificationThreads);
+            m_workerTableauPool=workerTableaux;
+            try {
+                return new QuasiOrderClassification(tableau,workerTableaux,progressMonitor,topElement,bottomElement,elements).classify();
+            }
+            finally {
+                m_workerTableauPool=null;
+                workerTableaux.dispose();
+            }
+        }
+    }
+    /**
+     * @return the cache for the hierarchies of the current DLOntology, or null if no cache directory is configured
+     */
+    protected ClassificationCache getClassificationCache() {
+        if (m_configuration.classificationCacheDirectory==null)
+            return null;
+        if (m_classificationCache==null)
+            m_classificationCache=new ClassificationCache(m_configuration.classificationCacheDirectory,m_dlOntology,m_configuration.warningMonitor);
+        return m_classificationCache;
     }
     protected Hierarchy<AtomicConcept> classifyAtomicConceptsForRoles(Tableau tableau,ClassificationProgressMonitor progressMonitor,AtomicConcept topElement,AtomicConcept bottomElement,Set<AtomicConcept> elements,boolean hasInverses,Map<Role,AtomicConcept> conceptsForRoles,Map<AtomicConcept,Role> rolesForConcepts,boolean forceQuasiOrder) {
         if (tableau.isDeterministic() && !forceQuasiOrder)
@@ -2196,8 +2714,23 @@ public class Reasoner implements OWLReasoner {
         BuiltInPropertyManager builtInPropertyManager=new BuiltInPropertyManager(dataFactory);
         builtInPropertyManager.axiomatizeBuiltInPropertiesAsNeeded(axioms,originalDLOntology.getAllAtomicObjectRoles().contains(AtomicRole.TOP_OBJECT_ROLE),originalDLOntology.getAllAtomicObjectRoles().contains(AtomicRole.BOTTOM_OBJECT_ROLE),originalDLOntology.getAllAtomicObjectRoles().contains(AtomicRole.TOP_DATA_ROLE),originalDLOntology.getAllAtomicObjectRoles().contains(AtomicRole.BOTTOM_DATA_ROLE));
 
-        int currentReplacementIndex=m_objectPropertyInclusionManager.rewriteNegativeObjectPropertyAssertions(dataFactory,axioms,originalDLOntology.getAllAtomicConcepts().size());
-        m_objectPropertyInclusionManager.rewriteAxioms(dataFactory,axioms,currentReplacementIndex);
+        // The manager is not available if the reasoner was started from a DLOntology. Only the non-simple roles are known then, and
+        // axioms in which none of them occurs need no rewriting.
+        if (m_objectPropertyInclusionManager==null) {
+            Set<OWLObjectPropertyExpression> nonSimpleObjectProperties=new HashSet<>();
+            for (Role role : originalDLOntology.getAllComplexObjectRoles()) {
+                if (role instanceof AtomicRole)
+                    nonSimpleObjectProperties.add(dataFactory.getOWLObjectProperty(IRI.create(((AtomicRole)role).getIRI())));
+                else
+                    nonSimpleObjectProperties.add(dataFactory.getOWLObjectInverseOf(dataFactory.getOWLObjectProperty(IRI.create(((InverseRole)role).getInverseOf().getIRI()))));
+            }
+            if (ObjectPropertyInclusionManager.isRewritingNeeded(axioms,nonSimpleObjectProperties))
+                throw new UnsupportedOperationException("The axioms cannot be clausified because they use a non-simple object property and the reasoner was started from a DL-ontology without the object property inclusion automata.");
+        }
+        else {
+            int currentReplacementIndex=m_objectPropertyInclusionManager.rewriteNegativeObjectPropertyAssertions(dataFactory,axioms,originalDLOntology.getAllAtomicConcepts().size());
+            m_objectPropertyInclusionManager.rewriteAxioms(dataFactory,axioms,currentReplacementIndex);
+        }
         OWLAxiomsExpressivity axiomsExpressivity=new OWLAxiomsExpressivity(axioms);
         axiomsExpressivity.m_hasAtMostRestrictions|=originalDLOntology.hasAtMostRestrictions();
         axiomsExpressivity.m_hasInverseRoles|=originalDLOntology.hasInverseRoles();
@@ -27,8 +27,10 @@ import java.io.PrintWriter;
 import java.net.URI;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -37,6 +39,8 @@ import org.apache.commons.cli.ParseException;
 import org.semanticweb.HermiT.Configuration;
 import org.semanticweb.HermiT.Prefixes;
 import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.model.BinaryDLOntologyFormat;
+import org.semanticweb.HermiT.model.DLOntology;
 import org.semanticweb.HermiT.monitor.Timer;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.IRI;
@@ -82,6 +86,7 @@ public class CommandLine {
                 throw new IllegalArgumentException("unable to create default IRI base", e);
             }
             Collection<IRI> ontologies = new LinkedList<>();
+            Set<IRI> clauseFiles = new HashSet<>();
             boolean didSomething = false;
             Options g = Option.createLongOpts(Option.options);
             CommandLineParser parser = new DefaultParser();
@@ -286,9 +291,27 @@ public class CommandLine {
             if (cmd.hasOption(Option.NO_INCONSISTENT_EXCEPTION)) {
                 config.throwInconsistentOntologyException = false;
             }
+            if (cmd.hasOption(Option.THREADS)) {
+                String arg = cmd.getOptionValue(Option.THREADS);
+                try {
+                    config.classificationThreads = Integer.parseInt(arg, 10);
+                } catch (NumberFormatException e) {
+                    throw new UsageException("argument to --threads must be a number", e);
+                }
+                if (config.classificationThreads < 1)
+                    throw new UsageException("argument to --threads must be at least 1");
+            }
             if (cmd.hasOption(Option.DUMP_CLAUSES)) {
                 actions.add(new DumpClausesAction(cmd.getOptionValue(Option.DUMP_CLAUSES)));
             }
+            if (cmd.hasOption(Option.SAVE_CLAUSES)) {
+                actions.add(new SaveClausesAction(cmd.getOptionValue(Option.SAVE_CLAUSES)));
+            }
+            if (cmd.hasOption(Option.LOAD_CLAUSES)) {
+                IRI clauseFile = IRI.create(new File(cmd.getOptionValue(Option.LOAD_CLAUSES)).getAbsoluteFile());
+                ontologies.add(clauseFile);
+                clauseFiles.add(clauseFile);
+            }
             for (String i : cmd.getArgs()) {
                 try {
                     ontologies.add(IRI.create(base.resolve(i)));
@@ -310,7 +333,14 @@ public class CommandLine {
                 try {
                     long startTime = System.currentTimeMillis();
                     OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
-                    if (ont.isAbsolute()) {
+                    DLOntology dlOntology = null;
+                    if (clauseFiles.contains(ont)) {
+                        try {
+                            dlOntology = BinaryDLOntologyFormat.load(new File(ont.toURI()).toPath());
+                        } catch (IOException e) {
+                            throw new IllegalArgumentException("unable to read DL-clauses from " + ont + ": " + e.getMessage(), e);
+                        }
+                    } else if (ont.isAbsolute()) {
                         URI uri = URI.create(ont.getNamespace());
                         String scheme = uri.getScheme();
                         if (scheme != null && scheme.equalsIgnoreCase("file")) {
@@ -321,7 +351,9 @@ public class CommandLine {
                             }
                         }
                     }
-                    OWLOntology ontology = ontologyManager.loadOntology(ont);
+                    // the reasoner does not need the axioms of an ontology whose clauses were loaded
+                    OWLOntology ontology = dlOntology != null ? ontologyManager.createOntology()
+                            : ontologyManager.loadOntology(ont);
                     // if (!ignoreOntologyPrefixes) {
                     // SimpleRenderer renderer=new SimpleRenderer();
                     // renderer.setPrefixesFromOntologyFormat(ontology,
@@ -331,7 +363,7 @@ public class CommandLine {
                     long parseTime = System.currentTimeMillis() - startTime;
                     status.log(2, "Ontology parsed in " + parseTime + " msec.");
                     startTime = System.currentTimeMillis();
-                    Reasoner hermit = new Reasoner(config, ontology);
+                    Reasoner hermit = new Reasoner(config, ontology, null, dlOntology);
                     Prefixes prefixes = hermit.getPrefixes();
                     if (defaultPrefix != null) {
                         try {
@@ -35,6 +35,8 @@ class Option {
     static final String VERSION = "V";
     static final String HELP = "h";
     static final String DUMP_CLAUSES = "dC";
+    static final String SAVE_CLAUSES = "dS";
+    static final String LOAD_CLAUSES = "dL";
     static final String DEFAULT_PREFIXES = "dF";
     static final String DUMP_PREFIXES = "dP";
     static final String BASE = "kB";
@@ -46,6 +48,7 @@ class Option {
     static final String IGNORE_UNSUPPORTED_DATATYPES = "kI";
     static final String NO_INCONSISTENT_EXCEPTION = "kNE";
     static final String PREMISE = "kP";
+    static final String THREADS = "kT";
     protected static final Option[] options=new Option[] {
             // meta:
             new Option(HELP,"help",kMisc,"display this help and exit"),
@@ -83,9 +86,12 @@ class Option {
             new Option(IGNORE_UNSUPPORTED_DATATYPES,"ignoreUnsupportedDatatypes",kAlgorithm,"ignore unsupported datatypes"),
             new Option(EXPANSION,"expansion-strategy",kAlgorithm,Arg.REQUIRED,"TYPE","use TYPE as existential expansion strategy; supported values are 'el', 'creation', 'reuse', and 'optimal' (default 'optimal')"),
             new Option(NO_INCONSISTENT_EXCEPTION,"noInconsistentException",kAlgorithm,"do not throw an exception for an inconsistent ontology"),
+            new Option(THREADS,"threads",kAlgorithm,Arg.REQUIRED,"N","use N threads for the subsumption tests when classifying classes (default 1)"),
             
             // internals:
-            new Option(DUMP_CLAUSES,"dump-clauses",kInternals,Arg.OPTIONAL,"FILE","output DL-clauses to FILE (default stdout)")
+            new Option(DUMP_CLAUSES,"dump-clauses",kInternals,Arg.OPTIONAL,"FILE","output DL-clauses to FILE (default stdout)"),
+            new Option(SAVE_CLAUSES,"save-clauses",kInternals,Arg.REQUIRED,"FILE","save the DL-clauses of the ontology to FILE in binary form"),
+            new Option(LOAD_CLAUSES,"load-clauses",kInternals,Arg.REQUIRED,"FILE","start from DL-clauses saved with --save-clauses in FILE instead of parsing and preprocessing an ontology")
         };
 
     enum Arg { 
@@ -0,0 +1,25 @@
+package org.semanticweb.HermiT.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.model.BinaryDLOntologyFormat;
+
+class SaveClausesAction implements Action {
+    final String file;
+
+    public SaveClausesAction(String fileName) {
+        file=fileName;
+    }
+    @Override
+    public void run(Reasoner hermit,StatusOutput status,PrintWriter output,boolean ignoreOntologyPrefixes) {
+        try {
+            BinaryDLOntologyFormat.save(hermit.getDLOntology(),new File(file).toPath());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("unable to write to " + file + ": " + e.getMessage(), e);
+        }
+        status.log(2,"DL-clauses saved to "+file);
+    }
+}
@@ -124,6 +124,9 @@ public final class DatalogEngine {
         public void clear() {
         }
         @Override
+        public void checkpointRestored() {
+        }
+        @Override
         public boolean expandExistentials(boolean finalChance) {
             return false;
         }
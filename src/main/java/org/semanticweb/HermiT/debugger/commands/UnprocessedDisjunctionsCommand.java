@@ -54,6 +54,10 @@ public class UnprocessedDisjunctionsCommand extends AbstractCommand {
         writer.println("===========================================");
         GroundDisjunction groundDisjunction=m_debugger.getTableau().getFirstUnprocessedGroundDisjunction();
         while (groundDisjunction!=null) {
+            if (groundDisjunction.isProcessed()) {
+                groundDisjunction=groundDisjunction.getPreviousGroundDisjunction();
+                continue;
+            }
             for (int disjunctIndex=0;disjunctIndex<groundDisjunction.getNumberOfDisjuncts();disjunctIndex++) {
                 if (disjunctIndex!=0)
                     writer.print(" v ");
@@ -106,6 +106,13 @@ public abstract class AbstractExpansionStrategy implements ExistentialExpansionS
         m_ternaryExtensionTableSearch02Bound.clear();
     }
     @Override
+    public void checkpointRestored() {
+        // The blocking strategy is kept consistent with the remaining nodes by the notifications sent while backtracking.
+        m_processedExistentials.clear();
+        m_ternaryExtensionTableSearch01Bound.clear();
+        m_ternaryExtensionTableSearch02Bound.clear();
+    }
+    @Override
     public boolean expandExistentials(boolean finalChance) {
         TableauMonitor monitor=m_tableau.getTableauMonitor();
         m_blockingStrategy.computeBlocking(finalChance);
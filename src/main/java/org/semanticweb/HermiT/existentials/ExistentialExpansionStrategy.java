@@ -53,6 +53,11 @@ public interface ExistentialExpansionStrategy {
      * Clear.
      */
     void clear();
+    /**
+     * Discards the state of the last test after the tableau has backtracked to the checkpoint of its ABox; the state
+     * that describes the nodes of the checkpoint is kept.
+     */
+    void checkpointRestored();
     /**
      * @param finalChance finalChance
      * @return true if expanded
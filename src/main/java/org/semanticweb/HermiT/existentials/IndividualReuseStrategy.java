@@ -83,6 +83,12 @@ public class IndividualReuseStrategy extends AbstractExpansionStrategy implement
         m_dontReuseConceptsThisRun.clear();
         m_dontReuseConceptsThisRun.addAll(m_dontReuseConceptsEver);
     }
+    @Override
+    public void checkpointRestored() {
+        super.checkpointRestored();
+        m_dontReuseConceptsThisRun.clear();
+        m_dontReuseConceptsThisRun.addAll(m_dontReuseConceptsEver);
+    }
     @Override
     public void branchingPointPushed() {
         int start=m_tableau.getCurrentBranchingPoint().getLevel();
@@ -0,0 +1,359 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.hierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicRole;
+import org.semanticweb.HermiT.model.DLClause;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.DatatypeRestriction;
+import org.semanticweb.HermiT.model.DescriptionGraph;
+import org.semanticweb.HermiT.model.InverseRole;
+import org.semanticweb.HermiT.model.Role;
+
+/**
+ * Stores the class, object property and data property hierarchies of a DL-ontology in a directory so that they can be
+ * reused by later reasoners for the same ontology. The files are named after a fingerprint of the clauses, facts and
+ * signature of the ontology, so a changed ontology never sees the hierarchies of a previous version. A missing,
+ * unreadable or incomplete file is treated as a cache miss; failures to write a file are reported to the warning
+ * monitor and otherwise ignored.
+ */
+public class ClassificationCache {
+    /** the first four bytes of each file */
+    public static final int MAGIC_NUMBER=0x48434C53;
+    /** the version of the file format and of the fingerprint */
+    public static final int VERSION=2;
+
+    protected static final ElementCodec<AtomicConcept> ATOMIC_CONCEPT_CODEC=new ElementCodec<AtomicConcept>() {
+        @Override
+        public void write(DataOutputStream output,AtomicConcept element) throws IOException {
+            output.writeUTF(element.getIRI());
+        }
+        @Override
+        public AtomicConcept read(DataInputStream input) throws IOException {
+            return AtomicConcept.create(input.readUTF());
+        }
+    };
+    protected static final ElementCodec<AtomicRole> ATOMIC_ROLE_CODEC=new ElementCodec<AtomicRole>() {
+        @Override
+        public void write(DataOutputStream output,AtomicRole element) throws IOException {
+            output.writeUTF(element.getIRI());
+        }
+        @Override
+        public AtomicRole read(DataInputStream input) throws IOException {
+            return AtomicRole.create(input.readUTF());
+        }
+    };
+    protected static final ElementCodec<Role> ROLE_CODEC=new ElementCodec<Role>() {
+        @Override
+        public void write(DataOutputStream output,Role element) throws IOException {
+            if (element instanceof InverseRole) {
+                output.writeBoolean(true);
+                output.writeUTF(((InverseRole)element).getInverseOf().getIRI());
+            }
+            else {
+                output.writeBoolean(false);
+                output.writeUTF(((AtomicRole)element).getIRI());
+            }
+        }
+        @Override
+        public Role read(DataInputStream input) throws IOException {
+            boolean isInverse=input.readBoolean();
+            AtomicRole atomicRole=AtomicRole.create(input.readUTF());
+            return isInverse ? atomicRole.getInverse() : atomicRole;
+        }
+    };
+
+    protected final File m_directory;
+    protected final String m_fingerprint;
+    protected final Configuration.WarningMonitor m_warningMonitor;
+
+    /**
+     * @param directory the directory holding the cached hierarchies; it is created when the first hierarchy is saved
+     * @param dlOntology the ontology whose hierarchies are cached
+     * @param warningMonitor the monitor for failures to save a hierarchy, or null
+     */
+    public ClassificationCache(File directory,DLOntology dlOntology,Configuration.WarningMonitor warningMonitor) {
+        m_directory=directory;
+        m_fingerprint=computeFingerprint(dlOntology);
+        m_warningMonitor=warningMonitor;
+    }
+    /**
+     * @return the fingerprint of the ontology
+     */
+    public String getFingerprint() {
+        return m_fingerprint;
+    }
+    /**
+     * @param elements the atomic concepts that the hierarchy must contain
+     * @return the cached class hierarchy, or null if there is none
+     */
+    public Hierarchy<AtomicConcept> loadAtomicConceptHierarchy(Collection<AtomicConcept> elements) {
+        return load("classes",ATOMIC_CONCEPT_CODEC,elements);
+    }
+    /**
+     * @param hierarchy the class hierarchy
+     */
+    public void saveAtomicConceptHierarchy(Hierarchy<AtomicConcept> hierarchy) {
+        save("classes",ATOMIC_CONCEPT_CODEC,hierarchy);
+    }
+    /**
+     * @param elements the object roles that the hierarchy must contain
+     * @return the cached object property hierarchy, or null if there is none
+     */
+    public Hierarchy<Role> loadObjectRoleHierarchy(Collection<Role> elements) {
+        return load("object-properties",ROLE_CODEC,elements);
+    }
+    /**
+     * @param hierarchy the object property hierarchy
+     */
+    public void saveObjectRoleHierarchy(Hierarchy<Role> hierarchy) {
+        save("object-properties",ROLE_CODEC,hierarchy);
+    }
+    /**
+     * @param elements the data roles that the hierarchy must contain
+     * @return the cached data property hierarchy, or null if there is none
+     */
+    public Hierarchy<AtomicRole> loadDataRoleHierarchy(Collection<AtomicRole> elements) {
+        return load("data-properties",ATOMIC_ROLE_CODEC,elements);
+    }
+    /**
+     * @param hierarchy the data property hierarchy
+     */
+    public void saveDataRoleHierarchy(Hierarchy<AtomicRole> hierarchy) {
+        save("data-properties",ATOMIC_ROLE_CODEC,hierarchy);
+    }
+    protected File getFile(String kind) {
+        return new File(m_directory,m_fingerprint+"."+kind);
+    }
+    protected <E> Hierarchy<E> load(String kind,ElementCodec<E> codec,Collection<E> elements) {
+        Hierarchy<E> hierarchy;
+        try (DataInputStream input=new DataInputStream(new BufferedInputStream(new FileInputStream(getFile(kind))))) {
+            hierarchy=read(input,codec);
+        }
+        catch (@SuppressWarnings("unused") FileNotFoundException e) {
+            return null;
+        }
+        catch (IOException|RuntimeException e) {
+            if (m_warningMonitor!=null)
+                m_warningMonitor.warning("The cached hierarchy in "+getFile(kind)+" cannot be read and is ignored: "+e.getMessage());
+            return null;
+        }
+        if (hierarchy==null || !hierarchy.getAllElements().containsAll(elements))
+            return null;
+        return hierarchy;
+    }
+    protected <E> void save(String kind,ElementCodec<E> codec,Hierarchy<E> hierarchy) {
+        File file=getFile(kind);
+        File temporaryFile=null;
+        try {
+            if (!m_directory.isDirectory() && !m_directory.mkdirs())
+                throw new IOException("The directory "+m_directory+" cannot be created.");
+            // Other processes may read the cache concurrently, so the file is written under a temporary name first.
+            temporaryFile=File.createTempFile(m_fingerprint,".tmp",m_directory);
+            try (DataOutputStream output=new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+                write(output,codec,hierarchy);
+            }
+            try {
+                Files.move(temporaryFile.toPath(),file.toPath(),StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (@SuppressWarnings("unused") AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile.toPath(),file.toPath(),StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException e) {
+            if (temporaryFile!=null)
+                temporaryFile.delete();
+            if (m_warningMonitor!=null)
+                m_warningMonitor.warning("The hierarchy cannot be saved to "+file+": "+e.getMessage());
+        }
+    }
+    protected <E> void write(DataOutputStream output,ElementCodec<E> codec,Hierarchy<E> hierarchy) throws IOException {
+        List<HierarchyNode<E>> nodes=new ArrayList<>();
+        Map<HierarchyNode<E>,Integer> nodeIndexes=new HashMap<>();
+        nodes.add(hierarchy.getTopNode());
+        nodeIndexes.put(hierarchy.getTopNode(),Integer.valueOf(0));
+        for (HierarchyNode<E> node : hierarchy.getAllNodesSet())
+            if (!nodeIndexes.containsKey(node)) {
+                nodeIndexes.put(node,Integer.valueOf(nodes.size()));
+                nodes.add(node);
+            }
+        output.writeInt(MAGIC_NUMBER);
+        output.writeInt(VERSION);
+        output.writeUTF(m_fingerprint);
+        output.writeInt(nodes.size());
+        output.writeInt(nodeIndexes.get(hierarchy.getBottomNode()).intValue());
+        for (HierarchyNode<E> node : nodes) {
+            // The representative is written first.
+            output.writeInt(node.getEquivalentElements().size());
+            codec.write(output,node.getRepresentative());
+            for (E element : node.getEquivalentElements())
+                if (!element.equals(node.getRepresentative()))
+                    codec.write(output,element);
+            output.writeInt(node.getParentNodes().size());
+            for (HierarchyNode<E> parentNode : node.getParentNodes())
+                output.writeInt(nodeIndexes.get(parentNode).intValue());
+        }
+    }
+    protected <E> Hierarchy<E> read(DataInputStream input,ElementCodec<E> codec) throws IOException {
+        if (input.readInt()!=MAGIC_NUMBER || input.readInt()!=VERSION || !m_fingerprint.equals(input.readUTF()))
+            return null;
+        int numberOfNodes=input.readInt();
+        int bottomNodeIndex=input.readInt();
+        List<HierarchyNode<E>> nodes=new ArrayList<>(numberOfNodes);
+        int[][] parentNodeIndexes=new int[numberOfNodes][];
+        for (int nodeIndex=0;nodeIndex<numberOfNodes;nodeIndex++) {
+            int numberOfElements=input.readInt();
+            E representative=codec.read(input);
+            Set<E> equivalentElements=new HashSet<>();
+            equivalentElements.add(representative);
+            for (int elementIndex=1;elementIndex<numberOfElements;elementIndex++)
+                equivalentElements.add(codec.read(input));
+            nodes.add(new HierarchyNode<>(representative,equivalentElements,new HashSet<HierarchyNode<E>>(),new HashSet<HierarchyNode<E>>()));
+            parentNodeIndexes[nodeIndex]=new int[input.readInt()];
+            for (int parentIndex=0;parentIndex<parentNodeIndexes[nodeIndex].length;parentIndex++)
+                parentNodeIndexes[nodeIndex][parentIndex]=input.readInt();
+        }
+        for (int nodeIndex=0;nodeIndex<numberOfNodes;nodeIndex++) {
+            HierarchyNode<E> node=nodes.get(nodeIndex);
+            for (int parentNodeIndex : parentNodeIndexes[nodeIndex]) {
+                HierarchyNode<E> parentNode=nodes.get(parentNodeIndex);
+                node.m_parentNodes.add(parentNode);
+                parentNode.m_childNodes.add(node);
+            }
+        }
+        Hierarchy<E> hierarchy=new Hierarchy<>(nodes.get(0),nodes.get(bottomNodeIndex));
+        for (HierarchyNode<E> node : nodes)
+            for (E element : node.m_equivalentElements)
+                hierarchy.m_nodesByElements.put(element,node);
+        return hierarchy;
+    }
+    /**
+     * @param dlOntology the ontology
+     * @return a hexadecimal SHA-256 digest of the clauses, facts, description graphs, unknown datatype restrictions, signature
+     *         and expressivity of the ontology, which does not depend on the order in which the clauses and facts are stored
+     */
+    public static String computeFingerprint(DLOntology dlOntology) {
+        MessageDigest digest;
+        try {
+            digest=MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.",e);
+        }
+        update(digest,"version",Collections.singleton(String.valueOf(VERSION)));
+        List<String> strings=new ArrayList<>();
+        for (DLClause dlClause : dlOntology.getDLClauses())
+            strings.add(dlClause.toString());
+        update(digest,"clauses",strings);
+        strings.clear();
+        for (Atom atom : dlOntology.getPositiveFacts())
+            strings.add(atom.toString());
+        update(digest,"positive facts",strings);
+        strings.clear();
+        for (Atom atom : dlOntology.getNegativeFacts())
+            strings.add(atom.toString());
+        update(digest,"negative facts",strings);
+        strings.clear();
+        // The clauses refer to description graphs only by name, so the structure of each graph is added separately.
+        for (DescriptionGraph descriptionGraph : dlOntology.getAllDescriptionGraphs())
+            strings.add(getDescriptionGraphText(descriptionGraph));
+        update(digest,"description graphs",strings);
+        strings.clear();
+        for (DatatypeRestriction datatypeRestriction : dlOntology.getAllUnknownDatatypeRestrictions())
+            strings.add(datatypeRestriction.toString());
+        update(digest,"unknown datatype restrictions",strings);
+        update(digest,"defined datatypes",dlOntology.getDefinedDatatypeIRIs());
+        strings.clear();
+        for (AtomicConcept atomicConcept : dlOntology.getAllAtomicConcepts())
+            strings.add(atomicConcept.getIRI());
+        update(digest,"atomic concepts",strings);
+        strings.clear();
+        for (AtomicRole atomicRole : dlOntology.getAllAtomicObjectRoles())
+            strings.add(atomicRole.getIRI());
+        update(digest,"atomic object roles",strings);
+        strings.clear();
+        for (AtomicRole atomicRole : dlOntology.getAllAtomicDataRoles())
+            strings.add(atomicRole.getIRI());
+        update(digest,"atomic data roles",strings);
+        strings.clear();
+        strings.add("inverse roles: "+dlOntology.hasInverseRoles());
+        strings.add("at-most restrictions: "+dlOntology.hasAtMostRestrictions());
+        strings.add("nominals: "+dlOntology.hasNominals());
+        strings.add("datatypes: "+dlOntology.hasDatatypes());
+        update(digest,"expressivity",strings);
+        StringBuilder fingerprint=new StringBuilder();
+        for (byte b : digest.digest())
+            fingerprint.append(Character.forDigit((b>>4) & 0xF,16)).append(Character.forDigit(b & 0xF,16));
+        return fingerprint.toString();
+    }
+    protected static String getDescriptionGraphText(DescriptionGraph descriptionGraph) {
+        StringBuilder buffer=new StringBuilder(descriptionGraph.getName());
+        for (int vertex=0;vertex<descriptionGraph.getNumberOfVertices();vertex++)
+            buffer.append(" vertex ").append(vertex).append(' ').append(descriptionGraph.getAtomicConceptForVertex(vertex).getIRI());
+        for (int edgeIndex=0;edgeIndex<descriptionGraph.getNumberOfEdges();edgeIndex++) {
+            DescriptionGraph.Edge edge=descriptionGraph.getEdge(edgeIndex);
+            buffer.append(" edge ").append(edge.getFromVertex()).append(' ').append(edge.getAtomicRole().getIRI()).append(' ').append(edge.getToVertex());
+        }
+        List<String> startConcepts=new ArrayList<>();
+        for (AtomicConcept atomicConcept : descriptionGraph.getStartConcepts())
+            startConcepts.add(atomicConcept.getIRI());
+        Collections.sort(startConcepts);
+        for (String startConcept : startConcepts)
+            buffer.append(" start ").append(startConcept);
+        return buffer.toString();
+    }
+    protected static void update(MessageDigest digest,String section,Collection<String> strings) {
+        List<String> sortedStrings=new ArrayList<>(strings);
+        Collections.sort(sortedStrings);
+        digest.update((section+":"+sortedStrings.size()+"\n").getBytes(StandardCharsets.UTF_8));
+        for (String string : sortedStrings)
+            digest.update((string+"\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected interface ElementCodec<E> {
+        void write(DataOutputStream output,E element) throws IOException;
+        E read(DataInputStream input) throws IOException;
+    }
+}
@@ -0,0 +1,198 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.hierarchy;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.HermiT.hierarchy.DeterministicClassification.GraphNode;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.Individual;
+import org.semanticweb.HermiT.tableau.ExtensionTable;
+import org.semanticweb.HermiT.tableau.Node;
+import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
+import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+/**
+ * Classifies atomic concepts by reusing the hierarchy of a previous version of the ontology. The subsumers of an atomic
+ * concept A are determined by the bottom locality-based module of {A}, so the subsumers of A can change only if the
+ * module of A in the new ontology contains an added axiom or the module of A in the old ontology contains a removed
+ * axiom. The subsumers of all other concepts are read off the previous hierarchy; for each affected concept, a model
+ * is built and subsumption tests are performed only for the concepts that occur in the model nondeterministically.
+ */
+public class IncrementalClassification {
+    protected final Tableau m_tableau;
+    protected final ClassificationProgressMonitor m_progressMonitor;
+    protected final AtomicConcept m_topElement;
+    protected final AtomicConcept m_bottomElement;
+    protected final Set<AtomicConcept> m_elements;
+    protected final Hierarchy<AtomicConcept> m_previousHierarchy;
+    protected final Set<AtomicConcept> m_affectedElements;
+
+    /**
+     * @param tableau tableau
+     * @param progressMonitor progressMonitor
+     * @param topElement topElement
+     * @param bottomElement bottomElement
+     * @param elements elements
+     * @param previousHierarchy the hierarchy of the previous version of the ontology
+     * @param affectedElements the elements whose subsumers may differ from those in the previous hierarchy
+     */
+    public IncrementalClassification(Tableau tableau,ClassificationProgressMonitor progressMonitor,AtomicConcept topElement,AtomicConcept bottomElement,Set<AtomicConcept> elements,Hierarchy<AtomicConcept> previousHierarchy,Set<AtomicConcept> affectedElements) {
+        m_tableau=tableau;
+        m_progressMonitor=progressMonitor;
+        m_topElement=topElement;
+        m_bottomElement=bottomElement;
+        m_elements=elements;
+        m_previousHierarchy=previousHierarchy;
+        m_affectedElements=affectedElements;
+    }
+    /**
+     * @return hierarchy
+     */
+    public Hierarchy<AtomicConcept> classify() {
+        Map<AtomicConcept,Set<AtomicConcept>> allSubsumers=new HashMap<>();
+        Set<AtomicConcept> affectedElements=new HashSet<>();
+        for (AtomicConcept element : m_elements) {
+            HierarchyNode<AtomicConcept> previousNode=m_previousHierarchy.getNodeForElement(element);
+            if (element==m_bottomElement)
+                allSubsumers.put(element,m_elements);
+            // The subsumers of the top element change whenever some concept becomes equivalent to it.
+            else if (previousNode==null || element==m_topElement || m_affectedElements.contains(element))
+                affectedElements.add(element);
+            else {
+                allSubsumers.put(element,getPreviousSubsumers(previousNode));
+                m_progressMonitor.elementClassified(element);
+            }
+        }
+        for (AtomicConcept element : affectedElements) {
+            allSubsumers.put(element,computeSubsumers(element,allSubsumers));
+            m_progressMonitor.elementClassified(element);
+        }
+        Map<AtomicConcept,GraphNode<AtomicConcept>> graphNodes=new HashMap<>();
+        for (Map.Entry<AtomicConcept,Set<AtomicConcept>> entry : allSubsumers.entrySet())
+            graphNodes.put(entry.getKey(),new GraphNode<>(entry.getKey(),entry.getValue()));
+        return DeterministicClassification.buildHierarchy(m_topElement,m_bottomElement,graphNodes);
+    }
+    protected Set<AtomicConcept> getPreviousSubsumers(HierarchyNode<AtomicConcept> previousNode) {
+        if (previousNode==m_previousHierarchy.getBottomNode())
+            return m_elements;
+        Set<AtomicConcept> subsumers=new HashSet<>();
+        subsumers.add(m_topElement);
+        for (HierarchyNode<AtomicConcept> ancestorNode : previousNode.getAncestorNodes())
+            for (AtomicConcept subsumer : ancestorNode.getEquivalentElements())
+                if (m_elements.contains(subsumer))
+                    subsumers.add(subsumer);
+        return subsumers;
+    }
+    protected Set<AtomicConcept> computeSubsumers(AtomicConcept element,Map<AtomicConcept,Set<AtomicConcept>> allSubsumers) {
+        Individual freshIndividual=Individual.createAnonymous("fresh-individual");
+        Map<Individual,Node> checkedNode=new HashMap<>();
+        checkedNode.put(freshIndividual,null);
+        if (!m_tableau.isSatisfiable(true,Collections.singleton(Atom.create(element,freshIndividual)),null,null,null,checkedNode,ReasoningTaskDescription.isConceptSatisfiable(element)))
+            return m_elements;
+        Set<AtomicConcept> knownSubsumers=new HashSet<>();
+        knownSubsumers.add(m_topElement);
+        knownSubsumers.add(element);
+        Set<AtomicConcept> possibleSubsumers=new HashSet<>();
+        Node node=checkedNode.get(freshIndividual);
+        // As in QuasiOrderClassification, the label is known to hold only if the root node was not merged nondeterministically.
+        boolean isDeterministicNode=node.getCanonicalNodeDependencySet().isEmpty();
+        node=node.getCanonicalNode();
+        ExtensionTable.Retrieval retrieval=m_tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false,true },ExtensionTable.View.TOTAL);
+        retrieval.getBindingsBuffer()[1]=node;
+        retrieval.open();
+        while (!retrieval.afterLast()) {
+            Object conceptObject=retrieval.getTupleBuffer()[0];
+            if (conceptObject instanceof AtomicConcept && m_elements.contains(conceptObject)) {
+                if (isDeterministicNode && retrieval.getDependencySet().isEmpty())
+                    knownSubsumers.add((AtomicConcept)conceptObject);
+                else
+                    possibleSubsumers.add((AtomicConcept)conceptObject);
+            }
+            retrieval.next();
+        }
+        for (AtomicConcept possibleSubsumer : possibleSubsumers) {
+            if (!knownSubsumers.contains(possibleSubsumer) && isSubsumedBy(element,possibleSubsumer)) {
+                knownSubsumers.add(possibleSubsumer);
+                Set<AtomicConcept> subsumersOfSubsumer=allSubsumers.get(possibleSubsumer);
+                if (subsumersOfSubsumer!=null)
+                    knownSubsumers.addAll(subsumersOfSubsumer);
+            }
+        }
+        return knownSubsumers;
+    }
+    protected boolean isSubsumedBy(AtomicConcept subconcept,AtomicConcept superconcept) {
+        Individual freshIndividual=Individual.createAnonymous("fresh-individual");
+        return !m_tableau.isSatisfiable(true,Collections.singleton(Atom.create(subconcept,freshIndividual)),null,null,Collections.singleton(Atom.create(superconcept,freshIndividual)),null,ReasoningTaskDescription.isConceptSubsumedBy(subconcept,superconcept));
+    }
+    /**
+     * Determines the atomic concepts whose subsumers may change when the given axioms are added to and removed from an
+     * ontology. The module of each concept in the signature of a module is contained in that module, so all such
+     * concepts are unaffected if the module contains no changed axiom; this avoids most module extractions.
+     *
+     * @param ontologyManager the manager used for module extraction
+     * @param axioms the logical axioms of the new version of the ontology
+     * @param addedAxioms the axioms that were added to the ontology
+     * @param removedAxioms the axioms that were removed from the ontology
+     * @param classes the classes whose subsumers are to be checked
+     * @return the atomic concepts for the affected classes
+     */
+    public static Set<AtomicConcept> getAffectedAtomicConcepts(OWLOntologyManager ontologyManager,Collection<OWLAxiom> axioms,Set<OWLAxiom> addedAxioms,Set<OWLAxiom> removedAxioms,Collection<OWLClass> classes) {
+        Set<OWLClass> affectedClasses=new HashSet<>();
+        addAffectedClasses(ontologyManager,axioms,addedAxioms,classes,affectedClasses);
+        if (!removedAxioms.isEmpty()) {
+            Set<OWLAxiom> previousAxioms=new HashSet<>(axioms);
+            previousAxioms.removeAll(addedAxioms);
+            previousAxioms.addAll(removedAxioms);
+            addAffectedClasses(ontologyManager,previousAxioms,removedAxioms,classes,affectedClasses);
+        }
+        Set<AtomicConcept> affectedAtomicConcepts=new HashSet<>();
+        for (OWLClass owlClass : affectedClasses)
+            affectedAtomicConcepts.add(AtomicConcept.create(owlClass.getIRI().toString()));
+        return affectedAtomicConcepts;
+    }
+    protected static void addAffectedClasses(OWLOntologyManager ontologyManager,Collection<OWLAxiom> axioms,Set<OWLAxiom> changedAxioms,Collection<OWLClass> classes,Set<OWLClass> affectedClasses) {
+        if (changedAxioms.isEmpty())
+            return;
+        SyntacticLocalityModuleExtractor moduleExtractor=new SyntacticLocalityModuleExtractor(ontologyManager,axioms.stream(),ModuleType.BOT);
+        Set<OWLClass> unaffectedClasses=new HashSet<>();
+        for (OWLClass owlClass : classes) {
+            if (!affectedClasses.contains(owlClass) && !unaffectedClasses.contains(owlClass)) {
+                Set<OWLAxiom> module=moduleExtractor.extract(Collections.<OWLEntity>singleton(owlClass));
+                if (Collections.disjoint(module,changedAxioms))
+                    for (OWLAxiom axiom : module)
+                        axiom.classesInSignature().forEach(unaffectedClasses::add);
+                else
+                    affectedClasses.add(owlClass);
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +55,7 @@ import org.semanticweb.HermiT.tableau.Node;
 import org.semanticweb.HermiT.tableau.NodeType;
 import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
 import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.HermiT.tableau.TableauPool;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -507,15 +509,7 @@ public class InstanceManager {
         for (Individual ind : m_individuals) {
             Node nodeForIndividual=m_nodesForIndividuals.get(ind);
             // read of concept instances and normal role instances only once, we don't slice that
-            boolean hasType=readOffTypes(ind,nodeForIndividual);
-            if (!hasType) {
-                AtomicConceptElement topElement=m_conceptToElement.get(m_topConcept);
-                if (topElement==null) {
-                    topElement=new AtomicConceptElement(null, null);
-                    m_conceptToElement.put(m_topConcept, topElement);
-                }
-                topElement.m_knownInstances.add(ind);
-            }
+            readOffClassInstances(m_binaryRetrieval1Bound,ind,nodeForIndividual);
             completedSteps++;
             if (monitor!=null)
                 monitor.reasonerTaskProgressChanged(completedSteps,steps);
@@ -523,6 +517,96 @@ public class InstanceManager {
         }
         return completedSteps;
     }
+    protected void readOffClassInstances(ExtensionTable.Retrieval binaryRetrieval1Bound,Individual ind,Node nodeForIndividual) {
+        boolean hasType=readOffTypes(binaryRetrieval1Bound,ind,nodeForIndividual);
+        if (!hasType) {
+            AtomicConceptElement topElement=m_conceptToElement.get(m_topConcept);
+            if (topElement==null) {
+                topElement=new AtomicConceptElement(null, null);
+                m_conceptToElement.put(m_topConcept, topElement);
+            }
+            topElement.m_knownInstances.add(ind);
+        }
+    }
+    /**
+     * Reads off the known and possible class instances of the individuals of one independent part of the ABox, as
+     * computed by ABoxPartitioner. The tableau must have been run on that part of the ABox, and nodesForIndividuals
+     * must map each individual of the part to its node in the tableau. After all parts have been read off,
+     * finishReadingOffClassInstances() must be called.
+     *
+     * @param tableau the tableau for the part of the ABox
+     * @param nodesForIndividuals the nodes of the individuals of the part
+     */
+    public void readOffClassInstances(Tableau tableau,Map<Individual,Node> nodesForIndividuals) {
+        assert !m_classesInitialised && !m_propertiesInitialised;
+        m_interruptFlag.startTask();
+        try {
+            m_nodesForIndividuals.putAll(nodesForIndividuals);
+            initializeIndividualsForNodes(nodesForIndividuals.keySet());
+            if (m_individualToPossibleEquivalenceClass==null)
+                m_individualToPossibleEquivalenceClass=new HashMap<>();
+            readOffSameAs();
+            ExtensionTable.Retrieval binaryRetrieval1Bound=tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false, true }, ExtensionTable.View.TOTAL);
+            for (Map.Entry<Individual,Node> entry : nodesForIndividuals.entrySet()) {
+                readOffClassInstances(binaryRetrieval1Bound,entry.getKey(),entry.getValue());
+                m_interruptFlag.checkInterrupt();
+            }
+            m_individualsForNodes.clear();
+            m_canonicalNodeToDetMergedNodes.clear();
+            m_canonicalNodeToNonDetMergedNodes.clear();
+        } finally {
+            m_interruptFlag.endTask();
+        }
+    }
+    /**
+     * Marks the class instances as initialised after all parts of the ABox have been read off with readOffClassInstances().
+     */
+    public void finishReadingOffClassInstances() {
+        if (!m_readingOffFoundPossibleConceptInstance && m_usesClassifiedConceptHierarchy)
+            m_realizationCompleted=true;
+        m_classesInitialised=true;
+    }
+    /**
+     * Reads off the known and possible class instances of the given individuals again after facts have been added to
+     * the ABox; the class instances of all other individuals must not have been affected by the new facts. The tableau
+     * must contain a model of the extended ABox, and nodesForIndividuals must map the given individuals to their nodes
+     * in the tableau. Updating is not possible if property instances or same individuals have been read off, since
+     * these are not updated, or if some of the given individuals is unknown to this instance manager.
+     *
+     * @param tableau the tableau with a model of the extended ABox
+     * @param nodesForIndividuals the nodes of the individuals whose class instances may have changed
+     * @return true if the class instances have been updated, and false if the instance manager must be rebuilt
+     */
+    public boolean updateClassInstances(Tableau tableau,Map<Individual,Node> nodesForIndividuals) {
+        if (m_isInconsistent || !m_classesInitialised || m_propertiesInitialised || (m_individualToPossibleEquivalenceClass!=null && !m_individualToPossibleEquivalenceClass.isEmpty()))
+            return false;
+        for (Map.Entry<Individual,Node> entry : nodesForIndividuals.entrySet()) {
+            Set<Individual> equivalenceClass=m_individualToEquivalenceClass.get(entry.getKey());
+            if (equivalenceClass==null || equivalenceClass.size()>1 || entry.getValue().isMerged())
+                return false;
+        }
+        m_interruptFlag.startTask();
+        try {
+            Set<Individual> individuals=nodesForIndividuals.keySet();
+            for (AtomicConceptElement element : m_conceptToElement.values()) {
+                element.m_knownInstances.removeAll(individuals);
+                element.m_possibleInstances.removeAll(individuals);
+            }
+            boolean readingOffFoundPossibleConceptInstance=m_readingOffFoundPossibleConceptInstance;
+            m_readingOffFoundPossibleConceptInstance=false;
+            ExtensionTable.Retrieval binaryRetrieval1Bound=tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false, true }, ExtensionTable.View.TOTAL);
+            for (Map.Entry<Individual,Node> entry : nodesForIndividuals.entrySet()) {
+                readOffClassInstances(binaryRetrieval1Bound,entry.getKey(),entry.getValue());
+                m_interruptFlag.checkInterrupt();
+            }
+            if (m_readingOffFoundPossibleConceptInstance)
+                m_realizationCompleted=false;
+            m_readingOffFoundPossibleConceptInstance|=readingOffFoundPossibleConceptInstance;
+        } finally {
+            m_interruptFlag.endTask();
+        }
+        return true;
+    }
     /**
      * @param monitor monitor
      * @param startIndividualIndex startIndividualIndex
@@ -577,7 +661,10 @@ public class InstanceManager {
         return completedSteps;
     }
     protected void initializeIndividualsForNodes() {
-        for (Individual ind : m_individuals) {
+        initializeIndividualsForNodes(Arrays.asList(m_individuals));
+    }
+    protected void initializeIndividualsForNodes(Collection<Individual> individuals) {
+        for (Individual ind : individuals) {
             Node node=m_nodesForIndividuals.get(ind);
             m_individualsForNodes.put(node, ind);
             if (node.isMerged()) {
@@ -605,6 +692,9 @@ public class InstanceManager {
     }
     protected void initializeSameAs() {
         m_individualToPossibleEquivalenceClass=new HashMap<>();
+        readOffSameAs();
+    }
+    protected void readOffSameAs() {
         for (Node node : m_individualsForNodes.keySet()) {
             Node mergedInto=node.getMergedInto();
             if (mergedInto!=null) {
@@ -629,11 +719,14 @@ public class InstanceManager {
         }
     }
     protected boolean readOffTypes(Individual ind, Node nodeForIndividual) {
+        return readOffTypes(m_binaryRetrieval1Bound,ind,nodeForIndividual);
+    }
+    protected boolean readOffTypes(ExtensionTable.Retrieval binaryRetrieval1Bound, Individual ind, Node nodeForIndividual) {
         boolean hasBeenAdded=false;
-        m_binaryRetrieval1Bound.getBindingsBuffer()[1]=nodeForIndividual.getCanonicalNode();
-        m_binaryRetrieval1Bound.open();
-        Object[] tupleBuffer=m_binaryRetrieval1Bound.getTupleBuffer();
-        while (!m_binaryRetrieval1Bound.afterLast()) {
+        binaryRetrieval1Bound.getBindingsBuffer()[1]=nodeForIndividual.getCanonicalNode();
+        binaryRetrieval1Bound.open();
+        Object[] tupleBuffer=binaryRetrieval1Bound.getTupleBuffer();
+        while (!binaryRetrieval1Bound.afterLast()) {
             Object predicate=tupleBuffer[0];
             if (predicate instanceof AtomicConcept) {
                 AtomicConcept atomicConcept=(AtomicConcept)predicate;
@@ -646,7 +739,7 @@ public class InstanceManager {
                         m_conceptToElement.put(representative, element);
                     }
                     hasBeenAdded=true;
-                    if (m_binaryRetrieval1Bound.getDependencySet().isEmpty())
+                    if (binaryRetrieval1Bound.getDependencySet().isEmpty())
                         addKnownConceptInstance(node, element, ind);
                     else {
                         addPossibleConceptInstance(node, element, ind);
@@ -655,7 +748,7 @@ public class InstanceManager {
                 }
             }
             m_interruptFlag.checkInterrupt();
-            m_binaryRetrieval1Bound.next();
+            binaryRetrieval1Bound.next();
         }
         return hasBeenAdded;
     }
@@ -866,58 +959,148 @@ public class InstanceManager {
      * @param monitor monitor
      */
     public void realize(ReasonerProgressMonitor monitor) {
+        realize(monitor,null);
+    }
+    /**
+     * @param monitor monitor
+     * @param workerTableaux the tableaux for testing possible instances in parallel, or null if the tests should be sequential
+     */
+    public void realize(ReasonerProgressMonitor monitor,TableauPool workerTableaux) {
         assert m_usesClassifiedConceptHierarchy;
         if (m_readingOffFoundPossibleConceptInstance && !m_realizationCompleted) {
             if (monitor!=null)
                 monitor.reasonerTaskStarted("Computing instances for all classes");
-            int numHierarchyNodes=m_currentConceptHierarchy.m_nodesByElements.values().size();
-            int currentHierarchyNode=0;
-            Queue<HierarchyNode<AtomicConcept>> toProcess=new LinkedList<>();
-            Set<HierarchyNode<AtomicConcept>> visited=new HashSet<>();
-            toProcess.addAll(m_currentConceptHierarchy.m_bottomNode.m_parentNodes);
-            while (!toProcess.isEmpty()) {
-                if (monitor!=null)
-                    monitor.reasonerTaskProgressChanged(currentHierarchyNode,numHierarchyNodes);
-                HierarchyNode<AtomicConcept> current=toProcess.remove();
-                visited.add(current);
-                currentHierarchyNode++;
-                AtomicConcept atomicConcept=current.getRepresentative();
-                AtomicConceptElement atomicConceptElement=m_conceptToElement.get(atomicConcept);
-                if (atomicConceptElement!=null) {
-                    Set<HierarchyNode<AtomicConcept>> parents=current.getParentNodes();
-                    for (HierarchyNode<AtomicConcept> parent : parents) {
-                        if (!visited.contains(parent) && !toProcess.contains(parent))
-                            toProcess.add(parent);
+            if (workerTableaux==null)
+                realizeSequentially(monitor);
+            else
+                realizeInParallel(monitor,workerTableaux);
+            if (monitor!=null)
+                monitor.reasonerTaskStopped();
+        }
+        m_realizationCompleted=true;
+    }
+    protected void realizeSequentially(ReasonerProgressMonitor monitor) {
+        int numHierarchyNodes=m_currentConceptHierarchy.m_nodesByElements.values().size();
+        int currentHierarchyNode=0;
+        Queue<HierarchyNode<AtomicConcept>> toProcess=new LinkedList<>();
+        Set<HierarchyNode<AtomicConcept>> visited=new HashSet<>();
+        toProcess.addAll(m_currentConceptHierarchy.m_bottomNode.m_parentNodes);
+        while (!toProcess.isEmpty()) {
+            if (monitor!=null)
+                monitor.reasonerTaskProgressChanged(currentHierarchyNode,numHierarchyNodes);
+            HierarchyNode<AtomicConcept> current=toProcess.remove();
+            visited.add(current);
+            currentHierarchyNode++;
+            AtomicConcept atomicConcept=current.getRepresentative();
+            AtomicConceptElement atomicConceptElement=m_conceptToElement.get(atomicConcept);
+            if (atomicConceptElement!=null) {
+                Set<HierarchyNode<AtomicConcept>> parents=current.getParentNodes();
+                for (HierarchyNode<AtomicConcept> parent : parents) {
+                    if (!visited.contains(parent) && !toProcess.contains(parent))
+                        toProcess.add(parent);
+                }
+                if (atomicConceptElement.hasPossibles()) {
+                    Set<Individual> nonInstances=new HashSet<>();
+                    for (Individual individual : atomicConceptElement.getPossibleInstances()) {
+                        if (isInstance(individual, atomicConcept))
+                            atomicConceptElement.m_knownInstances.add(individual);
+                        else
+                            nonInstances.add(individual);
                     }
-                    if (atomicConceptElement.hasPossibles()) {
-                        Set<Individual> nonInstances=new HashSet<>();
-                        for (Individual individual : atomicConceptElement.getPossibleInstances()) {
-                            if (isInstance(individual, atomicConcept))
-                                atomicConceptElement.m_knownInstances.add(individual);
-                            else
-                                nonInstances.add(individual);
-                        }
-                        atomicConceptElement.m_possibleInstances.clear();
-                        for (HierarchyNode<AtomicConcept> parent : parents) {
-                            AtomicConcept parentRepresentative=parent.getRepresentative();
-                            AtomicConceptElement parentElement=m_conceptToElement.get(parentRepresentative);
-                            if (parentElement==null) {
-                                parentElement=new AtomicConceptElement(null, nonInstances);
-                                m_conceptToElement.put(parentRepresentative, parentElement);
-                            }
-                            else if (parentRepresentative.equals(m_topConcept))
-                                m_conceptToElement.get(m_topConcept).m_knownInstances.addAll(nonInstances);
-                            else
-                                parentElement.addPossibles(nonInstances);
+                    atomicConceptElement.m_possibleInstances.clear();
+                    for (HierarchyNode<AtomicConcept> parent : parents) {
+                        AtomicConcept parentRepresentative=parent.getRepresentative();
+                        AtomicConceptElement parentElement=m_conceptToElement.get(parentRepresentative);
+                        if (parentElement==null) {
+                            parentElement=new AtomicConceptElement(null, nonInstances);
+                            m_conceptToElement.put(parentRepresentative, parentElement);
                         }
+                        else if (parentRepresentative.equals(m_topConcept))
+                            m_conceptToElement.get(m_topConcept).m_knownInstances.addAll(nonInstances);
+                        else
+                            parentElement.addPossibles(nonInstances);
                     }
                 }
-                m_interruptFlag.checkInterrupt();
             }
+            m_interruptFlag.checkInterrupt();
+        }
+    }
+    /**
+     * Processes the concept hierarchy bottom-up in levels: a node belongs to the next level once all of its children have
+     * been processed. All possible instances of the nodes of one level are tested in parallel, each test on a tableau
+     * borrowed from the given pool; the non-instances are then passed on to the parent nodes as in the sequential case.
+     *
+     * @param monitor monitor
+     * @param workerTableaux the tableaux for the instance tests
+     */
+    protected void realizeInParallel(ReasonerProgressMonitor monitor,TableauPool workerTableaux) {
+        HierarchyNode<AtomicConcept> bottomNode=m_currentConceptHierarchy.getBottomNode();
+        Set<HierarchyNode<AtomicConcept>> allNodes=m_currentConceptHierarchy.getAllNodesSet();
+        int numHierarchyNodes=allNodes.size();
+        int currentHierarchyNode=0;
+        Map<HierarchyNode<AtomicConcept>,Integer> numberOfUnprocessedChildren=new HashMap<>();
+        List<HierarchyNode<AtomicConcept>> currentLevel=new ArrayList<>();
+        for (HierarchyNode<AtomicConcept> node : allNodes) {
+            if (node!=bottomNode) {
+                int numberOfChildren=node.getChildNodes().size();
+                if (node.getChildNodes().contains(bottomNode))
+                    numberOfChildren--;
+                if (numberOfChildren==0)
+                    currentLevel.add(node);
+                else
+                    numberOfUnprocessedChildren.put(node,Integer.valueOf(numberOfChildren));
+            }
+        }
+        while (!currentLevel.isEmpty()) {
             if (monitor!=null)
-                monitor.reasonerTaskStopped();
+                monitor.reasonerTaskProgressChanged(currentHierarchyNode,numHierarchyNodes);
+            List<TableauPool.TableauTask<Boolean>> tasks=new ArrayList<>();
+            for (HierarchyNode<AtomicConcept> node : currentLevel) {
+                final AtomicConcept atomicConcept=node.getRepresentative();
+                AtomicConceptElement atomicConceptElement=m_conceptToElement.get(atomicConcept);
+                if (atomicConceptElement!=null)
+                    for (final Individual individual : atomicConceptElement.getPossibleInstances())
+                        tasks.add(tableau->Boolean.valueOf(isInstance(tableau,individual,atomicConcept)));
+            }
+            Iterator<Boolean> results=workerTableaux.invokeAll(tasks).iterator();
+            List<HierarchyNode<AtomicConcept>> nextLevel=new ArrayList<>();
+            for (HierarchyNode<AtomicConcept> node : currentLevel) {
+                currentHierarchyNode++;
+                AtomicConcept atomicConcept=node.getRepresentative();
+                AtomicConceptElement atomicConceptElement=m_conceptToElement.get(atomicConcept);
+                if (atomicConceptElement!=null && atomicConceptElement.hasPossibles()) {
+                    Set<Individual> nonInstances=new HashSet<>();
+                    for (Individual individual : atomicConceptElement.getPossibleInstances()) {
+                        if (results.next().booleanValue())
+                            atomicConceptElement.m_knownInstances.add(individual);
+                        else
+                            nonInstances.add(individual);
+                    }
+                    atomicConceptElement.m_possibleInstances.clear();
+                    for (HierarchyNode<AtomicConcept> parent : node.getParentNodes()) {
+                        AtomicConcept parentRepresentative=parent.getRepresentative();
+                        AtomicConceptElement parentElement=m_conceptToElement.get(parentRepresentative);
+                        if (parentElement==null)
+                            m_conceptToElement.put(parentRepresentative,new AtomicConceptElement(null,new HashSet<>(nonInstances)));
+                        else if (parentRepresentative.equals(m_topConcept))
+                            parentElement.m_knownInstances.addAll(nonInstances);
+                        else
+                            parentElement.addPossibles(nonInstances);
+                    }
+                }
+                for (HierarchyNode<AtomicConcept> parent : node.getParentNodes()) {
+                    int numberOfChildren=numberOfUnprocessedChildren.get(parent).intValue()-1;
+                    if (numberOfChildren==0) {
+                        numberOfUnprocessedChildren.remove(parent);
+                        nextLevel.add(parent);
+                    }
+                    else
+                        numberOfUnprocessedChildren.put(parent,Integer.valueOf(numberOfChildren));
+                }
+            }
+            currentLevel=nextLevel;
+            m_interruptFlag.checkInterrupt();
         }
-        m_realizationCompleted=true;
     }
     /**
      * @param monitor monitor
@@ -1412,12 +1595,17 @@ public class InstanceManager {
         }
     }
     protected boolean isInstance(Individual individual,AtomicConcept atomicConcept) {
-        boolean result = !m_reasoner.getTableau().isSatisfiable(true,false,null,Collections.singleton(Atom.create(atomicConcept,individual)),null,null,null,ReasoningTaskDescription.isInstanceOf(atomicConcept,individual));
+        return isInstance(m_reasoner.getTableau(),individual,atomicConcept);
+    }
+    protected boolean isInstance(Tableau tableau,Individual individual,AtomicConcept atomicConcept) {
+        boolean result = !tableau.isSatisfiable(true,false,null,Collections.singleton(Atom.create(atomicConcept,individual)),null,null,null,ReasoningTaskDescription.isInstanceOf(atomicConcept,individual));
         if (m_tableauMonitor!=null) {
-            if (result)
-                m_tableauMonitor.possibleInstanceIsInstance();
-            else 
-                m_tableauMonitor.possibleInstanceIsNotInstance();
+            synchronized (m_tableauMonitor) {
+                if (result)
+                    m_tableauMonitor.possibleInstanceIsInstance();
+                else 
+                    m_tableauMonitor.possibleInstanceIsNotInstance();
+            }
         }
         return result;
     }
@@ -40,9 +40,11 @@ import org.semanticweb.HermiT.tableau.ExtensionTable;
 import org.semanticweb.HermiT.tableau.Node;
 import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
 import org.semanticweb.HermiT.tableau.Tableau;
+import org.semanticweb.HermiT.tableau.TableauPool;
 /**QuasiOrderClassification*/
 public class QuasiOrderClassification {
     protected final Tableau m_tableau;
+    protected final TableauPool m_workerTableaux;
     protected final ClassificationProgressMonitor m_progressMonitor;
     protected final AtomicConcept m_topElement;
     protected final AtomicConcept m_bottomElement;
@@ -58,7 +60,23 @@ public class QuasiOrderClassification {
      * @param elements elements
      */
     public QuasiOrderClassification(Tableau tableau,ClassificationProgressMonitor progressMonitor,AtomicConcept topElement,AtomicConcept bottomElement,Set<AtomicConcept> elements) {
+        this(tableau,null,progressMonitor,topElement,bottomElement,elements);
+    }
+    /**
+     * Creates a classification that runs the subsumption tests that remain after the leaf node strategy in parallel.
+     * Each worker thread borrows its own tableau from the given pool, and the number of worker threads is the maximal
+     * size of the pool.
+     *
+     * @param tableau tableau
+     * @param workerTableaux the tableaux for the parallel subsumption tests, or null if the tests should be sequential
+     * @param progressMonitor progressMonitor
+     * @param topElement topElement
+     * @param bottomElement bottomElement
+     * @param elements elements
+     */
+    public QuasiOrderClassification(Tableau tableau,TableauPool workerTableaux,ClassificationProgressMonitor progressMonitor,AtomicConcept topElement,AtomicConcept bottomElement,Set<AtomicConcept> elements) {
         m_tableau=tableau;
+        m_workerTableaux=workerTableaux;
         m_progressMonitor=progressMonitor;
         m_topElement=topElement;
         m_bottomElement=bottomElement;
@@ -70,23 +88,27 @@ public class QuasiOrderClassification {
      * @return classified hierarchy
      */
     public Hierarchy<AtomicConcept> classify() {
-        return buildHierarchy(this::classifyDoesSubsume);
+        return buildHierarchy((parent,child)->classifyDoesSubsume(m_tableau,parent,child));
     }
 
-    private boolean classifyDoesSubsume(AtomicConcept parent,AtomicConcept child) {
-        Set<AtomicConcept> allKnownSubsumers=getAllKnownSubsumers(child);
-        if (allKnownSubsumers.contains(parent))
-            return true;
-        else if (!m_possibleSubsumptions.getSuccessors(child).contains(parent))
-            return false;
+    private boolean classifyDoesSubsume(Tableau tableau,AtomicConcept parent,AtomicConcept child) {
+        synchronized (this) {
+            Set<AtomicConcept> allKnownSubsumers=getAllKnownSubsumers(child);
+            if (allKnownSubsumers.contains(parent))
+                return true;
+            else if (!m_possibleSubsumptions.getSuccessors(child).contains(parent))
+                return false;
+        }
         Individual freshIndividual=Individual.createAnonymous("fresh-individual");
         Map<Individual,Node> checkedNode=new HashMap<>();
         checkedNode.put(freshIndividual,null);
-        boolean isSubsumedBy=!m_tableau.isSatisfiable(true,Collections.singleton(Atom.create(child,freshIndividual)),null,null,Collections.singleton(Atom.create(parent,freshIndividual)),checkedNode,getSubsumptionTestDescription(child,parent));
-        if (!isSubsumedBy)
-            prunePossibleSubsumers();
-        readKnownSubsumersFromRootNode(child, checkedNode.get(freshIndividual));
-        m_possibleSubsumptions.getSuccessors(child).removeAll(getAllKnownSubsumers(child));
+        boolean isSubsumedBy=!tableau.isSatisfiable(true,Collections.singleton(Atom.create(child,freshIndividual)),null,null,Collections.singleton(Atom.create(parent,freshIndividual)),checkedNode,getSubsumptionTestDescription(child,parent));
+        synchronized (this) {
+            if (!isSubsumedBy)
+                prunePossibleSubsumers(tableau);
+            readKnownSubsumersFromRootNode(tableau,child,checkedNode.get(freshIndividual));
+            m_possibleSubsumptions.getSuccessors(child).removeAll(getAllKnownSubsumers(child));
+        }
         return isSubsumedBy;
     }
     protected Hierarchy<AtomicConcept> buildHierarchy(Relation<AtomicConcept> hierarchyRelation) {
@@ -105,6 +127,10 @@ public class QuasiOrderClassification {
                 }
             }
         }
+        if (m_workerTableaux!=null && unclassifiedElements.size()>1) {
+            classifyInParallel(unclassifiedElements,totalNumberOfTasks,tasksPerformed);
+            return buildTransitivelyReducedHierarchy(m_knownSubsumptions,m_elements);
+        }
         Set<AtomicConcept> classifiedElements=new HashSet<>();
         while (!unclassifiedElements.isEmpty()) {
             AtomicConcept unclassifiedElement=null;
@@ -132,6 +158,55 @@ public class QuasiOrderClassification {
         }
         return buildTransitivelyReducedHierarchy(m_knownSubsumptions,m_elements);
     }
+    /**
+     * Classifies the elements that still have unknown possible subsumers, one task per element. The tasks share the
+     * known and possible subsumption graphs, which are only accessed while holding the lock on this object; the
+     * tableau tests themselves run without the lock on the tableau that the task has borrowed.
+     *
+     * @param unclassifiedElements the elements that have unknown possible subsumers
+     * @param totalNumberOfTasks the total number of elements
+     * @param tasksPerformed the number of elements reported to the progress monitor so far
+     */
+    protected void classifyInParallel(Set<AtomicConcept> unclassifiedElements,double totalNumberOfTasks,double tasksPerformed) {
+        for (AtomicConcept element : m_elements) {
+            if (unclassifiedElements.size()>=(totalNumberOfTasks-tasksPerformed))
+                break;
+            if (!unclassifiedElements.contains(element)) {
+                m_progressMonitor.elementClassified(element);
+                tasksPerformed++;
+            }
+        }
+        List<TableauPool.TableauTask<Void>> tasks=new ArrayList<>(unclassifiedElements.size());
+        for (final AtomicConcept element : unclassifiedElements) {
+            tasks.add(tableau->{
+                classifyElement(tableau,element);
+                synchronized (this) {
+                    m_progressMonitor.elementClassified(element);
+                }
+                return null;
+            });
+        }
+        m_workerTableaux.invokeAll(tasks);
+    }
+    protected void classifyElement(Tableau tableau,AtomicConcept element) {
+        Set<AtomicConcept> unknownPossibleSubsumers;
+        synchronized (this) {
+            m_possibleSubsumptions.getSuccessors(element).removeAll(getAllKnownSubsumers(element));
+            unknownPossibleSubsumers=new HashSet<>(m_possibleSubsumptions.getSuccessors(element));
+        }
+        if (unknownPossibleSubsumers.isEmpty())
+            return;
+        if (!isEveryPossibleSubsumerNonSubsumer(tableau,unknownPossibleSubsumers,element,2,7)) {
+            Hierarchy<AtomicConcept> smallHierarchy;
+            synchronized (this) {
+                smallHierarchy=buildHierarchyOfUnknownPossible(unknownPossibleSubsumers);
+            }
+            checkUnknownSubsumersUsingEnhancedTraversal((parent,child)->classifyDoesSubsume(tableau,parent,child),smallHierarchy.getTopNode(),element);
+        }
+        synchronized (this) {
+            m_possibleSubsumptions.getSuccessors(element).clear();
+        }
+    }
     protected Hierarchy<AtomicConcept> buildHierarchyOfUnknownPossible(Set<AtomicConcept> unknownSubsumers) {
         Graph<AtomicConcept> smallKnownSubsumptions=new Graph<>();
         for (AtomicConcept unknownSubsumer0 : unknownSubsumers) {
@@ -213,10 +288,13 @@ public class QuasiOrderClassification {
         return m_knownSubsumptions.getSuccessors(concept).contains(m_bottomElement);
     }
     protected void readKnownSubsumersFromRootNode(AtomicConcept subconcept,Node subj) {
+        readKnownSubsumersFromRootNode(m_tableau,subconcept,subj);
+    }
+    protected void readKnownSubsumersFromRootNode(Tableau tableau,AtomicConcept subconcept,Node subj) {
         Node checkedNode=subj;
         if (checkedNode.getCanonicalNodeDependencySet().isEmpty()) {
             checkedNode=checkedNode.getCanonicalNode();
-            ExtensionTable.Retrieval retrieval=m_tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false,true },ExtensionTable.View.TOTAL);
+            ExtensionTable.Retrieval retrieval=tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false,true },ExtensionTable.View.TOTAL);
             retrieval.getBindingsBuffer()[1]=checkedNode;
             retrieval.open();
             while (!retrieval.afterLast()) {
@@ -247,7 +325,10 @@ public class QuasiOrderClassification {
         }
     }
     protected void prunePossibleSubsumers() {
-        ExtensionTable.Retrieval retrieval=m_tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false,false },ExtensionTable.View.TOTAL);
+        prunePossibleSubsumers(m_tableau);
+    }
+    protected void prunePossibleSubsumers(Tableau tableau) {
+        ExtensionTable.Retrieval retrieval=tableau.getExtensionManager().getBinaryExtensionTable().createRetrieval(new boolean[] { false,false },ExtensionTable.View.TOTAL);
         retrieval.open();
         Object[] tupleBuffer=retrieval.getTupleBuffer();
         while (!retrieval.afterLast()) {
@@ -255,15 +336,18 @@ public class QuasiOrderClassification {
             if (conceptObject instanceof AtomicConcept && m_elements.contains(conceptObject)) {
                 Node node=(Node)tupleBuffer[1];
                 if (node.isActive() && !node.isBlocked())
-                    prunePossibleSubsumersOfConcept((AtomicConcept)conceptObject,node);
+                    prunePossibleSubsumersOfConcept(tableau,(AtomicConcept)conceptObject,node);
             }
             retrieval.next();
         }
     }
     protected void prunePossibleSubsumersOfConcept(AtomicConcept atomicConcept,Node node) {
+        prunePossibleSubsumersOfConcept(m_tableau,atomicConcept,node);
+    }
+    protected void prunePossibleSubsumersOfConcept(Tableau tableau,AtomicConcept atomicConcept,Node node) {
         List<AtomicConcept> possibleSubsumersOfConcept=new ArrayList<>(m_possibleSubsumptions.getSuccessors(atomicConcept));
         for (AtomicConcept atomicCon : possibleSubsumersOfConcept)
-            if (!m_tableau.getExtensionManager().containsConceptAssertion(atomicCon,node))
+            if (!tableau.getExtensionManager().containsConceptAssertion(atomicCon,node))
                 m_possibleSubsumptions.getSuccessors(atomicConcept).remove(atomicCon);
     }
     protected void readPossibleSubsumersFromNodeLabel(AtomicConcept atomicConcept,Node node) {
@@ -327,6 +411,9 @@ public class QuasiOrderClassification {
         }
     }
     protected boolean isEveryPossibleSubsumerNonSubsumer(Set<AtomicConcept> unknownPossibleSubsumers,AtomicConcept pickedElement,int lowerBound,int upperBound) {
+        return isEveryPossibleSubsumerNonSubsumer(m_tableau,unknownPossibleSubsumers,pickedElement,lowerBound,upperBound);
+    }
+    protected boolean isEveryPossibleSubsumerNonSubsumer(Tableau tableau,Set<AtomicConcept> unknownPossibleSubsumers,AtomicConcept pickedElement,int lowerBound,int upperBound) {
         if (unknownPossibleSubsumers.size()>lowerBound && unknownPossibleSubsumers.size()<upperBound) {
             Individual freshIndividual=Individual.createAnonymous("fresh-individual");
             Atom subconceptAssertion=Atom.create(pickedElement,freshIndividual);
@@ -340,12 +427,14 @@ public class QuasiOrderClassification {
             }
             Map<Individual,Node> checkedNode=new HashMap<>();
             checkedNode.put(freshIndividual,null);
-            boolean isSubsumedBy=!m_tableau.isSatisfiable(false,Collections.singleton(subconceptAssertion),null,null,superconceptAssertions,checkedNode,getSubsumedByListTestDescription(pickedElement,superconcepts));
-            if (!isSubsumedBy)
-                prunePossibleSubsumers();
-            else {
-                readKnownSubsumersFromRootNode(pickedElement, checkedNode.get(freshIndividual));
-                m_possibleSubsumptions.getSuccessors(pickedElement).removeAll(getAllKnownSubsumers(pickedElement));
+            boolean isSubsumedBy=!tableau.isSatisfiable(false,Collections.singleton(subconceptAssertion),null,null,superconceptAssertions,checkedNode,getSubsumedByListTestDescription(pickedElement,superconcepts));
+            synchronized (this) {
+                if (!isSubsumedBy)
+                    prunePossibleSubsumers(tableau);
+                else {
+                    readKnownSubsumersFromRootNode(tableau,pickedElement,checkedNode.get(freshIndividual));
+                    m_possibleSubsumptions.getSuccessors(pickedElement).removeAll(getAllKnownSubsumers(pickedElement));
+                }
             }
             return !isSubsumedBy;
         }
@@ -354,10 +443,10 @@ public class QuasiOrderClassification {
     protected Set<AtomicConcept> getAllKnownSubsumers(AtomicConcept child) {
         return m_knownSubsumptions.getReachableSuccessors(child);
     }
-    protected void addKnownSubsumption(AtomicConcept subConcept,AtomicConcept superConcept) {
+    protected synchronized void addKnownSubsumption(AtomicConcept subConcept,AtomicConcept superConcept) {
         m_knownSubsumptions.addEdge(subConcept,superConcept);
     }
-    protected void addKnownSubsumptions(AtomicConcept subConcept,Set<AtomicConcept> superConcepts) {
+    protected synchronized void addKnownSubsumptions(AtomicConcept subConcept,Set<AtomicConcept> superConcepts) {
         m_knownSubsumptions.addEdges(subConcept,superConcepts);
     }
     protected void addPossibleSubsumption(AtomicConcept subConcept,AtomicConcept superConcept) {
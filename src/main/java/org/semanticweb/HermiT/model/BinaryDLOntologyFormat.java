@@ -0,0 +1,476 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A versioned binary format for DL-ontologies, which is much more compact and faster to read than the serialized
+ * form written by DLOntology.save(). A file starts with a symbol table that holds all IRIs, variable names and
+ * lexical forms, followed by a table of all predicates and terms, each of which is encoded as a tag and integer
+ * references to symbols and to other table entries. The clauses, facts and signature of the ontology are then encoded
+ * as integer references into the tables. A file, which is memory-mapped when read from a path, is decoded in a single
+ * pass, and each symbol and table entry is decoded only once no matter how often it is referenced.
+ */
+public class BinaryDLOntologyFormat {
+    /** the first four bytes of each file */
+    public static final int MAGIC_NUMBER=0x48444C4F;
+    /** the version of the format written by this class; files of other versions are rejected */
+    public static final int VERSION=1;
+
+    protected static final int ATOMIC_CONCEPT=0;
+    protected static final int ATOMIC_NEGATION_CONCEPT=1;
+    protected static final int AT_LEAST_CONCEPT=2;
+    protected static final int AT_LEAST_DATA_RANGE=3;
+    protected static final int ATOMIC_ROLE=4;
+    protected static final int INVERSE_ROLE=5;
+    protected static final int NEGATED_ATOMIC_ROLE=6;
+    protected static final int EQUALITY=7;
+    protected static final int INEQUALITY=8;
+    protected static final int ANNOTATED_EQUALITY=9;
+    protected static final int NODE_ID_LESS_EQUAL_THAN=10;
+    protected static final int NODE_IDS_ASCENDING_OR_EQUAL=11;
+    protected static final int INTERNAL_DATATYPE=12;
+    protected static final int DATATYPE_RESTRICTION=13;
+    protected static final int CONSTANT_ENUMERATION=14;
+    protected static final int ATOMIC_NEGATION_DATA_RANGE=15;
+    protected static final int VARIABLE=16;
+    protected static final int INDIVIDUAL=17;
+    protected static final int CONSTANT=18;
+
+    protected static final int HAS_INVERSE_ROLES=1;
+    protected static final int HAS_AT_MOST_RESTRICTIONS=2;
+    protected static final int HAS_NOMINALS=4;
+    protected static final int HAS_DATATYPES=8;
+
+    /**
+     * @param dlOntology the ontology to save
+     * @param outputStream the stream to write to; the stream is not closed
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the ontology contains description graphs, which the format does not support
+     */
+    public static void save(DLOntology dlOntology,OutputStream outputStream) throws IOException {
+        new Encoder().write(dlOntology,outputStream);
+    }
+    /**
+     * @param dlOntology the ontology to save
+     * @param path the file to write
+     * @throws IOException if writing fails
+     */
+    public static void save(DLOntology dlOntology,Path path) throws IOException {
+        try (OutputStream outputStream=new BufferedOutputStream(Files.newOutputStream(path))) {
+            save(dlOntology,outputStream);
+        }
+    }
+    /**
+     * Loads an ontology from a file, which is memory-mapped instead of read into the heap.
+     *
+     * @param path the file to read
+     * @return the ontology
+     * @throws IOException if the file cannot be read or is not in the binary format
+     */
+    public static DLOntology load(Path path) throws IOException {
+        try (FileChannel channel=FileChannel.open(path,StandardOpenOption.READ)) {
+            return load(channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size()));
+        }
+    }
+    /**
+     * @param inputStream the stream to read from; the stream is read to the end but not closed
+     * @return the ontology
+     * @throws IOException if reading fails or the data is not in the binary format
+     */
+    public static DLOntology load(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream data=new ByteArrayOutputStream();
+        byte[] buffer=new byte[8192];
+        int read;
+        while ((read=inputStream.read(buffer))!=-1)
+            data.write(buffer,0,read);
+        return load(ByteBuffer.wrap(data.toByteArray()));
+    }
+    /**
+     * @param buffer the data, starting at the position of the buffer; the position of the buffer is not changed
+     * @return the ontology
+     * @throws IOException if the data is not in the binary format
+     */
+    public static DLOntology load(ByteBuffer buffer) throws IOException {
+        try {
+            return new Decoder(buffer.duplicate().order(ByteOrder.BIG_ENDIAN),buffer.position()).read();
+        }
+        catch (IndexOutOfBoundsException|ClassCastException e) {
+            throw new IOException("The binary DL-ontology is truncated or corrupt.",e);
+        }
+    }
+
+    protected static class Encoder {
+        protected final Map<String,Integer> m_symbolIDs;
+        protected final List<String> m_symbols;
+        protected final Map<Object,Integer> m_objectIDs;
+        protected final List<int[]> m_objects;
+
+        public Encoder() {
+            m_symbolIDs=new HashMap<>();
+            m_symbols=new ArrayList<>();
+            m_objectIDs=new HashMap<>();
+            m_objects=new ArrayList<>();
+        }
+        public void write(DLOntology dlOntology,OutputStream outputStream) throws IOException {
+            if (!dlOntology.getAllDescriptionGraphs().isEmpty())
+                throw new IllegalArgumentException("DL-ontologies with description graphs cannot be saved in the binary format.");
+            // The body is encoded first since it determines the contents of the tables.
+            ByteArrayOutputStream bodyData=new ByteArrayOutputStream();
+            DataOutputStream body=new DataOutputStream(bodyData);
+            body.writeInt(getSymbolID(dlOntology.getOntologyIRI()));
+            int flags=0;
+            if (dlOntology.hasInverseRoles())
+                flags|=HAS_INVERSE_ROLES;
+            if (dlOntology.hasAtMostRestrictions())
+                flags|=HAS_AT_MOST_RESTRICTIONS;
+            if (dlOntology.hasNominals())
+                flags|=HAS_NOMINALS;
+            if (dlOntology.hasDatatypes())
+                flags|=HAS_DATATYPES;
+            body.writeInt(flags);
+            body.writeInt(dlOntology.getNumberOfAbsorbedInclusions());
+            body.writeInt(dlOntology.getDLClauses().size());
+            for (DLClause dlClause : dlOntology.getDLClauses()) {
+                writeAtoms(body,Arrays.asList(dlClause.getHeadAtoms()));
+                writeAtoms(body,Arrays.asList(dlClause.getBodyAtoms()));
+            }
+            writeAtoms(body,dlOntology.getPositiveFacts());
+            writeAtoms(body,dlOntology.getNegativeFacts());
+            writeObjects(body,dlOntology.getAllAtomicConcepts());
+            writeObjects(body,dlOntology.getAllAtomicObjectRoles());
+            writeObjects(body,dlOntology.getAllComplexObjectRoles());
+            writeObjects(body,dlOntology.getAllAtomicDataRoles());
+            writeObjects(body,dlOntology.getAllUnknownDatatypeRestrictions());
+            body.writeInt(dlOntology.getDefinedDatatypeIRIs().size());
+            for (String datatypeIRI : dlOntology.getDefinedDatatypeIRIs())
+                body.writeInt(getSymbolID(datatypeIRI));
+            writeObjects(body,dlOntology.getAllIndividuals());
+            body.flush();
+            DataOutputStream output=new DataOutputStream(outputStream);
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            List<byte[]> encodedSymbols=new ArrayList<>(m_symbols.size());
+            for (String symbol : m_symbols)
+                encodedSymbols.add(symbol.getBytes(StandardCharsets.UTF_8));
+            output.writeInt(encodedSymbols.size());
+            int offset=0;
+            for (byte[] encodedSymbol : encodedSymbols) {
+                output.writeInt(offset);
+                offset+=encodedSymbol.length;
+            }
+            output.writeInt(offset);
+            for (byte[] encodedSymbol : encodedSymbols)
+                output.write(encodedSymbol);
+            output.writeInt(m_objects.size());
+            offset=0;
+            for (int[] object : m_objects) {
+                output.writeInt(offset);
+                offset+=object.length;
+            }
+            output.writeInt(offset);
+            for (int[] object : m_objects)
+                for (int value : object)
+                    output.writeInt(value);
+            bodyData.writeTo(output);
+            output.flush();
+        }
+        protected void writeAtoms(DataOutputStream body,Collection<Atom> atoms) throws IOException {
+            body.writeInt(atoms.size());
+            for (Atom atom : atoms) {
+                body.writeInt(getObjectID(atom.getDLPredicate()));
+                body.writeInt(atom.getArity());
+                for (int argumentIndex=0;argumentIndex<atom.getArity();argumentIndex++)
+                    body.writeInt(getObjectID(atom.getArgument(argumentIndex)));
+            }
+        }
+        protected void writeObjects(DataOutputStream body,Collection<?> objects) throws IOException {
+            body.writeInt(objects.size());
+            for (Object object : objects)
+                body.writeInt(getObjectID(object));
+        }
+        protected int getSymbolID(String symbol) {
+            Integer id=m_symbolIDs.get(symbol);
+            if (id==null) {
+                id=Integer.valueOf(m_symbols.size());
+                m_symbols.add(symbol);
+                m_symbolIDs.put(symbol,id);
+            }
+            return id.intValue();
+        }
+        protected int getObjectID(Object object) {
+            Integer id=m_objectIDs.get(object);
+            if (id!=null)
+                return id.intValue();
+            // Components are added before the objects that refer to them.
+            int[] encoding;
+            if (object instanceof AtomicConcept)
+                encoding=new int[] { ATOMIC_CONCEPT,getSymbolID(((AtomicConcept)object).getIRI()) };
+            else if (object instanceof AtomicNegationConcept)
+                encoding=new int[] { ATOMIC_NEGATION_CONCEPT,getObjectID(((AtomicNegationConcept)object).getNegatedAtomicConcept()) };
+            else if (object instanceof AtLeastConcept) {
+                AtLeastConcept atLeastConcept=(AtLeastConcept)object;
+                encoding=new int[] { AT_LEAST_CONCEPT,atLeastConcept.getNumber(),getObjectID(atLeastConcept.getOnRole()),getObjectID(atLeastConcept.getToConcept()) };
+            }
+            else if (object instanceof AtLeastDataRange) {
+                AtLeastDataRange atLeastDataRange=(AtLeastDataRange)object;
+                encoding=new int[] { AT_LEAST_DATA_RANGE,atLeastDataRange.getNumber(),getObjectID(atLeastDataRange.getOnRole()),getObjectID(atLeastDataRange.getToDataRange()) };
+            }
+            else if (object instanceof AtomicRole)
+                encoding=new int[] { ATOMIC_ROLE,getSymbolID(((AtomicRole)object).getIRI()) };
+            else if (object instanceof InverseRole)
+                encoding=new int[] { INVERSE_ROLE,getObjectID(((InverseRole)object).getInverseOf()) };
+            else if (object instanceof NegatedAtomicRole)
+                encoding=new int[] { NEGATED_ATOMIC_ROLE,getObjectID(((NegatedAtomicRole)object).getNegatedAtomicRole()) };
+            else if (object instanceof Equality)
+                encoding=new int[] { EQUALITY };
+            else if (object instanceof Inequality)
+                encoding=new int[] { INEQUALITY };
+            else if (object instanceof AnnotatedEquality) {
+                AnnotatedEquality annotatedEquality=(AnnotatedEquality)object;
+                encoding=new int[] { ANNOTATED_EQUALITY,annotatedEquality.getCaridnality(),getObjectID(annotatedEquality.getOnRole()),getObjectID(annotatedEquality.getToConcept()) };
+            }
+            else if (object instanceof NodeIDLessEqualThan)
+                encoding=new int[] { NODE_ID_LESS_EQUAL_THAN };
+            else if (object instanceof NodeIDsAscendingOrEqual)
+                encoding=new int[] { NODE_IDS_ASCENDING_OR_EQUAL,((NodeIDsAscendingOrEqual)object).getArity() };
+            else if (object instanceof InternalDatatype)
+                encoding=new int[] { INTERNAL_DATATYPE,getSymbolID(((InternalDatatype)object).getIRI()) };
+            else if (object instanceof DatatypeRestriction) {
+                DatatypeRestriction datatypeRestriction=(DatatypeRestriction)object;
+                int numberOfFacetRestrictions=datatypeRestriction.getNumberOfFacetRestrictions();
+                encoding=new int[3+2*numberOfFacetRestrictions];
+                encoding[0]=DATATYPE_RESTRICTION;
+                encoding[1]=getSymbolID(datatypeRestriction.getDatatypeURI());
+                encoding[2]=numberOfFacetRestrictions;
+                for (int index=0;index<numberOfFacetRestrictions;index++) {
+                    encoding[3+2*index]=getSymbolID(datatypeRestriction.getFacetURI(index));
+                    encoding[4+2*index]=getObjectID(datatypeRestriction.getFacetValue(index));
+                }
+            }
+            else if (object instanceof ConstantEnumeration) {
+                ConstantEnumeration constantEnumeration=(ConstantEnumeration)object;
+                int numberOfConstants=constantEnumeration.getNumberOfConstants();
+                encoding=new int[2+numberOfConstants];
+                encoding[0]=CONSTANT_ENUMERATION;
+                encoding[1]=numberOfConstants;
+                for (int index=0;index<numberOfConstants;index++)
+                    encoding[2+index]=getObjectID(constantEnumeration.getConstant(index));
+            }
+            else if (object instanceof AtomicNegationDataRange)
+                encoding=new int[] { ATOMIC_NEGATION_DATA_RANGE,getObjectID(((AtomicNegationDataRange)object).getNegatedDataRange()) };
+            else if (object instanceof Variable)
+                encoding=new int[] { VARIABLE,getSymbolID(((Variable)object).getName()) };
+            else if (object instanceof Individual)
+                encoding=new int[] { INDIVIDUAL,getSymbolID(((Individual)object).getIRI()) };
+            else if (object instanceof Constant) {
+                Constant constant=(Constant)object;
+                encoding=new int[] { CONSTANT,getSymbolID(constant.getLexicalForm()),getSymbolID(constant.getDatatypeURI()) };
+            }
+            else
+                throw new IllegalArgumentException("Objects of type "+object.getClass().getSimpleName()+" cannot be saved in the binary format.");
+            id=Integer.valueOf(m_objects.size());
+            m_objects.add(encoding);
+            m_objectIDs.put(object,id);
+            return id.intValue();
+        }
+    }
+
+    protected static class Decoder {
+        protected final ByteBuffer m_buffer;
+        protected int m_position;
+        protected int m_symbolOffsetsStart;
+        protected int m_symbolDataStart;
+        protected String[] m_symbols;
+        protected int m_objectOffsetsStart;
+        protected int m_objectDataStart;
+        protected Object[] m_objects;
+
+        public Decoder(ByteBuffer buffer,int position) {
+            m_buffer=buffer;
+            m_position=position;
+        }
+        public DLOntology read() throws IOException {
+            if (m_buffer.limit()-m_position<8 || readInt()!=MAGIC_NUMBER)
+                throw new IOException("The data does not contain a DL-ontology in the binary format.");
+            int version=readInt();
+            if (version!=VERSION)
+                throw new IOException("Version "+version+" of the binary DL-ontology format is not supported; only version "+VERSION+" is.");
+            // Only the offsets of the tables are determined here; the entries are decoded on demand.
+            int numberOfSymbols=readInt();
+            m_symbolOffsetsStart=m_position;
+            m_symbolDataStart=m_symbolOffsetsStart+4*(numberOfSymbols+1);
+            m_symbols=new String[numberOfSymbols];
+            m_position=m_symbolDataStart+m_buffer.getInt(m_symbolOffsetsStart+4*numberOfSymbols);
+            int numberOfObjects=readInt();
+            m_objectOffsetsStart=m_position;
+            m_objectDataStart=m_objectOffsetsStart+4*(numberOfObjects+1);
+            m_objects=new Object[numberOfObjects];
+            m_position=m_objectDataStart+4*m_buffer.getInt(m_objectOffsetsStart+4*numberOfObjects);
+            String ontologyIRI=getSymbol(readInt());
+            int flags=readInt();
+            int numberOfAbsorbedInclusions=readInt();
+            int numberOfDLClauses=readInt();
+            List<DLClause> dlClauses=new ArrayList<>(numberOfDLClauses);
+            for (int index=0;index<numberOfDLClauses;index++) {
+                Atom[] headAtoms=readAtoms();
+                Atom[] bodyAtoms=readAtoms();
+                dlClauses.add(DLClause.create(headAtoms,bodyAtoms));
+            }
+            Set<Atom> positiveFacts=new HashSet<>(Arrays.asList(readAtoms()));
+            Set<Atom> negativeFacts=new HashSet<>(Arrays.asList(readAtoms()));
+            Set<AtomicConcept> atomicConcepts=readObjects(AtomicConcept.class);
+            Set<AtomicRole> atomicObjectRoles=readObjects(AtomicRole.class);
+            Set<Role> complexObjectRoles=readObjects(Role.class);
+            Set<AtomicRole> atomicDataRoles=readObjects(AtomicRole.class);
+            Set<DatatypeRestriction> unknownDatatypeRestrictions=readObjects(DatatypeRestriction.class);
+            int numberOfDefinedDatatypeIRIs=readInt();
+            Set<String> definedDatatypeIRIs=new HashSet<>();
+            for (int index=0;index<numberOfDefinedDatatypeIRIs;index++)
+                definedDatatypeIRIs.add(getSymbol(readInt()));
+            Set<Individual> individuals=readObjects(Individual.class);
+            return new DLOntology(ontologyIRI,dlClauses,positiveFacts,negativeFacts,atomicConcepts,atomicObjectRoles,complexObjectRoles,atomicDataRoles,unknownDatatypeRestrictions,definedDatatypeIRIs,individuals,
+                (flags & HAS_INVERSE_ROLES)!=0,(flags & HAS_AT_MOST_RESTRICTIONS)!=0,(flags & HAS_NOMINALS)!=0,(flags & HAS_DATATYPES)!=0,numberOfAbsorbedInclusions);
+        }
+        protected int readInt() {
+            int value=m_buffer.getInt(m_position);
+            m_position+=4;
+            return value;
+        }
+        protected Atom[] readAtoms() throws IOException {
+            Atom[] atoms=new Atom[readInt()];
+            for (int atomIndex=0;atomIndex<atoms.length;atomIndex++) {
+                DLPredicate dlPredicate=getObject(readInt(),DLPredicate.class);
+                Term[] arguments=new Term[readInt()];
+                for (int argumentIndex=0;argumentIndex<arguments.length;argumentIndex++)
+                    arguments[argumentIndex]=getObject(readInt(),Term.class);
+                atoms[atomIndex]=Atom.create(dlPredicate,arguments);
+            }
+            return atoms;
+        }
+        protected <T> Set<T> readObjects(Class<T> type) throws IOException {
+            int numberOfObjects=readInt();
+            Set<T> objects=new HashSet<>();
+            for (int index=0;index<numberOfObjects;index++)
+                objects.add(getObject(readInt(),type));
+            return objects;
+        }
+        protected String getSymbol(int id) {
+            String symbol=m_symbols[id];
+            if (symbol==null) {
+                int start=m_symbolDataStart+m_buffer.getInt(m_symbolOffsetsStart+4*id);
+                int end=m_symbolDataStart+m_buffer.getInt(m_symbolOffsetsStart+4*(id+1));
+                byte[] bytes=new byte[end-start];
+                for (int index=0;index<bytes.length;index++)
+                    bytes[index]=m_buffer.get(start+index);
+                symbol=new String(bytes,StandardCharsets.UTF_8);
+                m_symbols[id]=symbol;
+            }
+            return symbol;
+        }
+        protected <T> T getObject(int id,Class<T> type) throws IOException {
+            Object object=m_objects[id];
+            if (object==null) {
+                object=decodeObject(m_objectDataStart+4*m_buffer.getInt(m_objectOffsetsStart+4*id));
+                m_objects[id]=object;
+            }
+            return type.cast(object);
+        }
+        protected int getInt(int start,int index) {
+            return m_buffer.getInt(start+4*index);
+        }
+        protected Object decodeObject(int start) throws IOException {
+            int tag=getInt(start,0);
+            switch (tag) {
+            case ATOMIC_CONCEPT:
+                return AtomicConcept.create(getSymbol(getInt(start,1)));
+            case ATOMIC_NEGATION_CONCEPT:
+                return AtomicNegationConcept.create(getObject(getInt(start,1),AtomicConcept.class));
+            case AT_LEAST_CONCEPT:
+                return AtLeastConcept.create(getInt(start,1),getObject(getInt(start,2),Role.class),getObject(getInt(start,3),LiteralConcept.class));
+            case AT_LEAST_DATA_RANGE:
+                return AtLeastDataRange.create(getInt(start,1),getObject(getInt(start,2),Role.class),getObject(getInt(start,3),LiteralDataRange.class));
+            case ATOMIC_ROLE:
+                return AtomicRole.create(getSymbol(getInt(start,1)));
+            case INVERSE_ROLE:
+                return InverseRole.create(getObject(getInt(start,1),AtomicRole.class));
+            case NEGATED_ATOMIC_ROLE:
+                return NegatedAtomicRole.create(getObject(getInt(start,1),AtomicRole.class));
+            case EQUALITY:
+                return Equality.INSTANCE;
+            case INEQUALITY:
+                return Inequality.INSTANCE;
+            case ANNOTATED_EQUALITY:
+                return AnnotatedEquality.create(getInt(start,1),getObject(getInt(start,2),Role.class),getObject(getInt(start,3),LiteralConcept.class));
+            case NODE_ID_LESS_EQUAL_THAN:
+                return NodeIDLessEqualThan.INSTANCE;
+            case NODE_IDS_ASCENDING_OR_EQUAL:
+                return NodeIDsAscendingOrEqual.create(getInt(start,1));
+            case INTERNAL_DATATYPE:
+                return InternalDatatype.create(getSymbol(getInt(start,1)));
+            case DATATYPE_RESTRICTION: {
+                    int numberOfFacetRestrictions=getInt(start,2);
+                    String[] facetURIs=new String[numberOfFacetRestrictions];
+                    Constant[] facetValues=new Constant[numberOfFacetRestrictions];
+                    for (int index=0;index<numberOfFacetRestrictions;index++) {
+                        facetURIs[index]=getSymbol(getInt(start,3+2*index));
+                        facetValues[index]=getObject(getInt(start,4+2*index),Constant.class);
+                    }
+                    return DatatypeRestriction.create(getSymbol(getInt(start,1)),facetURIs,facetValues);
+                }
+            case CONSTANT_ENUMERATION: {
+                    Constant[] constants=new Constant[getInt(start,1)];
+                    for (int index=0;index<constants.length;index++)
+                        constants[index]=getObject(getInt(start,2+index),Constant.class);
+                    return ConstantEnumeration.create(constants);
+                }
+            case ATOMIC_NEGATION_DATA_RANGE:
+                return AtomicNegationDataRange.create(getObject(getInt(start,1),AtomicDataRange.class));
+            case VARIABLE:
+                return Variable.create(getSymbol(getInt(start,1)));
+            case INDIVIDUAL:
+                return Individual.create(getSymbol(getInt(start,1)));
+            case CONSTANT:
+                return Constant.create(getSymbol(getInt(start,1)),getSymbol(getInt(start,2)));
+            default:
+                throw new IOException("The binary DL-ontology contains an object with the unknown tag "+tag+".");
+            }
+        }
+    }
+}
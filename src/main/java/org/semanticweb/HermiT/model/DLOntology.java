@@ -61,6 +61,7 @@ public class DLOntology implements Serializable {
     protected final Set<Individual> m_allIndividuals;
     protected final Set<DescriptionGraph> m_allDescriptionGraphs;
     protected final Map<AtomicRole,Map<Individual,Set<Constant>>> m_dataPropertyAssertions;
+    protected final int m_numberOfAbsorbedInclusions;
 
     /**
      * @param ontologyIRI ontologyIRI
@@ -83,6 +84,30 @@ public class DLOntology implements Serializable {
             Set<AtomicRole> atomicObjectRoles,Set<Role> allComplexObjectRoles,Set<AtomicRole> atomicDataRoles,
             Set<DatatypeRestriction> allUnknownDatatypeRestrictions,Set<String> definedDatatypeIRIs,Set<Individual> individuals,
             boolean hasInverseRoles,boolean hasAtMostRestrictions,boolean hasNominals,boolean hasDatatypes) {
+        this(ontologyIRI,dlClauses,positiveFacts,negativeFacts,atomicConcepts,atomicObjectRoles,allComplexObjectRoles,atomicDataRoles,allUnknownDatatypeRestrictions,definedDatatypeIRIs,individuals,hasInverseRoles,hasAtMostRestrictions,hasNominals,hasDatatypes,0);
+    }
+    /**
+     * @param ontologyIRI ontologyIRI
+     * @param dlClauses dlClauses
+     * @param positiveFacts positiveFacts
+     * @param negativeFacts negativeFacts
+     * @param atomicConcepts atomicConcepts
+     * @param atomicObjectRoles atomicObjectRoles
+     * @param allComplexObjectRoles allComplexObjectRoles
+     * @param atomicDataRoles atomicDataRoles
+     * @param allUnknownDatatypeRestrictions allUnknownDatatypeRestrictions
+     * @param definedDatatypeIRIs definedDatatypeIRIs
+     * @param individuals individuals
+     * @param hasInverseRoles hasInverseRoles
+     * @param hasAtMostRestrictions hasAtMostRestrictions
+     * @param hasNominals hasNominals
+     * @param hasDatatypes hasDatatypes
+     * @param numberOfAbsorbedInclusions the number of concept inclusions that were absorbed during normalization
+     */
+    public DLOntology(String ontologyIRI,Collection<DLClause> dlClauses,Set<Atom> positiveFacts,Set<Atom> negativeFacts, Set<AtomicConcept> atomicConcepts,
+            Set<AtomicRole> atomicObjectRoles,Set<Role> allComplexObjectRoles,Set<AtomicRole> atomicDataRoles,
+            Set<DatatypeRestriction> allUnknownDatatypeRestrictions,Set<String> definedDatatypeIRIs,Set<Individual> individuals,
+            boolean hasInverseRoles,boolean hasAtMostRestrictions,boolean hasNominals,boolean hasDatatypes,int numberOfAbsorbedInclusions) {
         m_ontologyIRI=ontologyIRI;
         m_dlClauses=dlClauses;
         m_positiveFacts=positiveFacts;
@@ -91,6 +116,7 @@ public class DLOntology implements Serializable {
         m_hasAtMostRestrictions=hasAtMostRestrictions;
         m_hasNominals=hasNominals;
         m_hasDatatypes=hasDatatypes;
+        m_numberOfAbsorbedInclusions=numberOfAbsorbedInclusions;
         if (atomicConcepts==null)
             m_allAtomicConcepts=new TreeSet<>(Comparator.comparing(AtomicConcept::getIRI));
         else {
@@ -346,6 +372,28 @@ public class DLOntology implements Serializable {
     public boolean isHorn() {
         return m_isHorn;
     }
+    /**
+     * @return the number of concept inclusions that were absorbed during normalization
+     */
+    public int getNumberOfAbsorbedInclusions() {
+        return m_numberOfAbsorbedInclusions;
+    }
+    /**
+     * @return the number of nondeterministic DL-clauses whose body does not restrict the nodes they apply to
+     */
+    public int getNumberOfUnguardedNondeterministicClauses() {
+        int numberOfUnguardedClauses=0;
+        for (DLClause dlClause : m_dlClauses)
+            if (dlClause.getHeadLength()>1 && isUnguarded(dlClause))
+                numberOfUnguardedClauses++;
+        return numberOfUnguardedClauses;
+    }
+    protected static boolean isUnguarded(DLClause dlClause) {
+        for (int bodyIndex=dlClause.getBodyLength()-1;bodyIndex>=0;--bodyIndex)
+            if (!AtomicConcept.THING.equals(dlClause.getBodyAtom(bodyIndex).getDLPredicate()))
+                return false;
+        return true;
+    }
     /**
      * @return datatypes
      */
@@ -480,6 +528,8 @@ public class DLOntology implements Serializable {
                 .append("  Overall number of disjunctions: " ).append( numDisjunctions).append(CRLF)
                 .append("  Number of positive facts: " ).append( m_positiveFacts.size()).append(CRLF)
                 .append("  Number of negative facts: " ).append( m_negativeFacts.size()).append(CRLF)
+                .append("  Number of absorbed inclusions: " ).append( m_numberOfAbsorbedInclusions).append(CRLF)
+                .append("  Number of unguarded nondeterministic clauses: " ).append( getNumberOfUnguardedNondeterministicClauses()).append(CRLF)
                 .append("  Inverses: " ).append( this.hasInverseRoles()).append(CRLF)
                 .append("  At-Mosts: " ).append( this.hasAtMostRestrictions()).append(CRLF)
                 .append("  Datatypes: " ).append( this.hasDatatypes()).append(CRLF)
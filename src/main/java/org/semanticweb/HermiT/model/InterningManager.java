@@ -21,108 +21,160 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 
 /**
- * The manager for the internable objects.
+ * The manager for the internable objects. The objects are kept in weak hash tables, so objects that are no longer used
+ * are removed. The objects are spread over several segments by their hash codes, and each segment has its own lock, so
+ * threads that intern different objects rarely wait for each other. Finding an object that has already been interned
+ * does not take a lock; if the lookup without the lock misses an object that is being added or moved concurrently, the
+ * object is looked up again under the lock of its segment, so each object still has exactly one canonical instance.
  * @param <E> type
  */
 public abstract class InterningManager<E> {
     protected static final double LOAD_FACTOR=0.75;
+    protected static final int NUMBER_OF_SEGMENTS_SHIFT=4;
+    protected static final int NUMBER_OF_SEGMENTS=1 << NUMBER_OF_SEGMENTS_SHIFT;
 
-    protected final ReferenceQueue<E> m_referenceQueue=new ReferenceQueue<>();
-    protected Entry<E>[] m_entries=createEntries(16);
-    protected int m_size=0;
-    protected int m_resizeThreshold=12;
-    
+    protected final Segment<E>[] m_segments;
+
+    /**
+     * Creates an empty manager.
+     */
+    public InterningManager() {
+        m_segments=createSegments(NUMBER_OF_SEGMENTS);
+        for (int segmentIndex=0;segmentIndex<NUMBER_OF_SEGMENTS;segmentIndex++)
+            m_segments[segmentIndex]=new Segment<>();
+    }
     /**
      * @param object object
      * @return interned object
      */
-    public synchronized E intern(E object) {
-        processQueue();
+    public E intern(E object) {
         int hashCode=getHashCode(object);
-        int objectEntryIndex=getIndexFor(hashCode,m_entries.length);
-        Entry<E> previousEntry=null;
-        Entry<E> entry=m_entries[objectEntryIndex];
+        Segment<E> segment=m_segments[getSegmentIndexFor(hashCode)];
+        E existingObject=find(segment.m_entries,object,hashCode);
+        if (existingObject!=null)
+            return existingObject;
+        synchronized (segment) {
+            return segment.intern(this,object,hashCode);
+        }
+    }
+    protected E find(Entry<E>[] entries,E object,int hashCode) {
+        Entry<E> entry=entries[getIndexFor(hashCode,entries.length)];
         while (entry!=null) {
             if (hashCode==entry.m_hashCode) {
                 E entryObject=entry.get();
-                if (entryObject==null) {
-                    if (previousEntry==null)
-                        m_entries[objectEntryIndex]=entry.m_next;
-                    else
-                        previousEntry.m_next=entry.m_next;
-                    m_size--;
-                }
-                else if (equal(object,entryObject))
+                if (entryObject!=null && equal(object,entryObject))
                     return entryObject;
             }
-            previousEntry=entry;
             entry=entry.m_next;
         }
-        if (m_size>=m_resizeThreshold) {
-            int newEntriesLength=m_entries.length*2;
-            Entry<E>[] newEntries=createEntries(newEntriesLength);
-            for (int entryIndex=0;entryIndex<m_entries.length;entryIndex++) {
-                Entry<E> currentEntry=m_entries[entryIndex];
-                while (currentEntry!=null) {
-                    Entry<E> nextEntry=currentEntry.m_next;
-                    if (currentEntry.get()==null)
-                        m_size--;
-                    else {
-                        int newIndex=getIndexFor(currentEntry.m_hashCode,newEntriesLength);
-                        currentEntry.m_next=newEntries[newIndex];
-                        newEntries[newIndex]=currentEntry;
-                    }
-                    currentEntry=nextEntry;
-                }
-            }
-            m_entries=newEntries;
-            m_resizeThreshold=(int)(newEntriesLength*LOAD_FACTOR);
-            objectEntryIndex=getIndexFor(hashCode,m_entries.length);
-        }
-        Entry<E> newEntry=new Entry<>(object,m_referenceQueue,hashCode,m_entries[objectEntryIndex]);
-        m_entries[objectEntryIndex]=newEntry;
-        m_size++;
-        return object;
+        return null;
+    }
+    protected static final int getSegmentIndexFor(int hashCode) {
+        // The index of an entry within a segment uses the low bits of the hash code, so the segment uses the high bits of a mixed hash code.
+        return (hashCode*0x9E3779B9) >>> (32-NUMBER_OF_SEGMENTS_SHIFT);
     }
     protected static final int getIndexFor(int hashCode,int entriesLength) {
         return hashCode & (entriesLength-1);
     }
-    protected void removeEntry(Entry<E> entry) {
-        int index=getIndexFor(entry.m_hashCode,m_entries.length);
-        Entry<E> previousEntry=null;
-        for (Entry<E> current=m_entries[index];current!=null;current=current.m_next) {
-            if (current==entry) {
-                m_size--;
-                if (previousEntry==null)
-                    m_entries[index]=current.m_next;
-                else
-                    previousEntry.m_next=current.m_next;
-                return;
-            }
-            previousEntry=current;
-        }
-    }
     @SuppressWarnings("unchecked")
-    protected void processQueue() {
-        Entry<E> entry=(Entry<E>)m_referenceQueue.poll();
-        while (entry!=null) {
-            removeEntry(entry);
-            entry=(Entry<E>)m_referenceQueue.poll();
-        }
+    protected static final <E> Segment<E>[] createSegments(int size) {
+        return new Segment[size];
     }
     @SuppressWarnings("unchecked")
-    protected final Entry<E>[] createEntries(int size) {
+    protected static final <E> Entry<E>[] createEntries(int size) {
         return new Entry[size];
     }
     protected abstract int getHashCode(E object);
     protected abstract boolean equal(E object1,E object2);
 
+    /**
+     * A segment of the manager: a hash table that is changed only while the segment is locked.
+     */
+    protected static final class Segment<E> {
+        protected final ReferenceQueue<E> m_referenceQueue=new ReferenceQueue<>();
+        protected volatile Entry<E>[] m_entries=createEntries(16);
+        protected int m_size=0;
+        protected int m_resizeThreshold=12;
+
+        protected E intern(InterningManager<E> interningManager,E object,int hashCode) {
+            processQueue();
+            Entry<E>[] entries=m_entries;
+            int objectEntryIndex=getIndexFor(hashCode,entries.length);
+            Entry<E> previousEntry=null;
+            Entry<E> entry=entries[objectEntryIndex];
+            while (entry!=null) {
+                if (hashCode==entry.m_hashCode) {
+                    E entryObject=entry.get();
+                    if (entryObject==null) {
+                        if (previousEntry==null)
+                            entries[objectEntryIndex]=entry.m_next;
+                        else
+                            previousEntry.m_next=entry.m_next;
+                        m_size--;
+                    }
+                    else if (interningManager.equal(object,entryObject))
+                        return entryObject;
+                }
+                previousEntry=entry;
+                entry=entry.m_next;
+            }
+            if (m_size>=m_resizeThreshold) {
+                int newEntriesLength=entries.length*2;
+                Entry<E>[] newEntries=createEntries(newEntriesLength);
+                // The entries are copied rather than moved, so that the lookups without the lock can still traverse the old chains.
+                for (int entryIndex=0;entryIndex<entries.length;entryIndex++) {
+                    for (Entry<E> currentEntry=entries[entryIndex];currentEntry!=null;currentEntry=currentEntry.m_next) {
+                        E currentObject=currentEntry.get();
+                        if (currentObject==null)
+                            m_size--;
+                        else {
+                            int newIndex=getIndexFor(currentEntry.m_hashCode,newEntriesLength);
+                            newEntries[newIndex]=new Entry<>(currentObject,m_referenceQueue,currentEntry.m_hashCode,newEntries[newIndex]);
+                        }
+                    }
+                }
+                entries=newEntries;
+                m_resizeThreshold=(int)(newEntriesLength*LOAD_FACTOR);
+                objectEntryIndex=getIndexFor(hashCode,entries.length);
+            }
+            entries[objectEntryIndex]=new Entry<>(object,m_referenceQueue,hashCode,entries[objectEntryIndex]);
+            m_size++;
+            // The volatile write publishes the new entry to the lookups without the lock.
+            m_entries=entries;
+            return object;
+        }
+        protected void removeEntry(Entry<E> entry) {
+            Entry<E>[] entries=m_entries;
+            int index=getIndexFor(entry.m_hashCode,entries.length);
+            Entry<E> previousEntry=null;
+            for (Entry<E> current=entries[index];current!=null;current=current.m_next) {
+                if (current==entry) {
+                    m_size--;
+                    if (previousEntry==null)
+                        entries[index]=current.m_next;
+                    else
+                        previousEntry.m_next=current.m_next;
+                    return;
+                }
+                previousEntry=current;
+            }
+        }
+        @SuppressWarnings("unchecked")
+        protected void processQueue() {
+            Entry<E> entry=(Entry<E>)m_referenceQueue.poll();
+            while (entry!=null) {
+                removeEntry(entry);
+                entry=(Entry<E>)m_referenceQueue.poll();
+            }
+        }
+    }
+
     /**
      * The entry for the hash map.
      */
     protected static class Entry<E> extends WeakReference<E> {
         public final int m_hashCode;
-        public Entry<E> m_next;
+        public volatile Entry<E> m_next;
         
         public Entry(E object,ReferenceQueue<E> referenceQueue,int hashCode,Entry<E> next) {
             super(object,referenceQueue);
@@ -130,4 +182,4 @@ public abstract class InterningManager<E> {
             m_next=next;
         }
     }
-}
\ No newline at end of file
+}
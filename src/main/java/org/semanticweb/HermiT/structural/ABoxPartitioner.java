@@ -0,0 +1,282 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.semanticweb.HermiT.structural;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.DLClause;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.Individual;
+import org.semanticweb.HermiT.model.Term;
+/**
+ * Splits the ABox of a DL ontology into independent parts. If the ontology has no nominals and the body of each
+ * DL clause is connected, a clause can only relate individuals that are connected through assertions, so individuals
+ * in different connected components of the ABox never interact and each part can be reasoned with in its own tableau.
+ * The connected components are computed when they are first needed and are kept up to date when facts are added.
+ */
+public class ABoxPartitioner {
+    protected DLOntology m_dlOntology;
+    protected Boolean m_isPartitionable;
+    protected final Map<Individual,Individual> m_parents;
+    protected final Map<Individual,List<Individual>> m_individualsByRoots;
+    protected boolean m_componentsComputed;
+
+    /**
+     * @param dlOntology the DL ontology
+     */
+    public ABoxPartitioner(DLOntology dlOntology) {
+        m_dlOntology=dlOntology;
+        m_parents=new HashMap<>();
+        m_individualsByRoots=new HashMap<>();
+    }
+    /**
+     * @return true if the ABox of the DL ontology can be split into independent parts
+     */
+    public boolean isPartitionable() {
+        if (m_isPartitionable==null)
+            m_isPartitionable=Boolean.valueOf(computeIsPartitionable());
+        return m_isPartitionable.booleanValue();
+    }
+    protected boolean computeIsPartitionable() {
+        if (m_dlOntology.hasNominals() || !m_dlOntology.getAllDescriptionGraphs().isEmpty())
+            return false;
+        for (DLClause dlClause : m_dlOntology.getDLClauses())
+            if (!isConnectedAndVariableOnly(dlClause))
+                return false;
+        return true;
+    }
+    /**
+     * Switches to a DL ontology that has the same clauses as the current one and differs only in its facts. The added
+     * facts are merged into the connected components; if facts were removed, the components are computed again when they
+     * are next needed.
+     *
+     * @param dlOntology the new DL ontology
+     * @param addedPositiveFacts the positive facts that were added
+     * @param addedNegativeFacts the negative facts that were added
+     * @param factsRemoved true if some facts were removed
+     */
+    public void updateABox(DLOntology dlOntology,Collection<Atom> addedPositiveFacts,Collection<Atom> addedNegativeFacts,boolean factsRemoved) {
+        m_dlOntology=dlOntology;
+        if (factsRemoved) {
+            m_parents.clear();
+            m_individualsByRoots.clear();
+            m_componentsComputed=false;
+        }
+        else if (m_componentsComputed) {
+            addFacts(addedPositiveFacts);
+            addFacts(addedNegativeFacts);
+        }
+    }
+    /**
+     * Distributes the connected components of the ABox over at most the given number of parts such that the numbers
+     * of facts in the parts are roughly balanced. Each part is returned as a DL ontology with the clauses of the
+     * original ontology and the facts and individuals of the components in the part.
+     *
+     * @param maximumNumberOfParts the maximal number of parts
+     * @return the parts, or null if the ABox cannot be split or has just one connected component
+     */
+    public List<DLOntology> partition(int maximumNumberOfParts) {
+        if (maximumNumberOfParts<2 || !isPartitionable())
+            return null;
+        computeComponents();
+        Map<Individual,Component> componentsByRoots=new HashMap<>();
+        for (Map.Entry<Individual,List<Individual>> entry : m_individualsByRoots.entrySet())
+            getComponent(componentsByRoots,entry.getKey()).m_individuals.addAll(entry.getValue());
+        for (Atom atom : m_dlOntology.getPositiveFacts())
+            getComponent(componentsByRoots,getFirstIndividual(atom)).m_positiveFacts.add(atom);
+        for (Atom atom : m_dlOntology.getNegativeFacts())
+            getComponent(componentsByRoots,getFirstIndividual(atom)).m_negativeFacts.add(atom);
+        if (componentsByRoots.size()<2)
+            return null;
+        int numberOfParts=Math.min(maximumNumberOfParts,componentsByRoots.size());
+        List<Component> components=new ArrayList<>(componentsByRoots.values());
+        components.sort((component1,component2)->Integer.compare(component2.size(),component1.size()));
+        PriorityQueue<Component> parts=new PriorityQueue<>(numberOfParts,(part1,part2)->Integer.compare(part1.size(),part2.size()));
+        for (int index=0;index<numberOfParts;index++)
+            parts.add(new Component());
+        for (Component component : components) {
+            Component part=parts.remove();
+            part.addAll(component);
+            parts.add(part);
+        }
+        List<DLOntology> result=new ArrayList<>(numberOfParts);
+        for (Component part : parts)
+            result.add(new DLOntology(m_dlOntology.getOntologyIRI(),m_dlOntology.getDLClauses(),part.m_positiveFacts,part.m_negativeFacts,m_dlOntology.getAllAtomicConcepts(),m_dlOntology.getAllAtomicObjectRoles(),m_dlOntology.getAllComplexObjectRoles(),m_dlOntology.getAllAtomicDataRoles(),m_dlOntology.getAllUnknownDatatypeRestrictions(),m_dlOntology.getDefinedDatatypeIRIs(),part.m_individuals,m_dlOntology.hasInverseRoles(),m_dlOntology.hasAtMostRestrictions(),m_dlOntology.hasNominals(),m_dlOntology.hasDatatypes(),m_dlOntology.getNumberOfAbsorbedInclusions()));
+        return result;
+    }
+    /**
+     * Determines the individuals whose entailments may be influenced by facts about the given individuals, which are
+     * the individuals in the connected components of the ABox that contain the given individuals.
+     *
+     * @param individuals the individuals
+     * @return the individuals in the same connected components as the given individuals, or all individuals if the ABox
+     *         cannot be split
+     */
+    public Set<Individual> getConnectedIndividuals(Collection<Individual> individuals) {
+        if (!isPartitionable())
+            return m_dlOntology.getAllIndividuals();
+        computeComponents();
+        Set<Individual> roots=new HashSet<>();
+        for (Individual individual : individuals)
+            roots.add(find(individual));
+        Set<Individual> result=new HashSet<>();
+        for (Individual root : roots)
+            result.addAll(m_individualsByRoots.get(root));
+        return result;
+    }
+    protected void computeComponents() {
+        if (!m_componentsComputed) {
+            for (Individual individual : m_dlOntology.getAllIndividuals())
+                find(individual);
+            addFacts(m_dlOntology.getPositiveFacts());
+            addFacts(m_dlOntology.getNegativeFacts());
+            m_componentsComputed=true;
+        }
+    }
+    protected static boolean isConnectedAndVariableOnly(DLClause dlClause) {
+        Map<Term,Term> parents=new HashMap<>();
+        for (int atomIndex=0;atomIndex<dlClause.getBodyLength();atomIndex++) {
+            Atom atom=dlClause.getBodyAtom(atomIndex);
+            for (int argumentIndex=0;argumentIndex<atom.getArity();argumentIndex++) {
+                Term argument=atom.getArgument(argumentIndex);
+                if (argument instanceof Individual)
+                    return false;
+                union(parents,atom.getArgument(0),argument);
+            }
+        }
+        for (int atomIndex=0;atomIndex<dlClause.getHeadLength();atomIndex++) {
+            Atom atom=dlClause.getHeadAtom(atomIndex);
+            for (int argumentIndex=0;argumentIndex<atom.getArity();argumentIndex++)
+                if (atom.getArgument(argumentIndex) instanceof Individual)
+                    return false;
+        }
+        Set<Term> roots=new HashSet<>();
+        for (Term term : parents.keySet())
+            roots.add(find(parents,term));
+        return roots.size()<=1;
+    }
+    protected static Term find(Map<Term,Term> parents,Term term) {
+        Term parent=parents.get(term);
+        if (parent==null) {
+            parents.put(term,term);
+            return term;
+        }
+        if (parent==term)
+            return term;
+        Term root=find(parents,parent);
+        parents.put(term,root);
+        return root;
+    }
+    protected static void union(Map<Term,Term> parents,Term term1,Term term2) {
+        Term root1=find(parents,term1);
+        Term root2=find(parents,term2);
+        if (root1!=root2)
+            parents.put(root1,root2);
+    }
+    protected void addFacts(Collection<Atom> facts) {
+        for (Atom atom : facts) {
+            Individual first=null;
+            for (int argumentIndex=0;argumentIndex<atom.getArity();argumentIndex++) {
+                Term argument=atom.getArgument(argumentIndex);
+                if (argument instanceof Individual) {
+                    Individual individual=(Individual)argument;
+                    if (first==null)
+                        first=find(individual);
+                    else
+                        first=union(first,find(individual));
+                }
+            }
+        }
+    }
+    protected Individual union(Individual root1,Individual root2) {
+        if (root1==root2)
+            return root1;
+        List<Individual> individuals1=m_individualsByRoots.get(root1);
+        List<Individual> individuals2=m_individualsByRoots.get(root2);
+        // The smaller component is attached to the larger one, so that each individual is copied O(log n) times.
+        if (individuals1.size()<individuals2.size())
+            return union(root2,root1);
+        m_parents.put(root2,root1);
+        individuals1.addAll(individuals2);
+        m_individualsByRoots.remove(root2);
+        return root1;
+    }
+    protected Individual find(Individual individual) {
+        Individual current=individual;
+        Individual parent=m_parents.get(current);
+        if (parent==null) {
+            m_parents.put(current,current);
+            List<Individual> individuals=new ArrayList<>();
+            individuals.add(current);
+            m_individualsByRoots.put(current,individuals);
+            return current;
+        }
+        while (parent!=current) {
+            current=parent;
+            parent=m_parents.get(current);
+        }
+        Individual root=current;
+        current=individual;
+        while (current!=root) {
+            Individual next=m_parents.get(current);
+            m_parents.put(current,root);
+            current=next;
+        }
+        return root;
+    }
+    protected Component getComponent(Map<Individual,Component> componentsByRoots,Individual individual) {
+        Individual root=find(individual);
+        Component component=componentsByRoots.get(root);
+        if (component==null) {
+            component=new Component();
+            componentsByRoots.put(root,component);
+        }
+        return component;
+    }
+    protected static Individual getFirstIndividual(Atom atom) {
+        for (int argumentIndex=0;argumentIndex<atom.getArity();argumentIndex++) {
+            Term argument=atom.getArgument(argumentIndex);
+            if (argument instanceof Individual)
+                return (Individual)argument;
+        }
+        throw new IllegalArgumentException("The fact "+atom+" does not mention an individual.");
+    }
+
+    protected static class Component {
+        protected final Set<Individual> m_individuals=new HashSet<>();
+        protected final Set<Atom> m_positiveFacts=new HashSet<>();
+        protected final Set<Atom> m_negativeFacts=new HashSet<>();
+
+        public int size() {
+            return m_individuals.size()+m_positiveFacts.size()+m_negativeFacts.size();
+        }
+        public void addAll(Component component) {
+            m_individuals.addAll(component.m_individuals);
+            m_positiveFacts.addAll(component.m_positiveFacts);
+            m_negativeFacts.addAll(component.m_negativeFacts);
+        }
+    }
+}
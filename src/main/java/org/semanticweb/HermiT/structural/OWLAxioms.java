@@ -60,6 +60,8 @@ public class OWLAxioms {
     /** contains custom datatypes from DatatypeDefinition axioms*/
     public final Set<String> m_definedDatatypesIRIs =new HashSet<>();
     final Collection<DisjunctiveRule> m_rules =new HashSet<>();
+    /** the number of concept inclusions that absorption rewrote into several guarded inclusions*/
+    int m_numberOfAbsorbedInclusions;
 
     static class ComplexObjectPropertyInclusion {
         public final OWLObjectPropertyExpression[] m_subObjectProperties;
@@ -236,7 +236,7 @@ public class OWLNormalization {
                 if (simplifiedDescription instanceof OWLObjectUnionOf) {
                     OWLObjectUnionOf objectOr=(OWLObjectUnionOf)simplifiedDescription;
                     List<OWLClassExpression> descriptions= asList(objectOr.operands(), OWLClassExpression.class);
-                    if (!distributeUnionOverAndObject(descriptions,inclusions) && !optimizedNegativeOneOfTranslation(descriptions,m_axioms.m_facts)) {
+                    if (!distributeUnionOverAndObject(descriptions,inclusions) && !absorbConjunction(descriptions,inclusions) && !optimizedNegativeOneOfTranslation(descriptions,m_axioms.m_facts)) {
                         for (int index=0;index<descriptions.size();index++)
                             descriptions.set(index, descriptions.get(index).accept(classExpressionNormalizer));
                         m_axioms.m_conceptInclusions.add(descriptions);
@@ -304,6 +304,56 @@ public class OWLNormalization {
         });
         return true;
     }
+    /**
+     * Absorbs conjunctions that distributeUnionOverAndObject does not handle because the other disjuncts are not
+     * simple. Such a conjunction would be replaced by a positive definition, so the disjunction of the inclusion would
+     * be kept in the head of the resulting DL-clause even if some conjunct could be moved into its body (for example,
+     * SubClassOf(ObjectUnionOf(some r A, all s B), some t C) yields the disjunct
+     * ObjectIntersectionOf(all r not A, some s not B)). If the inclusion is nondeterministic and some conjunct
+     * has negative polarity, the inclusion is therefore distributed over the conjunction so that such conjuncts become
+     * guards of their own inclusions. Universal restrictions are distributed over conjunctions in their fillers.
+     */
+    protected boolean absorbConjunction(List<OWLClassExpression> descriptions,List<List<OWLClassExpression>> inclusions) {
+        int numberOfPositiveDescriptions=0;
+        for (OWLClassExpression description : descriptions)
+            if (description.accept(m_plVisitor).booleanValue())
+                numberOfPositiveDescriptions++;
+        if (numberOfPositiveDescriptions<2)
+            return false;
+        for (int index=0;index<descriptions.size();index++) {
+            OWLClassExpression description=descriptions.get(index);
+            if (description.accept(m_plVisitor).booleanValue()) {
+                List<OWLClassExpression> conjuncts=new ArrayList<>();
+                addConjuncts(description,conjuncts);
+                if (conjuncts.size()>1 && conjuncts.stream().anyMatch(conjunct->!conjunct.accept(m_plVisitor).booleanValue())) {
+                    for (OWLClassExpression conjunct : conjuncts) {
+                        List<OWLClassExpression> newDescriptions=new ArrayList<>(descriptions);
+                        newDescriptions.set(index,conjunct);
+                        inclusions.add(newDescriptions);
+                    }
+                    m_axioms.m_numberOfAbsorbedInclusions++;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    protected void addConjuncts(OWLClassExpression description,List<OWLClassExpression> conjuncts) {
+        if (description instanceof OWLObjectIntersectionOf)
+            ((OWLObjectIntersectionOf)description).operands().forEach(operand->addConjuncts(operand,conjuncts));
+        else if (description instanceof OWLObjectAllValuesFrom) {
+            OWLObjectAllValuesFrom allValuesFrom=(OWLObjectAllValuesFrom)description;
+            List<OWLClassExpression> fillerConjuncts=new ArrayList<>();
+            addConjuncts(allValuesFrom.getFiller(),fillerConjuncts);
+            if (fillerConjuncts.size()==1)
+                conjuncts.add(description);
+            else
+                for (OWLClassExpression fillerConjunct : fillerConjuncts)
+                    conjuncts.add(m_factory.getOWLObjectAllValuesFrom(allValuesFrom.getProperty(),fillerConjunct));
+        }
+        else
+            conjuncts.add(description);
+    }
     protected boolean distributeUnionOverAnd(List<OWLDataRange> descriptions,List<List<OWLDataRange>> inclusions) {
         int andIndex=-1;
         for (int index=0;index<descriptions.size();index++) {
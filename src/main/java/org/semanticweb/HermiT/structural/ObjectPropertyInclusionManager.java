@@ -182,6 +182,47 @@ public class ObjectPropertyInclusionManager {
             }
         }
     }
+    /**
+     * @param axioms axioms
+     * @param nonSimpleObjectProperties the non-simple properties and their inverses
+     * @return true if rewriting the axioms depends on the automata of the given non-simple properties, that is, if a non-simple
+     *         property occurs in a universal, cardinality or self restriction, a negative object property assertion, or a property
+     *         axiom that must be checked for simplicity
+     */
+    public static boolean isRewritingNeeded(OWLAxioms axioms,Set<OWLObjectPropertyExpression> nonSimpleObjectProperties) {
+        if (nonSimpleObjectProperties.isEmpty())
+            return false;
+        for (OWLObjectPropertyExpression objectPropertyExpression : axioms.m_asymmetricObjectProperties)
+            if (nonSimpleObjectProperties.contains(objectPropertyExpression))
+                return true;
+        for (OWLObjectPropertyExpression objectPropertyExpression : axioms.m_irreflexiveObjectProperties)
+            if (nonSimpleObjectProperties.contains(objectPropertyExpression))
+                return true;
+        for (List<OWLObjectPropertyExpression> properties : axioms.m_disjointObjectProperties)
+            for (OWLObjectPropertyExpression objectPropertyExpression : properties)
+                if (nonSimpleObjectProperties.contains(objectPropertyExpression))
+                    return true;
+        for (OWLIndividualAxiom axiom : axioms.m_facts)
+            if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom && nonSimpleObjectProperties.contains(((OWLNegativeObjectPropertyAssertionAxiom)axiom).getProperty()))
+                return true;
+        for (List<OWLClassExpression> inclusion : axioms.m_conceptInclusions)
+            for (OWLClassExpression classExpression : inclusion) {
+                if (classExpression instanceof OWLObjectAllValuesFrom) {
+                    OWLObjectAllValuesFrom objectAll=(OWLObjectAllValuesFrom)classExpression;
+                    if (!objectAll.getFiller().isOWLThing() && nonSimpleObjectProperties.contains(objectAll.getProperty()))
+                        return true;
+                }
+                else if (classExpression instanceof OWLObjectCardinalityRestriction) {
+                    if (nonSimpleObjectProperties.contains(((OWLObjectCardinalityRestriction)classExpression).getProperty()))
+                        return true;
+                }
+                else if (classExpression instanceof OWLObjectHasSelf) {
+                    if (nonSimpleObjectProperties.contains(((OWLObjectHasSelf)classExpression).getProperty()))
+                        return true;
+                }
+            }
+        return false;
+    }
     protected void createAutomata(Map<OWLObjectPropertyExpression,Automaton> automataByProperty,Set<OWLObjectPropertyExpression> complexObjectPropertyExpressions,Collection<List<OWLObjectPropertyExpression>> simpleObjectPropertyInclusions,Collection<ComplexObjectPropertyInclusion> complexObjectPropertyInclusions,
         Map<OWLObjectPropertyExpression,Set<OWLObjectPropertyExpression>> explicitInverses) {
         Map<OWLObjectPropertyExpression,Set<OWLObjectPropertyExpression>> equivalentPropertiesMap=findEquivalentProperties(simpleObjectPropertyInclusions);
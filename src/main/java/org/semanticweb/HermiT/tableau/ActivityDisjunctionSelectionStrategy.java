@@ -0,0 +1,110 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Processes the ground disjunctions in the order in which they were derived and orders the disjuncts by a decaying
+ * activity. Each time a disjunct leads to a clash, its activity is increased by the current increment, and the
+ * increment is then multiplied by the inverse of the decay factor, so that recent clashes count more than old ones.
+ * Within each of the partitions of the ground disjunction header (at least concepts over negated atomic concepts, other
+ * disjuncts, other at least concepts), the disjuncts with the lowest activity are tried first; disjuncts with the same
+ * activity are tried in the order kept by the header. Activities are kept for the lifetime of the tableau.
+ */
+public final class ActivityDisjunctionSelectionStrategy implements DisjunctionSelectionStrategy {
+    private static final long serialVersionUID=7519283649204113872L;
+    /** The decay factor that is used by default. */
+    public static final double DEFAULT_DECAY_FACTOR=0.95;
+    protected static final double RESCALE_LIMIT=1e100;
+
+    protected final double m_decayFactor;
+    protected final Map<GroundDisjunctionHeader,double[]> m_activities;
+    protected double m_activityIncrement;
+
+    /**
+     * Creates a strategy with the default decay factor.
+     */
+    public ActivityDisjunctionSelectionStrategy() {
+        this(DEFAULT_DECAY_FACTOR);
+    }
+    /**
+     * @param decayFactor the factor by which the activities decay after each clash; must be in (0,1]
+     */
+    public ActivityDisjunctionSelectionStrategy(double decayFactor) {
+        if (decayFactor<=0.0 || decayFactor>1.0)
+            throw new IllegalArgumentException("The decay factor must be in (0,1].");
+        m_decayFactor=decayFactor;
+        m_activities=new IdentityHashMap<>();
+        m_activityIncrement=1.0;
+    }
+    @Override
+    public GroundDisjunction getNextGroundDisjunction(Tableau tableau) {
+        return tableau.getFirstUnprocessedGroundDisjunction();
+    }
+    @Override
+    public int[] getSortedDisjunctIndexes(GroundDisjunction groundDisjunction) {
+        GroundDisjunctionHeader groundDisjunctionHeader=groundDisjunction.getGroundDisjunctionHeader();
+        int[] sortedDisjunctIndexes=groundDisjunctionHeader.getSortedDisjunctIndexes();
+        double[] activities=m_activities.get(groundDisjunctionHeader);
+        if (activities!=null) {
+            // insertion sort is stable, so disjuncts with the same activity keep the order of the header
+            for (int index=1;index<sortedDisjunctIndexes.length;index++) {
+                int partitionStart;
+                if (index<groundDisjunctionHeader.m_firstAtLeastNegativeIndex) partitionStart=0;
+                else if (index<groundDisjunctionHeader.m_firstAtLeastPositiveIndex) partitionStart=groundDisjunctionHeader.m_firstAtLeastNegativeIndex;
+                else partitionStart=groundDisjunctionHeader.m_firstAtLeastPositiveIndex;
+                int disjunctIndex=sortedDisjunctIndexes[index];
+                int insertIndex=index;
+                while (insertIndex>partitionStart && activities[sortedDisjunctIndexes[insertIndex-1]]>activities[disjunctIndex]) {
+                    sortedDisjunctIndexes[insertIndex]=sortedDisjunctIndexes[insertIndex-1];
+                    insertIndex--;
+                }
+                sortedDisjunctIndexes[insertIndex]=disjunctIndex;
+            }
+        }
+        return sortedDisjunctIndexes;
+    }
+    @Override
+    public void disjunctFailed(GroundDisjunction groundDisjunction,int disjunctIndex) {
+        GroundDisjunctionHeader groundDisjunctionHeader=groundDisjunction.getGroundDisjunctionHeader();
+        double[] activities=m_activities.get(groundDisjunctionHeader);
+        if (activities==null) {
+            activities=new double[groundDisjunction.getNumberOfDisjuncts()];
+            m_activities.put(groundDisjunctionHeader,activities);
+        }
+        activities[disjunctIndex]+=m_activityIncrement;
+        m_activityIncrement/=m_decayFactor;
+        if (m_activityIncrement>RESCALE_LIMIT) {
+            for (double[] headerActivities : m_activities.values())
+                for (int index=0;index<headerActivities.length;index++)
+                    headerActivities[index]/=RESCALE_LIMIT;
+            m_activityIncrement/=RESCALE_LIMIT;
+        }
+    }
+    /**
+     * @param groundDisjunctionHeader a ground disjunction header
+     * @param disjunctIndex the index of a disjunct
+     * @return the current activity of the disjunct
+     */
+    public double getActivity(GroundDisjunctionHeader groundDisjunctionHeader,int disjunctIndex) {
+        double[] activities=m_activities.get(groundDisjunctionHeader);
+        return activities==null ? 0.0 : activities[disjunctIndex];
+    }
+}
@@ -30,6 +30,7 @@ public class BranchingPoint implements Serializable {
     protected final Node m_lastMergedOrPrunedNode;
     protected final GroundDisjunction m_firstGroundDisjunction;
     protected final GroundDisjunction m_firstUnprocessedGroundDisjunction;
+    protected final int m_numberOfProcessedGroundDisjunctions;
 
     /**
      * @param tableau tableau
@@ -40,6 +41,7 @@ public class BranchingPoint implements Serializable {
         m_lastMergedOrPrunedNode=tableau.m_lastMergedOrPrunedNode;
         m_firstGroundDisjunction=tableau.m_firstGroundDisjunction;
         m_firstUnprocessedGroundDisjunction=tableau.m_firstUnprocessedGroundDisjunction;
+        m_numberOfProcessedGroundDisjunctions=tableau.m_numberOfProcessedGroundDisjunctions;
     }
     /**
      * @return level
@@ -52,6 +52,7 @@ public class DLClauseEvaluator implements Serializable {
     protected final Worker[] m_workers;
     protected final DLClause m_bodyDLClause;
     protected final List<DLClause> m_headDLClauses;
+    protected transient GeneratedProgram m_generatedProgram;
 
     /**
      * @param tableau tableau
@@ -126,12 +127,27 @@ public class DLClauseEvaluator implements Serializable {
      * Evaluate.
      */
     public void evaluate() {
+        if (m_generatedProgram!=null) {
+            m_generatedProgram.evaluate(m_workers,m_extensionManager,m_interruptFlag);
+            return;
+        }
         int programCounter=0;
         while (programCounter<m_workers.length && !m_extensionManager.containsClash()) {
             m_interruptFlag.checkInterrupt();
             programCounter=m_workers[programCounter].execute(programCounter);
         }
     }
+    /**
+     * Replaces the interpretation of the workers by a program generated for them. The evaluator is interpreted if no
+     * program can be generated.
+     *
+     * @param programGenerator the generator of the program
+     * @return true if a program has been generated
+     */
+    public boolean generateProgram(DLClauseProgramGenerator programGenerator) {
+        m_generatedProgram=programGenerator.generate(m_workers);
+        return m_generatedProgram!=null;
+    }
     @Override
     public String toString() {
         StringBuilder buffer=new StringBuilder();
@@ -181,22 +197,22 @@ public class DLClauseEvaluator implements Serializable {
         }
     }
 
-    /**ValuesBufferManager.*/
-    public static class ValuesBufferManager {
-        /**Values buffer.*/
-        public final Object[] m_valuesBuffer;
-        final Map<DLPredicate,Integer> m_bodyDLPredicatesToIndexes;
-        /**Max number of variables*/
-        public final int m_maxNumberOfVariables;
-        final Map<Term,Integer> m_bodyNonvariableTermsToIndexes;
+    /**
+     * The positions of the variables, body predicates and nonvariable body terms of a set of DL clauses in a values
+     * buffer. A layout depends only on the DL clauses, so it can be shared by all tableaux for the clauses.
+     */
+    public static final class ValuesBufferLayout {
+        protected final Map<DLPredicate,Integer> m_bodyDLPredicatesToIndexes;
+        protected final Map<Term,Integer> m_bodyNonvariableTermsToIndexes;
+        protected final int m_maxNumberOfVariables;
+        protected final int m_size;
 
         /**
          * @param dlClauses dlClauses
-         * @param termsToNodes termsToNodes
          */
-        public ValuesBufferManager(Collection<DLClause> dlClauses,Map<Term,Node> termsToNodes) {
+        public ValuesBufferLayout(Collection<DLClause> dlClauses) {
             Set<DLPredicate> bodyDLPredicates=new HashSet<>();
-            m_bodyNonvariableTermsToIndexes=new HashMap<>();
+            Set<Term> bodyNonvariableTerms=new HashSet<>();
             int maxNumberOfVariables=0;
             for (DLClause dlClause : dlClauses) {
                 Set<Variable> variables=Collections.newSetFromMap(new IdentityHashMap<>());
@@ -208,32 +224,62 @@ public class DLClauseEvaluator implements Serializable {
                         if (term instanceof Variable)
                             variables.add((Variable)term);
                         else
-                            m_bodyNonvariableTermsToIndexes.put(term,Integer.valueOf(-1));
+                            bodyNonvariableTerms.add(term);
                     }
                 }
                 if (variables.size()>maxNumberOfVariables)
                     maxNumberOfVariables=variables.size();
             }
-            m_valuesBuffer=new Object[maxNumberOfVariables+bodyDLPredicates.size()+m_bodyNonvariableTermsToIndexes.size()];
-            m_bodyDLPredicatesToIndexes=new HashMap<>();
+            Map<DLPredicate,Integer> bodyDLPredicatesToIndexes=new HashMap<>();
             int bindingIndex=maxNumberOfVariables;
-            for (DLPredicate bodyDLPredicate : bodyDLPredicates) {
-                m_bodyDLPredicatesToIndexes.put(bodyDLPredicate,Integer.valueOf(bindingIndex));
-                m_valuesBuffer[bindingIndex]=bodyDLPredicate;
-                bindingIndex++;
-            }
+            for (DLPredicate bodyDLPredicate : bodyDLPredicates)
+                bodyDLPredicatesToIndexes.put(bodyDLPredicate,Integer.valueOf(bindingIndex++));
+            Map<Term,Integer> bodyNonvariableTermsToIndexes=new HashMap<>();
+            for (Term term : bodyNonvariableTerms)
+                bodyNonvariableTermsToIndexes.put(term,Integer.valueOf(bindingIndex++));
+            m_bodyDLPredicatesToIndexes=Collections.unmodifiableMap(bodyDLPredicatesToIndexes);
+            m_bodyNonvariableTermsToIndexes=Collections.unmodifiableMap(bodyNonvariableTermsToIndexes);
+            m_maxNumberOfVariables=maxNumberOfVariables;
+            m_size=bindingIndex;
+        }
+    }
+
+    /**ValuesBufferManager.*/
+    public static class ValuesBufferManager {
+        /**Values buffer.*/
+        public final Object[] m_valuesBuffer;
+        final Map<DLPredicate,Integer> m_bodyDLPredicatesToIndexes;
+        /**Max number of variables*/
+        public final int m_maxNumberOfVariables;
+        final Map<Term,Integer> m_bodyNonvariableTermsToIndexes;
+
+        /**
+         * @param dlClauses dlClauses
+         * @param termsToNodes termsToNodes
+         */
+        public ValuesBufferManager(Collection<DLClause> dlClauses,Map<Term,Node> termsToNodes) {
+            this(new ValuesBufferLayout(dlClauses),termsToNodes);
+        }
+        /**
+         * @param layout the layout of the values buffer
+         * @param termsToNodes termsToNodes
+         */
+        public ValuesBufferManager(ValuesBufferLayout layout,Map<Term,Node> termsToNodes) {
+            m_bodyDLPredicatesToIndexes=layout.m_bodyDLPredicatesToIndexes;
+            m_bodyNonvariableTermsToIndexes=layout.m_bodyNonvariableTermsToIndexes;
+            m_maxNumberOfVariables=layout.m_maxNumberOfVariables;
+            m_valuesBuffer=new Object[layout.m_size];
+            for (Map.Entry<DLPredicate,Integer> entry : m_bodyDLPredicatesToIndexes.entrySet())
+                m_valuesBuffer[entry.getValue().intValue()]=entry.getKey();
             for (Map.Entry<Term,Integer> entry : m_bodyNonvariableTermsToIndexes.entrySet()) {
                 Node termNode=termsToNodes.get(entry.getKey());
                 if (termNode==null)
-                    throw new IllegalArgumentException("Term '"+entry.getValue()+"' is unknown to the reasoner.");
-                entry.setValue(Integer.valueOf(bindingIndex));
-                m_valuesBuffer[bindingIndex]=termNode.getCanonicalNode();
-                bindingIndex++;
+                    throw new IllegalArgumentException("Term '"+entry.getKey()+"' is unknown to the reasoner.");
+                m_valuesBuffer[entry.getValue().intValue()]=termNode.getCanonicalNode();
             }
-            m_maxNumberOfVariables=maxNumberOfVariables;
         }
     }
-
+
     static class GroundDisjunctionHeaderManager {
         protected GroundDisjunctionHeader[] m_buckets;
         protected int m_numberOfElements;
@@ -296,6 +342,19 @@ public class DLClauseEvaluator implements Serializable {
         int execute(int programCounter);
     }
 
+    /**
+     * Executes the workers of a DL clause evaluator in the same way as DLClauseEvaluator.evaluate(). The implementations
+     * are generated by DLClauseProgramGenerator.
+     */
+    public interface GeneratedProgram {
+        /**
+         * @param workers the workers of the evaluator
+         * @param extensionManager the extension manager of the tableau
+         * @param interruptFlag the interrupt flag of the tableau
+         */
+        void evaluate(Worker[] workers,ExtensionManager extensionManager,InterruptFlag interruptFlag);
+    }
+
     protected interface BranchingWorker extends Worker {
         int getBranchingAddress();
         void setBranchingAddress(int branchingAddress);
@@ -781,7 +840,33 @@ public class DLClauseEvaluator implements Serializable {
             m_bodyDLClause=bodyDLClause;
             m_headDLClauses=headDLClauses;
             m_coreVariables=new boolean[m_variables.size()];
+            m_projectionAtomIndex=getProjectionAtomIndex(getHeadVariables(headDLClauses));
             generateCode(1,firstAtomRetrieval);
+        }
+        /**
+         * Determines the first body atom from which on all atoms bind only variables that do not occur in the heads. For
+         * fixed values of the variables bound before this atom, all matches of the remaining atoms derive the same head
+         * atoms, so it suffices to find one such match; the dependency set of this match is a valid dependency set of the
+         * derived atoms. The first body atom is matched outside of the compiled code and is never considered.
+         */
+        protected int getProjectionAtomIndex(List<Variable> headVariables) {
+            Set<Variable> boundVariables=Collections.newSetFromMap(new IdentityHashMap<>());
+            boolean[] bindsHeadVariable=new boolean[getBodyLength()];
+            for (int bodyIndex=0;bodyIndex<getBodyLength();bodyIndex++) {
+                Atom atom=getBodyAtom(bodyIndex);
+                for (int argumentIndex=0;argumentIndex<atom.getArity();argumentIndex++) {
+                    Variable variable=atom.getArgumentVariable(argumentIndex);
+                    if (variable!=null && boundVariables.add(variable) && headVariables.contains(variable))
+                        bindsHeadVariable[bodyIndex]=true;
+                }
+            }
+            int projectionAtomIndex=-1;
+            for (int bodyIndex=getBodyLength()-1;bodyIndex>=1 && !bindsHeadVariable[bodyIndex];--bodyIndex) {
+                DLPredicate dlPredicate=getBodyAtom(bodyIndex).getDLPredicate();
+                if (!dlPredicate.equals(NodeIDLessEqualThan.INSTANCE) && !(dlPredicate instanceof NodeIDsAscendingOrEqual))
+                    projectionAtomIndex=bodyIndex;
+            }
+            return projectionAtomIndex;
         }
         protected int getNumberOfHeads() {
             return m_headDLClauses.size();
@@ -794,7 +879,10 @@ public class DLClauseEvaluator implements Serializable {
         }
         @Override
         protected void compileHeads() {
+            int numberOfBodyWorkers=m_workers.size();
             m_existentialExpansionStrategy.dlClauseBodyCompiled(m_workers,m_bodyDLClause,m_variables,m_valuesBufferManager.m_valuesBuffer,m_coreVariables);
+            // The blocking strategy can add workers that must see every match of the body, so the projection is then not applicable.
+            boolean skipRemainingMatches=(m_afterProjectionLoop!=0 && m_workers.size()==numberOfBodyWorkers);
             for (int dlClauseIndex=0;dlClauseIndex<getNumberOfHeads();dlClauseIndex++) {
                 if (m_extensionManager.m_tableauMonitor!=null)
                     m_workers.add(new CallMatchStartedOnMonitor(m_extensionManager.m_tableauMonitor,m_dlClauseEvalautor,dlClauseIndex));
@@ -846,6 +934,8 @@ public class DLClauseEvaluator implements Serializable {
                 if (m_extensionManager.m_tableauMonitor!=null)
                     m_workers.add(new CallMatchFinishedOnMonitor(m_extensionManager.m_tableauMonitor,m_dlClauseEvalautor,dlClauseIndex));
             }
+            if (skipRemainingMatches)
+                m_workers.add(new JumpTo(m_afterProjectionLoop));
         }
         protected static List<Variable> getHeadVariables(List<DLClause> headDLClauses) {
             List<Variable> result=new ArrayList<>();
@@ -875,6 +965,8 @@ public class DLClauseEvaluator implements Serializable {
         /**Workers.*/
         public final List<Worker> m_workers;
         protected final IntArrayList m_labels;
+        protected int m_projectionAtomIndex;
+        protected int m_afterProjectionLoop;
 
         /**
          * @param bufferSupply bufferSupply
@@ -919,6 +1011,8 @@ public class DLClauseEvaluator implements Serializable {
             m_retrievals=new ArrayList<>();
             m_workers=new ArrayList<>();
             m_labels=new IntArrayList();
+            m_projectionAtomIndex=-1;
+            m_afterProjectionLoop=0;
         }
         protected final void generateCode(int firstBodyAtomToCompile,ExtensionTable.Retrieval firstAtomRetrieval) {
             m_labels.add(0);
@@ -988,6 +1082,8 @@ public class DLClauseEvaluator implements Serializable {
 
                 int afterLoop=addLabel();
                 int nextElement=addLabel();
+                if (bodyAtomIndex==m_projectionAtomIndex)
+                    m_afterProjectionLoop=afterLoop;
                 Atom atom=getBodyAtom(bodyAtomIndex);
                 int[] bindingPositions=new int[atom.getArity()+1];
                 bindingPositions[0]=m_valuesBufferManager.m_bodyDLPredicatesToIndexes.get(atom.getDLPredicate()).intValue();
@@ -0,0 +1,396 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates for the workers of a compiled DL clause a class that executes them without the program counter loop of
+ * DLClauseEvaluator.evaluate(). The generated code contains one block per worker; the control flow between the blocks
+ * (loops over retrievals, jumps out of failed equality checks, and so on) is resolved at generation time into direct
+ * branches, and each worker is invoked from a call site of its own, so that the JIT sees a single receiver type at each
+ * site and can inline the worker. The classes are produced in the class file format of Java 5, which does not require
+ * stack map frames, and are defined in a class loader of their own.
+ * <p>
+ * A generated class depends only on the layout of the workers, that is, on which workers branch and where to, and the
+ * workers are passed to each call, so the generated programs are stateless. Programs are therefore cached by layout and
+ * shared by all evaluators with the same layout; a generator is owned by a HyperresolutionProgram, so the tableaux that
+ * share the program also share the generated classes, which are unloaded together with the program.
+ */
+public final class DLClauseProgramGenerator {
+    protected static final String GENERATED_CLASS_PREFIX="org/semanticweb/HermiT/tableau/generated/DLClauseProgram";
+    protected static final String PROGRAM_INTERFACE="org/semanticweb/HermiT/tableau/DLClauseEvaluator$GeneratedProgram";
+    protected static final String WORKER_INTERFACE="org/semanticweb/HermiT/tableau/DLClauseEvaluator$Worker";
+    protected static final String EXTENSION_MANAGER_CLASS="org/semanticweb/HermiT/tableau/ExtensionManager";
+    protected static final String INTERRUPT_FLAG_CLASS="org/semanticweb/HermiT/tableau/InterruptFlag";
+    protected static final String EVALUATE_DESCRIPTOR="([L"+WORKER_INTERFACE+";L"+EXTENSION_MANAGER_CLASS+";L"+INTERRUPT_FLAG_CLASS+";)V";
+    protected static final int MAXIMAL_CODE_LENGTH=32767;
+
+    protected final Map<WorkerLayout,DLClauseEvaluator.GeneratedProgram> m_programsByLayout;
+    protected ProgramClassLoader m_classLoader;
+    protected int m_numberOfGeneratedClasses;
+
+    /**
+     * Creates a generator; the class loader for its classes is created when the first class is generated.
+     */
+    public DLClauseProgramGenerator() {
+        m_programsByLayout=new HashMap<>();
+    }
+    /**
+     * @param workers the workers of a compiled DL clause
+     * @return a program that executes the given workers, or null if no program could be generated for them
+     */
+    public synchronized DLClauseEvaluator.GeneratedProgram generate(DLClauseEvaluator.Worker[] workers) {
+        WorkerLayout layout=new WorkerLayout(workers);
+        if (m_programsByLayout.containsKey(layout))
+            return m_programsByLayout.get(layout);
+        DLClauseEvaluator.GeneratedProgram program=generateProgram(workers);
+        m_programsByLayout.put(layout,program);
+        return program;
+    }
+    /**
+     * @return the number of classes generated so far
+     */
+    public synchronized int getNumberOfGeneratedClasses() {
+        return m_numberOfGeneratedClasses;
+    }
+    protected DLClauseEvaluator.GeneratedProgram generateProgram(DLClauseEvaluator.Worker[] workers) {
+        String className=GENERATED_CLASS_PREFIX+m_numberOfGeneratedClasses;
+        byte[] classBytes=generateClass(className,workers);
+        if (classBytes==null)
+            return null;
+        if (m_classLoader==null)
+            m_classLoader=new ProgramClassLoader(DLClauseProgramGenerator.class.getClassLoader());
+        try {
+            Class<?> programClass=m_classLoader.defineProgramClass(className.replace('/','.'),classBytes);
+            m_numberOfGeneratedClasses++;
+            return (DLClauseEvaluator.GeneratedProgram)programClass.getDeclaredConstructor().newInstance();
+        }
+        catch (LinkageError|ReflectiveOperationException|SecurityException error) {
+            return null;
+        }
+    }
+    protected static byte[] generateClass(String className,DLClauseEvaluator.Worker[] workers) {
+        ConstantPool constantPool=new ConstantPool();
+        int thisClass=constantPool.getClass(className);
+        int objectClass=constantPool.getClass("java/lang/Object");
+        int programInterface=constantPool.getClass(PROGRAM_INTERFACE);
+        int objectConstructor=constantPool.getMethod(10,objectClass,"<init>","()V");
+        int containsClash=constantPool.getMethod(10,constantPool.getClass(EXTENSION_MANAGER_CLASS),"containsClash","()Z");
+        int checkInterrupt=constantPool.getMethod(10,constantPool.getClass(INTERRUPT_FLAG_CLASS),"checkInterrupt","()V");
+        int execute=constantPool.getMethod(11,constantPool.getClass(WORKER_INTERFACE),"execute","(I)I");
+        int codeAttribute=constantPool.getUtf8("Code");
+        int constructorName=constantPool.getUtf8("<init>");
+        int constructorDescriptor=constantPool.getUtf8("()V");
+        int evaluateName=constantPool.getUtf8("evaluate");
+        int evaluateDescriptor=constantPool.getUtf8(EVALUATE_DESCRIPTOR);
+        CodeBuffer constructorCode=new CodeBuffer();
+        constructorCode.emit(0x2a); // aload_0
+        constructorCode.emit(0xb7); // invokespecial
+        constructorCode.emitShort(objectConstructor);
+        constructorCode.emit(0xb1); // return
+        CodeBuffer evaluateCode=generateEvaluateCode(constantPool,workers,containsClash,checkInterrupt,execute);
+        if (evaluateCode==null)
+            return null;
+        try {
+            ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+            DataOutputStream output=new DataOutputStream(bytes);
+            output.writeInt(0xCAFEBABE);
+            output.writeShort(0);
+            output.writeShort(49);
+            constantPool.write(output);
+            output.writeShort(0x0031); // public final super
+            output.writeShort(thisClass);
+            output.writeShort(objectClass);
+            output.writeShort(1);
+            output.writeShort(programInterface);
+            output.writeShort(0);
+            output.writeShort(2);
+            writeMethod(output,constructorName,constructorDescriptor,codeAttribute,1,1,constructorCode);
+            writeMethod(output,evaluateName,evaluateDescriptor,codeAttribute,3,4,evaluateCode);
+            output.writeShort(0);
+            output.flush();
+            return bytes.toByteArray();
+        }
+        catch (IOException error) {
+            throw new IllegalStateException("Internal error: writing to a byte array failed.",error);
+        }
+    }
+    protected static CodeBuffer generateEvaluateCode(ConstantPool constantPool,DLClauseEvaluator.Worker[] workers,int containsClash,int checkInterrupt,int execute) {
+        int numberOfWorkers=workers.length;
+        CodeBuffer code=new CodeBuffer();
+        // The label of each worker is the offset of its block; the label of numberOfWorkers is the final return.
+        int[] labels=new int[numberOfWorkers+1];
+        List<int[]> branches=new ArrayList<>();
+        for (int programCounter=0;programCounter<numberOfWorkers;programCounter++) {
+            labels[programCounter]=code.size();
+            DLClauseEvaluator.Worker worker=workers[programCounter];
+            code.emit(0x2c); // aload_2
+            code.emit(0xb6); // invokevirtual
+            code.emitShort(containsClash);
+            branches.add(code.emitBranch(0x9a,numberOfWorkers)); // ifne
+            code.emit(0x2d); // aload_3
+            code.emit(0xb6); // invokevirtual
+            code.emitShort(checkInterrupt);
+            if (worker instanceof DLClauseEvaluator.JumpTo)
+                branches.add(code.emitBranch(0xa7,checkAddress(((DLClauseEvaluator.JumpTo)worker).getBranchingAddress(),numberOfWorkers))); // goto
+            else {
+                code.emit(0x2b); // aload_1
+                code.emitInt(constantPool,programCounter);
+                code.emit(0x32); // aaload
+                code.emitInt(constantPool,programCounter);
+                code.emit(0xb9); // invokeinterface
+                code.emitShort(execute);
+                code.emit(2);
+                code.emit(0);
+                if (worker instanceof DLClauseEvaluator.BranchingWorker) {
+                    code.emitInt(constantPool,programCounter+1);
+                    branches.add(code.emitBranch(0xa0,checkAddress(((DLClauseEvaluator.BranchingWorker)worker).getBranchingAddress(),numberOfWorkers))); // if_icmpne
+                }
+                else
+                    code.emit(0x57); // pop
+            }
+            if (code.size()>MAXIMAL_CODE_LENGTH)
+                return null;
+        }
+        labels[numberOfWorkers]=code.size();
+        code.emit(0xb1); // return
+        if (code.size()>MAXIMAL_CODE_LENGTH)
+            return null;
+        for (int[] branch : branches)
+            code.patchShort(branch[0]+1,labels[branch[1]]-branch[0]);
+        return code;
+    }
+    protected static int checkAddress(int address,int numberOfWorkers) {
+        if (address<0 || address>numberOfWorkers)
+            throw new IllegalStateException("Internal error: invalid branching address "+address+".");
+        return address;
+    }
+    protected static void writeMethod(DataOutputStream output,int name,int descriptor,int codeAttribute,int maxStack,int maxLocals,CodeBuffer code) throws IOException {
+        output.writeShort(0x0001); // public
+        output.writeShort(name);
+        output.writeShort(descriptor);
+        output.writeShort(1);
+        output.writeShort(codeAttribute);
+        output.writeInt(12+code.size());
+        output.writeShort(maxStack);
+        output.writeShort(maxLocals);
+        output.writeInt(code.size());
+        code.writeTo(output);
+        output.writeShort(0);
+        output.writeShort(0);
+    }
+
+    /**
+     * The part of a sequence of workers that determines the generated code: for each worker, whether it is a jump, a
+     * branching worker or neither, and where it branches to.
+     */
+    protected static final class WorkerLayout {
+        protected final int[] m_codes;
+        protected final int m_hashCode;
+
+        public WorkerLayout(DLClauseEvaluator.Worker[] workers) {
+            m_codes=new int[workers.length];
+            for (int index=0;index<workers.length;index++) {
+                DLClauseEvaluator.Worker worker=workers[index];
+                if (worker instanceof DLClauseEvaluator.JumpTo)
+                    m_codes[index]=((DLClauseEvaluator.JumpTo)worker).getBranchingAddress()*2+1;
+                else if (worker instanceof DLClauseEvaluator.BranchingWorker)
+                    m_codes[index]=((DLClauseEvaluator.BranchingWorker)worker).getBranchingAddress()*2;
+                else
+                    m_codes[index]=-1;
+            }
+            m_hashCode=Arrays.hashCode(m_codes);
+        }
+        @Override
+        public boolean equals(Object that) {
+            if (this==that)
+                return true;
+            if (!(that instanceof WorkerLayout))
+                return false;
+            return Arrays.equals(m_codes,((WorkerLayout)that).m_codes);
+        }
+        @Override
+        public int hashCode() {
+            return m_hashCode;
+        }
+    }
+
+    protected static final class ProgramClassLoader extends ClassLoader {
+
+        public ProgramClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+        public Class<?> defineProgramClass(String className,byte[] classBytes) {
+            return defineClass(className,classBytes,0,classBytes.length);
+        }
+    }
+
+    protected static final class ConstantPool {
+        protected final ByteArrayOutputStream m_bytes;
+        protected final DataOutputStream m_output;
+        protected final Map<String,Integer> m_indexes;
+        protected int m_nextIndex;
+
+        public ConstantPool() {
+            m_bytes=new ByteArrayOutputStream();
+            m_output=new DataOutputStream(m_bytes);
+            m_indexes=new HashMap<>();
+            m_nextIndex=1;
+        }
+        public int getUtf8(String value) {
+            String key="U"+value;
+            Integer index=m_indexes.get(key);
+            if (index==null) {
+                try {
+                    m_output.writeByte(1);
+                    m_output.writeUTF(value);
+                }
+                catch (IOException error) {
+                    throw new IllegalStateException("Internal error: writing to a byte array failed.",error);
+                }
+                index=register(key);
+            }
+            return index.intValue();
+        }
+        public int getInteger(int value) {
+            String key="I"+value;
+            Integer index=m_indexes.get(key);
+            if (index==null) {
+                writeEntry(3,value>>>16,value&0xFFFF);
+                index=register(key);
+            }
+            return index.intValue();
+        }
+        public int getClass(String internalName) {
+            int name=getUtf8(internalName);
+            String key="C"+internalName;
+            Integer index=m_indexes.get(key);
+            if (index==null) {
+                writeEntry(7,name,-1);
+                index=register(key);
+            }
+            return index.intValue();
+        }
+        public int getMethod(int tag,int classIndex,String name,String descriptor) {
+            int nameIndex=getUtf8(name);
+            int descriptorIndex=getUtf8(descriptor);
+            String nameAndTypeKey="N"+nameIndex+":"+descriptorIndex;
+            Integer nameAndType=m_indexes.get(nameAndTypeKey);
+            if (nameAndType==null) {
+                writeEntry(12,nameIndex,descriptorIndex);
+                nameAndType=register(nameAndTypeKey);
+            }
+            String key="M"+tag+":"+classIndex+":"+nameAndType;
+            Integer index=m_indexes.get(key);
+            if (index==null) {
+                writeEntry(tag,classIndex,nameAndType.intValue());
+                index=register(key);
+            }
+            return index.intValue();
+        }
+        protected void writeEntry(int tag,int first,int second) {
+            try {
+                m_output.writeByte(tag);
+                m_output.writeShort(first);
+                if (second>=0)
+                    m_output.writeShort(second);
+            }
+            catch (IOException error) {
+                throw new IllegalStateException("Internal error: writing to a byte array failed.",error);
+            }
+        }
+        protected Integer register(String key) {
+            Integer index=Integer.valueOf(m_nextIndex++);
+            m_indexes.put(key,index);
+            if (m_nextIndex>0xFFFF)
+                throw new IllegalStateException("The constant pool of a generated DL clause program is too large.");
+            return index;
+        }
+        public void write(DataOutputStream output) throws IOException {
+            m_output.flush();
+            output.writeShort(m_nextIndex);
+            m_bytes.writeTo(output);
+        }
+    }
+
+    protected static final class CodeBuffer {
+        protected byte[] m_code;
+        protected int m_size;
+
+        public CodeBuffer() {
+            m_code=new byte[256];
+        }
+        public int size() {
+            return m_size;
+        }
+        public void emit(int value) {
+            if (m_size==m_code.length) {
+                byte[] newCode=new byte[m_code.length*2];
+                System.arraycopy(m_code,0,newCode,0,m_size);
+                m_code=newCode;
+            }
+            m_code[m_size++]=(byte)value;
+        }
+        public void emitShort(int value) {
+            emit(value>>8);
+            emit(value);
+        }
+        public void emitInt(ConstantPool constantPool,int value) {
+            if (value>=-1 && value<=5)
+                emit(0x03+value); // iconst_<value>
+            else if (value>=Byte.MIN_VALUE && value<=Byte.MAX_VALUE) {
+                emit(0x10); // bipush
+                emit(value);
+            }
+            else if (value>=Short.MIN_VALUE && value<=Short.MAX_VALUE) {
+                emit(0x11); // sipush
+                emitShort(value);
+            }
+            else {
+                emit(0x13); // ldc_w
+                emitShort(constantPool.getInteger(value));
+            }
+        }
+        /**
+         * Emits a branch instruction whose offset is patched once the target label is known.
+         *
+         * @return the offset of the instruction and the index of the target label
+         */
+        public int[] emitBranch(int opcode,int targetLabel) {
+            int[] branch=new int[] { m_size,targetLabel };
+            emit(opcode);
+            emitShort(0);
+            return branch;
+        }
+        public void patchShort(int offset,int value) {
+            m_code[offset]=(byte)(value>>8);
+            m_code[offset+1]=(byte)value;
+        }
+        public void writeTo(DataOutputStream output) throws IOException {
+            output.write(m_code,0,m_size);
+        }
+    }
+}
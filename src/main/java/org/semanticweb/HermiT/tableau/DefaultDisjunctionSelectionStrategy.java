@@ -0,0 +1,49 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+/**
+ * Processes the ground disjunctions in the order in which they were derived and tries the disjuncts in the order kept
+ * by the ground disjunction header. If disjunction learning is used, disjuncts that often lead to clashes are moved
+ * towards the end of their partition in the header.
+ */
+public final class DefaultDisjunctionSelectionStrategy implements DisjunctionSelectionStrategy {
+    private static final long serialVersionUID=-4871032263958361452L;
+
+    protected final boolean m_useDisjunctionLearning;
+
+    /**
+     * @param useDisjunctionLearning true if the number of backtrackings of each disjunct is used for ordering
+     */
+    public DefaultDisjunctionSelectionStrategy(boolean useDisjunctionLearning) {
+        m_useDisjunctionLearning=useDisjunctionLearning;
+    }
+    @Override
+    public GroundDisjunction getNextGroundDisjunction(Tableau tableau) {
+        return tableau.getFirstUnprocessedGroundDisjunction();
+    }
+    @Override
+    public int[] getSortedDisjunctIndexes(GroundDisjunction groundDisjunction) {
+        return groundDisjunction.getGroundDisjunctionHeader().getSortedDisjunctIndexes();
+    }
+    @Override
+    public void disjunctFailed(GroundDisjunction groundDisjunction,int disjunctIndex) {
+        if (m_useDisjunctionLearning)
+            groundDisjunction.getGroundDisjunctionHeader().increaseNumberOfBacktrackings(disjunctIndex);
+    }
+}
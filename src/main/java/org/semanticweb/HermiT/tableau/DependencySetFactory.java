@@ -19,6 +19,7 @@ package org.semanticweb.HermiT.tableau;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -28,10 +29,16 @@ import java.util.List;
  * frequently) or temporary. The temporary ones are instances of the class 
  * UnionDependencySet and they can be created directly. If a temporary 
  * dependency sets is used more frequently, it can be turned into a permanent 
- * one by this factory.
+ * one by this factory. If the factory has a bitset width, the permanent sets 
+ * whose branching points are all below the width are additionally encoded as 
+ * bitsets, which are interned so that unions, additions and removals of 
+ * branching points on such sets find an existing result without traversing 
+ * the lists of branching points.
  */
 public final class DependencySetFactory implements Serializable {
     private static final long serialVersionUID=8632867055646817311L;
+    /**The bitset width used for Configuration.DependencySetType.HYBRID.*/
+    public static final int HYBRID_BITSET_WIDTH=256;
 
     protected final IntegerArray m_mergeArray;
     protected final List<PermanentDependencySet> m_mergeSets;
@@ -41,10 +48,23 @@ public final class DependencySetFactory implements Serializable {
     protected PermanentDependencySet m_firstDestroyedSet;
     protected PermanentDependencySet[] m_entries;
     protected int m_size;
-    protected int m_resizeThreshold;
-
+    protected int m_resizeThreshold;
+    protected final int m_numberOfBitsetWords;
+    protected final long[] m_bitsetBuffer;
+    protected PermanentDependencySet[] m_bitsetEntries;
+    protected int m_bitsetSize;
+
     /**Empty constructor.*/
     public DependencySetFactory() {
+        this(0);
+    }
+    /**
+     * @param bitsetWidth the number of branching points below which dependency sets are also encoded as bitsets; it is
+     *            rounded up to a multiple of 64, and 0 disables the bitsets
+     */
+    public DependencySetFactory(int bitsetWidth) {
+        m_numberOfBitsetWords=(bitsetWidth+63)/64;
+        m_bitsetBuffer=new long[m_numberOfBitsetWords];
         m_mergeArray=new IntegerArray();
         m_mergeSets=new ArrayList<>();
         m_unprocessedSets=new ArrayList<>();
@@ -54,7 +74,7 @@ public final class DependencySetFactory implements Serializable {
      * @return size
      */
     public int sizeInMemory() {
-        return m_entries.length*4+m_size*20;
+        return m_entries.length*4+m_size*20+(m_bitsetEntries==null ? 0 : m_bitsetEntries.length*4+m_bitsetSize*(16+m_numberOfBitsetWords*8));
     }
     /**
      * Clear.
@@ -74,6 +94,16 @@ public final class DependencySetFactory implements Serializable {
         m_entries=new PermanentDependencySet[16];
         m_resizeThreshold=(int)(m_entries.length*0.75);
         m_size=0;
+        if (m_numberOfBitsetWords==0) {
+            m_bitsetEntries=null;
+            m_bitsetSize=0;
+        }
+        else {
+            m_bitsetEntries=new PermanentDependencySet[m_entries.length];
+            m_bitsetSize=0;
+            m_emptySet.m_bitset=new long[m_numberOfBitsetWords];
+            addToBitsetEntries(m_emptySet);
+        }
     }
     /**
      * @return empty set
@@ -121,6 +151,14 @@ public final class DependencySetFactory implements Serializable {
         else if (branchingPoint==permanentDependencySet.m_branchingPoint)
             return permanentDependencySet;
         else {
+            if (permanentDependencySet.m_bitset!=null && branchingPoint>=0) {
+                // The set contains a larger branching point, so branchingPoint is below the bitset width.
+                System.arraycopy(permanentDependencySet.m_bitset,0,m_bitsetBuffer,0,m_numberOfBitsetWords);
+                m_bitsetBuffer[branchingPoint>>>6]|=(1L << branchingPoint);
+                PermanentDependencySet result=getDependencySetForBitset(m_bitsetBuffer);
+                if (result!=null)
+                    return result;
+            }
             m_mergeArray.clear();
             PermanentDependencySet rest=permanentDependencySet;
             while (branchingPoint<rest.m_branchingPoint) {
@@ -163,6 +201,16 @@ public final class DependencySetFactory implements Serializable {
         newSet.m_rest=rest;
         newSet.m_branchingPoint=branchingPoint;
         newSet.m_usageCounter=0;
+        if (branchingPoint<m_numberOfBitsetWords*64) {
+            // The branching points of rest are smaller than branchingPoint, so rest is encoded as a bitset as well.
+            if (newSet.m_bitset==null)
+                newSet.m_bitset=new long[m_numberOfBitsetWords];
+            System.arraycopy(rest.m_bitset,0,newSet.m_bitset,0,m_numberOfBitsetWords);
+            newSet.m_bitset[branchingPoint>>>6]|=(1L << branchingPoint);
+            addToBitsetEntries(newSet);
+        }
+        else
+            newSet.m_bitset=null;
         addUsage(newSet.m_rest);
         addToUnusedList(newSet);
         m_size++;
@@ -175,6 +223,9 @@ public final class DependencySetFactory implements Serializable {
         removeFromUnusedList(dependencySet);
         removeUsage(dependencySet.m_rest);
         removeFromEntries(dependencySet);
+        // The bitset array is kept so that it can be reused when the set is reused.
+        if (dependencySet.m_bitset!=null)
+            removeFromBitsetEntries(dependencySet);
         dependencySet.m_rest=null;
         dependencySet.m_branchingPoint=-2;
         dependencySet.m_nextEntry=m_firstDestroyedSet;
@@ -231,6 +282,60 @@ public final class DependencySetFactory implements Serializable {
         }
         m_entries=newEntries;
         m_resizeThreshold=(int)(m_entries.length*0.75);
+        if (m_bitsetEntries!=null) {
+            PermanentDependencySet[] newBitsetEntries=new PermanentDependencySet[newLength];
+            for (int oldIndex=0;oldIndex<m_bitsetEntries.length;oldIndex++) {
+                PermanentDependencySet entry=m_bitsetEntries[oldIndex];
+                while (entry!=null) {
+                    PermanentDependencySet nextEntry=entry.m_nextBitsetEntry;
+                    int newIndex=entry.m_bitsetHashCode & newLengthMinusOne;
+                    entry.m_nextBitsetEntry=newBitsetEntries[newIndex];
+                    newBitsetEntries[newIndex]=entry;
+                    entry=nextEntry;
+                }
+            }
+            m_bitsetEntries=newBitsetEntries;
+        }
+    }
+    protected PermanentDependencySet getDependencySetForBitset(long[] bitset) {
+        int hashCode=getBitsetHashCode(bitset);
+        PermanentDependencySet entry=m_bitsetEntries[hashCode & (m_bitsetEntries.length-1)];
+        while (entry!=null) {
+            if (entry.m_bitsetHashCode==hashCode && Arrays.equals(entry.m_bitset,bitset))
+                return entry;
+            entry=entry.m_nextBitsetEntry;
+        }
+        return null;
+    }
+    protected void addToBitsetEntries(PermanentDependencySet dependencySet) {
+        dependencySet.m_bitsetHashCode=getBitsetHashCode(dependencySet.m_bitset);
+        int index=dependencySet.m_bitsetHashCode & (m_bitsetEntries.length-1);
+        dependencySet.m_nextBitsetEntry=m_bitsetEntries[index];
+        m_bitsetEntries[index]=dependencySet;
+        m_bitsetSize++;
+    }
+    protected void removeFromBitsetEntries(PermanentDependencySet dependencySet) {
+        int index=dependencySet.m_bitsetHashCode & (m_bitsetEntries.length-1);
+        PermanentDependencySet lastEntry=null;
+        PermanentDependencySet entry=m_bitsetEntries[index];
+        while (entry!=null) {
+            if (entry==dependencySet) {
+                if (lastEntry==null)
+                    m_bitsetEntries[index]=dependencySet.m_nextBitsetEntry;
+                else
+                    lastEntry.m_nextBitsetEntry=dependencySet.m_nextBitsetEntry;
+                dependencySet.m_nextBitsetEntry=null;
+                m_bitsetSize--;
+                return;
+            }
+            lastEntry=entry;
+            entry=entry.m_nextBitsetEntry;
+        }
+        throw new IllegalStateException("Internal error: dependency set not in the bitset entries table. Please inform HermiT authors about this.");
+    }
+    protected static int getBitsetHashCode(long[] bitset) {
+        int hashCode=Arrays.hashCode(bitset);
+        return hashCode ^ (hashCode >>> 16);
     }
     /**
      * @param dependencySet dependencySet
@@ -244,6 +349,13 @@ public final class DependencySetFactory implements Serializable {
         else if (branchingPoint>permanentDependencySet.m_branchingPoint)
             return permanentDependencySet;
         else {
+            if (permanentDependencySet.m_bitset!=null && branchingPoint>=0) {
+                System.arraycopy(permanentDependencySet.m_bitset,0,m_bitsetBuffer,0,m_numberOfBitsetWords);
+                m_bitsetBuffer[branchingPoint>>>6]&=~(1L << branchingPoint);
+                PermanentDependencySet result=getDependencySetForBitset(m_bitsetBuffer);
+                if (result!=null)
+                    return result;
+            }
             m_mergeArray.clear();
             PermanentDependencySet rest=permanentDependencySet;
             while (branchingPoint<rest.m_branchingPoint) {
@@ -270,6 +382,15 @@ public final class DependencySetFactory implements Serializable {
         PermanentDependencySet permanentSet2=getPermanent(set2);
         if (permanentSet1==permanentSet2)
             return permanentSet1;
+        if (permanentSet1.m_bitset!=null && permanentSet2.m_bitset!=null) {
+            long[] bitset1=permanentSet1.m_bitset;
+            long[] bitset2=permanentSet2.m_bitset;
+            for (int index=0;index<m_numberOfBitsetWords;index++)
+                m_bitsetBuffer[index]=bitset1[index] | bitset2[index];
+            PermanentDependencySet result=getDependencySetForBitset(m_bitsetBuffer);
+            if (result!=null)
+                return result;
+        }
         m_mergeArray.clear();
         while (permanentSet1!=permanentSet2) {
             if (permanentSet1.m_branchingPoint>permanentSet2.m_branchingPoint) {
@@ -312,6 +433,13 @@ public final class DependencySetFactory implements Serializable {
             }
         }
         int numberOfSets=m_mergeSets.size();
+        if (m_numberOfBitsetWords>0) {
+            PermanentDependencySet result=getUnionOfBitsets(m_mergeSets);
+            if (result!=null) {
+                m_mergeSets.clear();
+                return result;
+            }
+        }
         m_mergeArray.clear();
         while (true) {
             PermanentDependencySet firstSet=m_mergeSets.get(0);
@@ -353,6 +481,17 @@ public final class DependencySetFactory implements Serializable {
         m_mergeSets.clear();
         return result;
     }
+    protected PermanentDependencySet getUnionOfBitsets(List<PermanentDependencySet> dependencySets) {
+        Arrays.fill(m_bitsetBuffer,0L);
+        for (int setIndex=0;setIndex<dependencySets.size();setIndex++) {
+            long[] bitset=dependencySets.get(setIndex).m_bitset;
+            if (bitset==null)
+                return null;
+            for (int index=0;index<m_numberOfBitsetWords;index++)
+                m_bitsetBuffer[index]|=bitset[index];
+        }
+        return getDependencySetForBitset(m_bitsetBuffer);
+    }
     
     protected static final class IntegerArray implements Serializable {
         private static final long serialVersionUID=7070190530381846058L;
@@ -0,0 +1,278 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicNegationConcept;
+import org.semanticweb.HermiT.model.Concept;
+import org.semanticweb.HermiT.model.DLPredicate;
+import org.semanticweb.HermiT.monitor.TableauMonitor;
+
+/**
+ * Watches two disjuncts of each ground disjunction so that ground disjunctions need not be rescanned. An atomic concept
+ * disjunct A(x) is refuted if the tableau contains not A(x); all other disjuncts are never refuted and need not be
+ * indexed. When a watched disjunct becomes true, the ground disjunction is marked as processed, so the tableau skips it
+ * without checking whether it is satisfied. When a watched disjunct is refuted, another disjunct that is not refuted is
+ * watched instead; if there is none, the ground disjunction has at most one open disjunct and is propagated
+ * deterministically before the tableau branches: the remaining disjunct is added, or a clash is raised if all disjuncts
+ * are refuted, with the union of the dependency sets of the ground disjunction and of the refuting assertions.
+ * Watches are indexed by the canonical node at the time they are set; disjuncts whose nodes are merged later are no
+ * longer noticed, which costs only the optimisation. Watches are not undone on backtracking, since backtracking never
+ * refutes a disjunct; watches of destroyed ground disjunctions are removed lazily.
+ */
+public final class DisjunctWatchManager implements Serializable {
+    private static final long serialVersionUID=-6329012845125793077L;
+
+    protected final Tableau m_tableau;
+    protected final ExtensionManager m_extensionManager;
+    protected final DependencySetFactory m_dependencySetFactory;
+    protected final TableauMonitor m_tableauMonitor;
+    protected final Map<Concept,Map<Node,List<WatchedGroundDisjunction>>> m_watches;
+    protected final List<WatchedGroundDisjunction> m_unitCandidates;
+
+    /**
+     * @param tableau tableau
+     */
+    public DisjunctWatchManager(Tableau tableau) {
+        m_tableau=tableau;
+        m_extensionManager=tableau.m_extensionManager;
+        m_dependencySetFactory=tableau.m_dependencySetFactory;
+        m_tableauMonitor=tableau.m_tableauMonitor;
+        m_watches=new HashMap<>();
+        m_unitCandidates=new ArrayList<>();
+    }
+    /**
+     * Removes all watches.
+     */
+    public void clear() {
+        m_watches.clear();
+        m_unitCandidates.clear();
+    }
+    /**
+     * Discards the pending unit ground disjunctions; called when the tableau backtracks.
+     */
+    public void backtrack() {
+        m_unitCandidates.clear();
+    }
+    /**
+     * Removes the watches of the ground disjunctions that have been destroyed by backtracking; called when the tableau
+     * has been restored to its checkpoint, since the nodes of the last test need not be notified again.
+     */
+    public void removeDestroyedWatches() {
+        Iterator<Map<Node,List<WatchedGroundDisjunction>>> watchesByNodeIterator=m_watches.values().iterator();
+        while (watchesByNodeIterator.hasNext()) {
+            Map<Node,List<WatchedGroundDisjunction>> watchesByNode=watchesByNodeIterator.next();
+            Iterator<List<WatchedGroundDisjunction>> watchesIterator=watchesByNode.values().iterator();
+            while (watchesIterator.hasNext()) {
+                List<WatchedGroundDisjunction> watches=watchesIterator.next();
+                for (int index=watches.size()-1;index>=0;--index)
+                    if (watches.get(index).m_groundDisjunction.m_dependencySet==null)
+                        removeLast(watches,index);
+                if (watches.isEmpty())
+                    watchesIterator.remove();
+            }
+            if (watchesByNode.isEmpty())
+                watchesByNodeIterator.remove();
+        }
+    }
+    /**
+     * Sets the watches of a ground disjunction that has just been added to the tableau.
+     *
+     * @param groundDisjunction the ground disjunction
+     */
+    public void groundDisjunctionAdded(GroundDisjunction groundDisjunction) {
+        if (groundDisjunction.getNumberOfDisjuncts()<2)
+            return;
+        WatchedGroundDisjunction watchedGroundDisjunction=new WatchedGroundDisjunction(groundDisjunction);
+        int firstOpenDisjunct=findOpenDisjunct(groundDisjunction,-1,-1);
+        int secondOpenDisjunct=(firstOpenDisjunct==-1 ? -1 : findOpenDisjunct(groundDisjunction,firstOpenDisjunct,-1));
+        if (secondOpenDisjunct==-1)
+            m_unitCandidates.add(watchedGroundDisjunction);
+        else {
+            setWatch(watchedGroundDisjunction,0,firstOpenDisjunct);
+            setWatch(watchedGroundDisjunction,1,secondOpenDisjunct);
+        }
+    }
+    /**
+     * Notifies the watches of the given assertion; called whenever a concept assertion is added to the tableau.
+     *
+     * @param concept the concept of the new assertion
+     * @param node the node of the new assertion
+     */
+    public void conceptAssertionAdded(Concept concept,Node node) {
+        Map<Node,List<WatchedGroundDisjunction>> watchesByNode=m_watches.get(concept);
+        if (watchesByNode==null)
+            return;
+        List<WatchedGroundDisjunction> watches=watchesByNode.get(node);
+        if (watches==null)
+            return;
+        boolean disjunctTrue=(concept instanceof AtomicConcept);
+        for (int index=watches.size()-1;index>=0;--index) {
+            WatchedGroundDisjunction watchedGroundDisjunction=watches.get(index);
+            GroundDisjunction groundDisjunction=watchedGroundDisjunction.m_groundDisjunction;
+            if (groundDisjunction.m_dependencySet==null) {
+                // the ground disjunction has been destroyed by backtracking
+                removeLast(watches,index);
+                continue;
+            }
+            if (groundDisjunction.m_isProcessed)
+                continue;
+            if (disjunctTrue) {
+                m_tableau.groundDisjunctionProcessed(groundDisjunction);
+                if (m_tableauMonitor!=null)
+                    m_tableauMonitor.groundDisjunctionSatisfied(groundDisjunction);
+            }
+            else {
+                int watchPosition=(watchedGroundDisjunction.m_watchedNodes[0]==node && groundDisjunction.getDLPredicate(watchedGroundDisjunction.m_watchedDisjuncts[0])==((AtomicNegationConcept)concept).getNegatedAtomicConcept() ? 0 : 1);
+                int newDisjunct=findOpenDisjunct(groundDisjunction,watchedGroundDisjunction.m_watchedDisjuncts[0],watchedGroundDisjunction.m_watchedDisjuncts[1]);
+                if (newDisjunct==-1)
+                    m_unitCandidates.add(watchedGroundDisjunction);
+                else {
+                    removeLast(watches,index);
+                    removeWatch(watchedGroundDisjunction,watchPosition,concept);
+                    setWatch(watchedGroundDisjunction,watchPosition,newDisjunct);
+                }
+            }
+        }
+        if (watches.isEmpty())
+            watchesByNode.remove(node);
+    }
+    /**
+     * Adds the only open disjunct of each ground disjunction whose other disjuncts are all refuted, or raises a clash if
+     * all disjuncts of such a ground disjunction are refuted.
+     *
+     * @return true if some ground disjunction has been propagated
+     */
+    public boolean propagateUnitDisjunctions() {
+        boolean hasChange=false;
+        while (!m_unitCandidates.isEmpty() && !m_extensionManager.containsClash()) {
+            GroundDisjunction groundDisjunction=m_unitCandidates.remove(m_unitCandidates.size()-1).m_groundDisjunction;
+            if (groundDisjunction.m_dependencySet==null || groundDisjunction.m_isProcessed || groundDisjunction.isPruned() || groundDisjunction.isSatisfied(m_tableau))
+                continue;
+            int openDisjunct=findOpenDisjunct(groundDisjunction,-1,-1);
+            if (openDisjunct!=-1 && findOpenDisjunct(groundDisjunction,openDisjunct,-1)!=-1)
+                continue;
+            DependencySet dependencySet=groundDisjunction.getDependencySet();
+            for (int disjunctIndex=groundDisjunction.getNumberOfDisjuncts()-1;disjunctIndex>=0;--disjunctIndex)
+                if (disjunctIndex!=openDisjunct) {
+                    AtomicNegationConcept negation=AtomicNegationConcept.create((AtomicConcept)groundDisjunction.getDLPredicate(disjunctIndex));
+                    Node node=groundDisjunction.getArgument(disjunctIndex,0);
+                    dependencySet=m_dependencySetFactory.unionWith(dependencySet,node.addCanonicalNodeDependencySet(m_extensionManager.getConceptAssertionDependencySet(negation,node.getCanonicalNode())));
+                }
+            if (m_tableauMonitor!=null)
+                m_tableauMonitor.processGroundDisjunctionStarted(groundDisjunction);
+            m_tableau.groundDisjunctionProcessed(groundDisjunction);
+            if (openDisjunct==-1)
+                m_extensionManager.setClash(dependencySet);
+            else {
+                if (m_tableauMonitor!=null)
+                    m_tableauMonitor.disjunctProcessingStarted(groundDisjunction,openDisjunct);
+                groundDisjunction.addDisjunctToTableau(m_tableau,openDisjunct,dependencySet);
+                if (m_tableauMonitor!=null)
+                    m_tableauMonitor.disjunctProcessingFinished(groundDisjunction,openDisjunct);
+            }
+            if (m_tableauMonitor!=null)
+                m_tableauMonitor.processGroundDisjunctionFinished(groundDisjunction);
+            hasChange=true;
+        }
+        return hasChange;
+    }
+    protected int findOpenDisjunct(GroundDisjunction groundDisjunction,int exclude1,int exclude2) {
+        for (int disjunctIndex=0;disjunctIndex<groundDisjunction.getNumberOfDisjuncts();disjunctIndex++)
+            if (disjunctIndex!=exclude1 && disjunctIndex!=exclude2 && !isRefuted(groundDisjunction,disjunctIndex))
+                return disjunctIndex;
+        return -1;
+    }
+    protected boolean isRefuted(GroundDisjunction groundDisjunction,int disjunctIndex) {
+        DLPredicate dlPredicate=groundDisjunction.getDLPredicate(disjunctIndex);
+        return dlPredicate instanceof AtomicConcept && m_extensionManager.containsConceptAssertion(AtomicNegationConcept.create((AtomicConcept)dlPredicate),groundDisjunction.getArgument(disjunctIndex,0).getCanonicalNode());
+    }
+    protected void setWatch(WatchedGroundDisjunction watchedGroundDisjunction,int watchPosition,int disjunctIndex) {
+        GroundDisjunction groundDisjunction=watchedGroundDisjunction.m_groundDisjunction;
+        Node node=groundDisjunction.getArgument(disjunctIndex,0).getCanonicalNode();
+        watchedGroundDisjunction.m_watchedDisjuncts[watchPosition]=disjunctIndex;
+        watchedGroundDisjunction.m_watchedNodes[watchPosition]=node;
+        DLPredicate dlPredicate=groundDisjunction.getDLPredicate(disjunctIndex);
+        if (dlPredicate instanceof AtomicConcept) {
+            AtomicConcept atomicConcept=(AtomicConcept)dlPredicate;
+            getWatches(atomicConcept,node).add(watchedGroundDisjunction);
+            getWatches(AtomicNegationConcept.create(atomicConcept),node).add(watchedGroundDisjunction);
+        }
+    }
+    protected void removeWatch(WatchedGroundDisjunction watchedGroundDisjunction,int watchPosition,Concept notifiedConcept) {
+        // the watch has already been removed from the list of notifiedConcept
+        GroundDisjunction groundDisjunction=watchedGroundDisjunction.m_groundDisjunction;
+        AtomicConcept atomicConcept=(AtomicConcept)groundDisjunction.getDLPredicate(watchedGroundDisjunction.m_watchedDisjuncts[watchPosition]);
+        Concept otherConcept=(notifiedConcept==atomicConcept ? AtomicNegationConcept.create(atomicConcept) : atomicConcept);
+        Node node=watchedGroundDisjunction.m_watchedNodes[watchPosition];
+        Map<Node,List<WatchedGroundDisjunction>> watchesByNode=m_watches.get(otherConcept);
+        if (watchesByNode!=null) {
+            List<WatchedGroundDisjunction> watches=watchesByNode.get(node);
+            if (watches!=null) {
+                for (int index=watches.size()-1;index>=0;--index)
+                    if (watches.get(index)==watchedGroundDisjunction) {
+                        removeLast(watches,index);
+                        break;
+                    }
+                if (watches.isEmpty())
+                    watchesByNode.remove(node);
+            }
+        }
+    }
+    protected List<WatchedGroundDisjunction> getWatches(Concept concept,Node node) {
+        Map<Node,List<WatchedGroundDisjunction>> watchesByNode=m_watches.get(concept);
+        if (watchesByNode==null) {
+            watchesByNode=new IdentityHashMap<>();
+            m_watches.put(concept,watchesByNode);
+        }
+        List<WatchedGroundDisjunction> watches=watchesByNode.get(node);
+        if (watches==null) {
+            watches=new ArrayList<>(2);
+            watchesByNode.put(node,watches);
+        }
+        return watches;
+    }
+    protected static void removeLast(List<WatchedGroundDisjunction> watches,int index) {
+        // the order of the watches is irrelevant, so the element is replaced by the last one
+        int lastIndex=watches.size()-1;
+        watches.set(index,watches.get(lastIndex));
+        watches.remove(lastIndex);
+    }
+
+    protected static final class WatchedGroundDisjunction implements Serializable {
+        private static final long serialVersionUID=2914420667342061519L;
+
+        protected final GroundDisjunction m_groundDisjunction;
+        protected final int[] m_watchedDisjuncts;
+        protected final Node[] m_watchedNodes;
+
+        public WatchedGroundDisjunction(GroundDisjunction groundDisjunction) {
+            m_groundDisjunction=groundDisjunction;
+            m_watchedDisjuncts=new int[] { -1,-1 };
+            m_watchedNodes=new Node[2];
+        }
+    }
+}
@@ -45,8 +45,7 @@ public final class DisjunctionBranchingPoint extends BranchingPoint {
     }
     @Override
     public void startNextChoice(Tableau tableau,DependencySet clashDependencySet) {
-        if (tableau.m_useDisjunctionLearning)
-            m_groundDisjunction.getGroundDisjunctionHeader().increaseNumberOfBacktrackings(m_sortedDisjunctIndexes[m_currentIndex]);
+        tableau.m_disjunctionSelectionStrategy.disjunctFailed(m_groundDisjunction,m_sortedDisjunctIndexes[m_currentIndex]);
         m_currentIndex++;
         assert m_currentIndex<m_groundDisjunction.getNumberOfDisjuncts();
         int currentDisjunctIndex=m_sortedDisjunctIndexes[m_currentIndex];
@@ -64,6 +63,8 @@ public final class DisjunctionBranchingPoint extends BranchingPoint {
                 tableau.m_extensionManager.addConceptAssertion(((AtomicConcept)dlPredicate).getNegation(),m_groundDisjunction.getArgument(previousDisjunctIndex,0),dependencySet,false);
         }
         m_groundDisjunction.addDisjunctToTableau(tableau,currentDisjunctIndex,dependencySet);
+        if (tableau.m_nogoodManager!=null)
+            tableau.m_nogoodManager.disjunctAdded(m_groundDisjunction,currentDisjunctIndex);
         if (tableau.m_tableauMonitor!=null)
             tableau.m_tableauMonitor.disjunctProcessingFinished(m_groundDisjunction,currentDisjunctIndex);
     }
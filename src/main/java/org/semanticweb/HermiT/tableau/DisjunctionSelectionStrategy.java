@@ -0,0 +1,49 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.io.Serializable;
+
+/**
+ * Determines which ground disjunction the tableau processes next and in which order the disjuncts of a ground
+ * disjunction are tried. Each tableau uses its own instance.
+ */
+public interface DisjunctionSelectionStrategy extends Serializable {
+    /**
+     * Chooses the ground disjunction that is processed next. The chosen ground disjunction must be one of the
+     * unprocessed ground disjunctions, that is, it must be reachable from tableau.getFirstUnprocessedGroundDisjunction()
+     * via getPreviousGroundDisjunction() and must not be processed. The method is called only if there is such a
+     * ground disjunction.
+     *
+     * @param tableau the tableau
+     * @return the ground disjunction that is processed next
+     */
+    GroundDisjunction getNextGroundDisjunction(Tableau tableau);
+    /**
+     * @param groundDisjunction a ground disjunction that is about to be processed
+     * @return the indexes of the disjuncts of the ground disjunction in the order in which they are tried
+     */
+    int[] getSortedDisjunctIndexes(GroundDisjunction groundDisjunction);
+    /**
+     * Called when the tableau backtracks a choice of a disjunct because it led to a clash.
+     *
+     * @param groundDisjunction the ground disjunction
+     * @param disjunctIndex the index of the disjunct that led to a clash
+     */
+    void disjunctFailed(GroundDisjunction groundDisjunction,int disjunctIndex);
+}
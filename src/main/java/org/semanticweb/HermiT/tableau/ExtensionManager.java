@@ -56,6 +56,7 @@ public final class ExtensionManager implements Serializable {
     protected final Object[] m_fouraryAuxiliaryTupleAdd;
     protected PermanentDependencySet m_clashDependencySet;
     protected boolean m_addActive;
+    protected int[] m_dictionarySizesByBranchingPoint;
 
     /**
      * @param tableau tableau
@@ -68,8 +69,8 @@ public final class ExtensionManager implements Serializable {
         m_binaryExtensionTable=
             new ExtensionTableWithTupleIndexes(m_tableau,2,!m_tableau.isDeterministic(),
                 new TupleIndex[] {
-                    new TupleIndex(new int[] { 1,0 }),
-                    new TupleIndex(new int[] { 0,1 })
+                    createTupleIndex(new int[] { 1,0 }),
+                    createTupleIndex(new int[] { 0,1 })
                 }
             ) {
                 private static final long serialVersionUID=1462821385000191875L;
@@ -87,9 +88,9 @@ public final class ExtensionManager implements Serializable {
         m_ternaryExtensionTable=
             new ExtensionTableWithTupleIndexes(m_tableau,3,!m_tableau.isDeterministic(),
                 new TupleIndex[] {
-                    new TupleIndex(new int[] { 0,1,2 }),
-                    new TupleIndex(new int[] { 1,2,0 }),
-                    new TupleIndex(new int[] { 2,0,1 })
+                    createTupleIndex(new int[] { 0,1,2 }),
+                    createTupleIndex(new int[] { 1,2,0 }),
+                    createTupleIndex(new int[] { 2,0,1 })
                 }
             ) {
                 private static final long serialVersionUID=-731201626401421877L;
@@ -118,6 +119,13 @@ public final class ExtensionManager implements Serializable {
         m_ternaryAuxiliaryTupleAdd=new Object[3];
         m_fouraryAuxiliaryTupleContains=new Object[4];
         m_fouraryAuxiliaryTupleAdd=new Object[4];
+        m_dictionarySizesByBranchingPoint=new int[2];
+    }
+    protected TupleIndex createTupleIndex(int[] indexingSequence) {
+        if (m_tableau.m_useHashTupleIndexes)
+            return new HashTupleIndex(indexingSequence);
+        else
+            return new TrieTupleIndex(indexingSequence,m_tableau.m_useOffHeapStorage ? m_tableau.m_objectDictionary : null);
     }
     /**
      * Clear.
@@ -152,6 +160,15 @@ public final class ExtensionManager implements Serializable {
     public void branchingPointPushed() {
         for (int index=m_allExtensionTablesArray.length-1;index>=0;--index)
             m_allExtensionTablesArray[index].branchingPointPushed();
+        if (m_tableau.m_objectDictionary!=null) {
+            int level=m_tableau.getCurrentBranchingPoint().m_level;
+            if (level>=m_dictionarySizesByBranchingPoint.length) {
+                int[] newDictionarySizesByBranchingPoint=new int[level*3/2+2];
+                System.arraycopy(m_dictionarySizesByBranchingPoint,0,newDictionarySizesByBranchingPoint,0,m_dictionarySizesByBranchingPoint.length);
+                m_dictionarySizesByBranchingPoint=newDictionarySizesByBranchingPoint;
+            }
+            m_dictionarySizesByBranchingPoint[level]=m_tableau.m_objectDictionary.getFirstFreeID();
+        }
     }
     /**
      * Backtrack.
@@ -159,6 +176,9 @@ public final class ExtensionManager implements Serializable {
     public void backtrack() {
         for (int index=m_allExtensionTablesArray.length-1;index>=0;--index)
             m_allExtensionTablesArray[index].backtrack();
+        // The objects that got their IDs after the branching point occur only in the tuples that have just been removed.
+        if (m_tableau.m_objectDictionary!=null)
+            m_tableau.m_objectDictionary.truncate(m_dictionarySizesByBranchingPoint[m_tableau.getCurrentBranchingPoint().m_level]);
     }
     /**
      * @return binary extension table
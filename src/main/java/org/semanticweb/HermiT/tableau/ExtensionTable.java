@@ -74,7 +74,7 @@ public abstract class ExtensionTable implements Serializable {
         m_tableau=tableau;
         m_tableauMonitor=m_tableau.m_tableauMonitor;
         m_tupleArity=tupleArity;
-        m_tupleTable=new TupleTable(m_tupleArity+(needsDependencySets ? 1 : 0));
+        m_tupleTable=new TupleTable(m_tupleArity+(needsDependencySets ? 1 : 0),m_tableau.m_objectDictionary,m_tableau.m_useOffHeapStorage);
         m_dependencySetManager=needsDependencySets ? new LastObjectDependencySetManager(this) : new DeterministicDependencySetManager(this);
         if (m_tupleArity==2)
             m_coreManager=new RealCoreManager();
@@ -144,6 +144,8 @@ public abstract class ExtensionTable implements Serializable {
             else if (dlPredicateObject instanceof AtomicNegationConcept)
                 node.m_numberOfNegatedAtomicConcepts++;
             m_tableau.m_existentialExpansionStrategy.assertionAdded((Concept)dlPredicateObject,node,isCore);
+            if (m_tableau.m_disjunctWatchManager!=null)
+                m_tableau.m_disjunctWatchManager.conceptAssertionAdded((Concept)dlPredicateObject,node);
         }
         else if (dlPredicateObject instanceof AtomicRole)
             m_tableau.m_existentialExpansionStrategy.assertionAdded((AtomicRole)dlPredicateObject,(Node)tuple[1],(Node)tuple[2],isCore);
@@ -33,6 +33,7 @@ public final class GroundDisjunction implements Serializable {
     protected PermanentDependencySet m_dependencySet;
     protected GroundDisjunction m_previousGroundDisjunction;
     protected GroundDisjunction m_nextGroundDisjunction;
+    protected boolean m_isProcessed;
 
     /**
      * @param tableau tableau
@@ -60,6 +61,13 @@ public final class GroundDisjunction implements Serializable {
     public GroundDisjunction getNextGroundDisjunction() {
         return m_nextGroundDisjunction;
     }
+    /**
+     * @return true if the ground disjunction has been processed ahead of the first unprocessed ground disjunction, or
+     *         has been processed at all if disjuncts are watched
+     */
+    public boolean isProcessed() {
+        return m_isProcessed;
+    }
     /**
      * @param tableau tableau
      */
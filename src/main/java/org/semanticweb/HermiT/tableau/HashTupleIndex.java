@@ -0,0 +1,309 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+/**
+ * A tuple index based on open-addressing hash tables. For each prefix length of the
+ * indexing sequence, a hash table with linear probing maps each distinct prefix to the
+ * first entry with that prefix; the entries sharing a prefix are kept in a doubly-linked
+ * list, so a prefix lookup is a single hash lookup and removing a tuple does not require
+ * walking the sibling lists of a trie. The table for the full indexing sequence maps each
+ * tuple directly to its entry.
+ * @see TrieTupleIndex
+ */
+final class HashTupleIndex extends TupleIndex {
+    private static final long serialVersionUID=7094385208113549374L;
+
+    protected static final float LOAD_FACTOR=0.5f;
+    protected static final int SLOT_OFFSET=1;
+    protected static final int INITIAL_NUMBER_OF_ENTRIES=512;
+    protected static final int MAXIMAL_ARRAY_LENGTH=Integer.MAX_VALUE-8;
+    protected static final int ENTRY_TUPLE_INDEX=0;
+
+    protected final int m_arity;
+    protected final int m_entrySize;
+    protected final int[][] m_slotsByPrefixLength;
+    protected final int[] m_numberOfUsedSlots;
+    protected final int[] m_resizeThresholds;
+    protected final int[] m_hashCodes;
+    protected int[] m_entries;
+    protected Object[] m_entryObjects;
+    protected int m_numberOfEntries;
+    protected int m_firstFreeEntry;
+    protected int m_firstEntry;
+
+    public HashTupleIndex(int[] indexingSequence) {
+        super(indexingSequence);
+        m_arity=m_indexingSequence.length;
+        // the tuple index, the previous and the next entry for each prefix length below the arity, and the hash code of each nonempty prefix
+        m_entrySize=1+3*m_arity;
+        m_slotsByPrefixLength=new int[m_arity+1][];
+        m_numberOfUsedSlots=new int[m_arity+1];
+        m_resizeThresholds=new int[m_arity+1];
+        m_hashCodes=new int[m_arity+1];
+        clear();
+    }
+    @Override
+    public int sizeInMemoy() {
+        int size=m_entries.length*4+m_entryObjects.length*4;
+        for (int prefixLength=1;prefixLength<=m_arity;prefixLength++)
+            size+=m_slotsByPrefixLength[prefixLength].length*4;
+        return size;
+    }
+    @Override
+    public void clear() {
+        for (int prefixLength=1;prefixLength<=m_arity;prefixLength++) {
+            m_slotsByPrefixLength[prefixLength]=new int[16];
+            m_numberOfUsedSlots[prefixLength]=0;
+            m_resizeThresholds[prefixLength]=(int)(16*LOAD_FACTOR);
+        }
+        m_entries=new int[m_entrySize*INITIAL_NUMBER_OF_ENTRIES];
+        m_entryObjects=new Object[m_arity*INITIAL_NUMBER_OF_ENTRIES];
+        m_numberOfEntries=0;
+        m_firstFreeEntry=-1;
+        m_firstEntry=-1;
+    }
+    @Override
+    public int addTuple(Object[] tuple,int potentialTupleIndex) {
+        computeHashCodes(tuple,m_indexingSequence,m_arity);
+        int tupleSlot=getSlot(m_arity,m_hashCodes[m_arity],tuple,m_indexingSequence);
+        if (m_slotsByPrefixLength[m_arity][tupleSlot]!=0)
+            return m_entries[(m_slotsByPrefixLength[m_arity][tupleSlot]-SLOT_OFFSET)*m_entrySize+ENTRY_TUPLE_INDEX];
+        int entry=newEntry();
+        int entryStart=entry*m_entrySize;
+        int objectsStart=entry*m_arity;
+        m_entries[entryStart+ENTRY_TUPLE_INDEX]=potentialTupleIndex;
+        for (int position=0;position<m_arity;position++) {
+            m_entryObjects[objectsStart+position]=tuple[m_indexingSequence[position]];
+            m_entries[entryStart+getHashCodeComponent(position+1)]=m_hashCodes[position+1];
+        }
+        linkEntry(entry,0,m_firstEntry);
+        m_firstEntry=entry;
+        for (int prefixLength=1;prefixLength<m_arity;prefixLength++) {
+            int slot=getSlot(prefixLength,m_hashCodes[prefixLength],tuple,m_indexingSequence);
+            int[] slots=m_slotsByPrefixLength[prefixLength];
+            if (slots[slot]==0) {
+                linkEntry(entry,prefixLength,-1);
+                addSlot(prefixLength,slot,entry);
+            }
+            else {
+                linkEntry(entry,prefixLength,slots[slot]-SLOT_OFFSET);
+                slots[slot]=entry+SLOT_OFFSET;
+            }
+        }
+        // the table for the full tuples is not affected by the insertions above
+        addSlot(m_arity,tupleSlot,entry);
+        return potentialTupleIndex;
+    }
+    @Override
+    public int getTupleIndex(Object[] tuple) {
+        computeHashCodes(tuple,m_indexingSequence,m_arity);
+        int entry=m_slotsByPrefixLength[m_arity][getSlot(m_arity,m_hashCodes[m_arity],tuple,m_indexingSequence)]-SLOT_OFFSET;
+        if (entry==-1)
+            return -1;
+        else
+            return m_entries[entry*m_entrySize+ENTRY_TUPLE_INDEX];
+    }
+    @Override
+    public int removeTuple(Object[] tuple) {
+        computeHashCodes(tuple,m_indexingSequence,m_arity);
+        int slot=getSlot(m_arity,m_hashCodes[m_arity],tuple,m_indexingSequence);
+        int entry=m_slotsByPrefixLength[m_arity][slot]-SLOT_OFFSET;
+        if (entry==-1)
+            return -1;
+        int entryStart=entry*m_entrySize;
+        int tupleIndex=m_entries[entryStart+ENTRY_TUPLE_INDEX];
+        removeSlot(m_arity,slot);
+        for (int prefixLength=1;prefixLength<m_arity;prefixLength++) {
+            int previousEntry=m_entries[entryStart+getPreviousComponent(prefixLength)];
+            int nextEntry=m_entries[entryStart+getNextComponent(prefixLength)];
+            if (previousEntry==-1) {
+                slot=getSlot(prefixLength,m_hashCodes[prefixLength],tuple,m_indexingSequence);
+                if (nextEntry==-1)
+                    removeSlot(prefixLength,slot);
+                else
+                    m_slotsByPrefixLength[prefixLength][slot]=nextEntry+SLOT_OFFSET;
+            }
+            unlinkEntry(entry,prefixLength);
+        }
+        if (m_entries[entryStart+getPreviousComponent(0)]==-1)
+            m_firstEntry=m_entries[entryStart+getNextComponent(0)];
+        unlinkEntry(entry,0);
+        deleteEntry(entry);
+        return tupleIndex;
+    }
+    @Override
+    protected int openCursor(Object[] bindingsBuffer,int[] selectionIndices) {
+        int prefixLength=selectionIndices.length;
+        if (prefixLength==0)
+            return m_firstEntry;
+        computeHashCodes(bindingsBuffer,selectionIndices,prefixLength);
+        return m_slotsByPrefixLength[prefixLength][getSlot(prefixLength,m_hashCodes[prefixLength],bindingsBuffer,selectionIndices)]-SLOT_OFFSET;
+    }
+    @Override
+    protected int nextCursor(int entry,int selectionIndicesLength) {
+        if (selectionIndicesLength==m_arity)
+            return -1;
+        else
+            return m_entries[entry*m_entrySize+getNextComponent(selectionIndicesLength)];
+    }
+    @Override
+    protected int getCursorTupleIndex(int entry) {
+        return m_entries[entry*m_entrySize+ENTRY_TUPLE_INDEX];
+    }
+    protected void computeHashCodes(Object[] buffer,int[] positions,int prefixLength) {
+        int hashCode=0;
+        for (int position=0;position<prefixLength;position++) {
+            hashCode=hashCode*31+buffer[positions[position]].hashCode();
+            m_hashCodes[position+1]=hashCode;
+        }
+    }
+    /**
+     * Returns the slot of the table for the given prefix length that either holds the entry
+     * with the given prefix, or that is empty and where such an entry should be inserted.
+     */
+    protected int getSlot(int prefixLength,int hashCode,Object[] buffer,int[] positions) {
+        int[] slots=m_slotsByPrefixLength[prefixLength];
+        int slotsLengthMinusOne=slots.length-1;
+        int hashCodeComponent=getHashCodeComponent(prefixLength);
+        int slot=getIndexFor(hashCode,slotsLengthMinusOne);
+        int entry=slots[slot]-SLOT_OFFSET;
+        while (entry!=-1) {
+            if (m_entries[entry*m_entrySize+hashCodeComponent]==hashCode && prefixEquals(entry,prefixLength,buffer,positions))
+                return slot;
+            slot=(slot+1) & slotsLengthMinusOne;
+            entry=slots[slot]-SLOT_OFFSET;
+        }
+        return slot;
+    }
+    protected boolean prefixEquals(int entry,int prefixLength,Object[] buffer,int[] positions) {
+        int objectsStart=entry*m_arity;
+        for (int position=0;position<prefixLength;position++)
+            if (!buffer[positions[position]].equals(m_entryObjects[objectsStart+position]))
+                return false;
+        return true;
+    }
+    protected void addSlot(int prefixLength,int slot,int entry) {
+        m_slotsByPrefixLength[prefixLength][slot]=entry+SLOT_OFFSET;
+        m_numberOfUsedSlots[prefixLength]++;
+        if (m_numberOfUsedSlots[prefixLength]>=m_resizeThresholds[prefixLength])
+            resizeSlots(prefixLength);
+    }
+    protected void removeSlot(int prefixLength,int slot) {
+        // backward-shift deletion keeps the probe sequences intact without tombstones
+        int[] slots=m_slotsByPrefixLength[prefixLength];
+        int slotsLengthMinusOne=slots.length-1;
+        int hashCodeComponent=getHashCodeComponent(prefixLength);
+        int emptySlot=slot;
+        int currentSlot=slot;
+        while (true) {
+            currentSlot=(currentSlot+1) & slotsLengthMinusOne;
+            int entry=slots[currentSlot]-SLOT_OFFSET;
+            if (entry==-1)
+                break;
+            int homeSlot=getIndexFor(m_entries[entry*m_entrySize+hashCodeComponent],slotsLengthMinusOne);
+            boolean canMove;
+            if (emptySlot<=currentSlot)
+                canMove=(homeSlot<=emptySlot || homeSlot>currentSlot);
+            else
+                canMove=(homeSlot<=emptySlot && homeSlot>currentSlot);
+            if (canMove) {
+                slots[emptySlot]=slots[currentSlot];
+                emptySlot=currentSlot;
+            }
+        }
+        slots[emptySlot]=0;
+        m_numberOfUsedSlots[prefixLength]--;
+    }
+    protected void resizeSlots(int prefixLength) {
+        int[] slots=m_slotsByPrefixLength[prefixLength];
+        if (slots.length==0x40000000)
+            m_resizeThresholds[prefixLength]=Integer.MAX_VALUE;
+        else {
+            int[] newSlots=new int[slots.length*2];
+            int newSlotsLengthMinusOne=newSlots.length-1;
+            int hashCodeComponent=getHashCodeComponent(prefixLength);
+            for (int slot=slots.length-1;slot>=0;--slot) {
+                int entry=slots[slot]-SLOT_OFFSET;
+                if (entry!=-1) {
+                    int newSlot=getIndexFor(m_entries[entry*m_entrySize+hashCodeComponent],newSlotsLengthMinusOne);
+                    while (newSlots[newSlot]!=0)
+                        newSlot=(newSlot+1) & newSlotsLengthMinusOne;
+                    newSlots[newSlot]=entry+SLOT_OFFSET;
+                }
+            }
+            m_slotsByPrefixLength[prefixLength]=newSlots;
+            m_resizeThresholds[prefixLength]=(int)(newSlots.length*LOAD_FACTOR);
+        }
+    }
+    protected void linkEntry(int entry,int prefixLength,int nextEntry) {
+        m_entries[entry*m_entrySize+getPreviousComponent(prefixLength)]=-1;
+        m_entries[entry*m_entrySize+getNextComponent(prefixLength)]=nextEntry;
+        if (nextEntry!=-1)
+            m_entries[nextEntry*m_entrySize+getPreviousComponent(prefixLength)]=entry;
+    }
+    protected void unlinkEntry(int entry,int prefixLength) {
+        int previousEntry=m_entries[entry*m_entrySize+getPreviousComponent(prefixLength)];
+        int nextEntry=m_entries[entry*m_entrySize+getNextComponent(prefixLength)];
+        if (previousEntry!=-1)
+            m_entries[previousEntry*m_entrySize+getNextComponent(prefixLength)]=nextEntry;
+        if (nextEntry!=-1)
+            m_entries[nextEntry*m_entrySize+getPreviousComponent(prefixLength)]=previousEntry;
+    }
+    protected int newEntry() {
+        int entry;
+        if (m_firstFreeEntry!=-1) {
+            entry=m_firstFreeEntry;
+            m_firstFreeEntry=m_entries[entry*m_entrySize+ENTRY_TUPLE_INDEX];
+        }
+        else {
+            entry=m_numberOfEntries++;
+            if (entry*m_entrySize>=m_entries.length) {
+                // The number of entries is doubled, so each entry is copied a constant number of times on average.
+                int numberOfEntries=m_entries.length/m_entrySize;
+                int maximalNumberOfEntries=MAXIMAL_ARRAY_LENGTH/m_entrySize;
+                if (numberOfEntries>=maximalNumberOfEntries)
+                    throw new OutOfMemoryError("The space of entries in TupleIndex was exhausted: the ontology is just too large.");
+                int newNumberOfEntries=(numberOfEntries>maximalNumberOfEntries/2 ? maximalNumberOfEntries : numberOfEntries*2);
+                int[] newEntries=new int[newNumberOfEntries*m_entrySize];
+                System.arraycopy(m_entries,0,newEntries,0,m_entries.length);
+                m_entries=newEntries;
+                Object[] newEntryObjects=new Object[newNumberOfEntries*m_arity];
+                System.arraycopy(m_entryObjects,0,newEntryObjects,0,m_entryObjects.length);
+                m_entryObjects=newEntryObjects;
+            }
+        }
+        return entry;
+    }
+    protected void deleteEntry(int entry) {
+        int objectsStart=entry*m_arity;
+        for (int position=0;position<m_arity;position++)
+            m_entryObjects[objectsStart+position]=null;
+        m_entries[entry*m_entrySize+ENTRY_TUPLE_INDEX]=m_firstFreeEntry;
+        m_firstFreeEntry=entry;
+    }
+    protected static int getPreviousComponent(int prefixLength) {
+        return 1+2*prefixLength;
+    }
+    protected static int getNextComponent(int prefixLength) {
+        return 2+2*prefixLength;
+    }
+    protected int getHashCodeComponent(int prefixLength) {
+        return 2*m_arity+prefixLength;
+    }
+}
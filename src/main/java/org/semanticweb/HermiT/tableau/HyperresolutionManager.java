@@ -43,6 +43,7 @@ import org.semanticweb.HermiT.model.Variable;
 public final class HyperresolutionManager implements Serializable {
     private static final long serialVersionUID=-4880817508962130189L;
 
+    protected final transient DLClauseProgramGenerator m_programGenerator;
     protected final ExtensionManager m_extensionManager;
     protected final ExtensionTable.Retrieval[] m_deltaOldRetrievals;
     protected final ExtensionTable.Retrieval m_binaryTableRetrieval;
@@ -59,89 +60,76 @@ public final class HyperresolutionManager implements Serializable {
      * @param tableau tableau
      * @param dlClauses dlClauses
      */
-    public HyperresolutionManager(Tableau tableau,Collection<DLClause> dlClauses) {
-        InterruptFlag interruptFlag=tableau.m_interruptFlag;
-        m_extensionManager=tableau.m_extensionManager;
+    public HyperresolutionManager(Tableau tableau,Collection<DLClause> dlClauses) {
+        this(tableau,new HyperresolutionProgram(dlClauses,tableau.m_interruptFlag,getProgramGenerator(tableau)));
+    }
+    /**
+     * @param tableau tableau
+     * @param program the compiled DL-clauses, which can be shared with other tableaux
+     */
+    public HyperresolutionManager(Tableau tableau,HyperresolutionProgram program) {
+        InterruptFlag interruptFlag=tableau.m_interruptFlag;
+        m_programGenerator=program.m_programGenerator;
+        m_extensionManager=tableau.m_extensionManager;
         m_tupleConsumersByDeltaPredicate=new HashMap<>();
         m_atomicRoleTupleConsumersUnguarded=new HashMap<>();
         m_atomicRoleTupleConsumersByGuardConcept1=new HashMap<>();
         m_atomicRoleTupleConsumersByGuardConcept2=new HashMap<>();
-        // Index DL clauses by body
-        Map<DLClauseBodyKey,List<DLClause>> dlClausesByBody=new HashMap<>();
-        for (DLClause dlClause : dlClauses) {
-            DLClauseBodyKey key=new DLClauseBodyKey(dlClause);
-            List<DLClause> dlClausesForKey=dlClausesByBody.get(key);
-            if (dlClausesForKey==null) {
-                dlClausesForKey=new ArrayList<>();
-                dlClausesByBody.put(key,dlClausesForKey);
-            }
-            dlClausesForKey.add(dlClause);
-            interruptFlag.checkInterrupt();
-        }
-        // Compile the DL clauses
+        // Create the evaluators of the DL clauses
         Map<Integer,ExtensionTable.Retrieval> retrievalsByArity=new HashMap<>();
         DLClauseEvaluator.BufferSupply bufferSupply=new DLClauseEvaluator.BufferSupply();
         Map<Term,Node> noTermsToNodes=Collections.emptyMap();
-        DLClauseEvaluator.ValuesBufferManager valuesBufferManager=new DLClauseEvaluator.ValuesBufferManager(dlClauses,noTermsToNodes);
+        DLClauseEvaluator.ValuesBufferManager valuesBufferManager=new DLClauseEvaluator.ValuesBufferManager(program.m_valuesBufferLayout,noTermsToNodes);
         DLClauseEvaluator.GroundDisjunctionHeaderManager groundDisjunctionHeaderManager=new DLClauseEvaluator.GroundDisjunctionHeaderManager();
-        Map<Integer,UnionDependencySet> unionDependencySetsBySize=new HashMap<>();
-        ArrayList<Atom> guardingAtomicConceptAtoms1=new ArrayList<>();
-        ArrayList<Atom> guardingAtomicConceptAtoms2=new ArrayList<>();
-        for (Map.Entry<DLClauseBodyKey,List<DLClause>> entry : dlClausesByBody.entrySet()) {
-            DLClause bodyDLClause=entry.getKey().m_dlClause;
-            BodyAtomsSwapper bodyAtomsSwapper=new BodyAtomsSwapper(bodyDLClause);
-            for (int bodyAtomIndex=0;bodyAtomIndex<bodyDLClause.getBodyLength();++bodyAtomIndex)
-                if (isPredicateWithExtension(bodyDLClause.getBodyAtom(bodyAtomIndex).getDLPredicate())) {
-                    DLClause swappedDLClause=bodyAtomsSwapper.getSwappedDLClause(bodyAtomIndex);
-                    Atom deltaAtom=swappedDLClause.getBodyAtom(0);
-                    DLPredicate deltaDLPredicate=deltaAtom.getDLPredicate();
-                    Integer arity=Integer.valueOf(deltaDLPredicate.getArity()+1);
-                    ExtensionTable.Retrieval firstTableRetrieval=retrievalsByArity.get(arity);
-                    if (firstTableRetrieval==null) {
-                        ExtensionTable extensionTable=m_extensionManager.getExtensionTable(arity.intValue());
-                        firstTableRetrieval=extensionTable.createRetrieval(new boolean[extensionTable.getArity()],ExtensionTable.View.DELTA_OLD);
-                        retrievalsByArity.put(arity,firstTableRetrieval);
+        Map<Integer,UnionDependencySet> unionDependencySetsBySize=new HashMap<>();
+        DLClauseProgramGenerator programGenerator=(tableau.m_useGeneratedClauseEvaluators ? m_programGenerator : null);
+        for (HyperresolutionProgram.Rule rule : program.m_rules) {
+            DLPredicate deltaDLPredicate=rule.m_deltaDLPredicate;
+            Integer arity=Integer.valueOf(deltaDLPredicate.getArity()+1);
+            ExtensionTable.Retrieval firstTableRetrieval=retrievalsByArity.get(arity);
+            if (firstTableRetrieval==null) {
+                ExtensionTable extensionTable=m_extensionManager.getExtensionTable(arity.intValue());
+                firstTableRetrieval=extensionTable.createRetrieval(new boolean[extensionTable.getArity()],ExtensionTable.View.DELTA_OLD);
+                retrievalsByArity.put(arity,firstTableRetrieval);
+            }
+            DLClauseEvaluator evaluator=new DLClauseEvaluator(tableau,rule.m_swappedDLClause,rule.m_headDLClauses,firstTableRetrieval,bufferSupply,valuesBufferManager,groundDisjunctionHeaderManager,unionDependencySetsBySize);
+            if (programGenerator!=null)
+                evaluator.generateProgram(programGenerator);
+            CompiledDLClauseInfo normalTupleConsumer=new CompiledDLClauseInfo(evaluator,m_tupleConsumersByDeltaPredicate.get(deltaDLPredicate));
+            m_tupleConsumersByDeltaPredicate.put(deltaDLPredicate,normalTupleConsumer);
+            AtomicRole deltaAtomicRole=rule.m_deltaAtomicRole;
+            if (deltaAtomicRole!=null) {
+                if (rule.m_guardConcepts1.length!=0) {
+                    Map<AtomicConcept,CompiledDLClauseInfo> compiledDLClauseInfos=m_atomicRoleTupleConsumersByGuardConcept1.get(deltaAtomicRole);
+                    if (compiledDLClauseInfos==null) {
+                        compiledDLClauseInfos=new HashMap<>();
+                        m_atomicRoleTupleConsumersByGuardConcept1.put(deltaAtomicRole,compiledDLClauseInfos);
                     }
-                    DLClauseEvaluator evaluator=new DLClauseEvaluator(tableau,swappedDLClause,entry.getValue(),firstTableRetrieval,bufferSupply,valuesBufferManager,groundDisjunctionHeaderManager,unionDependencySetsBySize);
-                    CompiledDLClauseInfo normalTupleConsumer=new CompiledDLClauseInfo(evaluator,m_tupleConsumersByDeltaPredicate.get(deltaDLPredicate));
-                    m_tupleConsumersByDeltaPredicate.put(deltaDLPredicate,normalTupleConsumer);
-                    if (deltaDLPredicate instanceof AtomicRole && deltaAtom.getArgument(0) instanceof Variable && deltaAtom.getArgument(1) instanceof Variable) {
-                        AtomicRole deltaAtomicRole=(AtomicRole)deltaDLPredicate;
-                        getAtomicRoleClauseGuards(swappedDLClause,guardingAtomicConceptAtoms1,guardingAtomicConceptAtoms2);
-                        if (!guardingAtomicConceptAtoms1.isEmpty()) {
-                            Map<AtomicConcept,CompiledDLClauseInfo> compiledDLClauseInfos=m_atomicRoleTupleConsumersByGuardConcept1.get(deltaAtomicRole);
-                            if (compiledDLClauseInfos==null) {
-                                compiledDLClauseInfos=new HashMap<>();
-                                m_atomicRoleTupleConsumersByGuardConcept1.put(deltaAtomicRole,compiledDLClauseInfos);
-                            }
-                            for (Atom guardingAtom : guardingAtomicConceptAtoms1) {
-                                AtomicConcept atomicConcept=(AtomicConcept)guardingAtom.getDLPredicate();
-                                CompiledDLClauseInfo optimizedTupleConsumer=new CompiledDLClauseInfo(evaluator,compiledDLClauseInfos.get(atomicConcept));
-                                compiledDLClauseInfos.put(atomicConcept,optimizedTupleConsumer);
-                            }
-                        }
-                        if (!guardingAtomicConceptAtoms2.isEmpty()) {
-                            Map<AtomicConcept,CompiledDLClauseInfo> compiledDLClauseInfos=m_atomicRoleTupleConsumersByGuardConcept2.get(deltaAtomicRole);
-                            if (compiledDLClauseInfos==null) {
-                                compiledDLClauseInfos=new HashMap<>();
-                                m_atomicRoleTupleConsumersByGuardConcept2.put(deltaAtomicRole,compiledDLClauseInfos);
-                            }
-                            for (Atom guardingAtom : guardingAtomicConceptAtoms2) {
-                                AtomicConcept atomicConcept=(AtomicConcept)guardingAtom.getDLPredicate();
-                                CompiledDLClauseInfo optimizedTupleConsumer=new CompiledDLClauseInfo(evaluator,compiledDLClauseInfos.get(atomicConcept));
-                                compiledDLClauseInfos.put(atomicConcept,optimizedTupleConsumer);
-                            }
-                        }
-                        if (guardingAtomicConceptAtoms1.isEmpty() && guardingAtomicConceptAtoms2.isEmpty()) {
-                            CompiledDLClauseInfo unguardedTupleConsumer=new CompiledDLClauseInfo(evaluator,m_atomicRoleTupleConsumersUnguarded.get(deltaAtomicRole));
-                            m_atomicRoleTupleConsumersUnguarded.put(deltaAtomicRole,unguardedTupleConsumer);
-                        }
+                    for (AtomicConcept atomicConcept : rule.m_guardConcepts1) {
+                        CompiledDLClauseInfo optimizedTupleConsumer=new CompiledDLClauseInfo(evaluator,compiledDLClauseInfos.get(atomicConcept));
+                        compiledDLClauseInfos.put(atomicConcept,optimizedTupleConsumer);
                     }
-                    bufferSupply.reuseBuffers();
-                    interruptFlag.checkInterrupt();
-                }
-        }
-        m_deltaOldRetrievals=new ExtensionTable.Retrieval[retrievalsByArity.size()];
+                }
+                if (rule.m_guardConcepts2.length!=0) {
+                    Map<AtomicConcept,CompiledDLClauseInfo> compiledDLClauseInfos=m_atomicRoleTupleConsumersByGuardConcept2.get(deltaAtomicRole);
+                    if (compiledDLClauseInfos==null) {
+                        compiledDLClauseInfos=new HashMap<>();
+                        m_atomicRoleTupleConsumersByGuardConcept2.put(deltaAtomicRole,compiledDLClauseInfos);
+                    }
+                    for (AtomicConcept atomicConcept : rule.m_guardConcepts2) {
+                        CompiledDLClauseInfo optimizedTupleConsumer=new CompiledDLClauseInfo(evaluator,compiledDLClauseInfos.get(atomicConcept));
+                        compiledDLClauseInfos.put(atomicConcept,optimizedTupleConsumer);
+                    }
+                }
+                if (rule.m_guardConcepts1.length==0 && rule.m_guardConcepts2.length==0) {
+                    CompiledDLClauseInfo unguardedTupleConsumer=new CompiledDLClauseInfo(evaluator,m_atomicRoleTupleConsumersUnguarded.get(deltaAtomicRole));
+                    m_atomicRoleTupleConsumersUnguarded.put(deltaAtomicRole,unguardedTupleConsumer);
+                }
+            }
+            bufferSupply.reuseBuffers();
+            interruptFlag.checkInterrupt();
+        }
+        m_deltaOldRetrievals=new ExtensionTable.Retrieval[retrievalsByArity.size()];
         retrievalsByArity.values().toArray(m_deltaOldRetrievals);
         m_binaryTableRetrieval=m_extensionManager.getExtensionTable(2).createRetrieval(new boolean[] { false,true },ExtensionTable.View.EXTENSION_THIS);
         m_buffersToClear=bufferSupply.getAllBuffers();
@@ -150,6 +138,13 @@ public final class HyperresolutionManager implements Serializable {
         m_valuesBuffer=valuesBufferManager.m_valuesBuffer;
         m_maxNumberOfVariables=valuesBufferManager.m_maxNumberOfVariables;
     }
+    protected static DLClauseProgramGenerator getProgramGenerator(Tableau tableau) {
+        // The classes generated for additional DL-clauses are shared with the classes for the permanent DL-clauses.
+        HyperresolutionManager permanentHyperresolutionManager=tableau.m_permanentHyperresolutionManager;
+        if (permanentHyperresolutionManager==null || permanentHyperresolutionManager.m_programGenerator==null)
+            return new DLClauseProgramGenerator();
+        return permanentHyperresolutionManager.m_programGenerator;
+    }
     protected static void getAtomicRoleClauseGuards(DLClause swappedDLClause,List<Atom> guardingAtomicConceptAtoms1,List<Atom> guardingAtomicConceptAtoms2) {
         guardingAtomicConceptAtoms1.clear();
         guardingAtomicConceptAtoms2.clear();
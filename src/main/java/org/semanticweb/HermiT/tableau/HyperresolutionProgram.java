@@ -0,0 +1,206 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicRole;
+import org.semanticweb.HermiT.model.DLClause;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.DLPredicate;
+import org.semanticweb.HermiT.model.Variable;
+
+/**
+ * The part of a hyperresolution manager that depends only on the DL-clauses: the DL-clauses indexed by body, the body
+ * of each DL-clause reordered for each body atom that can serve as the delta atom, the guard concepts of the DL-clauses
+ * whose delta atom is a role atom, and the layout of the values buffer. A program is immutable, so it is built once per
+ * DL-ontology and shared by all tableaux for the DL-ontology; only the evaluators, which bind the retrievals and buffers
+ * of a tableau, are created for each tableau. Programs are cached by the identity of the collection of DL-clauses, so
+ * DL-ontologies that differ only in the ABox but share the collection of DL-clauses also share the program. A program
+ * also owns the generator of the classes that execute its evaluators, so these classes are generated once per worker
+ * layout rather than once per tableau.
+ */
+public final class HyperresolutionProgram {
+    protected static final Map<DLClausesKey,HyperresolutionProgram> s_programsByDLClauses=new HashMap<>();
+    protected static final ReferenceQueue<Collection<DLClause>> s_referenceQueue=new ReferenceQueue<>();
+
+    protected final List<Rule> m_rules;
+    protected final DLClauseEvaluator.ValuesBufferLayout m_valuesBufferLayout;
+    protected final DLClauseProgramGenerator m_programGenerator;
+
+    /**
+     * @param dlClauses dlClauses
+     * @param interruptFlag interruptFlag
+     */
+    public HyperresolutionProgram(Collection<DLClause> dlClauses,InterruptFlag interruptFlag) {
+        this(dlClauses,interruptFlag,new DLClauseProgramGenerator());
+    }
+    /**
+     * @param dlClauses dlClauses
+     * @param interruptFlag interruptFlag
+     * @param programGenerator the generator of the classes for the evaluators, which can be shared with other programs
+     */
+    public HyperresolutionProgram(Collection<DLClause> dlClauses,InterruptFlag interruptFlag,DLClauseProgramGenerator programGenerator) {
+        // Index DL clauses by body
+        Map<HyperresolutionManager.DLClauseBodyKey,List<DLClause>> dlClausesByBody=new HashMap<>();
+        for (DLClause dlClause : dlClauses) {
+            HyperresolutionManager.DLClauseBodyKey key=new HyperresolutionManager.DLClauseBodyKey(dlClause);
+            List<DLClause> dlClausesForKey=dlClausesByBody.get(key);
+            if (dlClausesForKey==null) {
+                dlClausesForKey=new ArrayList<>();
+                dlClausesByBody.put(key,dlClausesForKey);
+            }
+            dlClausesForKey.add(dlClause);
+            interruptFlag.checkInterrupt();
+        }
+        // Reorder the bodies and compute the guards
+        List<Rule> rules=new ArrayList<>();
+        List<Atom> guardingAtomicConceptAtoms1=new ArrayList<>();
+        List<Atom> guardingAtomicConceptAtoms2=new ArrayList<>();
+        for (Map.Entry<HyperresolutionManager.DLClauseBodyKey,List<DLClause>> entry : dlClausesByBody.entrySet()) {
+            DLClause bodyDLClause=entry.getKey().m_dlClause;
+            List<DLClause> headDLClauses=Collections.unmodifiableList(entry.getValue());
+            HyperresolutionManager.BodyAtomsSwapper bodyAtomsSwapper=new HyperresolutionManager.BodyAtomsSwapper(bodyDLClause);
+            for (int bodyAtomIndex=0;bodyAtomIndex<bodyDLClause.getBodyLength();++bodyAtomIndex)
+                if (HyperresolutionManager.isPredicateWithExtension(bodyDLClause.getBodyAtom(bodyAtomIndex).getDLPredicate())) {
+                    DLClause swappedDLClause=bodyAtomsSwapper.getSwappedDLClause(bodyAtomIndex);
+                    Atom deltaAtom=swappedDLClause.getBodyAtom(0);
+                    DLPredicate deltaDLPredicate=deltaAtom.getDLPredicate();
+                    AtomicRole deltaAtomicRole=null;
+                    AtomicConcept[] guardConcepts1=null;
+                    AtomicConcept[] guardConcepts2=null;
+                    if (deltaDLPredicate instanceof AtomicRole && deltaAtom.getArgument(0) instanceof Variable && deltaAtom.getArgument(1) instanceof Variable) {
+                        deltaAtomicRole=(AtomicRole)deltaDLPredicate;
+                        HyperresolutionManager.getAtomicRoleClauseGuards(swappedDLClause,guardingAtomicConceptAtoms1,guardingAtomicConceptAtoms2);
+                        guardConcepts1=getGuardConcepts(guardingAtomicConceptAtoms1);
+                        guardConcepts2=getGuardConcepts(guardingAtomicConceptAtoms2);
+                    }
+                    rules.add(new Rule(swappedDLClause,headDLClauses,deltaDLPredicate,deltaAtomicRole,guardConcepts1,guardConcepts2));
+                    interruptFlag.checkInterrupt();
+                }
+        }
+        m_rules=Collections.unmodifiableList(rules);
+        m_valuesBufferLayout=new DLClauseEvaluator.ValuesBufferLayout(dlClauses);
+        m_programGenerator=programGenerator;
+    }
+    protected static AtomicConcept[] getGuardConcepts(List<Atom> guardingAtomicConceptAtoms) {
+        AtomicConcept[] guardConcepts=new AtomicConcept[guardingAtomicConceptAtoms.size()];
+        for (int index=0;index<guardConcepts.length;index++)
+            guardConcepts[index]=(AtomicConcept)guardingAtomicConceptAtoms.get(index).getDLPredicate();
+        return guardConcepts;
+    }
+    /**
+     * Returns the program for the DL-clauses of the given DL-ontology, building it if no tableau has done so yet. Programs
+     * are cached for as long as the collection of DL-clauses of their DL-ontology is reachable.
+     *
+     * @param dlOntology dlOntology
+     * @param interruptFlag interruptFlag
+     * @return the program for the DL-clauses of the DL-ontology
+     */
+    public static HyperresolutionProgram forDLOntology(DLOntology dlOntology,InterruptFlag interruptFlag) {
+        Collection<DLClause> dlClauses=dlOntology.getDLClauses();
+        DLClausesKey key=new DLClausesKey(dlClauses,null);
+        HyperresolutionProgram program;
+        synchronized (s_programsByDLClauses) {
+            program=s_programsByDLClauses.get(key);
+        }
+        if (program==null) {
+            HyperresolutionProgram newProgram=new HyperresolutionProgram(dlClauses,interruptFlag);
+            synchronized (s_programsByDLClauses) {
+                Reference<? extends Collection<DLClause>> reference;
+                while ((reference=s_referenceQueue.poll())!=null)
+                    s_programsByDLClauses.remove(reference);
+                program=s_programsByDLClauses.get(key);
+                if (program==null) {
+                    program=newProgram;
+                    s_programsByDLClauses.put(new DLClausesKey(dlClauses,s_referenceQueue),program);
+                }
+            }
+        }
+        return program;
+    }
+    /**
+     * @return the number of rules, that is, of DL-clause evaluators a tableau creates for this program
+     */
+    public int getNumberOfRules() {
+        return m_rules.size();
+    }
+    /**
+     * @return the generator of the classes that execute the evaluators of this program
+     */
+    public DLClauseProgramGenerator getProgramGenerator() {
+        return m_programGenerator;
+    }
+
+    /**
+     * A DL-clause whose body has been reordered so that a particular atom is evaluated first.
+     */
+    protected static final class Rule {
+        protected final DLClause m_swappedDLClause;
+        protected final List<DLClause> m_headDLClauses;
+        protected final DLPredicate m_deltaDLPredicate;
+        /** the role of the delta atom if it is a role atom over two variables, or null otherwise */
+        protected final AtomicRole m_deltaAtomicRole;
+        protected final AtomicConcept[] m_guardConcepts1;
+        protected final AtomicConcept[] m_guardConcepts2;
+
+        public Rule(DLClause swappedDLClause,List<DLClause> headDLClauses,DLPredicate deltaDLPredicate,AtomicRole deltaAtomicRole,AtomicConcept[] guardConcepts1,AtomicConcept[] guardConcepts2) {
+            m_swappedDLClause=swappedDLClause;
+            m_headDLClauses=headDLClauses;
+            m_deltaDLPredicate=deltaDLPredicate;
+            m_deltaAtomicRole=deltaAtomicRole;
+            m_guardConcepts1=guardConcepts1;
+            m_guardConcepts2=guardConcepts2;
+        }
+    }
+
+    /**
+     * A weak reference to a collection of DL-clauses that is compared by the identity of the collection.
+     */
+    protected static final class DLClausesKey extends WeakReference<Collection<DLClause>> {
+        protected final int m_hashCode;
+
+        public DLClausesKey(Collection<DLClause> dlClauses,ReferenceQueue<Collection<DLClause>> referenceQueue) {
+            super(dlClauses,referenceQueue);
+            m_hashCode=System.identityHashCode(dlClauses);
+        }
+        @Override
+        public boolean equals(Object that) {
+            if (this==that)
+                return true;
+            if (!(that instanceof DLClausesKey))
+                return false;
+            Collection<DLClause> dlClauses=get();
+            return dlClauses!=null && dlClauses==((DLClausesKey)that).get();
+        }
+        @Override
+        public int hashCode() {
+            return m_hashCode;
+        }
+    }
+}
@@ -39,6 +39,7 @@ public final class Node implements Serializable {
 
     protected final Tableau m_tableau;
     protected int m_nodeID;
+    protected int m_creationNumber;
     protected NodeState m_nodeState;
     protected Node m_parent;
     protected NodeType m_nodeType;
@@ -52,6 +53,11 @@ public final class Node implements Serializable {
     protected Node m_previousMergedOrPrunedNode;
     protected Node m_mergedInto;
     protected PermanentDependencySet m_mergedIntoDependencySet;
+    protected int m_mergeNumber;
+    protected Node m_canonicalNodeShortcut;
+    protected PermanentDependencySet m_canonicalNodeShortcutDependencySet;
+    protected Node m_canonicalNodeShortcutGuard;
+    protected int m_canonicalNodeShortcutGuardMergeNumber;
     protected Node m_blocker;
     protected boolean m_directlyBlocked;
     protected Object m_blockingObject;
@@ -88,6 +94,8 @@ public final class Node implements Serializable {
         m_previousMergedOrPrunedNode=null;
         m_mergedInto=null;
         m_mergedIntoDependencySet=null;
+        m_mergeNumber=0;
+        assert m_canonicalNodeShortcut==null;
         m_blocker=null;
         m_directlyBlocked=false;
         DescriptionGraphManager.intializeNode(this);
@@ -110,6 +118,7 @@ public final class Node implements Serializable {
             m_tableau.m_dependencySetFactory.removeUsage(m_mergedIntoDependencySet);
             m_mergedIntoDependencySet=null;
         }
+        clearCanonicalNodeShortcut();
         m_blocker=null;
         m_tableau.m_descriptionGraphManager.destroyNode(this);
     }
@@ -285,9 +294,11 @@ public final class Node implements Serializable {
      * @return canonical node
      */
     public Node getCanonicalNode() {
-        Node result=this;
-        while (result.m_mergedInto!=null)
-            result=result.m_mergedInto;
+        Node result=m_mergedInto;
+        if (result==null)
+            return this;
+        if (result.m_mergedInto!=null)
+            result=compressPathToCanonicalNode();
         return result;
     }
     /**
@@ -302,12 +313,75 @@ public final class Node implements Serializable {
      */
     public PermanentDependencySet addCanonicalNodeDependencySet(DependencySet dependencySet) {
         PermanentDependencySet result=m_tableau.m_dependencySetFactory.getPermanent(dependencySet);
+        if (m_mergedInto!=null) {
+            if (m_mergedInto.m_mergedInto==null)
+                result=m_tableau.m_dependencySetFactory.unionWith(result,m_mergedIntoDependencySet);
+            else {
+                compressPathToCanonicalNode();
+                result=m_tableau.m_dependencySetFactory.unionWith(result,m_canonicalNodeShortcutDependencySet);
+            }
+        }
+        return result;
+    }
+    /**
+     * Follows the merges from this node to its canonical node and makes the canonical node the shortcut of this node. The
+     * shortcut is stored with the union of the dependency sets of the merges it skips. A shortcut is valid only while all
+     * merges it skips are in the tableau; since merges are backtracked in the reverse order in which they were made, this
+     * is the case if the latest of these merges is still in the tableau, so the shortcut is guarded by the node merged in
+     * that merge and by its merge number.
+     *
+     * @return the canonical node
+     */
+    protected Node compressPathToCanonicalNode() {
+        DependencySetFactory dependencySetFactory=m_tableau.m_dependencySetFactory;
+        PermanentDependencySet dependencySet=null;
+        Node guard=null;
+        int guardMergeNumber=0;
+        int numberOfSteps=0;
         Node node=this;
         while (node.m_mergedInto!=null) {
-            result=m_tableau.m_dependencySetFactory.unionWith(result,node.m_mergedIntoDependencySet);
-            node=node.m_mergedInto;
+            Node nextNode;
+            PermanentDependencySet stepDependencySet;
+            Node stepGuard;
+            int stepGuardMergeNumber;
+            if (node.m_canonicalNodeShortcut!=null && node.m_canonicalNodeShortcutGuard.m_mergeNumber==node.m_canonicalNodeShortcutGuardMergeNumber) {
+                nextNode=node.m_canonicalNodeShortcut;
+                stepDependencySet=node.m_canonicalNodeShortcutDependencySet;
+                stepGuard=node.m_canonicalNodeShortcutGuard;
+                stepGuardMergeNumber=node.m_canonicalNodeShortcutGuardMergeNumber;
+            }
+            else {
+                node.clearCanonicalNodeShortcut();
+                nextNode=node.m_mergedInto;
+                stepDependencySet=node.m_mergedIntoDependencySet;
+                stepGuard=node;
+                stepGuardMergeNumber=node.m_mergeNumber;
+            }
+            dependencySet=(dependencySet==null ? stepDependencySet : dependencySetFactory.unionWith(dependencySet,stepDependencySet));
+            if (stepGuardMergeNumber>guardMergeNumber) {
+                guard=stepGuard;
+                guardMergeNumber=stepGuardMergeNumber;
+            }
+            numberOfSteps++;
+            node=nextNode;
+        }
+        if (numberOfSteps>1) {
+            dependencySetFactory.addUsage(dependencySet);
+            clearCanonicalNodeShortcut();
+            m_canonicalNodeShortcut=node;
+            m_canonicalNodeShortcutDependencySet=dependencySet;
+            m_canonicalNodeShortcutGuard=guard;
+            m_canonicalNodeShortcutGuardMergeNumber=guardMergeNumber;
+        }
+        return node;
+    }
+    protected void clearCanonicalNodeShortcut() {
+        if (m_canonicalNodeShortcut!=null) {
+            m_tableau.m_dependencySetFactory.removeUsage(m_canonicalNodeShortcutDependencySet);
+            m_canonicalNodeShortcut=null;
+            m_canonicalNodeShortcutDependencySet=null;
+            m_canonicalNodeShortcutGuard=null;
         }
-        return result;
     }
     protected void addToUnprocessedExistentials(ExistentialConcept existentialConcept) {
         assert NO_EXISTENTIALS.isEmpty();
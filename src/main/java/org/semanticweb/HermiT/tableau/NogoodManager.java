@@ -0,0 +1,281 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicNegationConcept;
+import org.semanticweb.HermiT.model.Concept;
+import org.semanticweb.HermiT.model.DLPredicate;
+
+/**
+ * Learns nogoods from clashes and uses them to detect clashes early. When a clash depends on a set of disjunction
+ * branching points, the unary assertions that these branching points added to the tableau cannot all hold in the
+ * current test; this set of assertions is recorded as a nogood. Whenever a disjunct is added to the tableau, the
+ * nogoods that contain the new assertion are checked, and if all assertions of a nogood hold, a clash is raised with the
+ * union of their dependency sets, so that the tableau backjumps without deriving the clash again. Nogoods are valid only
+ * within one test. Only a bounded number of nogoods is kept; when the store is full, the least recently used nogood is
+ * evicted.
+ */
+public final class NogoodManager implements Serializable {
+    private static final long serialVersionUID=-3297853431066512848L;
+    protected static final int MAXIMUM_NOGOOD_LENGTH=16;
+
+    protected final Tableau m_tableau;
+    protected final ExtensionManager m_extensionManager;
+    protected final DependencySetFactory m_dependencySetFactory;
+    protected final int m_maximumNumberOfNogoods;
+    protected final LinkedHashMap<Nogood,Nogood> m_nogoods;
+    protected final Map<Concept,List<Nogood>> m_nogoodsByConcept;
+    protected final List<Assertion> m_assertionsBuffer;
+    protected boolean m_clashFromNogood;
+    protected int m_numberOfClashesFromNogoods;
+
+    /**
+     * @param tableau tableau
+     * @param maximumNumberOfNogoods the maximal number of nogoods that are kept
+     */
+    public NogoodManager(Tableau tableau,int maximumNumberOfNogoods) {
+        m_tableau=tableau;
+        m_extensionManager=tableau.m_extensionManager;
+        m_dependencySetFactory=tableau.m_dependencySetFactory;
+        m_maximumNumberOfNogoods=maximumNumberOfNogoods;
+        m_nogoods=new LinkedHashMap<>(16,0.75f,true);
+        m_nogoodsByConcept=new HashMap<>();
+        m_assertionsBuffer=new ArrayList<>();
+    }
+    /**
+     * Removes all nogoods.
+     */
+    public void clear() {
+        m_nogoods.clear();
+        m_nogoodsByConcept.clear();
+        m_assertionsBuffer.clear();
+        m_clashFromNogood=false;
+    }
+    /**
+     * @return the number of nogoods that are currently kept
+     */
+    public int getNumberOfNogoods() {
+        return m_nogoods.size();
+    }
+    /**
+     * @return the number of clashes that have been raised by nogoods since the manager was created
+     */
+    public int getNumberOfClashesFromNogoods() {
+        return m_numberOfClashesFromNogoods;
+    }
+    /**
+     * Records a nogood for the given clash. The method must be called before the tableau backtracks.
+     *
+     * @param clashDependencySet the dependency set of the clash
+     */
+    public void clashDetected(DependencySet clashDependencySet) {
+        if (m_clashFromNogood) {
+            m_clashFromNogood=false;
+            return;
+        }
+        if (m_maximumNumberOfNogoods<=0 || !(clashDependencySet instanceof PermanentDependencySet))
+            return;
+        m_assertionsBuffer.clear();
+        PermanentDependencySet dependencySet=(PermanentDependencySet)clashDependencySet;
+        while (!dependencySet.isEmpty()) {
+            int level=dependencySet.m_branchingPoint;
+            // Branching points up to the nonbacktrackable one stand for facts that hold throughout the test.
+            if (level>m_tableau.m_nonbacktrackableBranchingPoint) {
+                BranchingPoint branchingPoint=m_tableau.m_branchingPoints[level];
+                if (!(branchingPoint instanceof DisjunctionBranchingPoint) || !addChoiceAssertions((DisjunctionBranchingPoint)branchingPoint))
+                    return;
+            }
+            dependencySet=dependencySet.m_rest;
+        }
+        if (m_assertionsBuffer.isEmpty() || m_assertionsBuffer.size()>MAXIMUM_NOGOOD_LENGTH)
+            return;
+        Nogood nogood=new Nogood(m_assertionsBuffer.toArray(new Assertion[m_assertionsBuffer.size()]));
+        if (m_nogoods.containsKey(nogood))
+            return;
+        m_nogoods.put(nogood,nogood);
+        for (Assertion assertion : nogood.m_assertions) {
+            List<Nogood> nogoods=m_nogoodsByConcept.get(assertion.m_concept);
+            if (nogoods==null) {
+                nogoods=new ArrayList<>();
+                m_nogoodsByConcept.put(assertion.m_concept,nogoods);
+            }
+            if (!nogoods.contains(nogood))
+                nogoods.add(nogood);
+        }
+        if (m_nogoods.size()>m_maximumNumberOfNogoods) {
+            Iterator<Nogood> iterator=m_nogoods.keySet().iterator();
+            Nogood evicted=iterator.next();
+            iterator.remove();
+            for (Assertion assertion : evicted.m_assertions) {
+                List<Nogood> nogoods=m_nogoodsByConcept.get(assertion.m_concept);
+                if (nogoods!=null) {
+                    nogoods.remove(evicted);
+                    if (nogoods.isEmpty())
+                        m_nogoodsByConcept.remove(assertion.m_concept);
+                }
+            }
+        }
+    }
+    protected boolean addChoiceAssertions(DisjunctionBranchingPoint branchingPoint) {
+        GroundDisjunction groundDisjunction=branchingPoint.m_groundDisjunction;
+        for (int index=0;index<=branchingPoint.m_currentIndex;index++) {
+            int disjunctIndex=branchingPoint.m_sortedDisjunctIndexes[index];
+            DLPredicate dlPredicate=groundDisjunction.getDLPredicate(disjunctIndex);
+            Concept concept;
+            if (index==branchingPoint.m_currentIndex) {
+                if (!(dlPredicate instanceof Concept))
+                    return false;
+                concept=(Concept)dlPredicate;
+            }
+            else if (dlPredicate instanceof AtomicConcept)
+                concept=AtomicNegationConcept.create((AtomicConcept)dlPredicate);
+            else if (dlPredicate instanceof Concept)
+                // startNextChoice() adds no assertion for such disjuncts
+                continue;
+            else
+                return false;
+            Node node=groundDisjunction.getArgument(disjunctIndex,0);
+            Assertion assertion=new Assertion(concept,node,node.m_creationNumber);
+            if (!m_assertionsBuffer.contains(assertion))
+                m_assertionsBuffer.add(assertion);
+        }
+        return true;
+    }
+    /**
+     * Checks the nogoods that contain the given disjunct of the given ground disjunction and raises a clash if all
+     * assertions of such a nogood hold.
+     *
+     * @param groundDisjunction the ground disjunction
+     * @param disjunctIndex the index of the disjunct that has just been added to the tableau
+     */
+    public void disjunctAdded(GroundDisjunction groundDisjunction,int disjunctIndex) {
+        DLPredicate dlPredicate=groundDisjunction.getDLPredicate(disjunctIndex);
+        if (!(dlPredicate instanceof Concept) || m_extensionManager.containsClash())
+            return;
+        Concept concept=(Concept)dlPredicate;
+        List<Nogood> nogoods=m_nogoodsByConcept.get(concept);
+        if (nogoods==null)
+            return;
+        Node node=groundDisjunction.getArgument(disjunctIndex,0);
+        for (int nogoodIndex=nogoods.size()-1;nogoodIndex>=0;--nogoodIndex) {
+            Nogood nogood=nogoods.get(nogoodIndex);
+            if (nogood.contains(concept,node) && holds(nogood)) {
+                DependencySet dependencySet=m_dependencySetFactory.emptySet();
+                for (Assertion assertion : nogood.m_assertions) {
+                    DependencySet assertionDependencySet=m_extensionManager.getConceptAssertionDependencySet(assertion.m_concept,assertion.m_node.getCanonicalNode());
+                    dependencySet=m_dependencySetFactory.unionWith(dependencySet,assertion.m_node.addCanonicalNodeDependencySet(assertionDependencySet));
+                }
+                m_nogoods.get(nogood);
+                m_clashFromNogood=true;
+                m_numberOfClashesFromNogoods++;
+                m_extensionManager.setClash(dependencySet);
+                return;
+            }
+        }
+    }
+    protected boolean holds(Nogood nogood) {
+        for (Assertion assertion : nogood.m_assertions) {
+            Node node=assertion.m_node;
+            if (node.m_creationNumber!=assertion.m_creationNumber || node.m_nodeState==null)
+                return false;
+            Node canonicalNode=node.getCanonicalNode();
+            if (!canonicalNode.isActive() || !m_extensionManager.containsConceptAssertion(assertion.m_concept,canonicalNode))
+                return false;
+        }
+        return true;
+    }
+
+    protected static final class Assertion implements Serializable {
+        private static final long serialVersionUID=4938471053349585193L;
+
+        protected final Concept m_concept;
+        protected final Node m_node;
+        protected final int m_creationNumber;
+
+        public Assertion(Concept concept,Node node,int creationNumber) {
+            m_concept=concept;
+            m_node=node;
+            m_creationNumber=creationNumber;
+        }
+        @Override
+        public int hashCode() {
+            return m_concept.hashCode()*31+m_creationNumber;
+        }
+        @Override
+        public boolean equals(Object that) {
+            if (this==that)
+                return true;
+            if (!(that instanceof Assertion))
+                return false;
+            Assertion thatAssertion=(Assertion)that;
+            return m_concept==thatAssertion.m_concept && m_node==thatAssertion.m_node && m_creationNumber==thatAssertion.m_creationNumber;
+        }
+    }
+
+    protected static final class Nogood implements Serializable {
+        private static final long serialVersionUID=-2287498113582312658L;
+
+        protected final Assertion[] m_assertions;
+        protected final int m_hashCode;
+
+        public Nogood(Assertion[] assertions) {
+            m_assertions=assertions;
+            int hashCode=0;
+            for (Assertion assertion : assertions)
+                hashCode+=assertion.hashCode();
+            m_hashCode=hashCode;
+        }
+        public boolean contains(Concept concept,Node node) {
+            for (Assertion assertion : m_assertions)
+                if (assertion.m_node==node && assertion.m_concept==concept)
+                    return true;
+            return false;
+        }
+        @Override
+        public int hashCode() {
+            return m_hashCode;
+        }
+        @Override
+        public boolean equals(Object that) {
+            if (this==that)
+                return true;
+            if (!(that instanceof Nogood))
+                return false;
+            Assertion[] thatAssertions=((Nogood)that).m_assertions;
+            if (m_assertions.length!=thatAssertions.length)
+                return false;
+            for (Assertion assertion : m_assertions) {
+                boolean found=false;
+                for (int index=0;!found && index<thatAssertions.length;index++)
+                    found=assertion.equals(thatAssertions[index]);
+                if (!found)
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.io.Serializable;
+
+/**
+ * Maps the objects stored in tuple tables (DL predicates, nodes, dependency sets)
+ * to dense integer IDs and back. The IDs are assigned in the order in which the
+ * objects are first encountered and they remain valid until the dictionary is
+ * cleared or truncated. The ID 0 is reserved for null, so freshly allocated integer pages
+ * contain only null entries. Objects are compared using equals(), so two tuples
+ * are equal if and only if their encodings are equal.
+ */
+public final class ObjectDictionary implements Serializable {
+    private static final long serialVersionUID=-2785017335201894187L;
+
+    /**The ID of null.*/
+    public static final int NULL_ID=0;
+    protected static final float LOAD_FACTOR=0.7f;
+
+    protected Object[] m_objectsByID;
+    protected int m_firstFreeID;
+    protected int[] m_buckets;
+    protected int m_bucketsLengthMinusOne; // must be all ones in binary!
+    protected int m_resizeThreshold;
+
+    /**Empty constructor.*/
+    public ObjectDictionary() {
+        clear();
+    }
+    /**
+     * @return size
+     */
+    public int sizeInMemory() {
+        return m_objectsByID.length*4+m_buckets.length*4;
+    }
+    /**
+     * @return the number of objects in the dictionary
+     */
+    public int size() {
+        return m_firstFreeID-1;
+    }
+    /**
+     * Clear.
+     */
+    public void clear() {
+        m_objectsByID=new Object[128];
+        m_firstFreeID=NULL_ID+1;
+        m_buckets=new int[256];
+        m_bucketsLengthMinusOne=m_buckets.length-1;
+        m_resizeThreshold=(int)(m_buckets.length*LOAD_FACTOR);
+    }
+    /**
+     * @return the ID that is assigned to the next new object
+     */
+    public int getFirstFreeID() {
+        return m_firstFreeID;
+    }
+    /**
+     * Removes the objects with IDs greater than or equal to the given one, so that the
+     * dictionary does not keep them alive. The objects are removed in the reverse order
+     * of their addition, which leaves the probe sequences of the remaining objects intact.
+     *
+     * @param firstFreeID the first free ID after truncation
+     */
+    public void truncate(int firstFreeID) {
+        while (m_firstFreeID>firstFreeID) {
+            int id=--m_firstFreeID;
+            int bucketIndex=getIndexFor(m_objectsByID[id].hashCode(),m_bucketsLengthMinusOne);
+            while (m_buckets[bucketIndex]!=id)
+                bucketIndex=(bucketIndex+1) & m_bucketsLengthMinusOne;
+            m_buckets[bucketIndex]=NULL_ID;
+            m_objectsByID[id]=null;
+        }
+    }
+    /**
+     * @param id id
+     * @return the object with the given ID
+     */
+    public Object getObject(int id) {
+        return m_objectsByID[id];
+    }
+    /**
+     * @param object object
+     * @return the ID of the object, which is assigned if necessary
+     */
+    public int getID(Object object) {
+        if (object==null)
+            return NULL_ID;
+        int bucketIndex=getIndexFor(object.hashCode(),m_bucketsLengthMinusOne);
+        int id=m_buckets[bucketIndex];
+        while (id!=NULL_ID) {
+            if (object.equals(m_objectsByID[id]))
+                return id;
+            bucketIndex=(bucketIndex+1) & m_bucketsLengthMinusOne;
+            id=m_buckets[bucketIndex];
+        }
+        id=m_firstFreeID++;
+        if (id<0)
+            throw new OutOfMemoryError("The space of IDs in ObjectDictionary was exhausted: the ontology is just too large.");
+        if (id==m_objectsByID.length) {
+            Object[] newObjectsByID=new Object[m_objectsByID.length*3/2];
+            System.arraycopy(m_objectsByID,0,newObjectsByID,0,m_objectsByID.length);
+            m_objectsByID=newObjectsByID;
+        }
+        m_objectsByID[id]=object;
+        m_buckets[bucketIndex]=id;
+        if (id>=m_resizeThreshold)
+            resizeBuckets();
+        return id;
+    }
+    /**
+     * @param object object
+     * @return the ID of the object or -1 if the object has no ID
+     */
+    public int getIDIfPresent(Object object) {
+        if (object==null)
+            return NULL_ID;
+        int bucketIndex=getIndexFor(object.hashCode(),m_bucketsLengthMinusOne);
+        int id=m_buckets[bucketIndex];
+        while (id!=NULL_ID) {
+            if (object.equals(m_objectsByID[id]))
+                return id;
+            bucketIndex=(bucketIndex+1) & m_bucketsLengthMinusOne;
+            id=m_buckets[bucketIndex];
+        }
+        return -1;
+    }
+    protected void resizeBuckets() {
+        if (m_buckets.length==0x40000000)
+            m_resizeThreshold=Integer.MAX_VALUE;
+        else {
+            int[] newBuckets=new int[m_buckets.length*2];
+            int newBucketsLengthMinusOne=newBuckets.length-1;
+            for (int id=NULL_ID+1;id<m_firstFreeID;id++) {
+                int bucketIndex=getIndexFor(m_objectsByID[id].hashCode(),newBucketsLengthMinusOne);
+                while (newBuckets[bucketIndex]!=NULL_ID)
+                    bucketIndex=(bucketIndex+1) & newBucketsLengthMinusOne;
+                newBuckets[bucketIndex]=id;
+            }
+            m_buckets=newBuckets;
+            m_bucketsLengthMinusOne=newBucketsLengthMinusOne;
+            m_resizeThreshold=(int)(m_buckets.length*LOAD_FACTOR);
+        }
+    }
+    protected static int getIndexFor(int c,int tableLengthMinusOne) {
+        int hashCode=c;
+        hashCode+=~(hashCode << 9);
+        hashCode^=(hashCode >>> 14);
+        hashCode+=(hashCode << 4);
+        hashCode^=(hashCode >>> 10);
+        return hashCode & tableLengthMinusOne;
+    }
+}
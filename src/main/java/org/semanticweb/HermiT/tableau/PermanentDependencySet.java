@@ -28,6 +28,10 @@ public final class PermanentDependencySet implements DependencySet,Serializable
     protected int m_usageCounter;
     protected PermanentDependencySet m_previousUnusedSet;
     protected PermanentDependencySet m_nextUnusedSet;
+    /** the branching points as a bitset if they are all below the bitset width of the factory, or null otherwise */
+    protected long[] m_bitset;
+    protected int m_bitsetHashCode;
+    protected PermanentDependencySet m_nextBitsetEntry;
     
     protected PermanentDependencySet() {
         m_rest=null;
@@ -36,9 +40,14 @@ public final class PermanentDependencySet implements DependencySet,Serializable
         m_usageCounter=0;
         m_previousUnusedSet=null;
         m_nextUnusedSet=null;
+        m_bitset=null;
+        m_bitsetHashCode=0;
+        m_nextBitsetEntry=null;
     }
     @Override
     public boolean containsBranchingPoint(int branchingPoint) {
+        if (m_bitset!=null && branchingPoint>=0)
+            return (branchingPoint>>>6)<m_bitset.length && (m_bitset[branchingPoint>>>6] & (1L << branchingPoint))!=0;
         PermanentDependencySet set=this;
         while (set!=null) {
             if (set.m_branchingPoint==branchingPoint)
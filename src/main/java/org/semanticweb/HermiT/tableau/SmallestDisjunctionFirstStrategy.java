@@ -0,0 +1,96 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicNegationConcept;
+import org.semanticweb.HermiT.model.DLPredicate;
+
+/**
+ * Processes the most constrained ground disjunction first, that is, the one with the fewest disjuncts that are not
+ * already refuted in the tableau. An atomic concept disjunct A(x) is refuted if the tableau contains not A(x). Pruned
+ * and satisfied ground disjunctions are returned as soon as they are found so that the tableau can discard them, and a
+ * ground disjunction with at most one open disjunct is returned immediately. Only a bounded number of the oldest
+ * unprocessed ground disjunctions is inspected; among equally constrained ones, the oldest one is chosen. The order of
+ * the disjuncts is determined by another strategy.
+ */
+public final class SmallestDisjunctionFirstStrategy implements DisjunctionSelectionStrategy {
+    private static final long serialVersionUID=-1964703815830447166L;
+    /** The number of ground disjunctions that is inspected by default. */
+    public static final int DEFAULT_MAXIMUM_NUMBER_OF_CANDIDATES=64;
+
+    protected final DisjunctionSelectionStrategy m_disjunctOrderingStrategy;
+    protected final int m_maximumNumberOfCandidates;
+
+    /**
+     * @param disjunctOrderingStrategy the strategy that determines the order of the disjuncts
+     */
+    public SmallestDisjunctionFirstStrategy(DisjunctionSelectionStrategy disjunctOrderingStrategy) {
+        this(disjunctOrderingStrategy,DEFAULT_MAXIMUM_NUMBER_OF_CANDIDATES);
+    }
+    /**
+     * @param disjunctOrderingStrategy the strategy that determines the order of the disjuncts
+     * @param maximumNumberOfCandidates the maximal number of unsatisfied ground disjunctions that are inspected
+     */
+    public SmallestDisjunctionFirstStrategy(DisjunctionSelectionStrategy disjunctOrderingStrategy,int maximumNumberOfCandidates) {
+        if (maximumNumberOfCandidates<1)
+            throw new IllegalArgumentException("At least one ground disjunction must be inspected.");
+        m_disjunctOrderingStrategy=disjunctOrderingStrategy;
+        m_maximumNumberOfCandidates=maximumNumberOfCandidates;
+    }
+    @Override
+    public GroundDisjunction getNextGroundDisjunction(Tableau tableau) {
+        GroundDisjunction bestGroundDisjunction=null;
+        int bestNumberOfOpenDisjuncts=Integer.MAX_VALUE;
+        int numberOfCandidates=0;
+        GroundDisjunction groundDisjunction=tableau.getFirstUnprocessedGroundDisjunction();
+        while (groundDisjunction!=null && numberOfCandidates<m_maximumNumberOfCandidates) {
+            if (!groundDisjunction.isProcessed()) {
+                if (groundDisjunction.isPruned() || groundDisjunction.isSatisfied(tableau))
+                    return groundDisjunction;
+                int numberOfOpenDisjuncts=getNumberOfOpenDisjuncts(tableau.m_extensionManager,groundDisjunction);
+                if (numberOfOpenDisjuncts<=1)
+                    return groundDisjunction;
+                if (numberOfOpenDisjuncts<bestNumberOfOpenDisjuncts) {
+                    bestGroundDisjunction=groundDisjunction;
+                    bestNumberOfOpenDisjuncts=numberOfOpenDisjuncts;
+                }
+                numberOfCandidates++;
+            }
+            groundDisjunction=groundDisjunction.getPreviousGroundDisjunction();
+        }
+        return bestGroundDisjunction;
+    }
+    protected static int getNumberOfOpenDisjuncts(ExtensionManager extensionManager,GroundDisjunction groundDisjunction) {
+        int numberOfOpenDisjuncts=0;
+        for (int disjunctIndex=groundDisjunction.getNumberOfDisjuncts()-1;disjunctIndex>=0;--disjunctIndex) {
+            DLPredicate dlPredicate=groundDisjunction.getDLPredicate(disjunctIndex);
+            if (!(dlPredicate instanceof AtomicConcept) || !extensionManager.containsConceptAssertion(AtomicNegationConcept.create((AtomicConcept)dlPredicate),groundDisjunction.getArgument(disjunctIndex,0).getCanonicalNode()))
+                numberOfOpenDisjuncts++;
+        }
+        return numberOfOpenDisjuncts;
+    }
+    @Override
+    public int[] getSortedDisjunctIndexes(GroundDisjunction groundDisjunction) {
+        return m_disjunctOrderingStrategy.getSortedDisjunctIndexes(groundDisjunction);
+    }
+    @Override
+    public void disjunctFailed(GroundDisjunction groundDisjunction,int disjunctIndex) {
+        m_disjunctOrderingStrategy.disjunctFailed(groundDisjunction,disjunctIndex);
+    }
+}
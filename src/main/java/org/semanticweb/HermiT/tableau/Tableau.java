@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.semanticweb.HermiT.Configuration;
 import org.semanticweb.HermiT.existentials.ExistentialExpansionStrategy;
 import org.semanticweb.HermiT.model.Atom;
 import org.semanticweb.HermiT.model.AtomicConcept;
@@ -60,8 +61,12 @@ public final class Tableau implements Serializable {
     protected final Map<String,Object> m_parameters;
     protected final TableauMonitor m_tableauMonitor;
     protected final ExistentialExpansionStrategy m_existentialExpansionStrategy;
-    protected final DLOntology m_permanentDLOntology;
+    protected DLOntology m_permanentDLOntology;
     protected DLOntology m_additionalDLOntology;
+    protected final ObjectDictionary m_objectDictionary;
+    protected final boolean m_useOffHeapStorage;
+    protected final boolean m_useHashTupleIndexes;
+    protected final boolean m_useGeneratedClauseEvaluators;
     protected final DependencySetFactory m_dependencySetFactory;
     protected final ExtensionManager m_extensionManager;
     protected final ClashManager m_clashManager;
@@ -75,9 +80,15 @@ public final class Tableau implements Serializable {
     protected final List<List<ExistentialConcept>> m_existentialConceptsBuffers;
     protected final boolean m_useDisjunctionLearning;
     protected final boolean m_hasDescriptionGraphs;
+    protected final boolean m_useABoxCheckpoint;
+    protected final NogoodManager m_nogoodManager;
+    protected final DisjunctionSelectionStrategy m_disjunctionSelectionStrategy;
+    protected final DisjunctWatchManager m_disjunctWatchManager;
     protected BranchingPoint[] m_branchingPoints;
     protected int m_currentBranchingPoint;
     protected int m_nonbacktrackableBranchingPoint;
+    /** the nonbacktrackable branching point of the last test started by isSatisfiable() */
+    protected int m_testNonbacktrackableBranchingPoint;
     protected boolean m_isCurrentModelDeterministic;
     protected boolean m_needsThingExtension;
     protected boolean m_needsNamedExtension;
@@ -92,8 +103,16 @@ public final class Tableau implements Serializable {
     protected Node m_firstTableauNode;
     protected Node m_lastTableauNode;
     protected Node m_lastMergedOrPrunedNode;
+    protected int m_lastMergeNumber;
     protected GroundDisjunction m_firstGroundDisjunction;
     protected GroundDisjunction m_firstUnprocessedGroundDisjunction;
+    protected GroundDisjunction[] m_processedGroundDisjunctions;
+    protected int m_numberOfProcessedGroundDisjunctions;
+    protected Map<Term,Node> m_checkpointTermsToNodes;
+    protected boolean m_checkpointHasPermanentABox;
+    protected DLOntology m_checkpointPermanentDLOntology;
+    protected boolean m_checkpointHasAdditionalABox;
+    protected int m_numberOfCheckpointRestorations;
 
     /**
      * @param interruptFlag interruptFlag
@@ -105,20 +124,38 @@ public final class Tableau implements Serializable {
      * @param parameters parameters
      */
     public Tableau(InterruptFlag interruptFlag,TableauMonitor tableauMonitor,ExistentialExpansionStrategy existentialsExpansionStrategy,boolean useDisjunctionLearning,DLOntology permanentDLOntology,DLOntology additionalDLOntology,Map<String,Object> parameters) {
+        this(interruptFlag,tableauMonitor,existentialsExpansionStrategy,permanentDLOntology,additionalDLOntology,createConfiguration(useDisjunctionLearning,parameters));
+    }
+    /**
+     * @param interruptFlag interruptFlag
+     * @param tableauMonitor tableauMonitor
+     * @param existentialsExpansionStrategy existentialsExpansionStrategy
+     * @param permanentDLOntology permanentDLOntology
+     * @param additionalDLOntology additionalDLOntology
+     * @param configuration the configuration from which the settings of the tableau (disjunction learning, tuple table type, parameters) are taken
+     */
+    public Tableau(InterruptFlag interruptFlag,TableauMonitor tableauMonitor,ExistentialExpansionStrategy existentialsExpansionStrategy,DLOntology permanentDLOntology,DLOntology additionalDLOntology,Configuration configuration) {
         if (additionalDLOntology!=null && !additionalDLOntology.getAllDescriptionGraphs().isEmpty())
             throw new IllegalArgumentException("Additional ontology cannot contain description graphs.");
         m_interruptFlag=interruptFlag;
         m_interruptFlag.startTask();
         try {
-            m_parameters=parameters;
+            m_parameters=configuration.parameters;
             m_tableauMonitor=tableauMonitor;
             m_existentialExpansionStrategy=existentialsExpansionStrategy;
             m_permanentDLOntology=permanentDLOntology;
             m_additionalDLOntology=additionalDLOntology;
-            m_dependencySetFactory=new DependencySetFactory();
+            if (configuration.tupleTableType==Configuration.TupleTableType.OBJECT_PAGES)
+                m_objectDictionary=null;
+            else
+                m_objectDictionary=new ObjectDictionary();
+            m_useOffHeapStorage=(configuration.tupleTableType==Configuration.TupleTableType.OFF_HEAP_PAGES);
+            m_useHashTupleIndexes=(configuration.tupleIndexType==Configuration.TupleIndexType.HASH);
+            m_useGeneratedClauseEvaluators=(configuration.clauseEvaluatorType==Configuration.ClauseEvaluatorType.GENERATED);
+            m_dependencySetFactory=new DependencySetFactory(configuration.dependencySetType==Configuration.DependencySetType.HYBRID ? DependencySetFactory.HYBRID_BITSET_WIDTH : 0);
             m_extensionManager=new ExtensionManager(this);
             m_clashManager=new ClashManager(this);
-            m_permanentHyperresolutionManager=new HyperresolutionManager(this,m_permanentDLOntology.getDLClauses());
+            m_permanentHyperresolutionManager=new HyperresolutionManager(this,HyperresolutionProgram.forDLOntology(m_permanentDLOntology,m_interruptFlag));
             if (m_additionalDLOntology!=null)
                 m_additionalHyperresolutionManager=new HyperresolutionManager(this,m_additionalDLOntology.getDLClauses());
             else
@@ -130,11 +167,17 @@ public final class Tableau implements Serializable {
             m_datatypeManager=new DatatypeManager(this);
             m_existentialExpansionStrategy.initialize(this);
             m_existentialConceptsBuffers=new ArrayList<>();
-            m_useDisjunctionLearning=useDisjunctionLearning;
+            m_useDisjunctionLearning=configuration.useDisjunctionLearning;
             m_hasDescriptionGraphs=!m_permanentDLOntology.getAllDescriptionGraphs().isEmpty();
+            m_useABoxCheckpoint=configuration.useABoxCheckpoint;
+            m_nogoodManager=(configuration.useNogoodLearning ? new NogoodManager(this,configuration.nogoodStoreSize) : null);
+            m_disjunctionSelectionStrategy=createDisjunctionSelectionStrategy(configuration);
+            m_disjunctWatchManager=(configuration.useWatchedDisjuncts ? new DisjunctWatchManager(this) : null);
+            m_processedGroundDisjunctions=new GroundDisjunction[16];
             m_branchingPoints=new BranchingPoint[2];
             m_currentBranchingPoint=-1;
             m_nonbacktrackableBranchingPoint=-1;
+            m_testNonbacktrackableBranchingPoint=-1;
             updateFlagsDependentOnAdditionalOntology();
             if (m_tableauMonitor!=null)
                 m_tableauMonitor.setTableau(this);
@@ -143,12 +186,39 @@ public final class Tableau implements Serializable {
             m_interruptFlag.endTask();
         }
     }
+    protected static DisjunctionSelectionStrategy createDisjunctionSelectionStrategy(Configuration configuration) {
+        if (configuration.disjunctionSelectionStrategyFactory!=null)
+            return configuration.disjunctionSelectionStrategyFactory.createDisjunctionSelectionStrategy();
+        switch (configuration.disjunctionSelectionStrategyType) {
+        case ACTIVITY:
+            return new ActivityDisjunctionSelectionStrategy(configuration.disjunctActivityDecayFactor);
+        case SMALLEST_FIRST:
+            return new SmallestDisjunctionFirstStrategy(new DefaultDisjunctionSelectionStrategy(configuration.useDisjunctionLearning),configuration.disjunctionSelectionCandidates);
+        case ACTIVITY_SMALLEST_FIRST:
+            return new SmallestDisjunctionFirstStrategy(new ActivityDisjunctionSelectionStrategy(configuration.disjunctActivityDecayFactor),configuration.disjunctionSelectionCandidates);
+        case DERIVATION_ORDER:
+        default:
+            return new DefaultDisjunctionSelectionStrategy(configuration.useDisjunctionLearning);
+        }
+    }
+    protected static Configuration createConfiguration(boolean useDisjunctionLearning,Map<String,Object> parameters) {
+        Configuration configuration=new Configuration();
+        configuration.useDisjunctionLearning=useDisjunctionLearning;
+        configuration.parameters=parameters;
+        return configuration;
+    }
     /**
      * @return interrupt flag
      */
     public InterruptFlag getInterruptFlag() {
         return m_interruptFlag;
     }
+    /**
+     * @return the strategy that chooses the ground disjunctions and the order of their disjuncts
+     */
+    public DisjunctionSelectionStrategy getDisjunctionSelectionStrategy() {
+        return m_disjunctionSelectionStrategy;
+    }
     /**
      * @return permanent dl ontology
      */
@@ -209,6 +279,12 @@ public final class Tableau implements Serializable {
     public HyperresolutionManager getAdditionalHyperresolutionManager() {
         return m_additionalHyperresolutionManager;
     }
+    /**
+     * @return the nogood manager, or null if nogood learning is switched off
+     */
+    public NogoodManager getNogoodManager() {
+        return m_nogoodManager;
+    }
     /**
      * @return merging manager
      */
@@ -237,6 +313,7 @@ public final class Tableau implements Serializable {
      * Clear tableau.
      */
     public void clear() {
+        m_checkpointTermsToNodes=null;
         m_allocatedNodes=0;
         m_numberOfNodesInTableau=0;
         m_numberOfMergedOrPrunedNodes=0;
@@ -245,13 +322,19 @@ public final class Tableau implements Serializable {
         m_firstTableauNode=null;
         m_lastTableauNode=null;
         m_lastMergedOrPrunedNode=null;
+        m_lastMergeNumber=0;
         m_firstGroundDisjunction=null;
         m_firstUnprocessedGroundDisjunction=null;
+        m_processedGroundDisjunctions=new GroundDisjunction[16];
+        m_numberOfProcessedGroundDisjunctions=0;
         m_branchingPoints=new BranchingPoint[2];
         m_currentBranchingPoint=-1;
         m_nonbacktrackableBranchingPoint=-1;
+        m_testNonbacktrackableBranchingPoint=-1;
         m_dependencySetFactory.clear();
         m_extensionManager.clear();
+        if (m_objectDictionary!=null)
+            m_objectDictionary.clear();
         m_clashManager.clear();
         m_permanentHyperresolutionManager.clear();
         if (m_additionalHyperresolutionManager!=null)
@@ -264,6 +347,10 @@ public final class Tableau implements Serializable {
         m_existentialExpansionStrategy.clear();
         m_datatypeManager.clear();
         m_existentialConceptsBuffers.clear();
+        if (m_nogoodManager!=null)
+            m_nogoodManager.clear();
+        if (m_disjunctWatchManager!=null)
+            m_disjunctWatchManager.clear();
         if (m_tableauMonitor!=null)
             m_tableauMonitor.tableauCleared();
     }
@@ -292,6 +379,7 @@ public final class Tableau implements Serializable {
             throw new IllegalArgumentException("Additional DL-ontology contains features that are incompatible with this tableau.");
         m_additionalDLOntology=additionalDLOntology;
         m_additionalHyperresolutionManager=new HyperresolutionManager(this,m_additionalDLOntology.getDLClauses());
+        m_checkpointTermsToNodes=null;
         m_existentialExpansionStrategy.additionalDLOntologySet(m_additionalDLOntology);
         m_datatypeManager.additionalDLOntologySet(m_additionalDLOntology);
         updateFlagsDependentOnAdditionalOntology();
@@ -300,12 +388,28 @@ public final class Tableau implements Serializable {
      * Clear additional ontology.
      */
     public void clearAdditionalDLOntology() {
+        // Reasoner.getTableau() calls this before each task, so the checkpoint is kept if nothing changes.
+        if (m_additionalDLOntology!=null)
+            m_checkpointTermsToNodes=null;
         m_additionalDLOntology=null;
         m_additionalHyperresolutionManager=null;
         m_existentialExpansionStrategy.additionalDLOntologyCleared();
         m_datatypeManager.additionalDLOntologyCleared();
         updateFlagsDependentOnAdditionalOntology();
     }
+    /**
+     * Replaces the permanent DL-ontology by one that differs from it only in the facts and individuals, as happens when
+     * only the ABox has been changed. The DL-clauses need not be compiled again, so this is much cheaper than creating a
+     * new tableau.
+     *
+     * @param permanentDLOntology a DL-ontology with the same DL-clauses as the current permanent DL-ontology
+     */
+    public void setPermanentABox(DLOntology permanentDLOntology) {
+        if (!m_permanentDLOntology.getDLClauses().equals(permanentDLOntology.getDLClauses()) || m_permanentDLOntology.hasNominals()!=permanentDLOntology.hasNominals() || !permanentDLOntology.getAllDescriptionGraphs().isEmpty())
+            throw new IllegalArgumentException("The DL-ontology differs from the permanent DL-ontology of this tableau in more than the ABox.");
+        m_permanentDLOntology=permanentDLOntology;
+        m_checkpointTermsToNodes=null;
+    }
     protected void updateFlagsDependentOnAdditionalOntology() {
         m_needsThingExtension=m_permanentHyperresolutionManager.m_tupleConsumersByDeltaPredicate.containsKey(AtomicConcept.THING);
         m_needsNamedExtension=m_permanentHyperresolutionManager.m_tupleConsumersByDeltaPredicate.containsKey(AtomicConcept.INTERNAL_NAMED);
@@ -365,18 +469,25 @@ public final class Tableau implements Serializable {
     public boolean isSatisfiable(boolean loadPermanentABox,boolean loadAdditionalABox,Set<Atom> perTestPositiveFactsNoDependency,Set<Atom> perTestNegativeFactsNoDependency,Set<Atom> perTestPositiveFactsDummyDependency,Set<Atom> perTestNegativeFactsDummyDependency,Map<Term,Node> termsToNodes,Map<Individual,Node> nodesForIndividuals,ReasoningTaskDescription reasoningTaskDescription) {
         if (m_tableauMonitor!=null)
             m_tableauMonitor.isSatisfiableStarted(reasoningTaskDescription);
-        clear();
-        if (loadPermanentABox) {
-            for (Atom atom : m_permanentDLOntology.getPositiveFacts())
-                loadPositiveFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
-            for (Atom atom : m_permanentDLOntology.getNegativeFacts())
-                loadNegativeFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
-        }
-        if (loadAdditionalABox && m_additionalDLOntology!=null) {
-            for (Atom atom : m_additionalDLOntology.getPositiveFacts())
-                loadPositiveFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
-            for (Atom atom : m_additionalDLOntology.getNegativeFacts())
-                loadNegativeFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
+        boolean hasAdditionalABox=(loadAdditionalABox && m_additionalDLOntology!=null);
+        if (m_checkpointTermsToNodes!=null && m_checkpointHasPermanentABox==loadPermanentABox && m_checkpointPermanentDLOntology==m_permanentDLOntology && m_checkpointHasAdditionalABox==hasAdditionalABox)
+            restoreCheckpoint(termsToNodes);
+        else {
+            clear();
+            if (loadPermanentABox) {
+                for (Atom atom : m_permanentDLOntology.getPositiveFacts())
+                    loadPositiveFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
+                for (Atom atom : m_permanentDLOntology.getNegativeFacts())
+                    loadNegativeFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
+            }
+            if (hasAdditionalABox) {
+                for (Atom atom : m_additionalDLOntology.getPositiveFacts())
+                    loadPositiveFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
+                for (Atom atom : m_additionalDLOntology.getNegativeFacts())
+                    loadNegativeFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
+            }
+            if (m_useABoxCheckpoint && m_tableauMonitor==null && !m_hasDescriptionGraphs && m_firstTableauNode!=null)
+                createCheckpoint(termsToNodes,loadPermanentABox,hasAdditionalABox);
         }
         if (perTestPositiveFactsNoDependency!=null && !perTestPositiveFactsNoDependency.isEmpty())
             for (Atom atom : perTestPositiveFactsNoDependency)
@@ -385,7 +496,7 @@ public final class Tableau implements Serializable {
             for (Atom atom : perTestNegativeFactsNoDependency)
                 loadNegativeFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
         if ((perTestPositiveFactsDummyDependency!=null && !perTestPositiveFactsDummyDependency.isEmpty()) || (perTestNegativeFactsDummyDependency!=null && !perTestNegativeFactsDummyDependency.isEmpty())) {
-            m_branchingPoints[0]=new BranchingPoint(this);
+            m_branchingPoints[m_currentBranchingPoint+1]=new BranchingPoint(this);
             m_currentBranchingPoint++;
             m_nonbacktrackableBranchingPoint=m_currentBranchingPoint;
             DependencySet dependencySet=m_dependencySetFactory.addBranchingPoint(m_dependencySetFactory.emptySet(),m_currentBranchingPoint);
@@ -407,11 +518,99 @@ public final class Tableau implements Serializable {
         // Ensure that at least one individual exists.
         if (m_firstTableauNode==null)
             createNewNINode(m_dependencySetFactory.emptySet());
+        m_testNonbacktrackableBranchingPoint=m_nonbacktrackableBranchingPoint;
+        boolean result=runCalculus();
+        if (m_tableauMonitor!=null)
+            m_tableauMonitor.isSatisfiableFinished(reasoningTaskDescription,result);
+        return result;
+    }
+    /**
+     * Checks whether the permanent ABox is satisfiable after the given facts have been added to it, by adding the facts
+     * to the model that the last test constructed and continuing the calculus from there. The last test must have
+     * loaded just the permanent ABox and must have been satisfiable, and the given map must be the map of terms to nodes
+     * that the last test used. The branching points of the last test cannot be revised, since backtracking over them
+     * would also remove the new facts; thus, if a clash can only be resolved by revising them, the permanent ABox is
+     * checked from scratch.
+     *
+     * @param termsToNodes the nodes of the terms in the last test, which is updated to the nodes of the terms in this test
+     * @param positiveFacts the positive facts that were added to the permanent ABox
+     * @param negativeFacts the negative facts that were added to the permanent ABox
+     * @param reasoningTaskDescription reasoningTaskDescription
+     * @return true if the permanent ABox is satisfiable
+     */
+    public boolean isSatisfiableWithAdditionalFacts(Map<Term,Node> termsToNodes,Set<Atom> positiveFacts,Set<Atom> negativeFacts,ReasoningTaskDescription reasoningTaskDescription) {
+        if (m_tableauMonitor!=null)
+            m_tableauMonitor.isSatisfiableStarted(reasoningTaskDescription);
+        // The choices made since the last from-scratch test can be revised by that test, even if earlier updates did not open branching points.
+        boolean canRevisePreviousChoices=(m_currentBranchingPoint>m_testNonbacktrackableBranchingPoint);
+        m_nonbacktrackableBranchingPoint=m_currentBranchingPoint;
+        for (Atom atom : positiveFacts)
+            loadPositiveFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
+        for (Atom atom : negativeFacts)
+            loadNegativeFact(termsToNodes,atom,m_dependencySetFactory.emptySet());
         boolean result=runCalculus();
         if (m_tableauMonitor!=null)
             m_tableauMonitor.isSatisfiableFinished(reasoningTaskDescription,result);
+        if (!result && canRevisePreviousChoices) {
+            Map<Individual,Node> nodesForIndividuals=new HashMap<>();
+            for (Term term : termsToNodes.keySet())
+                if (term instanceof Individual)
+                    nodesForIndividuals.put((Individual)term,null);
+            termsToNodes.clear();
+            result=isSatisfiable(true,false,null,null,null,null,termsToNodes,nodesForIndividuals,reasoningTaskDescription);
+        }
         return result;
     }
+    /**
+     * Applies all deterministic rules to the loaded facts and, if this does not produce a clash, records the resulting
+     * state in a branching point at level 0. Tests that load the same facts backtrack to this branching point instead of
+     * loading and saturating the facts again. Existentials and disjunctions are not processed before the checkpoint
+     * because their expansion depends on the facts of each test.
+     */
+    protected void createCheckpoint(Map<Term,Node> termsToNodes,boolean loadPermanentABox,boolean hasAdditionalABox) {
+        m_interruptFlag.startTask();
+        try {
+            propagateDeterministically();
+        }
+        finally {
+            m_interruptFlag.endTask();
+        }
+        if (!m_extensionManager.containsClash()) {
+            pushBranchingPoint(new BranchingPoint(this));
+            m_nonbacktrackableBranchingPoint=m_currentBranchingPoint;
+            m_isCurrentModelDeterministic=true;
+            m_checkpointTermsToNodes=new HashMap<>(termsToNodes);
+            m_checkpointHasPermanentABox=loadPermanentABox;
+            m_checkpointPermanentDLOntology=m_permanentDLOntology;
+            m_checkpointHasAdditionalABox=hasAdditionalABox;
+        }
+    }
+    /**
+     * Restores the state that was recorded by createCheckpoint(). Backtracking restores the extension tables, the nodes,
+     * the tables of the existential expansion and nominal introduction managers, and the blocking caches of the
+     * existential expansion strategy to the checkpoint; the remaining state of the last test is discarded as in clear().
+     * The description graph manager is not reset because no checkpoint is created if there are description graphs.
+     */
+    protected void restoreCheckpoint(Map<Term,Node> termsToNodes) {
+        m_numberOfCheckpointRestorations++;
+        backtrackTo(0);
+        m_nonbacktrackableBranchingPoint=0;
+        m_isCurrentModelDeterministic=true;
+        // These managers hold only auxiliary buffers and retrievals.
+        m_clashManager.clear();
+        m_permanentHyperresolutionManager.clear();
+        if (m_additionalHyperresolutionManager!=null)
+            m_additionalHyperresolutionManager.clear();
+        m_mergingManager.clear();
+        m_datatypeManager.clear();
+        m_existentialExpansionStrategy.checkpointRestored();
+        m_existentialConceptsBuffers.clear();
+        if (m_nogoodManager!=null)
+            m_nogoodManager.clear();
+        if (m_disjunctWatchManager!=null)
+            m_disjunctWatchManager.removeDestroyedWatches();
+        termsToNodes.putAll(m_checkpointTermsToNodes);
+    }
     protected void loadPositiveFact(Map<Term,Node> termsToNodes,Atom atom,DependencySet dependencySet) {
         DLPredicate dlPredicate=atom.getDLPredicate();
         if (dlPredicate instanceof LiteralConcept)
@@ -508,38 +707,19 @@ public final class Tableau implements Serializable {
         }
     }
     protected boolean doIteration() {
-        if (!m_extensionManager.containsClash()) {
-            m_nominalIntroductionManager.processAnnotatedEqualities();
-            boolean hasChange=false;
-            while (m_extensionManager.propagateDeltaNew() && !m_extensionManager.containsClash()) {
-                if (m_hasDescriptionGraphs && !m_extensionManager.containsClash())
-                    m_descriptionGraphManager.checkGraphConstraints();
-                if (!m_extensionManager.containsClash())
-                    m_permanentHyperresolutionManager.applyDLClauses();
-                if (m_additionalHyperresolutionManager!=null && !m_extensionManager.containsClash())
-                    m_additionalHyperresolutionManager.applyDLClauses();
-                if (m_checkUnknownDatatypeRestrictions && !m_extensionManager.containsClash())
-                    m_datatypeManager.applyUnknownDatatypeRestrictionSemantics();
-                if (m_checkDatatypes && !m_extensionManager.containsClash())
-                    m_datatypeManager.checkDatatypeConstraints();
-                if (!m_extensionManager.containsClash())
-                    m_nominalIntroductionManager.processAnnotatedEqualities();
-                hasChange=true;
-            }
-            if (hasChange)
-                return true;
-        }
+        if (!m_extensionManager.containsClash() && propagateDeterministically())
+            return true;
         if (!m_extensionManager.containsClash())
             if (m_existentialExpansionStrategy.expandExistentials(false))
                 return true;
         if (!m_extensionManager.containsClash()) {
             while (m_firstUnprocessedGroundDisjunction!=null) {
-                GroundDisjunction groundDisjunction=m_firstUnprocessedGroundDisjunction;
+                GroundDisjunction groundDisjunction=m_disjunctionSelectionStrategy.getNextGroundDisjunction(this);
                 if (m_tableauMonitor!=null)
                     m_tableauMonitor.processGroundDisjunctionStarted(groundDisjunction);
-                m_firstUnprocessedGroundDisjunction=groundDisjunction.m_previousGroundDisjunction;
+                groundDisjunctionProcessed(groundDisjunction);
                 if (!groundDisjunction.isPruned() && !groundDisjunction.isSatisfied(this)) {
-                    int[] sortedDisjunctIndexes=groundDisjunction.getGroundDisjunctionHeader().getSortedDisjunctIndexes();
+                    int[] sortedDisjunctIndexes=m_disjunctionSelectionStrategy.getSortedDisjunctIndexes(groundDisjunction);
                     DependencySet dependencySet=groundDisjunction.getDependencySet();
                     if (groundDisjunction.getNumberOfDisjuncts()>1) {
                         BranchingPoint branchingPoint=new DisjunctionBranchingPoint(this,groundDisjunction,sortedDisjunctIndexes);
@@ -549,6 +729,8 @@ public final class Tableau implements Serializable {
                     if (m_tableauMonitor!=null)
                         m_tableauMonitor.disjunctProcessingStarted(groundDisjunction,sortedDisjunctIndexes[0]);
                     groundDisjunction.addDisjunctToTableau(this,sortedDisjunctIndexes[0],dependencySet);
+                    if (m_nogoodManager!=null)
+                        m_nogoodManager.disjunctAdded(groundDisjunction,sortedDisjunctIndexes[0]);
                     if (m_tableauMonitor!=null) {
                         m_tableauMonitor.disjunctProcessingFinished(groundDisjunction,sortedDisjunctIndexes[0]);
                         m_tableauMonitor.processGroundDisjunctionFinished(groundDisjunction);
@@ -567,6 +749,8 @@ public final class Tableau implements Serializable {
             int newCurrentBranchingPoint=clashDependencySet.getMaximumBranchingPoint();
             if (newCurrentBranchingPoint<=m_nonbacktrackableBranchingPoint)
                 return false;
+            if (m_nogoodManager!=null)
+                m_nogoodManager.clashDetected(clashDependencySet);
             backtrackTo(newCurrentBranchingPoint);
             BranchingPoint branchingPoint=getCurrentBranchingPoint();
             if (m_tableauMonitor!=null)
@@ -579,6 +763,59 @@ public final class Tableau implements Serializable {
         }
         return false;
     }
+    /**
+     * Marks the given unprocessed ground disjunction as processed. Ground disjunctions are normally processed in the order
+     * in which they were derived, so that moving m_firstUnprocessedGroundDisjunction suffices; ground disjunctions that are
+     * processed ahead of it are flagged and recorded so that backtracking can reset the flag. If disjuncts are watched,
+     * all ground disjunctions are flagged, since the watches must know which ones have been processed.
+     *
+     * @param groundDisjunction an unprocessed ground disjunction
+     */
+    protected void groundDisjunctionProcessed(GroundDisjunction groundDisjunction) {
+        assert !groundDisjunction.m_isProcessed;
+        boolean isFirstUnprocessed=(groundDisjunction==m_firstUnprocessedGroundDisjunction);
+        if (!isFirstUnprocessed || m_disjunctWatchManager!=null) {
+            groundDisjunction.m_isProcessed=true;
+            if (m_numberOfProcessedGroundDisjunctions==m_processedGroundDisjunctions.length) {
+                GroundDisjunction[] newProcessedGroundDisjunctions=new GroundDisjunction[m_processedGroundDisjunctions.length*3/2];
+                System.arraycopy(m_processedGroundDisjunctions,0,newProcessedGroundDisjunctions,0,m_processedGroundDisjunctions.length);
+                m_processedGroundDisjunctions=newProcessedGroundDisjunctions;
+            }
+            m_processedGroundDisjunctions[m_numberOfProcessedGroundDisjunctions++]=groundDisjunction;
+        }
+        if (isFirstUnprocessed) {
+            m_firstUnprocessedGroundDisjunction=groundDisjunction.m_previousGroundDisjunction;
+            while (m_firstUnprocessedGroundDisjunction!=null && m_firstUnprocessedGroundDisjunction.m_isProcessed)
+                m_firstUnprocessedGroundDisjunction=m_firstUnprocessedGroundDisjunction.m_previousGroundDisjunction;
+        }
+    }
+    /**
+     * Applies the deterministic rules until no new facts are derived or a clash occurs.
+     *
+     * @return true if some facts were derived
+     */
+    protected boolean propagateDeterministically() {
+        m_nominalIntroductionManager.processAnnotatedEqualities();
+        boolean hasChange=false;
+        while (m_extensionManager.propagateDeltaNew() && !m_extensionManager.containsClash()) {
+            if (m_hasDescriptionGraphs && !m_extensionManager.containsClash())
+                m_descriptionGraphManager.checkGraphConstraints();
+            if (!m_extensionManager.containsClash())
+                m_permanentHyperresolutionManager.applyDLClauses();
+            if (m_additionalHyperresolutionManager!=null && !m_extensionManager.containsClash())
+                m_additionalHyperresolutionManager.applyDLClauses();
+            if (m_checkUnknownDatatypeRestrictions && !m_extensionManager.containsClash())
+                m_datatypeManager.applyUnknownDatatypeRestrictionSemantics();
+            if (m_checkDatatypes && !m_extensionManager.containsClash())
+                m_datatypeManager.checkDatatypeConstraints();
+            if (m_disjunctWatchManager!=null && !m_extensionManager.containsClash())
+                m_disjunctWatchManager.propagateUnitDisjunctions();
+            if (!m_extensionManager.containsClash())
+                m_nominalIntroductionManager.processAnnotatedEqualities();
+            hasChange=true;
+        }
+        return hasChange;
+    }
     /**
      * @return true if current model deterministic
      */
@@ -608,6 +845,8 @@ public final class Tableau implements Serializable {
         m_firstGroundDisjunction=groundDisjunction;
         if (m_firstUnprocessedGroundDisjunction==null)
             m_firstUnprocessedGroundDisjunction=groundDisjunction;
+        if (m_disjunctWatchManager!=null)
+            m_disjunctWatchManager.groundDisjunctionAdded(groundDisjunction);
         if (m_tableauMonitor!=null)
             m_tableauMonitor.groundDisjunctionDerived(groundDisjunction);
     }
@@ -656,6 +895,13 @@ public final class Tableau implements Serializable {
         m_currentBranchingPoint=newCurrentBrancingPoint;
         // backtrack processed ground disjunctions
         m_firstUnprocessedGroundDisjunction=branchingPoint.m_firstUnprocessedGroundDisjunction;
+        while (m_numberOfProcessedGroundDisjunctions>branchingPoint.m_numberOfProcessedGroundDisjunctions) {
+            m_numberOfProcessedGroundDisjunctions--;
+            m_processedGroundDisjunctions[m_numberOfProcessedGroundDisjunctions].m_isProcessed=false;
+            m_processedGroundDisjunctions[m_numberOfProcessedGroundDisjunctions]=null;
+        }
+        if (m_disjunctWatchManager!=null)
+            m_disjunctWatchManager.backtrack();
         // backtrack added ground disjunctions
         GroundDisjunction firstGroundDisjunctionShouldBe=branchingPoint.m_firstGroundDisjunction;
         while (m_firstGroundDisjunction!=firstGroundDisjunctionShouldBe) {
@@ -763,6 +1009,7 @@ public final class Tableau implements Serializable {
         assert node.m_nodeID==-1;
         assert node.m_nodeState==null;
         node.initialize(++m_numberOfNodesInTableau,parent,nodeType,treeDepth);
+        node.m_creationNumber=m_numberOfNodeCreations+1;
         m_existentialExpansionStrategy.nodeInitialized(node);
         node.m_previousTableauNode=m_lastTableauNode;
         if (m_lastTableauNode==null)
@@ -799,6 +1046,7 @@ public final class Tableau implements Serializable {
         assert node.m_previousMergedOrPrunedNode==null;
         node.m_mergedInto=mergeInto;
         node.m_mergedIntoDependencySet=m_dependencySetFactory.getPermanent(dependencySet);
+        node.m_mergeNumber=++m_lastMergeNumber;
         m_dependencySetFactory.addUsage(node.m_mergedIntoDependencySet);
         node.m_nodeState=NodeState.MERGED;
         node.m_previousMergedOrPrunedNode=m_lastMergedOrPrunedNode;
@@ -830,6 +1078,8 @@ public final class Tableau implements Serializable {
             savedMergedInfo=node.m_mergedInto;
             node.m_mergedInto=null;
             node.m_mergedIntoDependencySet=null;
+            node.m_mergeNumber=0;
+            node.clearCanonicalNodeShortcut();
         }
         node.m_nodeState=Node.NodeState.ACTIVE;
         m_lastMergedOrPrunedNode=node.m_previousMergedOrPrunedNode;
@@ -894,6 +1144,12 @@ public final class Tableau implements Serializable {
     public int getNumberOfMergedOrPrunedNodes() {
         return m_numberOfMergedOrPrunedNodes;
     }
+    /**
+     * @return the number of tests that started from the ABox checkpoint instead of loading the ABox
+     */
+    public int getNumberOfCheckpointRestorations() {
+        return m_numberOfCheckpointRestorations;
+    }
     /**
      * @param nodeID nodeID
      * @return node
@@ -0,0 +1,244 @@
+/* Copyright 2008, 2009, 2010 by the Oxford University Computing Laboratory
+
+   This file is part of HermiT.
+
+   HermiT is free software: you can redistribute it and/or modify
+   it under the terms of the GNU Lesser General Public License as published by
+   the Free Software Foundation, either version 3 of the License, or
+   (at your option) any later version.
+
+   HermiT is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+   GNU Lesser General Public License for more details.
+
+   You should have received a copy of the GNU Lesser General Public License
+   along with HermiT.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package org.semanticweb.HermiT.tableau;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A pool of independent tableaux for the same DL ontology. A tableau is borrowed for the
+ * duration of one reasoning task and given back afterwards, so that several threads can run
+ * reasoning tasks at the same time. Tableaux are created lazily up to the maximal pool size;
+ * if all of them are in use, borrowTableau() waits until one is given back.
+ */
+public final class TableauPool {
+
+    /**
+     * Creates the tableaux of a pool.
+     */
+    public interface TableauFactory {
+        /**
+         * @param interruptFlag the interrupt flag of the new tableau
+         * @return a new tableau for the DL ontology of the pool
+         */
+        Tableau createTableau(InterruptFlag interruptFlag);
+    }
+
+    /**
+     * A reasoning task that runs on a tableau borrowed from a pool.
+     *
+     * @param <T> the type of the result
+     */
+    public interface TableauTask<T> {
+        /**
+         * @param tableau a tableau that is not used by any other thread while the task runs
+         * @return the result of the task
+         */
+        T run(Tableau tableau);
+    }
+
+    protected final TableauFactory m_tableauFactory;
+    protected final int m_maximumSize;
+    protected final long m_individualTaskTimeout;
+    protected final List<Tableau> m_allTableaux;
+    protected final Deque<Tableau> m_idleTableaux;
+    protected ForkJoinPool m_forkJoinPool;
+    protected boolean m_disposed;
+
+    /**
+     * @param tableauFactory the factory for the tableaux
+     * @param maximumSize the maximal number of tableaux in the pool
+     * @param individualTaskTimeout the timeout of the interrupt flag of each tableau
+     */
+    public TableauPool(TableauFactory tableauFactory,int maximumSize,long individualTaskTimeout) {
+        if (maximumSize<1)
+            throw new IllegalArgumentException("The size of the tableau pool must be at least 1.");
+        m_tableauFactory=tableauFactory;
+        m_maximumSize=maximumSize;
+        m_individualTaskTimeout=individualTaskTimeout;
+        m_allTableaux=new ArrayList<>();
+        m_idleTableaux=new ArrayDeque<>();
+    }
+    /**
+     * @return the maximal number of tableaux in the pool
+     */
+    public int getMaximumSize() {
+        return m_maximumSize;
+    }
+    /**
+     * @return a tableau that is not used by any other thread
+     */
+    public Tableau borrowTableau() {
+        synchronized (this) {
+            while (true) {
+                if (m_disposed)
+                    throw new IllegalStateException("The tableau pool has been disposed.");
+                if (!m_idleTableaux.isEmpty())
+                    return m_idleTableaux.removeFirst();
+                if (m_allTableaux.size()<m_maximumSize) {
+                    // reserve the place; the tableau is created outside of the lock
+                    m_allTableaux.add(null);
+                    break;
+                }
+                try {
+                    wait();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a tableau.",e);
+                }
+            }
+        }
+        Tableau tableau;
+        try {
+            tableau=m_tableauFactory.createTableau(new InterruptFlag(m_individualTaskTimeout));
+        }
+        catch (RuntimeException|Error error) {
+            synchronized (this) {
+                m_allTableaux.remove(m_allTableaux.indexOf(null));
+                notifyAll();
+            }
+            throw error;
+        }
+        synchronized (this) {
+            m_allTableaux.set(m_allTableaux.indexOf(null),tableau);
+        }
+        return tableau;
+    }
+    /**
+     * Gives a tableau back to the pool. Tableaux that do not belong to the pool are ignored.
+     *
+     * @param tableau a tableau obtained from borrowTableau()
+     */
+    public void returnTableau(Tableau tableau) {
+        tableau.clearAdditionalDLOntology();
+        synchronized (this) {
+            if (!containsTableau(tableau))
+                return;
+            if (m_disposed)
+                tableau.getInterruptFlag().dispose();
+            else {
+                m_idleTableaux.addFirst(tableau);
+                notifyAll();
+            }
+        }
+    }
+    /**
+     * @param tableau a tableau
+     * @return true if the tableau belongs to this pool
+     */
+    public synchronized boolean containsTableau(Tableau tableau) {
+        for (Tableau poolTableau : m_allTableaux)
+            if (poolTableau==tableau)
+                return true;
+        return false;
+    }
+    /**
+     * Runs the given tasks on as many threads as the pool has tableaux; each task borrows a tableau for its duration.
+     * The method returns when all tasks have finished; if a task fails, its exception is rethrown.
+     *
+     * @param <T> the type of the results
+     * @param tasks the tasks
+     * @return the results of the tasks in the order of the tasks
+     */
+    public <T> List<T> invokeAll(List<? extends TableauTask<T>> tasks) {
+        List<Callable<T>> callables=new ArrayList<>(tasks.size());
+        for (final TableauTask<T> task : tasks) {
+            callables.add(()->{
+                Tableau tableau=borrowTableau();
+                try {
+                    return task.run(tableau);
+                }
+                finally {
+                    returnTableau(tableau);
+                }
+            });
+        }
+        return runInParallel(getForkJoinPool(),callables);
+    }
+    /**
+     * @return the fork-join pool that runs the tasks of invokeAll(); it is created on first use and shut down when the
+     *         tableau pool is disposed
+     */
+    protected synchronized ForkJoinPool getForkJoinPool() {
+        if (m_disposed)
+            throw new IllegalStateException("The tableau pool has been disposed.");
+        if (m_forkJoinPool==null)
+            m_forkJoinPool=new ForkJoinPool(m_maximumSize);
+        return m_forkJoinPool;
+    }
+    /**
+     * Runs the given tasks on the given fork-join pool. The method returns when all tasks have finished; if a task fails,
+     * its exception is rethrown.
+     *
+     * @param <T> the type of the results
+     * @param forkJoinPool the pool that runs the tasks
+     * @param callables the tasks
+     * @return the results of the tasks in the order of the tasks
+     */
+    public static <T> List<T> runInParallel(ForkJoinPool forkJoinPool,List<? extends Callable<T>> callables) {
+        List<T> results=new ArrayList<>(callables.size());
+        try {
+            for (Future<T> future : forkJoinPool.invokeAll(callables))
+                results.add(future.get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the reasoning tasks.",e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause=e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            else if (cause instanceof Error)
+                throw (Error)cause;
+            else
+                throw new IllegalStateException(cause);
+        }
+        return results;
+    }
+    /**
+     * Interrupts the tasks running in all tableaux of the pool.
+     */
+    public synchronized void interrupt() {
+        for (Tableau tableau : m_allTableaux)
+            if (tableau!=null)
+                tableau.getInterruptFlag().interrupt();
+    }
+    /**
+     * Disposes the interrupt flags of the idle tableaux and shuts down the fork-join pool; the remaining interrupt flags
+     * are disposed when their tableaux are given back.
+     */
+    public synchronized void dispose() {
+        m_disposed=true;
+        if (m_forkJoinPool!=null) {
+            m_forkJoinPool.shutdown();
+            m_forkJoinPool=null;
+        }
+        for (Tableau tableau : m_idleTableaux)
+            tableau.getInterruptFlag().dispose();
+        m_idleTableaux.clear();
+        notifyAll();
+    }
+}
@@ -17,11 +17,19 @@
 */
 package org.semanticweb.HermiT.tableau;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 /**
  * The actual implementation of the tuple tables used in the ExtensionTable
- * class.
+ * class. The tuples are stored in pages that either hold the object references
+ * directly or, if an object dictionary is given, the integer IDs of the objects;
+ * the latter can also be kept outside of the Java heap.
  */
 public final class TupleTable implements Serializable {
     private static final long serialVersionUID=-7712458276004062803L;
@@ -29,16 +37,39 @@ public final class TupleTable implements Serializable {
     protected static final int PAGE_SIZE=512;   // Must be a power of two!
 
     protected final int m_arity;
+    protected final ObjectDictionary m_objectDictionary;
+    protected final boolean m_offHeap;
     protected Page[] m_pages;
     protected int m_numberOfPages;
     protected int m_tupleCapacity;
     protected int m_firstFreeTupleIndex;
+    protected final int[] m_probeIDs;
+    protected transient Object[] m_probeTuple;
+    protected transient int[] m_probePositionIndexes;
 
     /**
      * @param arity arity
      */
     public TupleTable(int arity) {
+        this(arity,null,false);
+    }
+    /**
+     * @param arity arity
+     * @param objectDictionary the dictionary used to store the tuples as integer IDs; if null, the tuples are stored as object references
+     */
+    public TupleTable(int arity,ObjectDictionary objectDictionary) {
+        this(arity,objectDictionary,false);
+    }
+    /**
+     * @param arity arity
+     * @param objectDictionary the dictionary used to store the tuples as integer IDs; if null, the tuples are stored as object references
+     * @param offHeap if true, the integer IDs are stored outside of the Java heap; ignored if no dictionary is given
+     */
+    public TupleTable(int arity,ObjectDictionary objectDictionary,boolean offHeap) {
         m_arity=arity;
+        m_objectDictionary=objectDictionary;
+        m_offHeap=offHeap && objectDictionary!=null;
+        m_probeIDs=(objectDictionary==null ? null : new int[m_arity]);
         clear();
     }
     /**
@@ -69,7 +100,7 @@ public final class TupleTable implements Serializable {
                 System.arraycopy(m_pages,0,newPages,0,m_numberOfPages);
                 m_pages=newPages;
             }
-            m_pages[m_numberOfPages++]=new Page(m_arity);
+            m_pages[m_numberOfPages++]=createPage();
             m_tupleCapacity+=PAGE_SIZE;
         }
         m_pages[newTupleIndex / PAGE_SIZE].storeTuple((newTupleIndex % PAGE_SIZE)*m_arity,tupleBuffer);
@@ -83,7 +114,7 @@ public final class TupleTable implements Serializable {
      * @return true if equal
      */
     public boolean tupleEquals(Object[] tupleBuffer,int tupleIndex,int compareLength) {
-        return m_pages[tupleIndex / PAGE_SIZE].tupleEquals(tupleBuffer,(tupleIndex % PAGE_SIZE)*m_arity,compareLength);
+        return setProbeTuple(tupleBuffer,null,compareLength) && probeEquals(tupleIndex,compareLength);
     }
     /**
      * @param tupleBuffer tupleBuffer
@@ -93,7 +124,45 @@ public final class TupleTable implements Serializable {
      * @return true if equals
      */
     public boolean tupleEquals(Object[] tupleBuffer,int[] positionIndexes,int tupleIndex,int compareLength) {
-        return m_pages[tupleIndex / PAGE_SIZE].tupleEquals(tupleBuffer,positionIndexes,(tupleIndex % PAGE_SIZE)*m_arity,compareLength);
+        return setProbeTuple(tupleBuffer,positionIndexes,compareLength) && probeEquals(tupleIndex,compareLength);
+    }
+    /**
+     * Sets the tuple that probeEquals() compares with the tuples of this table. If an object
+     * dictionary is used, the IDs of the objects are looked up here once per tuple rather
+     * than once per comparison.
+     *
+     * @param tupleBuffer tupleBuffer
+     * @param positionIndexes the positions in tupleBuffer of the objects to compare, or null if the objects are at the first positions
+     * @param compareLength compareLength
+     * @return false if some object has no ID, in which case no tuple of this table is equal to the given one
+     */
+    public boolean setProbeTuple(Object[] tupleBuffer,int[] positionIndexes,int compareLength) {
+        m_probeTuple=tupleBuffer;
+        m_probePositionIndexes=positionIndexes;
+        if (m_probeIDs!=null) {
+            for (int index=0;index<compareLength;index++) {
+                int id=m_objectDictionary.getIDIfPresent(positionIndexes==null ? tupleBuffer[index] : tupleBuffer[positionIndexes[index]]);
+                if (id==-1)
+                    return false;
+                m_probeIDs[index]=id;
+            }
+        }
+        return true;
+    }
+    /**
+     * @param tupleIndex tupleIndex
+     * @param compareLength compareLength
+     * @return true if the tuple set by setProbeTuple() is equal to the tuple with the given index
+     */
+    public boolean probeEquals(int tupleIndex,int compareLength) {
+        Page page=m_pages[tupleIndex / PAGE_SIZE];
+        int tupleStartIndex=(tupleIndex % PAGE_SIZE)*m_arity;
+        if (m_probeIDs!=null)
+            return ((AbstractIntegerPage)page).idsEqual(m_probeIDs,tupleStartIndex,compareLength);
+        else if (m_probePositionIndexes==null)
+            return ((ObjectPage)page).tupleEquals(m_probeTuple,tupleStartIndex,compareLength);
+        else
+            return ((ObjectPage)page).tupleEquals(m_probeTuple,m_probePositionIndexes,tupleStartIndex,compareLength);
     }
     /**
      * @param tupleBuffer tupleBuffer
@@ -109,7 +178,7 @@ public final class TupleTable implements Serializable {
      */
     public Object getTupleObject(int tupleIndex,int objectIndex) {
         assert objectIndex < m_arity;
-        return m_pages[tupleIndex / PAGE_SIZE].m_objects[(tupleIndex % PAGE_SIZE)*m_arity+objectIndex];
+        return m_pages[tupleIndex / PAGE_SIZE].getObject((tupleIndex % PAGE_SIZE)*m_arity+objectIndex);
     }
     /**
      * @param tupleIndex tupleIndex
@@ -117,7 +186,7 @@ public final class TupleTable implements Serializable {
      * @param object object
      */
     public void setTupleObject(int tupleIndex,int objectIndex,Object object) {
-        m_pages[tupleIndex / PAGE_SIZE].m_objects[(tupleIndex % PAGE_SIZE)*m_arity+objectIndex]=object;
+        m_pages[tupleIndex / PAGE_SIZE].setObject((tupleIndex % PAGE_SIZE)*m_arity+objectIndex,object);
     }
     /**
      * @param newFirstFreeTupleIndex newFirstFreeTupleIndex
@@ -133,32 +202,73 @@ public final class TupleTable implements Serializable {
     }
     /**Clear.*/
     public void clear() {
+        if (m_offHeap && m_pages!=null) {
+            // Allocating direct buffers is expensive, so the pages are kept. As after truncate(),
+            // the tuples from m_firstFreeTupleIndex onwards are never read before being overwritten.
+            m_firstFreeTupleIndex=0;
+            return;
+        }
         m_pages=new Page[10];
         m_numberOfPages=1;
-        m_pages[0]=new Page(m_arity);
+        m_pages[0]=createPage();
         m_tupleCapacity=m_numberOfPages*PAGE_SIZE;
         m_firstFreeTupleIndex=0;
     }
+    protected Page createPage() {
+        if (m_objectDictionary==null)
+            return new ObjectPage(m_arity);
+        else if (m_offHeap)
+            return new OffHeapIntegerPage(m_arity,m_objectDictionary);
+        else
+            return new IntegerPage(m_arity,m_objectDictionary);
+    }
 
-    protected static final class Page implements Serializable {
+    protected abstract static class Page implements Serializable {
         private static final long serialVersionUID=2239482172592108644L;
 
         public final int m_arity;
-        public final Object[] m_objects;
 
         public Page(int arity) {
             m_arity=arity;
+        }
+        public abstract int sizeInMemory();
+        public abstract Object getObject(int objectIndex);
+        public abstract void setObject(int objectIndex,Object object);
+        public abstract void storeTuple(int tupleStartIndex,Object[] tupleBuffer);
+        public abstract void retrieveTuple(int tupleStartIndex,Object[] tupleBuffer);
+        public abstract void nullifyTuple(int tupleStartIndex);
+    }
+
+    protected static final class ObjectPage extends Page {
+        private static final long serialVersionUID=-3317593957129047562L;
+
+        public final Object[] m_objects;
+
+        public ObjectPage(int arity) {
+            super(arity);
             m_objects=new Object[m_arity*PAGE_SIZE];
         }
+        @Override
         public int sizeInMemory() {
             return m_objects.length*4;
         }
+        @Override
+        public Object getObject(int objectIndex) {
+            return m_objects[objectIndex];
+        }
+        @Override
+        public void setObject(int objectIndex,Object object) {
+            m_objects[objectIndex]=object;
+        }
+        @Override
         public void storeTuple(int tupleStartIndex,Object[] tupleBuffer) {
             System.arraycopy(tupleBuffer,0,m_objects,tupleStartIndex,tupleBuffer.length);
         }
+        @Override
         public void retrieveTuple(int tupleStartIndex,Object[] tupleBuffer) {
             System.arraycopy(m_objects,tupleStartIndex,tupleBuffer,0,tupleBuffer.length);
         }
+        @Override
         public void nullifyTuple(int tupleStartIndex) {
             for (int index=0;index<m_arity;index++)
                 m_objects[tupleStartIndex+index]=null;
@@ -186,4 +296,138 @@ public final class TupleTable implements Serializable {
             return true;
         }
     }
+
+    /**
+     * Stores the tuples as integer IDs assigned by an object dictionary. Since the
+     * dictionary compares objects using equals(), two objects are equal if and only
+     * if their IDs are the same, so the tuples are compared by comparing integers.
+     */
+    protected abstract static class AbstractIntegerPage extends Page {
+        private static final long serialVersionUID=4610253745412931078L;
+
+        public final ObjectDictionary m_objectDictionary;
+
+        public AbstractIntegerPage(int arity,ObjectDictionary objectDictionary) {
+            super(arity);
+            m_objectDictionary=objectDictionary;
+        }
+        protected abstract int getID(int objectIndex);
+        protected abstract void setID(int objectIndex,int id);
+        @Override
+        public Object getObject(int objectIndex) {
+            return m_objectDictionary.getObject(getID(objectIndex));
+        }
+        @Override
+        public void setObject(int objectIndex,Object object) {
+            setID(objectIndex,m_objectDictionary.getID(object));
+        }
+        @Override
+        public void storeTuple(int tupleStartIndex,Object[] tupleBuffer) {
+            for (int index=tupleBuffer.length-1;index>=0;--index)
+                setID(tupleStartIndex+index,m_objectDictionary.getID(tupleBuffer[index]));
+        }
+        @Override
+        public void retrieveTuple(int tupleStartIndex,Object[] tupleBuffer) {
+            for (int index=tupleBuffer.length-1;index>=0;--index)
+                tupleBuffer[index]=m_objectDictionary.getObject(getID(tupleStartIndex+index));
+        }
+        @Override
+        public void nullifyTuple(int tupleStartIndex) {
+            for (int index=0;index<m_arity;index++)
+                setID(tupleStartIndex+index,ObjectDictionary.NULL_ID);
+        }
+        public boolean idsEqual(int[] ids,int tupleStartIndex,int compareLength) {
+            int difference=0;
+            for (int index=compareLength-1;index>=0;--index)
+                difference|=ids[index]^getID(tupleStartIndex+index);
+            return difference==0;
+        }
+    }
+
+    protected static final class IntegerPage extends AbstractIntegerPage {
+        private static final long serialVersionUID=-5964231815327245016L;
+
+        public final int[] m_ids;
+
+        public IntegerPage(int arity,ObjectDictionary objectDictionary) {
+            super(arity,objectDictionary);
+            m_ids=new int[m_arity*PAGE_SIZE];
+        }
+        @Override
+        public int sizeInMemory() {
+            return m_ids.length*4;
+        }
+        @Override
+        protected int getID(int objectIndex) {
+            return m_ids[objectIndex];
+        }
+        @Override
+        protected void setID(int objectIndex,int id) {
+            m_ids[objectIndex]=id;
+        }
+    }
+
+    /**
+     * Keeps the integer IDs in a direct buffer, that is, outside of the Java heap,
+     * so that the garbage collector does not have to trace or copy the page.
+     */
+    protected static final class OffHeapIntegerPage extends AbstractIntegerPage {
+        private static final long serialVersionUID=1287764532193620974L;
+
+        protected transient IntBuffer m_ids;
+
+        public OffHeapIntegerPage(int arity,ObjectDictionary objectDictionary) {
+            super(arity,objectDictionary);
+            m_ids=allocateOffHeap(m_arity*PAGE_SIZE);
+        }
+        @Override
+        public int sizeInMemory() {
+            // the IDs are not on the heap, but they still take up memory
+            return m_ids.capacity()*4;
+        }
+        @Override
+        protected int getID(int objectIndex) {
+            return m_ids.get(objectIndex);
+        }
+        @Override
+        protected void setID(int objectIndex,int id) {
+            m_ids.put(objectIndex,id);
+        }
+        private void writeObject(ObjectOutputStream outputStream) throws IOException {
+            outputStream.defaultWriteObject();
+            outputStream.writeObject(copyOffHeap(m_ids));
+        }
+        private void readObject(ObjectInputStream inputStream) throws IOException,ClassNotFoundException {
+            inputStream.defaultReadObject();
+            m_ids=copyOffHeap((int[])inputStream.readObject());
+        }
+    }
+
+    /**
+     * @param numberOfInts the number of integers
+     * @return a buffer of the given size allocated outside of the Java heap
+     */
+    protected static IntBuffer allocateOffHeap(int numberOfInts) {
+        return ByteBuffer.allocateDirect(numberOfInts*4).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+    /**
+     * @param buffer a buffer allocated outside of the Java heap
+     * @return an array with the contents of the buffer
+     */
+    protected static int[] copyOffHeap(IntBuffer buffer) {
+        int[] result=new int[buffer.capacity()];
+        for (int index=result.length-1;index>=0;--index)
+            result[index]=buffer.get(index);
+        return result;
+    }
+    /**
+     * @param array an array
+     * @return a buffer allocated outside of the Java heap with the contents of the array
+     */
+    protected static IntBuffer copyOffHeap(int[] array) {
+        IntBuffer result=allocateOffHeap(array.length);
+        for (int index=array.length-1;index>=0;--index)
+            result.put(index,array[index]);
+        return result;
+    }
 }
@@ -50,10 +50,17 @@ final class TupleTableFullIndex implements Serializable {
         int hashCode=getTupleHashCode(tuple);
         int entryIndex=getBucketIndex(hashCode,m_buckets.length);
         int entry=m_buckets[entryIndex]-BUCKET_OFFSET;
+        // the IDs of the tuple are looked up only if some entry has the same hash code
+        boolean probeSet=false;
         while (entry!=-1) {
             if (hashCode==m_entryManager.getEntryComponent(entry,ENTRY_HASH_CODE)) {
                 int tupleIndex=m_entryManager.getEntryComponent(entry,ENTRY_TUPLE_INDEX);
-                if (m_tupleTable.tupleEquals(tuple,tupleIndex,m_indexedArity))
+                if (!probeSet) {
+                    if (!m_tupleTable.setProbeTuple(tuple,null,m_indexedArity))
+                        break;
+                    probeSet=true;
+                }
+                if (m_tupleTable.probeEquals(tupleIndex,m_indexedArity))
                     return tupleIndex;
             }
             entry=m_entryManager.getEntryComponent(entry,ENTRY_NEXT);
@@ -87,10 +94,16 @@ final class TupleTableFullIndex implements Serializable {
         int hashCode=getTupleHashCode(tuple);
         int entryIndex=getBucketIndex(hashCode,m_buckets.length);
         int entry=m_buckets[entryIndex]-BUCKET_OFFSET;
+        boolean probeSet=false;
         while (entry!=-1) {
             if (hashCode==m_entryManager.getEntryComponent(entry,ENTRY_HASH_CODE)) {
                 int tupleIndex=m_entryManager.getEntryComponent(entry,ENTRY_TUPLE_INDEX);
-                if (m_tupleTable.tupleEquals(tuple,tupleIndex,m_indexedArity))
+                if (!probeSet) {
+                    if (!m_tupleTable.setProbeTuple(tuple,null,m_indexedArity))
+                        return -1;
+                    probeSet=true;
+                }
+                if (m_tupleTable.probeEquals(tupleIndex,m_indexedArity))
                     return tupleIndex;
             }
             entry=m_entryManager.getEntryComponent(entry,ENTRY_NEXT);
@@ -101,10 +114,16 @@ final class TupleTableFullIndex implements Serializable {
         int hashCode=getTupleHashCode(tupleBuffer,positionIndexes);
         int entryIndex=getBucketIndex(hashCode,m_buckets.length);
         int entry=m_buckets[entryIndex]-BUCKET_OFFSET;
+        boolean probeSet=false;
         while (entry!=-1) {
             if (hashCode==m_entryManager.getEntryComponent(entry,ENTRY_HASH_CODE)) {
                 int tupleIndex=m_entryManager.getEntryComponent(entry,ENTRY_TUPLE_INDEX);
-                if (m_tupleTable.tupleEquals(tupleBuffer,positionIndexes,tupleIndex,m_indexedArity))
+                if (!probeSet) {
+                    if (!m_tupleTable.setProbeTuple(tupleBuffer,positionIndexes,m_indexedArity))
+                        return -1;
+                    probeSet=true;
+                }
+                if (m_tupleTable.probeEquals(tupleIndex,m_indexedArity))
                     return tupleIndex;
             }
             entry=m_entryManager.getEntryComponent(entry,ENTRY_NEXT);
@@ -11,7 +11,9 @@ public class AllHeavyTests extends TestCase {
         // $JUnit-BEGIN$
         suite.addTestSuite(ClassificationTest.class);
         suite.addTestSuite(ClassificationIndividualReuseTest.class);
+        suite.addTestSuite(ClassificationParallelTest.class);
         suite.addTestSuite(OWLLinkTest.class);
+        suite.addTest(ReasonerConfigurationsTest.suite());
         // $JUnit-END$
         return suite;
     }
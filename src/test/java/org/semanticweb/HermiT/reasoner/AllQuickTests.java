@@ -20,6 +20,22 @@ public class AllQuickTests extends TestCase {
         suite.addTestSuite(ReasonerTest.class);
         suite.addTestSuite(ReasonerIndividualReuseTest.class);
         suite.addTestSuite(ReasonerCoreBlockingTest.class);
+        suite.addTestSuite(ReasonerIntegerPagesTest.class);
+        suite.addTestSuite(ReasonerOffHeapPagesTest.class);
+        suite.addTestSuite(ReasonerHashTupleIndexTest.class);
+        suite.addTestSuite(ReasonerTableauPoolTest.class);
+        suite.addTestSuite(ReasonerParallelRealisationTest.class);
+        suite.addTestSuite(ReasonerABoxPartitioningTest.class);
+        suite.addTestSuite(ReasonerABoxCheckpointTest.class);
+        suite.addTestSuite(ReasonerNogoodLearningTest.class);
+        suite.addTestSuite(ReasonerDisjunctionSelectionTest.class);
+        suite.addTestSuite(ReasonerWatchedDisjunctsTest.class);
+        suite.addTestSuite(ReasonerIncrementalClassificationTest.class);
+        suite.addTestSuite(ReasonerIncrementalABoxTest.class);
+        suite.addTestSuite(ReasonerClassificationCacheTest.class);
+        suite.addTestSuite(ReasonerGeneratedClauseEvaluatorTest.class);
+        suite.addTestSuite(PreprocessedTBoxTest.class);
+        suite.addTestSuite(ReasonerHybridDependencySetTest.class);
         suite.addTestSuite(ComplexConceptTest.class);
         suite.addTestSuite(EntailmentTest.class);
         suite.addTestSuite(RIATest.class);
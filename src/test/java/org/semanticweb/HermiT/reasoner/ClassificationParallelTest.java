@@ -0,0 +1,28 @@
+package org.semanticweb.HermiT.reasoner;
+
+import org.semanticweb.HermiT.Configuration;
+@SuppressWarnings("javadoc")
+public class ClassificationParallelTest extends AbstractReasonerTest {
+
+    public ClassificationParallelTest(String name) {
+        super(name);
+    }
+
+    public void testWine() throws Exception {
+        loadReasonerFromResource("res/wine.xml");
+        assertHierarchies("res/wine.xml.txt");
+    }
+
+    public void testPizza() throws Exception {
+        loadReasonerFromResource("res/pizza.xml");
+        assertHierarchies("res/pizza.xml.txt");
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.forceQuasiOrderClassification = true;
+        configuration.classificationThreads = 4;
+        return configuration;
+    }
+}
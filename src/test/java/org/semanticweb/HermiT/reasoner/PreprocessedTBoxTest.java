@@ -0,0 +1,103 @@
+package org.semanticweb.HermiT.reasoner;
+
+import org.semanticweb.HermiT.PreprocessedTBox;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class PreprocessedTBoxTest extends AbstractReasonerTest {
+
+    public PreprocessedTBoxTest(String name) {
+        super(name);
+    }
+
+    protected PreprocessedTBox loadTBox() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("Declaration(NamedIndividual(:a))");
+        buffer.append("Declaration(NamedIndividual(:b))");
+        buffer.append("SubClassOf(:A :B)");
+        buffer.append("SubClassOf(:C ObjectUnionOf(:B :D))");
+        buffer.append("SubClassOf(:B :D)");
+        buffer.append("SubClassOf(:C :D)");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :D) :E)");
+        buffer.append("SubObjectPropertyOf(:s :r)");
+        buffer.append("DisjointClasses(:D :F)");
+        loadOntologyWithAxioms(buffer.toString());
+        return new PreprocessedTBox(getConfiguration(), m_ontology);
+    }
+    protected OWLOntology createTenantOntology(String name, OWLAxiom... axioms) throws Exception {
+        OWLOntology ontology = m_ontologyManager.createOntology(IRI.create("file:/c/" + name + ".owl"));
+        m_ontologyManager.applyChange(new AddImport(ontology, m_dataFactory.getOWLImportsDeclaration(ONTOLOGY_IRI)));
+        for (OWLAxiom axiom : axioms)
+            ontology.add(axiom);
+        return ontology;
+    }
+
+    public void testTenantsShareTheTBox() throws Exception {
+        PreprocessedTBox tbox = loadTBox();
+        OWLOntology tenant1 = createTenantOntology("tenant1",
+                m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("a")),
+                m_dataFactory.getOWLObjectPropertyAssertionAxiom(NS_OP("s"), NS_NI("b"), NS_NI("a")));
+        OWLOntology tenant2 = createTenantOntology("tenant2",
+                m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("a")),
+                m_dataFactory.getOWLObjectPropertyAssertionAxiom(NS_OP("r"), NS_NI("a"), NS_NI("b")));
+        Reasoner reasoner1 = tbox.createReasoner(tenant1);
+        Reasoner reasoner2 = tbox.createReasoner(tenant2);
+        assertSame(tbox.getDLOntology().getDLClauses(), reasoner1.getDLOntology().getDLClauses());
+        assertSame(tbox.getDLOntology().getDLClauses(), reasoner2.getDLOntology().getDLClauses());
+
+        m_reasoner = reasoner1;
+        assertTrue(m_reasoner.isConsistent());
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("D"), NS_NI("a")), true);
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("E"), NS_NI("b")), true);
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("a")), false);
+
+        m_reasoner = reasoner2;
+        assertTrue(m_reasoner.isConsistent());
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("D"), NS_NI("a")), false);
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("E"), NS_NI("a")), false);
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("a")), true);
+    }
+
+    public void testTenantsUseTheHierarchiesOfTheTBox() throws Exception {
+        PreprocessedTBox tbox = loadTBox();
+        tbox.precomputeHierarchies();
+        m_reasoner = tbox.createReasoner(createTenantOntology("tenant", m_dataFactory.getOWLClassAssertionAxiom(NS_C("B"), NS_NI("a"))));
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.OBJECT_PROPERTY_HIERARCHY);
+        assertSubsumedBy("A", "D", true);
+        assertSubsumedBy("D", "A", false);
+        assertTrue(m_reasoner.getSuperObjectProperties(NS_OP("s"), true).containsEntity(NS_OP("r")));
+        assertTrue(m_reasoner.getSubClasses(NS_C("D"), true).containsEntity(NS_C("B")));
+        assertInstancesOf(NS_C("D"), false, NS + "a");
+    }
+
+    public void testInconsistentTenant() throws Exception {
+        PreprocessedTBox tbox = loadTBox();
+        m_reasoner = tbox.createReasoner(createTenantOntology("tenant",
+                m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("a")),
+                m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("a"))));
+        assertFalse(m_reasoner.isConsistent());
+        m_reasoner = tbox.createReasoner(createTenantOntology("other-tenant", m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("a"))));
+        assertTrue(m_reasoner.isConsistent());
+    }
+
+    public void testTenantWithTBoxAxiomsIsPreprocessedFromScratch() throws Exception {
+        PreprocessedTBox tbox = loadTBox();
+        m_reasoner = tbox.createReasoner(createTenantOntology("tenant",
+                m_dataFactory.getOWLSubClassOfAxiom(NS_C("D"), NS_C("G")),
+                m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("a"))));
+        assertNotSame(tbox.getDLOntology().getDLClauses(), m_reasoner.getDLOntology().getDLClauses());
+        assertSubsumedBy("A", "G", true);
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("G"), NS_NI("a")), true);
+    }
+
+    public void testTenantWithFreshClassIsPreprocessedFromScratch() throws Exception {
+        PreprocessedTBox tbox = loadTBox();
+        m_reasoner = tbox.createReasoner(createTenantOntology("tenant", m_dataFactory.getOWLClassAssertionAxiom(NS_C("H"), NS_NI("a"))));
+        assertNotSame(tbox.getDLOntology().getDLClauses(), m_reasoner.getDLOntology().getDLClauses());
+        assertEntails(m_dataFactory.getOWLClassAssertionAxiom(NS_C("H"), NS_NI("a")), true);
+    }
+}
@@ -0,0 +1,105 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerABoxCheckpointTest extends AbstractReasonerTest {
+
+    public ReasonerABoxCheckpointTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.useABoxCheckpoint = true;
+        return configuration;
+    }
+
+    public void testRepeatedInstanceTestsFromCheckpoint() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B :D)");
+        buffer.append("SubClassOf(:C :D)");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :D) :E)");
+        buffer.append("FunctionalObjectProperty(:r)");
+        for (int index = 0; index < 10; index++) {
+            buffer.append("ClassAssertion(:A :b" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:r :a" + index + " :b" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:r :a" + index + " :c" + index + ")");
+            buffer.append("ClassAssertion(ObjectUnionOf(:B :F) :c" + index + ")");
+        }
+        buffer.append("ClassAssertion(ObjectComplementOf(:C) :c0)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        String[] allAs = new String[10];
+        String[] allBsAndCs = new String[20];
+        for (int index = 0; index < 10; index++) {
+            allAs[index] = NS + "a" + index;
+            allBsAndCs[2 * index] = NS + "b" + index;
+            allBsAndCs[2 * index + 1] = NS + "c" + index;
+        }
+        assertInstancesOf(NS_C("D"), false, allBsAndCs);
+        assertInstancesOf(NS_C("E"), false, allAs);
+        assertInstancesOf(NS_C("B"), false, NS + "b0", NS + "c0");
+        assertInstancesOf(NS_C("C"), false);
+        assertInstancesOf(NS_C("F"), false);
+        assertTrue(m_reasoner.getTableau().getNumberOfCheckpointRestorations() > 0);
+    }
+
+    public void testCheckpointIsReusedAfterNominalsDatatypesAndBlocking() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectSomeValuesFrom(:r :A))");
+        buffer.append("SubClassOf(:A DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:minInclusive \"5\"^^xsd:integer)))");
+        buffer.append("FunctionalDataProperty(:dp)");
+        buffer.append("SubClassOf(:N ObjectHasValue(:s :o))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:s ObjectOneOf(:o)) ObjectUnionOf(:B :C))");
+        // The queries are atomic so that they are answered by tests on the permanent ABox, which start from the checkpoint.
+        buffer.append("EquivalentClasses(:Q1 ObjectSomeValuesFrom(:r ObjectSomeValuesFrom(:r :A)))");
+        buffer.append("EquivalentClasses(:Q2 DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:minInclusive \"3\"^^xsd:integer)))");
+        buffer.append("EquivalentClasses(:Q3 DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:maxInclusive \"4\"^^xsd:integer)))");
+        buffer.append("EquivalentClasses(:Q4 ObjectHasValue(:s :o))");
+        buffer.append("EquivalentClasses(:Q5 ObjectSomeValuesFrom(:r ObjectHasValue(:s :o)))");
+        buffer.append("EquivalentClasses(:Q6 ObjectUnionOf(:B :C))");
+        buffer.append("EquivalentClasses(:Q7 ObjectSomeValuesFrom(:r :B))");
+        buffer.append("ClassAssertion(:A :a)");
+        buffer.append("ClassAssertion(:N :a)");
+        buffer.append("ClassAssertion(:N :b)");
+        buffer.append("ClassAssertion(ObjectComplementOf(:B) :b)");
+        buffer.append("ObjectPropertyAssertion(:r :c :a)");
+        loadOntologyWithAxioms(buffer.toString());
+        Reasoner reasonerWithoutCheckpoint = new Reasoner(super.getConfiguration(), m_ontology);
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        for (String individual : new String[] { "a", "b", "c", "o" })
+            assertEquals(individual, asSet(reasonerWithoutCheckpoint.getTypes(NS_NI(individual), false).entities()), asSet(m_reasoner.getTypes(NS_NI(individual), false).entities()));
+        assertInstancesOf(NS_C("Q1"), false, NS + "a", NS + "c");
+        assertInstancesOf(NS_C("Q2"), false, NS + "a");
+        assertInstancesOf(NS_C("Q3"), false);
+        assertInstancesOf(NS_C("Q4"), false, NS + "a", NS + "b");
+        assertInstancesOf(NS_C("Q5"), false, NS + "c");
+        assertInstancesOf(NS_C("C"), false, NS + "b");
+        assertTrue(m_reasoner.getTableau().getNumberOfCheckpointRestorations() > 0);
+        assertEquals(0, reasonerWithoutCheckpoint.getTableau().getNumberOfCheckpointRestorations());
+        reasonerWithoutCheckpoint.dispose();
+    }
+
+    public void testCheckpointIsNotReusedForChangedABox() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A :B) ClassAssertion(:A :a) ClassAssertion(:C :b)");
+        Configuration configuration = getConfiguration();
+        configuration.useIncrementalABoxUpdates = true;
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isEntailed(m_dataFactory.getOWLClassAssertionAxiom(NS_C("B"), NS_NI("a"))));
+        assertFalse(m_reasoner.isEntailed(m_dataFactory.getOWLClassAssertionAxiom(NS_C("B"), NS_NI("b"))));
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("b")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isEntailed(m_dataFactory.getOWLClassAssertionAxiom(NS_C("B"), NS_NI("b"))));
+        m_ontology.remove(m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("a")));
+        m_reasoner.flush();
+        assertFalse(m_reasoner.isEntailed(m_dataFactory.getOWLClassAssertionAxiom(NS_C("B"), NS_NI("a"))));
+    }
+}
@@ -0,0 +1,130 @@
+package org.semanticweb.HermiT.reasoner;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicRole;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.Individual;
+import org.semanticweb.HermiT.structural.ABoxPartitioner;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerABoxPartitioningTest extends AbstractReasonerTest {
+
+    public ReasonerABoxPartitioningTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.aboxPartitions = 4;
+        return configuration;
+    }
+
+    public void testInstancesOfIndependentABoxParts() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :B) :D)");
+        buffer.append("SubClassOf(:C ObjectAllValuesFrom(:r :B))");
+        for (int index = 0; index < 10; index++) {
+            buffer.append("ObjectPropertyAssertion(:r :a" + index + " :b" + index + ")");
+            buffer.append("ClassAssertion(:A :b" + index + ")");
+            buffer.append("ClassAssertion(ObjectComplementOf(:C) :b" + index + ")");
+        }
+        buffer.append("ClassAssertion(:C :a0)");
+        buffer.append("ClassAssertion(:A :c)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner();
+        assertTrue(m_reasoner.isConsistent());
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        String[] allAs = new String[10];
+        String[] allBs = new String[10];
+        for (int index = 0; index < 10; index++) {
+            allAs[index] = NS + "a" + index;
+            allBs[index] = NS + "b" + index;
+        }
+        assertInstancesOf(NS_C("B"), false, allBs);
+        assertInstancesOf(NS_C("D"), false, allAs);
+        assertInstancesOf(NS_C("C"), false, NS + "a0");
+        assertInstancesOf(NS_C("A"), false, concat(allBs, NS + "c"));
+    }
+
+    public void testInconsistentABoxPart() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectSomeValuesFrom(:r :B))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :B) :C)");
+        for (int index = 0; index < 10; index++)
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+        buffer.append("ClassAssertion(ObjectComplementOf(:C) :a7)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner();
+        assertFalse(m_reasoner.isConsistent());
+    }
+
+    public void testABoxIsSplitIntoConnectedComponents() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectSomeValuesFrom(:r :B))");
+        for (int index = 0; index < 8; index++) {
+            buffer.append("ObjectPropertyAssertion(:r :a" + index + " :b" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:s :b" + index + " :c" + index + ")");
+        }
+        loadReasonerWithAxioms(buffer.toString());
+        DLOntology dlOntology = m_reasoner.getDLOntology();
+        List<DLOntology> parts = new ABoxPartitioner(dlOntology).partition(4);
+        assertEquals(4, parts.size());
+        int numberOfIndividuals = 0;
+        for (DLOntology part : parts) {
+            assertEquals(6, part.getAllIndividuals().size());
+            assertEquals(4, part.getPositiveFacts().size());
+            numberOfIndividuals += part.getAllIndividuals().size();
+        }
+        assertEquals(dlOntology.getAllIndividuals().size(), numberOfIndividuals);
+        assertEquals(3, new ABoxPartitioner(dlOntology).getConnectedIndividuals(Collections.singleton(dlOntology.getAllIndividuals().iterator().next())).size());
+    }
+
+    public void testComponentsAreUpdatedWithAddedFacts() throws Exception {
+        loadReasonerWithAxioms("SubClassOf(:A ObjectSomeValuesFrom(:r :B)) ObjectPropertyAssertion(:r :a :b) ObjectPropertyAssertion(:r :c :d)");
+        DLOntology dlOntology = m_reasoner.getDLOntology();
+        final int[] numberOfComputations = new int[1];
+        ABoxPartitioner partitioner = new ABoxPartitioner(dlOntology) {
+            @Override
+            protected void computeComponents() {
+                if (!m_componentsComputed)
+                    numberOfComputations[0]++;
+                super.computeComponents();
+            }
+        };
+        Individual a = Individual.create(NS + "a");
+        assertEquals(2, partitioner.getConnectedIndividuals(Collections.singleton(a)).size());
+        Atom bc = Atom.create(AtomicRole.create(NS + "r"), Individual.create(NS + "b"), Individual.create(NS + "c"));
+        DLOntology withBC = withPositiveFacts(dlOntology, bc);
+        partitioner.updateABox(withBC, Collections.singleton(bc), Collections.<Atom> emptySet(), false);
+        assertEquals(4, partitioner.getConnectedIndividuals(Collections.singleton(a)).size());
+        assertEquals(1, numberOfComputations[0]);
+        partitioner.updateABox(dlOntology, Collections.<Atom> emptySet(), Collections.<Atom> emptySet(), true);
+        assertEquals(2, partitioner.getConnectedIndividuals(Collections.singleton(a)).size());
+        assertEquals(2, numberOfComputations[0]);
+    }
+
+    protected static DLOntology withPositiveFacts(DLOntology dlOntology, Atom... facts) {
+        Set<Atom> positiveFacts = new HashSet<>(dlOntology.getPositiveFacts());
+        Set<Individual> individuals = new HashSet<>(dlOntology.getAllIndividuals());
+        for (Atom fact : facts) {
+            positiveFacts.add(fact);
+            fact.getIndividuals(individuals);
+        }
+        return new DLOntology(dlOntology.getOntologyIRI(), dlOntology.getDLClauses(), positiveFacts, dlOntology.getNegativeFacts(), dlOntology.getAllAtomicConcepts(), dlOntology.getAllAtomicObjectRoles(), dlOntology.getAllComplexObjectRoles(), dlOntology.getAllAtomicDataRoles(), dlOntology.getAllUnknownDatatypeRestrictions(), dlOntology.getDefinedDatatypeIRIs(), individuals, dlOntology.hasInverseRoles(), dlOntology.hasAtMostRestrictions(), dlOntology.hasNominals(), dlOntology.hasDatatypes());
+    }
+
+    protected static String[] concat(String[] array, String element) {
+        String[] result = new String[array.length + 1];
+        System.arraycopy(array, 0, result, 0, array.length);
+        result[array.length] = element;
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+package org.semanticweb.HermiT.reasoner;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.hierarchy.ClassificationCache;
+import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.model.AtomicRole;
+import org.semanticweb.HermiT.model.Constant;
+import org.semanticweb.HermiT.model.DLClause;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.DatatypeRestriction;
+import org.semanticweb.HermiT.model.DescriptionGraph;
+import org.semanticweb.HermiT.model.Individual;
+import org.semanticweb.HermiT.model.Role;
+import org.semanticweb.HermiT.monitor.CountingMonitor;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerClassificationCacheTest extends AbstractReasonerTest {
+    protected File m_cacheDirectory;
+
+    public ReasonerClassificationCacheTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected void setUp() {
+        super.setUp();
+        try {
+            m_cacheDirectory = Files.createTempDirectory("hermit-classification-cache").toFile();
+        } catch (java.io.IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void tearDown() {
+        File[] files = m_cacheDirectory.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        m_cacheDirectory.delete();
+        super.tearDown();
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.classificationCacheDirectory = m_cacheDirectory;
+        return configuration;
+    }
+
+    public void testHierarchiesAreLoadedFromTheCache() throws Exception {
+        String axioms = "SubClassOf(:A ObjectUnionOf(:B :C))"
+            + "SubClassOf(:B :D)"
+            + "SubClassOf(:C :D)"
+            + "EquivalentClasses(:E :F)"
+            + "SubClassOf(:G ObjectIntersectionOf(:A ObjectComplementOf(:D)))"
+            + "SubObjectPropertyOf(:r :s)"
+            + "InverseObjectProperties(:s :t)"
+            + "SubDataPropertyOf(:dp :dq)"
+            + "DataPropertyRange(:dq xsd:integer)";
+        loadOntologyWithAxioms(axioms);
+        createReasoner(getConfiguration(), null);
+        String classifiedHierarchies = getHierarchiesAsText();
+        assertEquals(3, m_cacheDirectory.listFiles().length);
+
+        Configuration configuration = getConfiguration();
+        CountingMonitor monitor = new CountingMonitor();
+        configuration.monitor = monitor;
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        int numberOfTestsBefore = monitor.getOverallNumberOfTests();
+        assertEquals(classifiedHierarchies, getHierarchiesAsText());
+        assertEquals(numberOfTestsBefore, monitor.getOverallNumberOfTests());
+        assertTrue(m_reasoner.getSuperClasses(NS_C("A"), false).containsEntity(NS_C("D")));
+        assertTrue(m_reasoner.getUnsatisfiableClasses().contains(NS_C("G")));
+
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(NS_C("D"), NS_C("E")));
+        createReasoner(configuration, null);
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertTrue(monitor.getOverallNumberOfTests() > numberOfTestsBefore);
+        assertTrue(m_reasoner.getSuperClasses(NS_C("A"), false).containsEntity(NS_C("F")));
+    }
+
+    public void testChangedABoxMissesTheCache() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A :B) SubClassOf(:C ObjectSomeValuesFrom(:r :A)) ClassAssertion(:A :a)");
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        String fingerprint = ClassificationCache.computeFingerprint(m_reasoner.getDLOntology());
+        int numberOfCachedHierarchies = m_cacheDirectory.listFiles().length;
+        assertTrue(numberOfCachedHierarchies > 0);
+
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("C"), NS_NI("b")));
+        Configuration configuration = getConfiguration();
+        CountingMonitor monitor = new CountingMonitor();
+        configuration.monitor = monitor;
+        createReasoner(configuration, null);
+        assertFalse(fingerprint.equals(ClassificationCache.computeFingerprint(m_reasoner.getDLOntology())));
+        assertTrue(m_reasoner.isConsistent());
+        int numberOfTestsBefore = monitor.getOverallNumberOfTests();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertTrue(monitor.getOverallNumberOfTests() > numberOfTestsBefore);
+        assertEquals(2 * numberOfCachedHierarchies, m_cacheDirectory.listFiles().length);
+        assertTrue(m_reasoner.getSuperClasses(NS_C("A"), true).containsEntity(NS_C("B")));
+    }
+
+    public void testUnreadableCacheFilesAreIgnored() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A :B) SubObjectPropertyOf(:r :s) SubDataPropertyOf(:dp :dq) DataPropertyRange(:dq xsd:integer)");
+        createReasoner();
+        String classifiedHierarchies = getHierarchiesAsText();
+        assertEquals(3, m_cacheDirectory.listFiles().length);
+        for (File file : m_cacheDirectory.listFiles())
+            Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+
+        final List<String> warnings = new ArrayList<>();
+        Configuration configuration = getConfiguration();
+        configuration.warningMonitor = warnings::add;
+        createReasoner(configuration, null);
+        assertEquals(classifiedHierarchies, getHierarchiesAsText());
+        assertEquals(3, warnings.size());
+        // the hierarchies were saved again
+        createReasoner(configuration, null);
+        assertEquals(classifiedHierarchies, getHierarchiesAsText());
+        assertEquals(3, warnings.size());
+    }
+
+    public void testFingerprintCoversDescriptionGraphsAndDatatypeRestrictions() {
+        DescriptionGraph graph = createDescriptionGraph("r");
+        String fingerprint = ClassificationCache.computeFingerprint(createDLOntology(graph, Collections.<DatatypeRestriction> emptySet()));
+        assertEquals(fingerprint, ClassificationCache.computeFingerprint(createDLOntology(createDescriptionGraph("r"), Collections.<DatatypeRestriction> emptySet())));
+        // the clauses mention the graph only by its name
+        assertFalse(fingerprint.equals(ClassificationCache.computeFingerprint(createDLOntology(createDescriptionGraph("s"), Collections.<DatatypeRestriction> emptySet()))));
+        DatatypeRestriction restriction = DatatypeRestriction.create(NS + "dt", new String[] { NS + "facet" }, new Constant[] { Constant.create("1", "http://www.w3.org/2001/XMLSchema#integer") });
+        assertFalse(fingerprint.equals(ClassificationCache.computeFingerprint(createDLOntology(graph, Collections.singleton(restriction)))));
+    }
+
+    protected static DescriptionGraph createDescriptionGraph(String edgeRole) {
+        AtomicConcept[] atomicConceptsByVertices = new AtomicConcept[] { AtomicConcept.create(NS + "A"), AtomicConcept.create(NS + "B") };
+        DescriptionGraph.Edge[] edges = new DescriptionGraph.Edge[] { new DescriptionGraph.Edge(AtomicRole.create(NS + edgeRole), 0, 1) };
+        return new DescriptionGraph("G", atomicConceptsByVertices, edges, Collections.singleton(AtomicConcept.create(NS + "A")));
+    }
+
+    protected static DLOntology createDLOntology(DescriptionGraph graph, Set<DatatypeRestriction> unknownDatatypeRestrictions) {
+        List<DLClause> dlClauses = new ArrayList<>();
+        graph.produceStartDLClauses(dlClauses);
+        return new DLOntology("urn:test", dlClauses, new HashSet<Atom>(), new HashSet<Atom>(), new HashSet<AtomicConcept>(), new HashSet<AtomicRole>(), new HashSet<Role>(), new HashSet<AtomicRole>(), unknownDatatypeRestrictions, new HashSet<String>(), new HashSet<Individual>(), false, false, false, false);
+    }
+}
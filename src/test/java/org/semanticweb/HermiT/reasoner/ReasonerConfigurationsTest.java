@@ -0,0 +1,59 @@
+package org.semanticweb.HermiT.reasoner;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.semanticweb.HermiT.Configuration;
+/**
+ * Runs all of ReasonerTest under each of the alternative configurations of the tableau. The class is excluded from the
+ * surefire run and executed only through AllHeavyTests.
+ */
+@SuppressWarnings("javadoc")
+public class ReasonerConfigurationsTest extends ReasonerTest {
+    protected final Consumer<Configuration> m_configurationChange;
+
+    public ReasonerConfigurationsTest(String name, Consumer<Configuration> configurationChange) {
+        super(name);
+        m_configurationChange = configurationChange;
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        m_configurationChange.accept(configuration);
+        return configuration;
+    }
+
+    public static Test suite() {
+        TestSuite suite = new TestSuite("ReasonerTest under alternative configurations");
+        suite.addTest(createSuite("integer pages", configuration -> configuration.tupleTableType = Configuration.TupleTableType.INTEGER_PAGES));
+        suite.addTest(createSuite("off-heap pages", configuration -> configuration.tupleTableType = Configuration.TupleTableType.OFF_HEAP_PAGES));
+        suite.addTest(createSuite("hash tuple indexes", configuration -> configuration.tupleIndexType = Configuration.TupleIndexType.HASH));
+        suite.addTest(createSuite("a tableau pool", configuration -> configuration.tableauPoolSize = 4));
+        suite.addTest(createSuite("nogood learning", configuration -> {
+            configuration.useNogoodLearning = true;
+            configuration.nogoodStoreSize = 8;
+        }));
+        suite.addTest(createSuite("activity-based disjunction selection", configuration -> configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.ACTIVITY_SMALLEST_FIRST));
+        suite.addTest(createSuite("watched disjuncts", configuration -> configuration.useWatchedDisjuncts = true));
+        suite.addTest(createSuite("generated clause evaluators", configuration -> configuration.clauseEvaluatorType = Configuration.ClauseEvaluatorType.GENERATED));
+        suite.addTest(createSuite("hybrid dependency sets", configuration -> configuration.dependencySetType = Configuration.DependencySetType.HYBRID));
+        suite.addTest(createSuite("parallel realisation", configuration -> configuration.realisationThreads = 4));
+        suite.addTest(createSuite("ABox partitioning", configuration -> configuration.aboxPartitions = 4));
+        suite.addTest(createSuite("incremental classification", configuration -> configuration.useIncrementalClassification = true));
+        suite.addTest(createSuite("incremental ABox updates", configuration -> configuration.useIncrementalABoxUpdates = true));
+        return suite;
+    }
+
+    protected static Test createSuite(String name, Consumer<Configuration> configurationChange) {
+        TestSuite suite = new TestSuite("ReasonerTest with " + name);
+        for (Method method : ReasonerTest.class.getMethods())
+            if (method.getName().startsWith("test") && method.getParameterTypes().length == 0 && Modifier.isPublic(method.getModifiers()))
+                suite.addTest(new ReasonerConfigurationsTest(method.getName(), configurationChange));
+        return suite;
+    }
+}
@@ -0,0 +1,229 @@
+package org.semanticweb.HermiT.reasoner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.model.AtomicConcept;
+import org.semanticweb.HermiT.monitor.TableauMonitorAdapter;
+import org.semanticweb.HermiT.tableau.ActivityDisjunctionSelectionStrategy;
+import org.semanticweb.HermiT.tableau.DisjunctionSelectionStrategy;
+import org.semanticweb.HermiT.tableau.GroundDisjunction;
+import org.semanticweb.HermiT.tableau.GroundDisjunctionHeader;
+import org.semanticweb.HermiT.tableau.Tableau;
+@SuppressWarnings("javadoc")
+public class ReasonerDisjunctionSelectionTest extends AbstractReasonerTest {
+
+    public ReasonerDisjunctionSelectionTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.ACTIVITY_SMALLEST_FIRST;
+        return configuration;
+    }
+
+    public void testConstrainedDisjunctionsAfterWideOnes() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        for (int index = 0; index < 5; index++) {
+            buffer.append("SubClassOf(:A ObjectUnionOf(:B" + index + " :C" + index + " :D" + index + "))");
+            buffer.append("SubClassOf(ObjectIntersectionOf(:B" + index + " :E) owl:Nothing)");
+            buffer.append("SubClassOf(ObjectIntersectionOf(:C" + index + " :E) owl:Nothing)");
+        }
+        buffer.append("SubClassOf(:A ObjectUnionOf(:E :F))");
+        buffer.append("SubClassOf(:A ObjectComplementOf(:F))");
+        buffer.append("ClassAssertion(:A :a)");
+        loadOntologyWithAxioms(buffer.toString());
+        Configuration configuration = getConfiguration();
+        ChoiceRecorder choiceRecorder = new ChoiceRecorder();
+        configuration.monitor = choiceRecorder;
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        choiceRecorder.m_choices.clear();
+        assertSatisfiable("A", true);
+        // E \/ F has only one open disjunct, so it is processed before the wider disjunctions that were derived earlier.
+        // The disjuncts B and C that were tried in the consistency check clashed with E, so D is the first choice of each
+        // of the wide disjunctions.
+        List<String> choices = choiceRecorder.m_choices;
+        assertEquals("E", choices.get(0));
+        assertEquals(6, choices.size());
+        for (String choice : choices.subList(1, choices.size()))
+            assertTrue(choice, choice.startsWith("D"));
+        assertSubsumedBy("A", "E", true);
+        assertSubsumedBy("A", "D4", true);
+        assertSubsumedBy("A", "B4", false);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("B2")), false);
+        assertInstanceOf(NS_C("D0"), NS_NI("a"), true);
+        assertInstanceOf(NS_C("C0"), NS_NI("a"), false);
+    }
+
+    public void testSmallestDisjunctionFirst() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectUnionOf(:B1 :B2 :B3 :B4))"
+                + "SubClassOf(:A ObjectUnionOf(:C1 :C2 :C3))"
+                + "SubClassOf(:A ObjectUnionOf(:D1 :D2))"
+                + "SubClassOf(:A ObjectUnionOf(:F1 :F2 :F3 :F4 :F5))"
+                + "ClassAssertion(:A :a)"
+                + "ClassAssertion(ObjectComplementOf(:F1) :a)"
+                + "ClassAssertion(ObjectComplementOf(:F2) :a)"
+                + "ClassAssertion(ObjectComplementOf(:F3) :a)"
+                + "ClassAssertion(ObjectComplementOf(:F4) :a)");
+        Configuration configuration = getConfiguration();
+        configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.SMALLEST_FIRST;
+        configuration.useDisjunctionLearning = false;
+        ChoiceRecorder choiceRecorder = new ChoiceRecorder();
+        configuration.monitor = choiceRecorder;
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        // F1 to F4 are refuted, so the disjunction over F is processed first although it is the widest one; the other
+        // disjunctions are processed by increasing size.
+        assertEquals("FDCB", choiceRecorder.getDisjunctionOrder());
+        List<String> choices = choiceRecorder.m_choices;
+        assertEquals("F5", choices.get(choices.size() - 4));
+    }
+
+    public void testNumberOfCandidatesForSmallestDisjunctionFirst() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectUnionOf(:B1 :B2 :B3 :B4))"
+                + "SubClassOf(:A ObjectUnionOf(:C1 :C2 :C3))"
+                + "SubClassOf(:A ObjectUnionOf(:D1 :D2))");
+        Configuration configuration = getConfiguration();
+        configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.DERIVATION_ORDER;
+        configuration.useDisjunctionLearning = false;
+        ChoiceRecorder derivationOrderRecorder = new ChoiceRecorder();
+        configuration.monitor = derivationOrderRecorder;
+        createReasoner(configuration, null);
+        assertSatisfiable("A", true);
+        // If only one ground disjunction is inspected, the ground disjunctions are processed in the order in which they
+        // were derived.
+        configuration = getConfiguration();
+        configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.SMALLEST_FIRST;
+        configuration.disjunctionSelectionCandidates = 1;
+        configuration.useDisjunctionLearning = false;
+        ChoiceRecorder oneCandidateRecorder = new ChoiceRecorder();
+        configuration.monitor = oneCandidateRecorder;
+        createReasoner(configuration, null);
+        assertSatisfiable("A", true);
+        assertEquals(derivationOrderRecorder.getDisjunctionOrder(), oneCandidateRecorder.getDisjunctionOrder());
+        configuration.disjunctionSelectionCandidates = 0;
+        try {
+            createReasoner(configuration, null);
+            fail();
+        }
+        catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    public void testActivitiesDecay() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectUnionOf(:B1 :B2))"
+                + "SubClassOf(ObjectIntersectionOf(:B1 :E1) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:B2 :E2) owl:Nothing)");
+        Configuration configuration = getConfiguration();
+        configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.ACTIVITY;
+        configuration.disjunctActivityDecayFactor = 0.5;
+        ChoiceRecorder choiceRecorder = new ChoiceRecorder();
+        configuration.monitor = choiceRecorder;
+        createReasoner(configuration, null);
+        assertSatisfiable("A", true);
+        String first = choiceRecorder.m_choices.get(0);
+        String second = first.equals("B1") ? "B2" : "B1";
+        // The first disjunct fails, so the second one is tried first from then on.
+        choiceRecorder.m_choices.clear();
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("E" + first.substring(1))), true);
+        assertEquals(Arrays.asList(first, second), choiceRecorder.m_choices);
+        choiceRecorder.m_choices.clear();
+        assertSatisfiable("A", true);
+        assertEquals(Arrays.asList(second), choiceRecorder.m_choices);
+        // The second disjunct fails after the increment has been doubled, so its activity is twice that of the first one.
+        choiceRecorder.m_choices.clear();
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("E" + second.substring(1))), true);
+        assertEquals(Arrays.asList(second, first), choiceRecorder.m_choices);
+        choiceRecorder.m_choices.clear();
+        assertSatisfiable("A", true);
+        assertEquals(Arrays.asList(first), choiceRecorder.m_choices);
+        ActivityDisjunctionSelectionStrategy strategy = (ActivityDisjunctionSelectionStrategy) m_reasoner.getTableau().getDisjunctionSelectionStrategy();
+        GroundDisjunctionHeader groundDisjunctionHeader = choiceRecorder.m_groundDisjunctionHeaders.get(first);
+        int firstIndex = choiceRecorder.m_disjunctIndexes.get(first);
+        int secondIndex = choiceRecorder.m_disjunctIndexes.get(second);
+        assertEquals(1.0, strategy.getActivity(groundDisjunctionHeader, firstIndex), 1e-9);
+        assertEquals(2.0, strategy.getActivity(groundDisjunctionHeader, secondIndex), 1e-9);
+    }
+
+    public void testStrategyFactory() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectUnionOf(:B1 :B2))"
+                + "SubClassOf(ObjectIntersectionOf(:B1 :E) owl:Nothing)"
+                + "ClassAssertion(:A :a)");
+        Configuration configuration = getConfiguration();
+        configuration.useDisjunctionLearning = false;
+        configuration.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.DERIVATION_ORDER;
+        ChoiceRecorder headerOrderRecorder = new ChoiceRecorder();
+        configuration.monitor = headerOrderRecorder;
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        configuration = getConfiguration();
+        configuration.disjunctionSelectionStrategyFactory = ReverseOrderStrategy::new;
+        ChoiceRecorder reverseOrderRecorder = new ChoiceRecorder();
+        configuration.monitor = reverseOrderRecorder;
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.getTableau().getDisjunctionSelectionStrategy() instanceof ReverseOrderStrategy);
+        assertTrue(m_reasoner.isConsistent());
+        assertEquals(1, headerOrderRecorder.m_choices.size());
+        assertEquals(1, reverseOrderRecorder.m_choices.size());
+        assertFalse(headerOrderRecorder.m_choices.get(0).equals(reverseOrderRecorder.m_choices.get(0)));
+        assertSubsumedBy("A", "B2", false);
+        assertInstanceOf(m_dataFactory.getOWLObjectUnionOf(NS_C("B1"), NS_C("B2")), NS_NI("a"), true);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("E")), true);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("E"), m_dataFactory.getOWLObjectComplementOf(NS_C("B2"))), false);
+    }
+
+    protected static class ChoiceRecorder extends TableauMonitorAdapter {
+        private static final long serialVersionUID = 1L;
+
+        protected final List<String> m_choices = new ArrayList<>();
+        protected final Map<String, GroundDisjunctionHeader> m_groundDisjunctionHeaders = new HashMap<>();
+        protected final Map<String, Integer> m_disjunctIndexes = new HashMap<>();
+
+        @Override
+        public void disjunctProcessingStarted(GroundDisjunction groundDisjunction, int disjunct) {
+            String choice = ((AtomicConcept) groundDisjunction.getDLPredicate(disjunct)).getIRI().substring(NS.length());
+            m_choices.add(choice);
+            m_groundDisjunctionHeaders.put(choice, groundDisjunction.getGroundDisjunctionHeader());
+            m_disjunctIndexes.put(choice, disjunct);
+        }
+        /**
+         * @return the letters of the chosen disjuncts, with repetitions caused by backtracking removed
+         */
+        protected String getDisjunctionOrder() {
+            StringBuilder buffer = new StringBuilder();
+            for (String choice : m_choices)
+                if (buffer.length() == 0 || buffer.charAt(buffer.length() - 1) != choice.charAt(0))
+                    buffer.append(choice.charAt(0));
+            return buffer.toString();
+        }
+    }
+
+    protected static class ReverseOrderStrategy implements DisjunctionSelectionStrategy {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public GroundDisjunction getNextGroundDisjunction(Tableau tableau) {
+            return tableau.getFirstUnprocessedGroundDisjunction();
+        }
+        @Override
+        public int[] getSortedDisjunctIndexes(GroundDisjunction groundDisjunction) {
+            int[] sortedDisjunctIndexes = groundDisjunction.getGroundDisjunctionHeader().getSortedDisjunctIndexes();
+            int[] reversedDisjunctIndexes = new int[sortedDisjunctIndexes.length];
+            for (int index = 0; index < sortedDisjunctIndexes.length; index++)
+                reversedDisjunctIndexes[index] = sortedDisjunctIndexes[sortedDisjunctIndexes.length - 1 - index];
+            return reversedDisjunctIndexes;
+        }
+        @Override
+        public void disjunctFailed(GroundDisjunction groundDisjunction, int disjunctIndex) {
+            // the order does not depend on clashes
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.tableau.DLClauseProgramGenerator;
+import org.semanticweb.HermiT.tableau.HyperresolutionProgram;
+import org.semanticweb.HermiT.tableau.InterruptFlag;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerGeneratedClauseEvaluatorTest extends AbstractReasonerTest {
+
+    public ReasonerGeneratedClauseEvaluatorTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.clauseEvaluatorType = Configuration.ClauseEvaluatorType.GENERATED;
+        return configuration;
+    }
+
+    public void testGeneratedProgramsAreUsed() throws Exception {
+        loadReasonerWithAxioms("SubClassOf(:A ObjectSomeValuesFrom(:r :B)) SubClassOf(ObjectSomeValuesFrom(:r :B) :C) "
+                + "SubObjectPropertyOf(ObjectPropertyChain(:r :s) :t) SubClassOf(ObjectSomeValuesFrom(:t owl:Thing) :D) ClassAssertion(:A :a)");
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        DLClauseProgramGenerator programGenerator = HyperresolutionProgram.forDLOntology(m_reasoner.getDLOntology(), new InterruptFlag(-1)).getProgramGenerator();
+        assertTrue(programGenerator.getNumberOfGeneratedClasses() > 0);
+        assertSubsumedBy("A", "C", true);
+        assertSubsumedBy("A", "D", false);
+        assertInstanceOf(NS_C("C"), NS_NI("a"), true);
+    }
+
+    public void testSameResultsAsInterpretedEvaluator() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("TransitiveObjectProperty(:r)");
+        buffer.append("SubObjectPropertyOf(ObjectPropertyChain(:s :r) :r)");
+        buffer.append("InverseObjectProperties(:s :t)");
+        buffer.append("FunctionalObjectProperty(:f)");
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B ObjectSomeValuesFrom(:s :C)))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :C) :D)");
+        buffer.append("SubClassOf(:B ObjectMaxCardinality(1 :t))");
+        buffer.append("SubClassOf(:B ObjectSomeValuesFrom(:f ObjectIntersectionOf(:E ObjectHasValue(:r :o))))");
+        buffer.append("SubClassOf(:E DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:minInclusive \"5\"^^xsd:integer)))");
+        buffer.append("FunctionalDataProperty(:dp)");
+        buffer.append("EquivalentClasses(:Q ObjectSomeValuesFrom(:f DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:maxInclusive \"4\"^^xsd:integer))))");
+        for (int index = 0; index < 10; index++) {
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:t :a" + index + " :b" + (index % 3) + ")");
+            buffer.append("ObjectPropertyAssertion(:f :a" + index + " :c" + index + ")");
+        }
+        buffer.append("ClassAssertion(:C :o)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner(super.getConfiguration(), null);
+        Reasoner interpretedReasoner = m_reasoner;
+        String interpretedHierarchies = getHierarchiesAsText();
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS, InferenceType.OBJECT_PROPERTY_ASSERTIONS);
+        assertEquals(interpretedHierarchies, getHierarchiesAsText());
+        for (String individual : new String[] { "a0", "b0", "c0", "o" })
+            assertEquals(individual, asSet(interpretedReasoner.getTypes(NS_NI(individual), false).entities()), asSet(m_reasoner.getTypes(NS_NI(individual), false).entities()));
+        assertEquals(asSet(interpretedReasoner.getObjectPropertyValues(NS_NI("a0"), NS_OP("r")).entities()), asSet(m_reasoner.getObjectPropertyValues(NS_NI("a0"), NS_OP("r")).entities()));
+        interpretedReasoner.dispose();
+    }
+}
@@ -0,0 +1,86 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerHashTupleIndexTest extends AbstractReasonerTest {
+
+    public ReasonerHashTupleIndexTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.tupleIndexType = Configuration.TupleIndexType.HASH;
+        return configuration;
+    }
+
+    public void testLongRoleChain() throws Exception {
+        // The chain produces several thousand tuples, so the indexes of the extension tables are resized many times.
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :A) :A)");
+        buffer.append("SubClassOf(:A ObjectSomeValuesFrom(:s :B))");
+        String[] individuals = new String[2000];
+        for (int index = 0; index < individuals.length; index++) {
+            individuals[index] = NS + "a" + index;
+            if (index > 0)
+                buffer.append("ObjectPropertyAssertion(:r :a" + (index - 1) + " :a" + index + ")");
+        }
+        buffer.append("ClassAssertion(:A :a" + (individuals.length - 1) + ")");
+        loadReasonerWithAxioms(buffer.toString());
+        assertTrue(m_reasoner.isConsistent());
+        assertInstancesOf(NS_C("A"), false, individuals);
+        assertInstancesOf(m_dataFactory.getOWLObjectSomeValuesFrom(NS_OP("s"), NS_C("B")), false, individuals);
+    }
+
+    public void testTuplesAreRemovedOnBacktracking() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B ObjectSomeValuesFrom(:s :D))");
+        buffer.append("SubClassOf(:D ObjectAllValuesFrom(ObjectInverseOf(:s) :E))");
+        buffer.append("DisjointClasses(:A :E)");
+        String[] individuals = new String[200];
+        for (int index = 0; index < individuals.length; index++) {
+            individuals[index] = NS + "a" + index;
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            if (index > 0)
+                buffer.append("ObjectPropertyAssertion(:r :a" + (index - 1) + " :a" + index + ")");
+        }
+        loadReasonerWithAxioms(buffer.toString());
+        assertTrue(m_reasoner.isConsistent());
+        assertInstancesOf(NS_C("C"), false, individuals);
+        assertInstancesOf(NS_C("B"), false);
+        assertInstancesOf(m_dataFactory.getOWLObjectSomeValuesFrom(NS_OP("s"), NS_C("D")), false);
+    }
+
+    public void testSameResultsAsTrieIndexes() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("TransitiveObjectProperty(:r)");
+        buffer.append("SubObjectPropertyOf(:s :r)");
+        buffer.append("InverseObjectProperties(:s :t)");
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B ObjectSomeValuesFrom(:s :C)))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :C) :D)");
+        buffer.append("SubClassOf(:B ObjectMaxCardinality(1 :t))");
+        for (int index = 0; index < 50; index++) {
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:t :a" + index + " :b" + (index % 5) + ")");
+            buffer.append("ObjectPropertyAssertion(:r :b" + (index % 5) + " :a" + ((index + 1) % 50) + ")");
+        }
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner(super.getConfiguration(), null);
+        Reasoner trieReasoner = m_reasoner;
+        String trieHierarchies = getHierarchiesAsText();
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS, InferenceType.OBJECT_PROPERTY_ASSERTIONS);
+        assertEquals(trieHierarchies, getHierarchiesAsText());
+        for (int index = 0; index < 5; index++)
+            assertEquals(asSet(trieReasoner.getTypes(NS_NI("b" + index), false).entities()), asSet(m_reasoner.getTypes(NS_NI("b" + index), false).entities()));
+        assertEquals(asSet(trieReasoner.getInstances(NS_C("D"), false).entities()), asSet(m_reasoner.getInstances(NS_C("D"), false).entities()));
+        assertEquals(asSet(trieReasoner.getObjectPropertyValues(NS_NI("a0"), NS_OP("r")).entities()), asSet(m_reasoner.getObjectPropertyValues(NS_NI("a0"), NS_OP("r")).entities()));
+        trieReasoner.dispose();
+    }
+}
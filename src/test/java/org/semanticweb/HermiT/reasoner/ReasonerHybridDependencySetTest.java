@@ -0,0 +1,84 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.monitor.TableauMonitorAdapter;
+import org.semanticweb.HermiT.tableau.BranchingPoint;
+import org.semanticweb.HermiT.tableau.DependencySetFactory;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerHybridDependencySetTest extends AbstractReasonerTest {
+
+    public ReasonerHybridDependencySetTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.dependencySetType = Configuration.DependencySetType.HYBRID;
+        return configuration;
+    }
+
+    public void testBranchingPointsBeyondBitsetWidth() throws Exception {
+        // The clash on the last level depends on branching points both inside and outside of the bitsets.
+        int numberOfDisjunctions = DependencySetFactory.HYBRID_BITSET_WIDTH + 40;
+        StringBuilder buffer = new StringBuilder();
+        for (int index = 0; index < numberOfDisjunctions; index++) {
+            buffer.append("SubClassOf(:A ObjectUnionOf(:B" + index + " :C" + index + "))");
+            buffer.append("SubClassOf(ObjectIntersectionOf(:B" + index + " :K) owl:Nothing)");
+        }
+        buffer.append("SubClassOf(:A ObjectUnionOf(:K :L))");
+        buffer.append("SubClassOf(ObjectIntersectionOf(:L :B0 :B" + (numberOfDisjunctions - 1) + ") owl:Nothing)");
+        buffer.append("SubClassOf(ObjectIntersectionOf(:L :C0) owl:Nothing)");
+        buffer.append("ClassAssertion(:A :a)");
+        loadOntologyWithAxioms(buffer.toString());
+        final int[] maximalLevel = new int[1];
+        Configuration configuration = getConfiguration();
+        configuration.monitor = new TableauMonitorAdapter() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void pushBranchingPointFinished(BranchingPoint branchingPoint) {
+                maximalLevel[0] = Math.max(maximalLevel[0], branchingPoint.getLevel());
+            }
+        };
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        assertTrue(maximalLevel[0] > DependencySetFactory.HYBRID_BITSET_WIDTH);
+        assertSatisfiable("A", true);
+        assertSubsumedBy("A", "K", false);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("L")), true);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("L"), NS_C("C0")), false);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("K"), NS_C("B" + (numberOfDisjunctions - 1))), false);
+        assertInstanceOf(m_dataFactory.getOWLObjectUnionOf(NS_C("K"), NS_C("B0")), NS_NI("a"), true);
+    }
+
+    public void testSameResultsAsListDependencySets() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        for (int index = 0; index < 6; index++) {
+            buffer.append("SubClassOf(:A ObjectUnionOf(:B" + index + " :C" + index + "))");
+            buffer.append("SubClassOf(ObjectIntersectionOf(:B" + index + " :D) owl:Nothing)");
+            buffer.append("SubClassOf(:C" + index + " ObjectSomeValuesFrom(:r :E" + index + "))");
+        }
+        buffer.append("SubClassOf(:A ObjectUnionOf(:D :F))");
+        buffer.append("SubClassOf(:F ObjectAllValuesFrom(:r owl:Nothing))");
+        buffer.append("SubClassOf(:E0 ObjectMaxCardinality(1 ObjectInverseOf(:r)))");
+        buffer.append("SubClassOf(:E1 ObjectSomeValuesFrom(ObjectInverseOf(:r) ObjectOneOf(:o)))");
+        buffer.append("ClassAssertion(:A :a)");
+        buffer.append("ClassAssertion(:A :b)");
+        buffer.append("ObjectPropertyAssertion(:r :a :b)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner(super.getConfiguration(), null);
+        Reasoner listReasoner = m_reasoner;
+        String listHierarchies = getHierarchiesAsText();
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        assertEquals(listHierarchies, getHierarchiesAsText());
+        for (String individual : new String[] { "a", "b", "o" })
+            assertEquals(individual, asSet(listReasoner.getTypes(NS_NI(individual), false).entities()), asSet(m_reasoner.getTypes(NS_NI(individual), false).entities()));
+        listReasoner.dispose();
+    }
+}
@@ -0,0 +1,173 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.monitor.TableauMonitorAdapter;
+import org.semanticweb.HermiT.tableau.ReasoningTaskDescription;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerIncrementalABoxTest extends AbstractReasonerTest {
+
+    public ReasonerIncrementalABoxTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.useIncrementalABoxUpdates = true;
+        return configuration;
+    }
+
+    protected String getABoxTestAxioms() {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B :D)");
+        buffer.append("SubClassOf(:C :D)");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :D) :E)");
+        buffer.append("SubClassOf(:F ObjectSomeValuesFrom(:s :D))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:s :B) :G)");
+        for (int index = 0; index < 10; index++) {
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:r :b" + index + " :a" + index + ")");
+        }
+        buffer.append("ClassAssertion(:B :c)");
+        return buffer.toString();
+    }
+
+    public void testAddedFactsExtendTheModel() throws Exception {
+        loadOntologyWithAxioms(getABoxTestAxioms());
+        final int[] numberOfClears = new int[1];
+        Configuration configuration = getConfiguration();
+        configuration.monitor = new TableauMonitorAdapter() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void tableauCleared() {
+                numberOfClears[0]++;
+            }
+        };
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        int numberOfClearsAfterConsistencyCheck = numberOfClears[0];
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("b0")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+        m_ontology.add(m_dataFactory.getOWLObjectPropertyAssertionAxiom(NS_OP("s"), NS_NI("b1"), NS_NI("c")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+        assertEquals(numberOfClearsAfterConsistencyCheck, numberOfClears[0]);
+        assertInstanceOf(NS_C("G"), NS_NI("b1"), true);
+        assertInstanceOf(NS_C("G"), NS_NI("b0"), false);
+
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("B")), NS_NI("a2")));
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("C")), NS_NI("a2")));
+        m_reasoner.flush();
+        assertFalse(m_reasoner.isConsistent());
+        m_ontology.remove(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("C")), NS_NI("a2")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+    }
+
+    public void testChoicesOfTheFirstTestAreRevisedAfterSeveralUpdates() throws Exception {
+        loadReasonerWithAxioms("SubClassOf(:A ObjectUnionOf(:B :C)) ClassAssertion(:A :a) ClassAssertion(:D :b)");
+        assertTrue(m_reasoner.isConsistent());
+        // This update opens no branching point, so the choice for a is still the one of the first test.
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("D"), NS_NI("a")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("B")), NS_NI("a")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+    }
+
+    public void testClassInstancesAreUpdated() throws Exception {
+        loadReasonerWithAxioms(getABoxTestAxioms());
+        m_reasoner.precomputeInferences(InferenceType.CLASS_ASSERTIONS);
+        assertInstanceOf(NS_C("E"), NS_NI("b3"), true);
+        assertInstanceOf(NS_C("B"), NS_NI("a3"), false);
+
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("B")), NS_NI("a3")));
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("b4")));
+        m_ontology.add(m_dataFactory.getOWLObjectPropertyAssertionAxiom(NS_OP("s"), NS_NI("b5"), NS_NI("c")));
+        m_reasoner.flush();
+        assertTypesAsFromScratch();
+        assertInstanceOf(NS_C("C"), NS_NI("a3"), true);
+        assertInstanceOf(NS_C("G"), NS_NI("b5"), true);
+
+        m_ontology.add(m_dataFactory.getOWLObjectPropertyAssertionAxiom(NS_OP("s"), NS_NI("b6"), NS_NI("a6")));
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("C")), NS_NI("a6")));
+        m_reasoner.flush();
+        assertTypesAsFromScratch();
+        assertInstanceOf(NS_C("G"), NS_NI("b6"), true);
+
+        m_ontology.remove(m_dataFactory.getOWLClassAssertionAxiom(m_dataFactory.getOWLObjectComplementOf(NS_C("B")), NS_NI("a3")));
+        m_reasoner.flush();
+        assertTypesAsFromScratch();
+        assertInstanceOf(NS_C("C"), NS_NI("a3"), false);
+    }
+
+    public void testRemovedFactsNeedNoConsistencyCheck() throws Exception {
+        loadOntologyWithAxioms(getABoxTestAxioms());
+        final int[] numberOfTests = new int[1];
+        Configuration configuration = getConfiguration();
+        configuration.monitor = new TableauMonitorAdapter() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void isSatisfiableStarted(ReasoningTaskDescription reasoningTaskDescription) {
+                numberOfTests[0]++;
+            }
+        };
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        int numberOfTestsAfterConsistencyCheck = numberOfTests[0];
+        m_ontology.remove(m_dataFactory.getOWLClassAssertionAxiom(NS_C("A"), NS_NI("a7")));
+        m_ontology.remove(m_dataFactory.getOWLObjectPropertyAssertionAxiom(NS_OP("r"), NS_NI("b8"), NS_NI("a8")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+        assertEquals(numberOfTestsAfterConsistencyCheck, numberOfTests[0]);
+        assertTypesAsFromScratch();
+        assertInstanceOf(NS_C("D"), NS_NI("a7"), false);
+        assertInstanceOf(NS_C("E"), NS_NI("b8"), false);
+        assertInstanceOf(NS_C("E"), NS_NI("b7"), false);
+    }
+
+    public void testTBoxChangesDiscardTheModel() throws Exception {
+        loadReasonerWithAxioms(getABoxTestAxioms());
+        m_reasoner.precomputeInferences(InferenceType.CLASS_ASSERTIONS);
+        assertInstanceOf(NS_C("H"), NS_NI("a1"), false);
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(NS_C("D"), NS_C("H")));
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("F"), NS_NI("b1")));
+        m_reasoner.flush();
+        assertTrue(m_reasoner.isConsistent());
+        assertTypesAsFromScratch();
+        assertInstanceOf(NS_C("H"), NS_NI("a1"), true);
+        assertInstanceOf(NS_C("H"), NS_NI("c"), true);
+    }
+
+    protected void assertTypesAsFromScratch() {
+        m_reasoner.precomputeInferences(InferenceType.CLASS_ASSERTIONS);
+        Map<OWLNamedIndividual, Set<OWLClass>> types = getTypes();
+        Configuration fromScratch = getConfiguration();
+        fromScratch.useIncrementalABoxUpdates = false;
+        org.semanticweb.HermiT.Reasoner incrementalReasoner = m_reasoner;
+        createReasoner(fromScratch, null);
+        assertEquals(getTypes(), types);
+        m_reasoner.dispose();
+        m_reasoner = incrementalReasoner;
+    }
+
+    protected Map<OWLNamedIndividual, Set<OWLClass>> getTypes() {
+        Map<OWLNamedIndividual, Set<OWLClass>> types = new HashMap<>();
+        m_ontology.individualsInSignature().forEach(individual -> types.put(individual, asSet(m_reasoner.getTypes(individual, false).entities())));
+        return types;
+    }
+}
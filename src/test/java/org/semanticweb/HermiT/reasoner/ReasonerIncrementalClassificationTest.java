@@ -0,0 +1,112 @@
+package org.semanticweb.HermiT.reasoner;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.monitor.CountingMonitor;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerIncrementalClassificationTest extends AbstractReasonerTest {
+
+    public ReasonerIncrementalClassificationTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.useIncrementalClassification = true;
+        return configuration;
+    }
+
+    public void testReclassifyAfterAddingAndRemovingAxioms() throws Exception {
+        String axioms = "SubClassOf(:A :B)"
+            + "SubClassOf(:B ObjectUnionOf(:C :D))"
+            + "SubClassOf(:E ObjectSomeValuesFrom(:r :F))"
+            + "SubClassOf(ObjectSomeValuesFrom(:r :G) :H)"
+            + "SubClassOf(:I ObjectUnionOf(:J :K))"
+            + "SubClassOf(:J :L)"
+            + "SubClassOf(:K :L)";
+        loadOntologyWithAxioms(axioms);
+        Configuration configuration = getConfiguration();
+        CountingMonitor monitor = new CountingMonitor();
+        configuration.monitor = monitor;
+        createReasoner(configuration, null);
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertTrue(m_reasoner.getSuperClasses(NS_C("A"), false).containsEntity(NS_C("B")));
+        assertFalse(m_reasoner.getSuperClasses(NS_C("E"), false).containsEntity(NS_C("H")));
+
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(NS_C("F"), NS_C("G")));
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(NS_C("M"), NS_C("A")));
+        m_ontology.remove(m_dataFactory.getOWLSubClassOfAxiom(NS_C("A"), NS_C("B")));
+        m_reasoner.flush();
+        int numberOfTestsBefore = monitor.getOverallNumberOfTests();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        int numberOfIncrementalTests = monitor.getOverallNumberOfTests() - numberOfTestsBefore;
+        assertTrue(m_reasoner.getSuperClasses(NS_C("E"), false).containsEntity(NS_C("H")));
+        assertTrue(m_reasoner.getSuperClasses(NS_C("M"), true).containsEntity(NS_C("A")));
+        assertFalse(m_reasoner.getSuperClasses(NS_C("A"), false).containsEntity(NS_C("B")));
+        assertTrue(m_reasoner.getSuperClasses(NS_C("I"), true).containsEntity(NS_C("L")));
+        Set<String> incrementalHierarchy = getSuperClassesAsText();
+
+        Configuration fromScratch = getConfiguration();
+        fromScratch.useIncrementalClassification = false;
+        CountingMonitor fromScratchMonitor = new CountingMonitor();
+        fromScratch.monitor = fromScratchMonitor;
+        createReasoner(fromScratch, null);
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertEquals(getSuperClassesAsText(), incrementalHierarchy);
+        assertTrue(numberOfIncrementalTests < fromScratchMonitor.getOverallNumberOfTests());
+    }
+
+    public void testAddedClassesAndUnsatisfiableClasses() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A :B) SubClassOf(:C ObjectSomeValuesFrom(:r :D))");
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(NS_C("N"), NS_C("A")));
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(NS_C("D"), m_dataFactory.getOWLNothing()));
+        m_reasoner.flush();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertTrue(m_reasoner.getSuperClasses(NS_C("N"), false).containsEntity(NS_C("B")));
+        assertTrue(m_reasoner.getUnsatisfiableClasses().contains(NS_C("C")));
+        assertTrue(m_reasoner.getUnsatisfiableClasses().contains(NS_C("D")));
+        Set<String> incrementalHierarchy = getSuperClassesAsText();
+        Configuration fromScratch = getConfiguration();
+        fromScratch.useIncrementalClassification = false;
+        createReasoner(fromScratch, null);
+        assertEquals(getSuperClassesAsText(), incrementalHierarchy);
+    }
+
+    public void testNominalsAreClassifiedFromScratch() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectHasValue(:r :o))"
+                + "SubClassOf(ObjectSomeValuesFrom(:r ObjectOneOf(:o)) :B)"
+                + "SubClassOf(:C :D)");
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertTrue(m_reasoner.getSuperClasses(NS_C("A"), false).containsEntity(NS_C("B")));
+        m_ontology.add(m_dataFactory.getOWLClassAssertionAxiom(NS_C("E"), NS_NI("o")));
+        m_ontology.add(m_dataFactory.getOWLSubClassOfAxiom(m_dataFactory.getOWLObjectSomeValuesFrom(NS_OP("r"), NS_C("E")), NS_C("F")));
+        m_reasoner.flush();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        assertTrue(m_reasoner.getSuperClasses(NS_C("A"), false).containsEntity(NS_C("F")));
+        assertTrue(m_reasoner.getSuperClasses(NS_C("C"), true).containsEntity(NS_C("D")));
+        Set<String> incrementalHierarchy = getSuperClassesAsText();
+        Configuration fromScratch = getConfiguration();
+        fromScratch.useIncrementalClassification = false;
+        createReasoner(fromScratch, null);
+        assertEquals(getSuperClassesAsText(), incrementalHierarchy);
+    }
+
+    protected Set<String> getSuperClassesAsText() {
+        Set<String> result = new HashSet<>();
+        m_ontology.classesInSignature().forEach(owlClass -> {
+            for (OWLClass superClass : m_reasoner.getSuperClasses(owlClass, false).entities().toArray(OWLClass[]::new))
+                result.add(owlClass + " -> " + superClass);
+            for (OWLClass equivalentClass : m_reasoner.getEquivalentClasses(owlClass).entities().toArray(OWLClass[]::new))
+                result.add(owlClass + " = " + equivalentClass);
+        });
+        return result;
+    }
+}
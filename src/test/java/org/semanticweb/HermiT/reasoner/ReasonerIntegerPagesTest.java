@@ -0,0 +1,80 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerIntegerPagesTest extends AbstractReasonerTest {
+
+    public ReasonerIntegerPagesTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.tupleTableType = Configuration.TupleTableType.INTEGER_PAGES;
+        return configuration;
+    }
+
+    public void testBacktrackingOverNewNodes() throws Exception {
+        // Each wrong choice creates nodes and dependency sets whose IDs are released on backtracking.
+        StringBuilder buffer = new StringBuilder();
+        for (int index = 0; index < 4; index++) {
+            buffer.append("SubClassOf(:A ObjectUnionOf(:B" + index + " :C" + index + "))");
+            buffer.append("SubClassOf(:B" + index + " ObjectSomeValuesFrom(:r ObjectSomeValuesFrom(:r :D)))");
+        }
+        buffer.append("SubClassOf(:D ObjectAllValuesFrom(ObjectInverseOf(:r) ObjectAllValuesFrom(ObjectInverseOf(:r) :E)))");
+        buffer.append("DisjointClasses(:A :E)");
+        String[] individuals = new String[50];
+        for (int index = 0; index < individuals.length; index++) {
+            individuals[index] = NS + "a" + index;
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            if (index > 0)
+                buffer.append("ObjectPropertyAssertion(:s :a" + (index - 1) + " :a" + index + ")");
+        }
+        loadReasonerWithAxioms(buffer.toString());
+        assertTrue(m_reasoner.isConsistent());
+        for (int round = 0; round < 2; round++) {
+            assertInstancesOf(NS_C("C3"), false, individuals);
+            assertInstancesOf(NS_C("B3"), false);
+            assertSubsumedBy("A", "C0", true);
+            assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("B1")), false);
+        }
+    }
+
+    public void testSameResultsAsObjectPages() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectSomeValuesFrom(:r :A))");
+        buffer.append("SubClassOf(:A DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:minInclusive \"5\"^^xsd:integer)))");
+        buffer.append("FunctionalDataProperty(:dp)");
+        buffer.append("FunctionalObjectProperty(:f)");
+        buffer.append("SubClassOf(:N ObjectHasValue(:s :o))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:s ObjectOneOf(:o)) ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B ObjectMaxCardinality(1 ObjectInverseOf(:s)))");
+        buffer.append("EquivalentClasses(:Q1 ObjectSomeValuesFrom(:r ObjectSomeValuesFrom(:r :A)))");
+        buffer.append("EquivalentClasses(:Q2 ObjectSomeValuesFrom(:f ObjectIntersectionOf(:B :C)))");
+        buffer.append("ClassAssertion(:A :a)");
+        buffer.append("ClassAssertion(:N :a)");
+        buffer.append("ClassAssertion(:N :b)");
+        buffer.append("ClassAssertion(ObjectComplementOf(:B) :b)");
+        buffer.append("ObjectPropertyAssertion(:r :c :a)");
+        buffer.append("ObjectPropertyAssertion(:f :d :e1)");
+        buffer.append("ObjectPropertyAssertion(:f :d :e2)");
+        buffer.append("ClassAssertion(:B :e1)");
+        buffer.append("ClassAssertion(:C :e2)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner(super.getConfiguration(), null);
+        Reasoner objectReasoner = m_reasoner;
+        String objectHierarchies = getHierarchiesAsText();
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        assertEquals(objectHierarchies, getHierarchiesAsText());
+        for (String individual : new String[] { "a", "b", "c", "d", "e1", "o" })
+            assertEquals(individual, asSet(objectReasoner.getTypes(NS_NI(individual), false).entities()), asSet(m_reasoner.getTypes(NS_NI(individual), false).entities()));
+        assertTrue(m_reasoner.isSameIndividual(NS_NI("e1"), NS_NI("e2")));
+        objectReasoner.dispose();
+    }
+}
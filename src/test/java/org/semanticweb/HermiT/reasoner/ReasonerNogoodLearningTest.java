@@ -0,0 +1,85 @@
+package org.semanticweb.HermiT.reasoner;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.monitor.CountingMonitor;
+import org.semanticweb.HermiT.tableau.NogoodManager;
+@SuppressWarnings("javadoc")
+public class ReasonerNogoodLearningTest extends AbstractReasonerTest {
+
+    public ReasonerNogoodLearningTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.useNogoodLearning = true;
+        configuration.nogoodStoreSize = 8;
+        return configuration;
+    }
+
+    public void testRepeatedClashesBetweenDisjunctions() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        for (int index = 0; index < 6; index++) {
+            buffer.append("SubClassOf(:A ObjectUnionOf(:B" + index + " :C" + index + "))");
+            buffer.append("SubClassOf(ObjectIntersectionOf(:B" + index + " :D) owl:Nothing)");
+            buffer.append("SubClassOf(ObjectIntersectionOf(:B" + index + " :F) owl:Nothing)");
+            buffer.append("SubClassOf(:C" + index + " ObjectSomeValuesFrom(:r :E" + index + "))");
+        }
+        buffer.append("SubClassOf(:A ObjectUnionOf(:D :F))");
+        buffer.append("SubClassOf(:F ObjectAllValuesFrom(:r owl:Nothing))");
+        buffer.append("ClassAssertion(:A :a)");
+        buffer.append("ClassAssertion(:G :b)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner();
+        assertTrue(m_reasoner.isConsistent());
+        assertSatisfiable("A", true);
+        assertSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("F")), false);
+        assertTrue(m_reasoner.getTableau().getNogoodManager().getNumberOfNogoods() > 0);
+        assertSubsumedBy("A", "D", true);
+        assertSubsumedBy("A", "C3", true);
+        assertSubsumedBy("A", "B3", false);
+        assertInstanceOf(NS_C("D"), NS_NI("a"), true);
+        assertInstanceOf(NS_C("C5"), NS_NI("a"), true);
+        assertInstanceOf(NS_C("B5"), NS_NI("a"), false);
+    }
+
+    public void testNogoodsPruneRepeatedChoices() throws Exception {
+        // Processing the smallest ground disjunction first fixes the order Z, X, Y. Z1 and Y1 clash only after both W1
+        // and W2 have been tried. After backtracking over the choice for X, Y1 is chosen again together with Z1, and the
+        // nogood raises the clash without branching on W1 or W2 again.
+        loadOntologyWithAxioms("SubClassOf(:A ObjectUnionOf(:Z1 :Z2))"
+                + "SubClassOf(:A ObjectUnionOf(:X1 :X2 :X3))"
+                + "SubClassOf(:A ObjectUnionOf(:Y1 :Y2 :Y3 :Y4))"
+                + "SubClassOf(ObjectIntersectionOf(:Z1 :Y1) ObjectUnionOf(:W1 :W2))"
+                + "SubClassOf(ObjectIntersectionOf(:W1 :Z1) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:W2 :Y1) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:Y2 :X1) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:Y2 :X2) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:A :X3) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:A :Y3) owl:Nothing)"
+                + "SubClassOf(ObjectIntersectionOf(:A :Y4) owl:Nothing)"
+                + "ClassAssertion(:A :a)");
+        Configuration withoutNogoods = getConfiguration();
+        withoutNogoods.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.SMALLEST_FIRST;
+        withoutNogoods.useDisjunctionLearning = false;
+        withoutNogoods.useNogoodLearning = false;
+        CountingMonitor monitorWithoutNogoods = new CountingMonitor();
+        withoutNogoods.monitor = monitorWithoutNogoods;
+        createReasoner(withoutNogoods, null);
+        assertTrue(m_reasoner.isConsistent());
+        Configuration withNogoods = getConfiguration();
+        withNogoods.disjunctionSelectionStrategyType = Configuration.DisjunctionSelectionStrategyType.SMALLEST_FIRST;
+        withNogoods.useDisjunctionLearning = false;
+        CountingMonitor monitorWithNogoods = new CountingMonitor();
+        withNogoods.monitor = monitorWithNogoods;
+        createReasoner(withNogoods, null);
+        assertTrue(m_reasoner.isConsistent());
+        NogoodManager nogoodManager = m_reasoner.getTableau().getNogoodManager();
+        assertTrue(nogoodManager.getNumberOfNogoods() > 0);
+        assertTrue(nogoodManager.getNumberOfClashesFromNogoods() > 0);
+        assertTrue(monitorWithNogoods.getNumberOfBacktrackings() < monitorWithoutNogoods.getNumberOfBacktrackings());
+        assertInstanceOf(NS_C("Z2"), NS_NI("a"), true);
+        assertInstanceOf(NS_C("Y1"), NS_NI("a"), true);
+    }
+}
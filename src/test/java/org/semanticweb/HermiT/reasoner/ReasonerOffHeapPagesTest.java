@@ -0,0 +1,75 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.tableau.ExtensionTable;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerOffHeapPagesTest extends AbstractReasonerTest {
+
+    public ReasonerOffHeapPagesTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.tupleTableType = Configuration.TupleTableType.OFF_HEAP_PAGES;
+        return configuration;
+    }
+
+    public void testTablesAreReusedAcrossTests() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B ObjectSomeValuesFrom(:r :D))");
+        buffer.append("SubClassOf(:D ObjectAllValuesFrom(ObjectInverseOf(:r) :E))");
+        buffer.append("DisjointClasses(:A :E)");
+        String[] individuals = new String[300];
+        for (int index = 0; index < individuals.length; index++) {
+            individuals[index] = NS + "a" + index;
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+        }
+        loadReasonerWithAxioms(buffer.toString());
+        assertTrue(m_reasoner.isConsistent());
+        ExtensionTable binaryExtensionTable = m_reasoner.getTableau().getExtensionManager().getBinaryExtensionTable();
+        // the off-heap pages are included in the size
+        assertTrue(binaryExtensionTable.sizeInMemory() >= 512 * 2 * 4);
+        for (int round = 0; round < 3; round++) {
+            for (int index = 0; index < 10; index++) {
+                assertInstanceOf(NS_C("C"), NS_NI("a" + index), true);
+                assertInstanceOf(NS_C("B"), NS_NI("a" + index), false);
+            }
+            assertInstancesOf(NS_C("C"), false, individuals);
+            assertSame(binaryExtensionTable, m_reasoner.getTableau().getExtensionManager().getBinaryExtensionTable());
+        }
+    }
+
+    public void testSameResultsAsHeapPages() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectSomeValuesFrom(:r :A))");
+        buffer.append("SubClassOf(:A DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:minInclusive \"5\"^^xsd:integer)))");
+        buffer.append("FunctionalDataProperty(:dp)");
+        buffer.append("SubClassOf(:N ObjectHasValue(:s :o))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:s ObjectOneOf(:o)) ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B ObjectMaxCardinality(1 ObjectInverseOf(:s)))");
+        buffer.append("EquivalentClasses(:Q1 ObjectSomeValuesFrom(:r ObjectSomeValuesFrom(:r :A)))");
+        buffer.append("EquivalentClasses(:Q2 DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:maxInclusive \"4\"^^xsd:integer)))");
+        buffer.append("ClassAssertion(:A :a)");
+        buffer.append("ClassAssertion(:N :a)");
+        buffer.append("ClassAssertion(:N :b)");
+        buffer.append("ClassAssertion(ObjectComplementOf(:B) :b)");
+        buffer.append("ObjectPropertyAssertion(:r :c :a)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner(super.getConfiguration(), null);
+        Reasoner heapReasoner = m_reasoner;
+        String heapHierarchies = getHierarchiesAsText();
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        assertEquals(heapHierarchies, getHierarchiesAsText());
+        for (String individual : new String[] { "a", "b", "c", "o" })
+            assertEquals(individual, asSet(heapReasoner.getTypes(NS_NI(individual), false).entities()), asSet(m_reasoner.getTypes(NS_NI(individual), false).entities()));
+        heapReasoner.dispose();
+    }
+}
@@ -0,0 +1,73 @@
+package org.semanticweb.HermiT.reasoner;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+@SuppressWarnings("javadoc")
+public class ReasonerParallelRealisationTest extends AbstractReasonerTest {
+
+    public ReasonerParallelRealisationTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.realisationThreads = 4;
+        return configuration;
+    }
+
+    public void testParallelRealisationOfPossibleInstances() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:B :D)");
+        buffer.append("SubClassOf(:C :D)");
+        buffer.append("SubClassOf(:D :E)");
+        buffer.append("SubClassOf(:F ObjectIntersectionOf(:A ObjectComplementOf(:C)))");
+        for (int index = 0; index < 20; index++) {
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            buffer.append("ClassAssertion(ObjectUnionOf(:F :G) :a" + index + ")");
+        }
+        buffer.append("ClassAssertion(:F :a0)");
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        String[] allIndividuals = new String[20];
+        for (int index = 0; index < 20; index++)
+            allIndividuals[index] = NS + "a" + index;
+        assertInstancesOf(NS_C("D"), false, allIndividuals);
+        assertInstancesOf(NS_C("E"), false, allIndividuals);
+        assertInstancesOf(NS_C("B"), false, NS + "a0");
+        assertInstancesOf(NS_C("C"), false);
+        assertInstancesOf(NS_C("F"), false, NS + "a0");
+    }
+
+    public void testSameResultsAsSequentialRealisation() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A ObjectUnionOf(:B :C))");
+        buffer.append("SubClassOf(:C ObjectSomeValuesFrom(:r :D))");
+        buffer.append("SubClassOf(ObjectSomeValuesFrom(:r :D) :E)");
+        buffer.append("SubClassOf(:B ObjectAllValuesFrom(:r :F))");
+        buffer.append("FunctionalObjectProperty(:r)");
+        for (int index = 0; index < 12; index++) {
+            buffer.append("ClassAssertion(:A :a" + index + ")");
+            buffer.append("ObjectPropertyAssertion(:r :a" + index + " :b" + index + ")");
+            if (index % 3 == 0)
+                buffer.append("ClassAssertion(ObjectComplementOf(:B) :a" + index + ")");
+            if (index % 4 == 0)
+                buffer.append("ClassAssertion(:D :b" + index + ")");
+        }
+        loadOntologyWithAxioms(buffer.toString());
+        createReasoner(super.getConfiguration(), null);
+        Reasoner sequentialReasoner = m_reasoner;
+        sequentialReasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        createReasoner();
+        m_reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+        for (int index = 0; index < 12; index++)
+            for (String individual : new String[] { "a" + index, "b" + index })
+                assertEquals(individual, asSet(sequentialReasoner.getTypes(NS_NI(individual), false).entities()), asSet(m_reasoner.getTypes(NS_NI(individual), false).entities()));
+        sequentialReasoner.dispose();
+    }
+}
@@ -0,0 +1,76 @@
+package org.semanticweb.HermiT.reasoner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.tableau.TableauPool;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+@SuppressWarnings("javadoc")
+public class ReasonerTableauPoolTest extends AbstractReasonerTest {
+
+    public ReasonerTableauPoolTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.tableauPoolSize = 4;
+        return configuration;
+    }
+
+    public void testConcurrentQueries() throws Exception {
+        String axioms = "SubClassOf(:A ObjectSomeValuesFrom(:r :B))" + "SubClassOf(:B ObjectSomeValuesFrom(:r :C))"
+                + "DisjointClasses(:C :D)" + "SubClassOf(:E ObjectAllValuesFrom(:r ObjectAllValuesFrom(:r :D)))"
+                + "ClassAssertion(:A :a)";
+        loadReasonerWithAxioms(axioms);
+        m_reasoner.isConsistent();
+        OWLObjectProperty r = NS_OP("r");
+        final OWLClassExpression unsatisfiable = m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("E"));
+        final OWLClassExpression satisfiable = m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), NS_C("D"));
+        final OWLClassExpression someRR = m_dataFactory.getOWLObjectSomeValuesFrom(r, m_dataFactory.getOWLObjectSomeValuesFrom(r, NS_C("C")));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int index = 0; index < 64; index++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return Boolean.valueOf(!m_reasoner.isSatisfiable(unsatisfiable) && m_reasoner.isSatisfiable(satisfiable)
+                                && m_reasoner.isEntailed(m_dataFactory.getOWLSubClassOfAxiom(NS_C("A"), someRR)) && m_reasoner.hasType(NS_NI("a"), someRR, false));
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results)
+                assertTrue(result.get().booleanValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testForkJoinPoolIsSharedAcrossInvocations() throws Exception {
+        loadReasonerWithAxioms("SubClassOf(:A :B)");
+        TableauPool tableauPool = new TableauPool(interruptFlag -> m_reasoner.getTableau(), 2, 0);
+        List<TableauPool.TableauTask<ForkJoinPool>> tasks = new ArrayList<>();
+        for (int index = 0; index < 4; index++)
+            tasks.add(tableau -> ForkJoinTask.getPool());
+        List<ForkJoinPool> firstPools = tableauPool.invokeAll(tasks);
+        List<ForkJoinPool> secondPools = tableauPool.invokeAll(tasks);
+        ForkJoinPool forkJoinPool = firstPools.get(0);
+        assertNotNull(forkJoinPool);
+        for (ForkJoinPool pool : firstPools)
+            assertSame(forkJoinPool, pool);
+        for (ForkJoinPool pool : secondPools)
+            assertSame(forkJoinPool, pool);
+        tableauPool.dispose();
+        assertTrue(forkJoinPool.isShutdown());
+    }
+}
@@ -0,0 +1,46 @@
+package org.semanticweb.HermiT.reasoner;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.monitor.CountingMonitor;
+@SuppressWarnings("javadoc")
+public class ReasonerWatchedDisjunctsTest extends AbstractReasonerTest {
+
+    public ReasonerWatchedDisjunctsTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected Configuration getConfiguration() {
+        Configuration configuration = super.getConfiguration();
+        configuration.useWatchedDisjuncts = true;
+        return configuration;
+    }
+
+    public void testUnitDisjunctionsAreNotBranchedOn() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("SubClassOf(:A :F)");
+        buffer.append("SubClassOf(ObjectIntersectionOf(:B :F) owl:Nothing)");
+        for (int index = 0; index < 8; index++)
+            buffer.append("SubClassOf(:A ObjectUnionOf(:B :E" + index + "))");
+        buffer.append("ClassAssertion(:A :a)");
+        loadOntologyWithAxioms(buffer.toString());
+        Configuration unwatched = getConfiguration();
+        unwatched.useWatchedDisjuncts = false;
+        unwatched.useDisjunctionLearning = false;
+        CountingMonitor unwatchedMonitor = new CountingMonitor();
+        unwatched.monitor = unwatchedMonitor;
+        createReasoner(unwatched, null);
+        assertTrue(m_reasoner.isConsistent());
+        m_reasoner = null;
+        Configuration watched = getConfiguration();
+        watched.useDisjunctionLearning = false;
+        CountingMonitor watchedMonitor = new CountingMonitor();
+        watched.monitor = watchedMonitor;
+        createReasoner(watched, null);
+        assertTrue(m_reasoner.isConsistent());
+        assertTrue(watchedMonitor.getNumberOfBacktrackings() <= 1);
+        assertTrue(watchedMonitor.getNumberOfBacktrackings() < unwatchedMonitor.getNumberOfBacktrackings());
+        assertInstanceOf(NS_C("E5"), NS_NI("a"), true);
+        assertInstanceOf(NS_C("B"), NS_NI("a"), false);
+    }
+}
@@ -1,15 +1,23 @@
 package org.semanticweb.HermiT.structural;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.HermiT.model.BinaryDLOntologyFormat;
 import org.semanticweb.HermiT.model.DLClause;
+import org.semanticweb.HermiT.model.DLOntology;
+import org.semanticweb.HermiT.model.DescriptionGraph;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 @SuppressWarnings("javadoc")
@@ -56,6 +64,113 @@ public class ClausificationTest extends AbstractStructuralTest {
         assertClausification("res/has-self-2-input.owl", "res/has-self-2-control.txt");
     }
 
+    public void testAbsorbConjunctionInUniversalFiller() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(ObjectSomeValuesFrom(:r ObjectUnionOf(:D ObjectAllValuesFrom(:s :E))) :C)");
+        assertDLClauses(S(
+                ":C(X) :- :D(Y), :r(X,Y)",
+                ":C(X) v def:a0(Y) :- :r(X,Y)",
+                "atLeast(1 :s not(:E))(X) :- def:a0(X)"));
+    }
+
+    public void testAbsorbConjunctionWithComplexDisjuncts() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(ObjectUnionOf(ObjectSomeValuesFrom(:r :D) ObjectAllValuesFrom(:s :E)) ObjectSomeValuesFrom(:t :F))");
+        assertDLClauses(S(
+                "atLeast(1 :t :F)(X) :- :D(Y), :r(X,Y)",
+                "atLeast(1 :s not(:E))(X) v atLeast(1 :t :F)(X) :- owl:Thing(X)"));
+        OWLClausification clausifier = new OWLClausification(new Configuration());
+        Set<DescriptionGraph> noDescriptionGraphs = Collections.emptySet();
+        DLOntology dlOntology = (DLOntology) clausifier.preprocessAndClausify(m_ontology, noDescriptionGraphs)[1];
+        assertEquals(1, dlOntology.getNumberOfAbsorbedInclusions());
+        assertEquals(1, dlOntology.getNumberOfUnguardedNondeterministicClauses());
+        assertTrue(dlOntology.getStatistics().contains("Number of absorbed inclusions: 1"));
+    }
+
+    public void testBinaryFormatRoundTrip() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectMinCardinality(2 :r :B))"
+                + "SubClassOf(:A ObjectMaxCardinality(1 ObjectInverseOf(:r) :C))"
+                + "SubClassOf(:B DataSomeValuesFrom(:dp DatatypeRestriction(xsd:integer xsd:minInclusive \"5\"^^xsd:integer)))"
+                + "SubClassOf(:C DataAllValuesFrom(:dp DataOneOf(\"a\" \"b\")))"
+                + "SubClassOf(:C DataAllValuesFrom(:dp DataComplementOf(xsd:string)))"
+                + "SubClassOf(:D ObjectOneOf(:i :j))"
+                + "SubClassOf(:E ObjectHasSelf(:r))"
+                + "DisjointClasses(:E :A)"
+                + "SubClassOf(:F ObjectIntersectionOf(:A :E))"
+                + "HasKey(:A (:r) ())"
+                + "ClassAssertion(:A :i)"
+                + "ClassAssertion(ObjectComplementOf(:E) :j)"
+                + "NegativeObjectPropertyAssertion(:r :i :j)"
+                + "ObjectPropertyAssertion(:r :i _:anon)"
+                + "DataPropertyAssertion(:dp :j \"3\"^^xsd:integer)");
+        OWLClausification clausifier = new OWLClausification(new Configuration());
+        Set<DescriptionGraph> noDescriptionGraphs = Collections.emptySet();
+        DLOntology dlOntology = (DLOntology) clausifier.preprocessAndClausify(m_ontology, noDescriptionGraphs)[1];
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryDLOntologyFormat.save(dlOntology, output);
+        DLOntology loaded = BinaryDLOntologyFormat.load(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(dlOntology.getOntologyIRI(), loaded.getOntologyIRI());
+        assertEquals(dlOntology.getDLClauses(), loaded.getDLClauses());
+        assertEquals(dlOntology.getPositiveFacts(), loaded.getPositiveFacts());
+        assertEquals(dlOntology.getNegativeFacts(), loaded.getNegativeFacts());
+        assertEquals(dlOntology.getAllAtomicConcepts(), loaded.getAllAtomicConcepts());
+        assertEquals(dlOntology.getAllAtomicObjectRoles(), loaded.getAllAtomicObjectRoles());
+        assertEquals(dlOntology.getAllComplexObjectRoles(), loaded.getAllComplexObjectRoles());
+        assertEquals(dlOntology.getAllAtomicDataRoles(), loaded.getAllAtomicDataRoles());
+        assertEquals(dlOntology.getAllUnknownDatatypeRestrictions(), loaded.getAllUnknownDatatypeRestrictions());
+        assertEquals(dlOntology.getDefinedDatatypeIRIs(), loaded.getDefinedDatatypeIRIs());
+        assertEquals(dlOntology.getAllIndividuals(), loaded.getAllIndividuals());
+        assertEquals(dlOntology.hasInverseRoles(), loaded.hasInverseRoles());
+        assertEquals(dlOntology.hasAtMostRestrictions(), loaded.hasAtMostRestrictions());
+        assertEquals(dlOntology.hasNominals(), loaded.hasNominals());
+        assertEquals(dlOntology.hasDatatypes(), loaded.hasDatatypes());
+        assertEquals(dlOntology.getNumberOfAbsorbedInclusions(), loaded.getNumberOfAbsorbedInclusions());
+        Reasoner reasoner = new Reasoner(new Configuration(), m_ontology, null, loaded);
+        assertTrue(reasoner.isConsistent());
+        assertFalse(reasoner.isSatisfiable(NS_C("F")));
+        assertTrue(reasoner.isSatisfiable(NS_C("A")));
+        assertTrue(reasoner.isSatisfiable(m_dataFactory.getOWLObjectAllValuesFrom(NS_OP("r"), NS_C("B"))));
+        assertFalse(reasoner.isSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), m_dataFactory.getOWLObjectAllValuesFrom(NS_OP("r"), m_dataFactory.getOWLObjectComplementOf(NS_C("B"))))));
+        reasoner.dispose();
+    }
+
+    public void testBinaryFormatEntailmentWithoutAutomata() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectSomeValuesFrom(:r :B))"
+                + "TransitiveObjectProperty(:t)");
+        OWLClausification clausifier = new OWLClausification(new Configuration());
+        Set<DescriptionGraph> noDescriptionGraphs = Collections.emptySet();
+        DLOntology dlOntology = (DLOntology) clausifier.preprocessAndClausify(m_ontology, noDescriptionGraphs)[1];
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryDLOntologyFormat.save(dlOntology, output);
+        DLOntology loaded = BinaryDLOntologyFormat.load(new ByteArrayInputStream(output.toByteArray()));
+        Reasoner reasoner = new Reasoner(new Configuration(), m_ontology, null, loaded);
+        assertFalse(reasoner.isSatisfiable(m_dataFactory.getOWLObjectIntersectionOf(NS_C("A"), m_dataFactory.getOWLObjectAllValuesFrom(NS_OP("r"), m_dataFactory.getOWLObjectComplementOf(NS_C("B"))))));
+        assertTrue(reasoner.isEntailed(m_dataFactory.getOWLSubClassOfAxiom(NS_C("A"), m_dataFactory.getOWLObjectMinCardinality(1, NS_OP("r"), NS_C("B")))));
+        assertTrue(reasoner.isSatisfiable(m_dataFactory.getOWLObjectAllValuesFrom(NS_OP("t"), m_dataFactory.getOWLThing())));
+        try {
+            reasoner.isSatisfiable(m_dataFactory.getOWLObjectAllValuesFrom(NS_OP("t"), NS_C("B")));
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // the automaton of the transitive property is needed for rewriting the universal
+        }
+        reasoner.dispose();
+    }
+
+    public void testBinaryFormatRejectsOtherVersions() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A :B)");
+        OWLClausification clausifier = new OWLClausification(new Configuration());
+        Set<DescriptionGraph> noDescriptionGraphs = Collections.emptySet();
+        DLOntology dlOntology = (DLOntology) clausifier.preprocessAndClausify(m_ontology, noDescriptionGraphs)[1];
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryDLOntologyFormat.save(dlOntology, output);
+        byte[] data = output.toByteArray();
+        data[7]++;
+        try {
+            BinaryDLOntologyFormat.load(new ByteArrayInputStream(data));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("not supported"));
+        }
+    }
+
     public void testHasKeys() {
         OWLClausification clausifier = new OWLClausification(new Configuration());
         OWLHasKeyAxiom key = m_dataFactory.getOWLHasKeyAxiom(m_dataFactory.getOWLClass(IRI.create("int:C_test")),
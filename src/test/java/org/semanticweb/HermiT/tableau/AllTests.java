@@ -12,6 +12,7 @@ public class AllTests {
         suite.addTestSuite(TupleTableFullIndexTest.class);
         suite.addTestSuite(DLClauseEvaluationTest.class);
         suite.addTestSuite(DependencySetTest.class);
+        suite.addTestSuite(DependencySetHybridTest.class);
         suite.addTestSuite(NIRuleTest.class);
         suite.addTestSuite(MergeTest.class);
         suite.addTestSuite(GraphTest.class);
@@ -1,9 +1,12 @@
 package org.semanticweb.HermiT.tableau;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Set;
 
+import org.semanticweb.HermiT.Configuration;
 import org.semanticweb.HermiT.blocking.AnywhereBlocking;
 import org.semanticweb.HermiT.blocking.BlockingSignatureCache;
 import org.semanticweb.HermiT.blocking.BlockingStrategy;
@@ -11,10 +14,13 @@ import org.semanticweb.HermiT.blocking.PairWiseDirectBlockingChecker;
 import org.semanticweb.HermiT.existentials.CreationOrderStrategy;
 import org.semanticweb.HermiT.existentials.ExistentialExpansionStrategy;
 import org.semanticweb.HermiT.model.Atom;
+import org.semanticweb.HermiT.model.AtomicConcept;
 import org.semanticweb.HermiT.model.AtomicRole;
 import org.semanticweb.HermiT.model.DLClause;
 import org.semanticweb.HermiT.model.DLOntology;
 import org.semanticweb.HermiT.model.Variable;
+import org.semanticweb.HermiT.monitor.TableauMonitor;
+import org.semanticweb.HermiT.monitor.TableauMonitorAdapter;
 @SuppressWarnings("javadoc")
 public class DLClauseEvaluationTest extends AbstractReasonerInternalsTest {
 
@@ -22,8 +28,13 @@ public class DLClauseEvaluationTest extends AbstractReasonerInternalsTest {
     protected static final AtomicRole S = AtomicRole.create("S");
     protected static final AtomicRole T = AtomicRole.create("T");
     protected static final AtomicRole U = AtomicRole.create("U");
+    protected static final AtomicConcept A = AtomicConcept.create("A");
+    protected static final AtomicConcept B = AtomicConcept.create("B");
+    protected static final AtomicConcept C = AtomicConcept.create("C");
     protected static final DLClause CL_1;
+    protected static final DLClause CL_2;
     protected static final DLOntology TEST_DL_ONTOLOGY;
+    protected static final DLOntology PROJECTION_DL_ONTOLOGY;
 
     static {
         Variable X = Variable.create("X");
@@ -35,6 +46,10 @@ public class DLClauseEvaluationTest extends AbstractReasonerInternalsTest {
                 new Atom[] { Atom.create(R, X, Y), Atom.create(S, Y, Z), Atom.create(T, W, W) });
         Set<DLClause> dlClauses = Collections.singleton(CL_1);
         TEST_DL_ONTOLOGY = getTestDLOntology(dlClauses);
+
+        CL_2 = DLClause.create(new Atom[] { Atom.create(C, X) },
+                new Atom[] { Atom.create(A, X), Atom.create(R, X, Y), Atom.create(B, Y) });
+        PROJECTION_DL_ONTOLOGY = getTestDLOntology(Collections.singleton(CL_2));
     }
 
     protected Tableau m_tableau;
@@ -46,13 +61,29 @@ public class DLClauseEvaluationTest extends AbstractReasonerInternalsTest {
 
     @Override
     protected void setUp() {
+        m_tableau = createTableau(TEST_DL_ONTOLOGY);
+        m_extensionManager = m_tableau.getExtensionManager();
+    }
+
+    protected Tableau createTableau(DLOntology dlOntology) {
+        return createTableau(dlOntology, (TableauMonitor) null);
+    }
+
+    protected Tableau createTableau(DLOntology dlOntology, TableauMonitor tableauMonitor) {
         PairWiseDirectBlockingChecker directChecker = new PairWiseDirectBlockingChecker();
         BlockingSignatureCache blockingSignatureCache = new BlockingSignatureCache(directChecker);
         BlockingStrategy blockingStrategy = new AnywhereBlocking(directChecker, blockingSignatureCache);
         ExistentialExpansionStrategy ExpansionStrategy = new CreationOrderStrategy(blockingStrategy);
-        m_tableau = new Tableau(new InterruptFlag(-1), null, ExpansionStrategy, false, TEST_DL_ONTOLOGY, null,
+        return new Tableau(new InterruptFlag(-1), tableauMonitor, ExpansionStrategy, false, dlOntology, null,
                 new HashMap<String, Object>());
-        m_extensionManager = m_tableau.getExtensionManager();
+    }
+
+    protected Tableau createTableau(DLOntology dlOntology, Configuration configuration) {
+        PairWiseDirectBlockingChecker directChecker = new PairWiseDirectBlockingChecker();
+        BlockingSignatureCache blockingSignatureCache = new BlockingSignatureCache(directChecker);
+        BlockingStrategy blockingStrategy = new AnywhereBlocking(directChecker, blockingSignatureCache);
+        ExistentialExpansionStrategy ExpansionStrategy = new CreationOrderStrategy(blockingStrategy);
+        return new Tableau(new InterruptFlag(-1), null, ExpansionStrategy, dlOntology, null, configuration);
     }
 
     public void testEvaluator() {
@@ -77,4 +108,96 @@ public class DLClauseEvaluationTest extends AbstractReasonerInternalsTest {
         assertRetrieval(m_extensionManager.getTernaryExtensionTable(), T(U, null, null),
                 ExtensionTable.View.EXTENSION_THIS, new Object[][] { T(U, d, e) });
     }
+
+    public void testProjectionOfHeadIrrelevantVariables() {
+        final int[] numberOfMatches = new int[1];
+        Tableau tableau = createTableau(PROJECTION_DL_ONTOLOGY, new TableauMonitorAdapter() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void dlClauseMatchedStarted(DLClauseEvaluator dlClauseEvaluator, int dlClauseIndex) {
+                numberOfMatches[0]++;
+            }
+        });
+        ExtensionManager extensionManager = tableau.getExtensionManager();
+        DependencySet emptySet = tableau.getDependencySetFactory().emptySet();
+
+        Node a = tableau.createNewNINode(emptySet);
+        Node b = tableau.createNewNINode(emptySet);
+        Node successor1 = tableau.createNewNINode(emptySet);
+        Node successor4 = tableau.createNewNINode(emptySet);
+        extensionManager.addRoleAssertion(R, a, successor1, emptySet, false);
+        extensionManager.addRoleAssertion(R, b, successor4, emptySet, false);
+        for (int index = 0; index < 5; index++) {
+            Node successor = tableau.createNewNINode(emptySet);
+            extensionManager.addRoleAssertion(R, a, successor, emptySet, false);
+            extensionManager.addConceptAssertion(B, successor, emptySet, false);
+        }
+        assertTrue(tableau.runCalculus());
+        assertEquals(0, numberOfMatches[0]);
+
+        // A(a) has five witnesses for R(a,y) and B(y), but y does not occur in the head, so the clause is matched once.
+        extensionManager.addConceptAssertion(A, a, emptySet, false);
+        extensionManager.addConceptAssertion(A, b, emptySet, false);
+        assertTrue(tableau.runCalculus());
+        assertEquals(1, numberOfMatches[0]);
+
+        assertRetrieval(extensionManager.getBinaryExtensionTable(), T(C, null),
+                ExtensionTable.View.EXTENSION_THIS, new Object[][] { T(C, a) });
+    }
+
+    public void testProgramSharedBetweenTableaux() {
+        assertSame(HyperresolutionProgram.forDLOntology(PROJECTION_DL_ONTOLOGY, new InterruptFlag(-1)),
+                HyperresolutionProgram.forDLOntology(PROJECTION_DL_ONTOLOGY, new InterruptFlag(-1)));
+        Tableau tableau1 = createTableau(PROJECTION_DL_ONTOLOGY);
+        Tableau tableau2 = createTableau(PROJECTION_DL_ONTOLOGY);
+        assertNotSame(tableau1.getPermanentHyperresolutionManager(), tableau2.getPermanentHyperresolutionManager());
+        for (Tableau tableau : new Tableau[] { tableau1, tableau2 }) {
+            ExtensionManager extensionManager = tableau.getExtensionManager();
+            DependencySet emptySet = tableau.getDependencySetFactory().emptySet();
+            Node a = tableau.createNewNINode(emptySet);
+            Node b = tableau.createNewNINode(emptySet);
+            extensionManager.addRoleAssertion(R, a, b, emptySet, false);
+            extensionManager.addConceptAssertion(A, a, emptySet, false);
+            extensionManager.addConceptAssertion(B, b, emptySet, false);
+            assertTrue(tableau.runCalculus());
+            assertRetrieval(extensionManager.getBinaryExtensionTable(), T(C, null),
+                    ExtensionTable.View.EXTENSION_THIS, new Object[][] { T(C, a) });
+        }
+    }
+
+    public void testGeneratedClassesSharedBetweenTableaux() {
+        Configuration configuration = new Configuration();
+        configuration.clauseEvaluatorType = Configuration.ClauseEvaluatorType.GENERATED;
+        HyperresolutionProgram program = HyperresolutionProgram.forDLOntology(TEST_DL_ONTOLOGY, new InterruptFlag(-1));
+        Tableau tableau1 = createTableau(TEST_DL_ONTOLOGY, configuration);
+        int numberOfGeneratedClasses = program.getProgramGenerator().getNumberOfGeneratedClasses();
+        assertTrue(numberOfGeneratedClasses > 0 && numberOfGeneratedClasses <= program.getNumberOfRules());
+        // The two DL-clauses have the same shape, so their evaluators have the same worker layouts and share classes.
+        Variable X = Variable.create("X");
+        Variable Y = Variable.create("Y");
+        DLClause dlClause = DLClause.create(new Atom[] { Atom.create(B, X) }, new Atom[] { Atom.create(C, X), Atom.create(S, X, Y), Atom.create(A, Y) });
+        DLOntology sameShapeDLOntology = getTestDLOntology(new HashSet<>(Arrays.asList(CL_2, dlClause)));
+        createTableau(sameShapeDLOntology, configuration);
+        HyperresolutionProgram sameShapeProgram = HyperresolutionProgram.forDLOntology(sameShapeDLOntology, new InterruptFlag(-1));
+        assertEquals(sameShapeProgram.getNumberOfRules() / 2, sameShapeProgram.getProgramGenerator().getNumberOfGeneratedClasses());
+        Tableau tableau2 = createTableau(TEST_DL_ONTOLOGY, configuration);
+        assertEquals(numberOfGeneratedClasses, program.getProgramGenerator().getNumberOfGeneratedClasses());
+        DLClauseEvaluator evaluator1 = tableau1.getPermanentHyperresolutionManager().m_tupleConsumersByDeltaPredicate.get(R).m_evaluator;
+        DLClauseEvaluator evaluator2 = tableau2.getPermanentHyperresolutionManager().m_tupleConsumersByDeltaPredicate.get(R).m_evaluator;
+        assertNotSame(evaluator1, evaluator2);
+        assertNotNull(evaluator1.m_generatedProgram);
+        assertSame(evaluator1.m_generatedProgram, evaluator2.m_generatedProgram);
+        DependencySet emptySet = tableau2.getDependencySetFactory().emptySet();
+        Node a = tableau2.createNewNINode(emptySet);
+        Node b = tableau2.createNewNINode(emptySet);
+        Node c = tableau2.createNewNINode(emptySet);
+        Node d = tableau2.createNewNINode(emptySet);
+        tableau2.getExtensionManager().addRoleAssertion(R, a, b, emptySet, false);
+        tableau2.getExtensionManager().addRoleAssertion(S, b, c, emptySet, false);
+        tableau2.getExtensionManager().addRoleAssertion(T, d, d, emptySet, false);
+        assertTrue(tableau2.runCalculus());
+        assertRetrieval(tableau2.getExtensionManager().getTernaryExtensionTable(), T(U, null, null),
+                ExtensionTable.View.EXTENSION_THIS, new Object[][] { T(U, c, d) });
+    }
 }
@@ -0,0 +1,14 @@
+package org.semanticweb.HermiT.tableau;
+
+@SuppressWarnings("javadoc")
+public class DependencySetHybridTest extends DependencySetTest {
+
+    public DependencySetHybridTest(String name) {
+        super(name);
+    }
+
+    @Override
+    protected void setUp() {
+        m_factory = new DependencySetFactory(64);
+    }
+}
@@ -89,6 +89,49 @@ public class DependencySetTest extends TestCase {
         assertDSEquals(set4, 1, 2, 3, 10, 14, 17, 18);
     }
 
+    public void testDependencySetsAcrossBitsetWidth() {
+        PermanentDependencySet small = createSet(3, 40);
+        PermanentDependencySet large = createSet(100, 3);
+        assertDSEquals(small, 3, 40);
+        assertDSEquals(large, 3, 100);
+        PermanentDependencySet union = m_factory.unionWith(small, large);
+        assertDSEquals(union, 3, 40, 100);
+        assertTrue(union.containsBranchingPoint(40));
+        assertFalse(union.containsBranchingPoint(41));
+        assertTrue(small.containsBranchingPoint(3));
+        assertFalse(small.containsBranchingPoint(100));
+        assertSame(small, m_factory.removeBranchingPoint(union, 100));
+        assertSame(small, createSet(40, 3));
+        assertSame(small, m_factory.unionWith(createSet(40), createSet(3)));
+        assertSame(small, m_factory.addBranchingPoint(createSet(40), 3));
+        assertSame(createSet(3), m_factory.removeBranchingPoint(small, 40));
+        assertSame(m_factory.emptySet(), m_factory.removeBranchingPoint(m_factory.removeBranchingPoint(small, 3), 40));
+        UnionDependencySet unionOfSmallSets = new UnionDependencySet(2);
+        unionOfSmallSets.m_dependencySets[0] = createSet(3);
+        unionOfSmallSets.m_dependencySets[1] = createSet(40);
+        assertSame(small, m_factory.getPermanent(unionOfSmallSets));
+    }
+
+    public void testDestroyedDependencySetsAreRecreated() {
+        PermanentDependencySet set = createSet(5, 7);
+        m_factory.addUsage(set);
+        m_factory.removeUsage(set);
+        m_factory.removeUnusedSets();
+        PermanentDependencySet recreated = m_factory.unionWith(createSet(7), createSet(5));
+        assertDSEquals(recreated, 5, 7);
+        assertTrue(recreated.containsBranchingPoint(5));
+        assertFalse(recreated.containsBranchingPoint(6));
+        assertSame(recreated, createSet(5, 7));
+        assertSame(recreated, m_factory.addBranchingPoint(createSet(7), 5));
+    }
+
+    protected PermanentDependencySet createSet(int... branchingPoints) {
+        PermanentDependencySet set = m_factory.emptySet();
+        for (int branchingPoint : branchingPoints)
+            set = m_factory.addBranchingPoint(set, branchingPoint);
+        return set;
+    }
+
     protected static void assertDSEquals(PermanentDependencySet dependencySet, int... expectedSortedMembers) {
         PermanentDependencySet checkSet = dependencySet;
         for (int index = expectedSortedMembers.length - 1; index >= 0; --index) {
@@ -136,6 +136,44 @@ public class MergeTest extends AbstractReasonerInternalsTest {
                 ExtensionTable.View.TOTAL, new Node[0][]);
     }
 
+    public void testCanonicalNodeShortcutsAreBacktracked() {
+        DependencySetFactory factory = m_tableau.getDependencySetFactory();
+        DependencySet emptySet = factory.emptySet();
+        Node[] nodes = new Node[5];
+        for (int index = 0; index < nodes.length; index++)
+            nodes[index] = m_tableau.createNewNINode(emptySet);
+        BranchingPoint[] branchingPoints = new BranchingPoint[nodes.length - 1];
+        // Merge each node into the next one, each at a new branching point, so that nodes[0] has the longest chain.
+        for (int index = 0; index < branchingPoints.length; index++) {
+            branchingPoints[index] = new BranchingPoint(m_tableau);
+            m_tableau.pushBranchingPoint(branchingPoints[index]);
+            m_tableau.mergeNode(nodes[index], nodes[index + 1], factory.addBranchingPoint(emptySet, index));
+            assertSame(nodes[index + 1], nodes[0].getCanonicalNode());
+            assertSame(nodes[index + 1], nodes[1].getCanonicalNode());
+            assertDependencySet(nodes[0].getCanonicalNodeDependencySet(), index + 1);
+        }
+        for (int index = branchingPoints.length - 1; index > 0; index--) {
+            m_tableau.backtrackTo(branchingPoints[index].getLevel());
+            assertSame(nodes[index], nodes[0].getCanonicalNode());
+            assertDependencySet(nodes[0].getCanonicalNodeDependencySet(), index);
+        }
+        // Merging into a different node must not reuse the shortcuts to the nodes merged before backtracking.
+        m_tableau.mergeNode(nodes[1], nodes[4], factory.addBranchingPoint(emptySet, 0));
+        assertSame(nodes[4], nodes[0].getCanonicalNode());
+        assertDependencySet(nodes[0].getCanonicalNodeDependencySet(), 1);
+        assertSame(nodes[4], nodes[1].getCanonicalNode());
+        assertSame(nodes[2], nodes[2].getCanonicalNode());
+        m_tableau.backtrackTo(branchingPoints[0].getLevel());
+        assertSame(nodes[0], nodes[0].getCanonicalNode());
+        assertTrue(nodes[0].getCanonicalNodeDependencySet().isEmpty());
+    }
+
+    protected static void assertDependencySet(DependencySet dependencySet, int numberOfBranchingPoints) {
+        for (int branchingPoint = 0; branchingPoint < numberOfBranchingPoints; branchingPoint++)
+            assertTrue(dependencySet.containsBranchingPoint(branchingPoint));
+        assertEquals(numberOfBranchingPoints - 1, dependencySet.getMaximumBranchingPoint());
+    }
+
     protected void assertLabel(Node node, Concept... expected) {
         assertLabel(m_tableau, node, expected);
     }
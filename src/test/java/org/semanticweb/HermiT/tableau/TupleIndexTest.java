@@ -1,4 +1,6 @@
 package org.semanticweb.HermiT.tableau;
+
+import java.nio.IntBuffer;
 @SuppressWarnings("javadoc")
 public class TupleIndexTest extends AbstractReasonerInternalsTest {
     protected TupleIndex m_tupleIndex;
@@ -9,7 +11,7 @@ public class TupleIndexTest extends AbstractReasonerInternalsTest {
 
     @Override
     protected void setUp() {
-        m_tupleIndex = new TupleIndex(new int[] { 0, 1, 2 });
+        m_tupleIndex = new TrieTupleIndex(new int[] { 0, 1, 2 });
     }
 
     public void testIndex1() {
@@ -62,6 +64,54 @@ public class TupleIndexTest extends AbstractReasonerInternalsTest {
         assertRetrieval(S(), I());
     }
 
+    public void testIndexOffHeap() {
+        m_tupleIndex = new TrieTupleIndex(new int[] { 0, 1, 2 }, new ObjectDictionary());
+        testIndex1();
+        testIndex2();
+    }
+
+    public void testIndexOffHeapReusesPagesAfterClear() {
+        TrieTupleIndex tupleIndex = new TrieTupleIndex(new int[] { 0, 1, 2 }, new ObjectDictionary());
+        m_tupleIndex = tupleIndex;
+        testIndex2();
+        TrieTupleIndex.OffHeapTrieNodeManager trieNodeManager = (TrieTupleIndex.OffHeapTrieNodeManager) tupleIndex.m_trieNodeManager;
+        IntBuffer[] pages = trieNodeManager.m_pages.clone();
+        int size = trieNodeManager.size();
+        assertTrue(size > pages.length * 4);
+        tupleIndex.clear();
+        assertEquals(size, trieNodeManager.size());
+        testIndex1();
+        testIndex2();
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++)
+            assertSame(pages[pageIndex], trieNodeManager.m_pages[pageIndex]);
+    }
+
+    public void testHashIndex() {
+        m_tupleIndex = new HashTupleIndex(new int[] { 0, 1, 2 });
+        testIndex1();
+        testIndex2();
+    }
+
+    public void testHashIndexGrowsGeometrically() {
+        HashTupleIndex tupleIndex = new HashTupleIndex(new int[] { 0, 1, 2 });
+        m_tupleIndex = tupleIndex;
+        int numberOfResizes = 0;
+        int entriesLength = tupleIndex.m_entries.length;
+        for (int index = 0; index < 100 * HashTupleIndex.INITIAL_NUMBER_OF_ENTRIES; index++) {
+            addTuple(index, S(String.valueOf(index % 7), String.valueOf(index % 70), String.valueOf(index)));
+            if (tupleIndex.m_entries.length != entriesLength) {
+                assertEquals(2 * entriesLength, tupleIndex.m_entries.length);
+                assertEquals(tupleIndex.m_entries.length / tupleIndex.m_entrySize * 3, tupleIndex.m_entryObjects.length);
+                entriesLength = tupleIndex.m_entries.length;
+                numberOfResizes++;
+            }
+        }
+        assertEquals(7, numberOfResizes);
+        assertEquals(50, removeTuple(S("1", "50", "50")));
+        assertRetrieval(S("1", "50", "50"), I());
+        assertRetrieval(S("2", "51", "51"), I(51));
+    }
+
     protected void addTuple(int tupleIndex, String[] strings) {
         m_tupleIndex.addTuple(strings, tupleIndex);
     }
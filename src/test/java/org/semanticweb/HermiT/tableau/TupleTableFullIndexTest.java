@@ -1,4 +1,7 @@
 package org.semanticweb.HermiT.tableau;
+
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.monitor.TableauMonitorAdapter;
 @SuppressWarnings("javadoc")
 public class TupleTableFullIndexTest extends AbstractReasonerInternalsTest {
     protected TupleTable m_tupleTable;
@@ -10,6 +13,7 @@ public class TupleTableFullIndexTest extends AbstractReasonerInternalsTest {
 
     @Override
     protected void setUp() {
+        super.setUp();
         m_tupleTable = new TupleTable(2);
         m_index = new TupleTableFullIndex(m_tupleTable, 2);
     }
@@ -43,6 +47,20 @@ public class TupleTableFullIndexTest extends AbstractReasonerInternalsTest {
         assertEquals(4, m_index.getTupleIndex(T("g", "h")));
     }
 
+    public void testIndexWithIntegerPages() {
+        m_tupleTable = new TupleTable(2, new ObjectDictionary());
+        m_index = new TupleTableFullIndex(m_tupleTable, 2);
+        testIndex();
+        Object[] tuple = new Object[2];
+        m_tupleTable.retrieveTuple(tuple, 3);
+        assertEquals("e", tuple[0]);
+        assertEquals("f", tuple[1]);
+        m_tupleTable.nullifyTuple(3);
+        m_tupleTable.retrieveTuple(tuple, 3);
+        assertNull(tuple[0]);
+        assertNull(tuple[1]);
+    }
+
     public void testLotsOfData() {
         String[][] tuples = new String[40000][];
         for (int index = 0; index < tuples.length; index++)
@@ -57,7 +75,102 @@ public class TupleTableFullIndexTest extends AbstractReasonerInternalsTest {
         assertEquals(-1, m_index.getTupleIndex(T("e", "f")));
     }
 
-    protected int add(String... tuple) {
+    public void testProbeIDsAreLookedUpOnce() {
+        m_tupleTable = new TupleTable(2, new ObjectDictionary());
+        m_index = new TupleTableFullIndex(m_tupleTable, 2);
+        // all tuples have the same hash code, so they are all compared with the probe
+        for (int index = 0; index < 20; index++)
+            assertAdd(index, new CountingKey(index), new CountingKey(-index));
+        CountingKey.s_hashCodeCalls = 0;
+        assertEquals(19, m_index.getTupleIndex(T(new CountingKey(19), new CountingKey(-19))));
+        // two calls for the hash code of the tuple and two for looking up the IDs
+        assertEquals(4, CountingKey.s_hashCodeCalls);
+        CountingKey.s_hashCodeCalls = 0;
+        assertEquals(-1, m_index.getTupleIndex(T(new CountingKey(1), new CountingKey(-2))));
+        assertEquals(4, CountingKey.s_hashCodeCalls);
+    }
+
+    public void testObjectDictionaryTruncation() {
+        ObjectDictionary objectDictionary = new ObjectDictionary();
+        for (int index = 0; index < 1000; index++)
+            assertEquals(index + 1, objectDictionary.getID("a" + index));
+        int firstFreeID = objectDictionary.getFirstFreeID();
+        for (int index = 0; index < 5000; index++)
+            objectDictionary.getID("b" + index);
+        objectDictionary.truncate(firstFreeID);
+        assertEquals(1000, objectDictionary.size());
+        for (int index = 0; index < 1000; index++)
+            assertEquals(index + 1, objectDictionary.getIDIfPresent("a" + index));
+        for (int index = 0; index < 5000; index++)
+            assertEquals(-1, objectDictionary.getIDIfPresent("b" + index));
+        assertNull(objectDictionary.getObject(firstFreeID));
+        assertEquals(firstFreeID, objectDictionary.getID("c"));
+        assertEquals(firstFreeID, objectDictionary.getIDIfPresent("c"));
+    }
+
+    public void testObjectDictionaryIsTruncatedOnBacktracking() throws Exception {
+        loadOntologyWithAxioms("SubClassOf(:A ObjectUnionOf(:B :C)) SubClassOf(:B ObjectSomeValuesFrom(:r :D)) "
+                + "SubClassOf(:D ObjectAllValuesFrom(ObjectInverseOf(:r) :E)) DisjointClasses(:A :E) ClassAssertion(:A :a)");
+        final int[] dictionarySizesByBranchingPoint = new int[10];
+        final int[] statistics = new int[3];
+        Configuration configuration = getConfiguration();
+        configuration.tupleTableType = Configuration.TupleTableType.INTEGER_PAGES;
+        configuration.monitor = new TableauMonitorAdapter() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void pushBranchingPointFinished(BranchingPoint branchingPoint) {
+                dictionarySizesByBranchingPoint[branchingPoint.getLevel()] = m_tableau.m_objectDictionary.getFirstFreeID();
+            }
+
+            @Override
+            public void backtrackToStarted(BranchingPoint newCurrentBrancingPoint) {
+                statistics[0] += m_tableau.m_objectDictionary.getFirstFreeID() - dictionarySizesByBranchingPoint[newCurrentBrancingPoint.getLevel()];
+            }
+
+            @Override
+            public void backtrackToFinished(BranchingPoint newCurrentBrancingPoint) {
+                statistics[1]++;
+                if (m_tableau.m_objectDictionary.getFirstFreeID() != dictionarySizesByBranchingPoint[newCurrentBrancingPoint.getLevel()])
+                    statistics[2]++;
+            }
+        };
+        createReasoner(configuration, null);
+        assertTrue(m_reasoner.isConsistent());
+        assertTrue(statistics[0] > 0);
+        assertTrue(statistics[1] > 0);
+        assertEquals(0, statistics[2]);
+    }
+
+    public void testOffHeapPagesAreReusedAfterClear() {
+        m_tupleTable = new TupleTable(2, new ObjectDictionary(), true);
+        m_index = new TupleTableFullIndex(m_tupleTable, 2);
+        for (int tupleIndex = 0; tupleIndex < 3 * TupleTable.PAGE_SIZE; tupleIndex++)
+            assertAdd(tupleIndex, "a" + tupleIndex, "b" + tupleIndex);
+        TupleTable.Page[] pages = m_tupleTable.m_pages.clone();
+        int sizeInMemory = m_tupleTable.sizeInMemory();
+        assertTrue(sizeInMemory >= 3 * TupleTable.PAGE_SIZE * 2 * 4);
+        m_tupleTable.clear();
+        m_index.clear();
+        assertEquals(0, m_tupleTable.getFirstFreeTupleIndex());
+        assertEquals(sizeInMemory, m_tupleTable.sizeInMemory());
+        assertAdd(0, "c", "d");
+        assertAdd(1, "a1", "b1");
+        for (int tupleIndex = 2; tupleIndex < 2 * TupleTable.PAGE_SIZE; tupleIndex++)
+            assertAdd(tupleIndex, "e" + tupleIndex, "f" + tupleIndex);
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++)
+            assertSame(pages[pageIndex], m_tupleTable.m_pages[pageIndex]);
+        assertEquals(0, m_index.getTupleIndex(T("c", "d")));
+        assertEquals(1, m_index.getTupleIndex(T("a1", "b1")));
+        assertEquals(-1, m_index.getTupleIndex(T("a2", "b2")));
+        assertEquals(600, m_index.getTupleIndex(T("e600", "f600")));
+        Object[] tuple = new Object[2];
+        m_tupleTable.retrieveTuple(tuple, 600);
+        assertEquals("e600", tuple[0]);
+        assertEquals("f600", tuple[1]);
+    }
+
+    protected int add(Object... tuple) {
         int tentativeTupleIndex = m_tupleTable.getFirstFreeTupleIndex();
         int result = m_index.addTuple(tuple, tentativeTupleIndex);
         if (result == tentativeTupleIndex)
@@ -65,7 +178,28 @@ public class TupleTableFullIndexTest extends AbstractReasonerInternalsTest {
         return result;
     }
 
-    protected void assertAdd(int tupleIndex, String... tuple) {
+    protected void assertAdd(int tupleIndex, Object... tuple) {
         assertEquals(tupleIndex, add(tuple));
     }
+
+    protected static class CountingKey {
+        protected static int s_hashCodeCalls;
+
+        protected final int m_value;
+
+        public CountingKey(int value) {
+            m_value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            s_hashCodeCalls++;
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object that) {
+            return that instanceof CountingKey && ((CountingKey) that).m_value == m_value;
+        }
+    }
 }